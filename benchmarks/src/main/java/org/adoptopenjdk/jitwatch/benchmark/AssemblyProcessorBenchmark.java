@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2026 Chris Newland.
+ * Licensed under https://github.com/AdoptOpenJDK/jitwatch/blob/master/LICENSE-BSD
+ * Instructions: https://github.com/AdoptOpenJDK/jitwatch/wiki
+ */
+package org.adoptopenjdk.jitwatch.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.adoptopenjdk.jitwatch.model.assembly.AssemblyProcessor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Feeds PrintAssembly output through AssemblyProcessor.handleLine.
+ *
+ * MakeHotSpotLog only produces disassembly when the hsdis plugin is
+ * installed so the input is built from a JDK8 x86-64 method template,
+ * repeated with a distinct address for each method.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AssemblyProcessorBenchmark
+{
+	@Param({ "100", "1000", "10000" })
+	public int methods;
+
+	private List<String> assemblyLines;
+
+	@Setup
+	public void setup()
+	{
+		assemblyLines = new ArrayList<>();
+
+		for (int i = 0; i < methods; i++)
+		{
+			long base = 0x00007f7d73364190L + i * 0x1000L;
+
+			assemblyLines.add("Decoding compiled method " + toAddress(base) + ":");
+			assemblyLines.add("Code:");
+			assemblyLines.add("[Disassembling for mach=&apos;i386:x86-64&apos;]");
+			assemblyLines.add("[Entry Point]");
+			assemblyLines.add("[Verified Entry Point]");
+			assemblyLines.add("[Constants]");
+			assemblyLines.add("  # {method} &apos;method" + i + "&apos; &apos;(II)I&apos; in &apos;org/adoptopenjdk/jitwatch/demo/MakeHotSpotLog&apos;");
+			assemblyLines.add("  # parm0:    rsi       = int");
+			assemblyLines.add("  # parm1:    rdx       = int");
+			assemblyLines.add("  #           [sp+0x20]  (sp of caller)");
+
+			long address = base + 0x150;
+
+			for (int instruction = 0; instruction < 40; instruction++)
+			{
+				assemblyLines.add("  " + toAddress(address) + ": mov    %eax,-0x14000(%rsp)");
+				assemblyLines.add("  " + toAddress(address + 7) + ": add    %edx,%esi          ;*iadd");
+				assemblyLines.add("                                                ; - org.adoptopenjdk.jitwatch.demo.MakeHotSpotLog::add@2 (line 91)");
+				assemblyLines.add("  " + toAddress(address + 9) + ": callq  0x00007f7d77e276f0  ;   {runtime_call}");
+
+				address += 14;
+			}
+
+			assemblyLines.add("  " + toAddress(address) + ": hlt    ");
+		}
+	}
+
+	private static String toAddress(long address)
+	{
+		return String.format("0x%016x", address);
+	}
+
+	@Benchmark
+	public AssemblyProcessor handleLines()
+	{
+		AssemblyProcessor processor = new AssemblyProcessor();
+
+		for (String line : assemblyLines)
+		{
+			processor.handleLine(line);
+		}
+
+		processor.complete();
+
+		return processor;
+	}
+}
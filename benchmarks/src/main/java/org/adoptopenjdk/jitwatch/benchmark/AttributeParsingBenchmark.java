@@ -0,0 +1,181 @@
+/*
+ * Copyright (c) 2026 Chris Newland.
+ * Licensed under https://github.com/AdoptOpenJDK/jitwatch/blob/master/LICENSE-BSD
+ * Instructions: https://github.com/AdoptOpenJDK/jitwatch/wiki
+ */
+package org.adoptopenjdk.jitwatch.benchmark;
+
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.ATTR_STAMP;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.C_SPACE;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.adoptopenjdk.jitwatch.model.TagAttributes;
+import org.adoptopenjdk.jitwatch.util.AttributeCursor;
+import org.adoptopenjdk.jitwatch.util.StringUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Tokenizes the attributes of every tag line in a generated log, comparing the
+ * previous StringBuilder tokenizer with the AttributeCursor based APIs.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AttributeParsingBenchmark
+{
+	@Param({ "2000", "20000" })
+	public int logIterations;
+
+	private List<String> attributeStrings;
+
+	@Setup
+	public void setup() throws IOException
+	{
+		attributeStrings = new ArrayList<>();
+
+		for (String line : HotSpotLogFixture.getCompilationLines(logIterations))
+		{
+			int spacePos = line.indexOf(C_SPACE);
+
+			if (line.startsWith("<") && spacePos != -1)
+			{
+				attributeStrings.add(line.substring(spacePos));
+			}
+		}
+	}
+
+	@Benchmark
+	public void legacyTokenizer(Blackhole blackhole)
+	{
+		for (String attributeString : attributeStrings)
+		{
+			blackhole.consume(legacyAttributeStringToMap(attributeString).get(ATTR_STAMP));
+		}
+	}
+
+	@Benchmark
+	public void attributeStringToMap(Blackhole blackhole)
+	{
+		for (String attributeString : attributeStrings)
+		{
+			blackhole.consume(StringUtil.attributeStringToMap(attributeString).get(ATTR_STAMP));
+		}
+	}
+
+	@Benchmark
+	public void tagAttributes(Blackhole blackhole)
+	{
+		for (String attributeString : attributeStrings)
+		{
+			blackhole.consume(TagAttributes.parse(attributeString).get(ATTR_STAMP));
+		}
+	}
+
+	@Benchmark
+	public void singleLookup(Blackhole blackhole)
+	{
+		for (String attributeString : attributeStrings)
+		{
+			blackhole.consume(StringUtil.getAttribute(attributeString, ATTR_STAMP));
+		}
+	}
+
+	@Benchmark
+	public void cursorIteration(Blackhole blackhole)
+	{
+		AttributeCursor cursor = new AttributeCursor();
+
+		for (String attributeString : attributeStrings)
+		{
+			cursor.reset(attributeString);
+
+			while (cursor.next())
+			{
+				blackhole.consume(cursor.getValueEnd() - cursor.getValueStart());
+			}
+		}
+	}
+
+	// the StringBuilder tokenizer that StringUtil.attributeStringToMap used
+	// before AttributeCursor, kept as a baseline
+	private static Map<String, String> legacyAttributeStringToMap(String line)
+	{
+		Map<String, String> result = new HashMap<>();
+
+		int len = line.length();
+
+		StringBuilder key = new StringBuilder();
+		StringBuilder val = new StringBuilder();
+
+		boolean inValue = false;
+
+		for (int i = 0; i < len; i++)
+		{
+			char c = line.charAt(i);
+
+			switch (c)
+			{
+			case ' ':
+				if (!inValue)
+				{
+					key.delete(0, key.length());
+				}
+				else
+				{
+					val.append(' ');
+				}
+				break;
+			case '\'':
+				if (inValue)
+				{
+					result.put(key.toString(), val.toString());
+					key.delete(0, key.length());
+					val.delete(0, val.length());
+					inValue = false;
+				}
+				else
+				{
+					inValue = true;
+				}
+				break;
+			case '=':
+				if (inValue)
+				{
+					val.append('=');
+				}
+				break;
+			default:
+				if (inValue)
+				{
+					val.append(c);
+				}
+				else
+				{
+					key.append(c);
+				}
+			}
+		}
+
+		return result;
+	}
+}
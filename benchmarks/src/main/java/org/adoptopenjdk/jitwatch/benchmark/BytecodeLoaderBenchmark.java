@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2026 Chris Newland.
+ * Licensed under https://github.com/AdoptOpenJDK/jitwatch/blob/master/LICENSE-BSD
+ * Instructions: https://github.com/AdoptOpenJDK/jitwatch/wiki
+ */
+package org.adoptopenjdk.jitwatch.benchmark;
+
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.S_NEWLINE;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.adoptopenjdk.jitwatch.loader.BytecodeLoader;
+import org.adoptopenjdk.jitwatch.loader.ClassFileReader;
+import org.adoptopenjdk.jitwatch.process.javap.JavapProcess;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Builds a ClassBC from javap -c -p -v output and from the class file bytes.
+ * The javap output and the class file are captured once in the setup so only
+ * BytecodeLoader.parse and ClassFileReader.readClass are measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BytecodeLoaderBenchmark
+{
+	@Param({ "org.adoptopenjdk.jitwatch.demo.MakeHotSpotLog", "org.adoptopenjdk.jitwatch.util.ParseUtil", "java.util.HashMap",
+			"java.lang.String" })
+	public String className;
+
+	private String[] bytecodeLines;
+
+	private byte[] classBytes;
+
+	@Setup
+	public void setup() throws IOException
+	{
+		List<String> classLocations = Arrays.asList(System.getProperty("java.class.path").split(File.pathSeparator));
+
+		JavapProcess javapProcess = new JavapProcess();
+
+		if (!javapProcess.execute(classLocations, className, new HashMap<String, String>()))
+		{
+			throw new IOException("javap failed for " + className + ": " + javapProcess.getErrorStream());
+		}
+
+		bytecodeLines = javapProcess.getOutputStream().split(S_NEWLINE);
+
+		classBytes = readClassBytes(className);
+	}
+
+	static byte[] readClassBytes(String className) throws IOException
+	{
+		String resourceName = className.replace('.', '/') + ".class";
+
+		try (InputStream inputStream = ClassLoader.getSystemResourceAsStream(resourceName))
+		{
+			if (inputStream == null)
+			{
+				throw new IOException("No class file for " + className);
+			}
+
+			ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+			byte[] buffer = new byte[8192];
+
+			int read;
+
+			while ((read = inputStream.read(buffer)) != -1)
+			{
+				outputStream.write(buffer, 0, read);
+			}
+
+			return outputStream.toByteArray();
+		}
+	}
+
+	@Benchmark
+	public Object parse()
+	{
+		return BytecodeLoader.parse(className, bytecodeLines, false);
+	}
+
+	@Benchmark
+	public Object readClassFile() throws IOException
+	{
+		return ClassFileReader.readClass(className, classBytes, false);
+	}
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2026 Chris Newland.
+ * Licensed under https://github.com/AdoptOpenJDK/jitwatch/blob/master/LICENSE-BSD
+ * Instructions: https://github.com/AdoptOpenJDK/jitwatch/wiki
+ */
+package org.adoptopenjdk.jitwatch.benchmark;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.adoptopenjdk.jitwatch.loader.BytecodeLoader;
+import org.adoptopenjdk.jitwatch.loader.ClassFileReader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Classes per second through BytecodeLoader.fetchBytecodeForClass including
+ * locating the class, reading it with the class file reader or running javap,
+ * and building the ClassBC.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FetchBytecodeBenchmark
+{
+	@Param({ "classfile", "javap" })
+	public String reader;
+
+	@Param({ "org.adoptopenjdk.jitwatch.util.ParseUtil", "java.util.HashMap" })
+	public String className;
+
+	private List<String> classLocations;
+
+	private boolean readClassFile;
+
+	@Setup
+	public void setup()
+	{
+		classLocations = Arrays.asList(System.getProperty("java.class.path").split(File.pathSeparator));
+
+		readClassFile = "classfile".equals(reader);
+	}
+
+	@TearDown
+	public void tearDown()
+	{
+		ClassFileReader.closeJars();
+	}
+
+	@Benchmark
+	public Object fetchBytecode()
+	{
+		return BytecodeLoader.fetchBytecodeForClass(classLocations, null, className, null, readClassFile, false);
+	}
+}
@@ -0,0 +1,215 @@
+/*
+ * Copyright (c) 2026 Chris Newland.
+ * Licensed under https://github.com/AdoptOpenJDK/jitwatch/blob/master/LICENSE-BSD
+ * Instructions: https://github.com/AdoptOpenJDK/jitwatch/wiki
+ */
+package org.adoptopenjdk.jitwatch.benchmark;
+
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.SKIP_BODY_TAGS;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.adoptopenjdk.jitwatch.core.IJITListener;
+import org.adoptopenjdk.jitwatch.core.JITWatchConfig;
+import org.adoptopenjdk.jitwatch.demo.MakeHotSpotLog;
+import org.adoptopenjdk.jitwatch.demo.SyntheticHotSpotLog;
+import org.adoptopenjdk.jitwatch.model.JITEvent;
+import org.adoptopenjdk.jitwatch.model.NumberedLine;
+import org.adoptopenjdk.jitwatch.model.SplitLog;
+import org.adoptopenjdk.jitwatch.parser.ILogParseErrorListener;
+import org.adoptopenjdk.jitwatch.parser.hotspot.HotSpotLogParser;
+
+/**
+ * Generates LogCompilation logs by running demo.MakeHotSpotLog in a child VM,
+ * or at larger scale with demo.SyntheticHotSpotLog. Logs are cached in
+ * java.io.tmpdir/jitwatch-benchmarks by size so each is only generated once
+ * per machine.
+ */
+public final class HotSpotLogFixture
+{
+	private static final File LOG_DIR = new File(System.getProperty("java.io.tmpdir"), "jitwatch-benchmarks");
+
+	private static final IJITListener NO_OP_JIT_LISTENER = new IJITListener()
+	{
+		@Override
+		public void handleLogEntry(String entry)
+		{
+		}
+
+		@Override
+		public void handleErrorEntry(String entry)
+		{
+		}
+
+		@Override
+		public void handleReadStart()
+		{
+		}
+
+		@Override
+		public void handleReadComplete()
+		{
+		}
+
+		@Override
+		public void handleJITEvent(JITEvent event)
+		{
+		}
+	};
+
+	private static final ILogParseErrorListener NO_OP_ERROR_LISTENER = new ILogParseErrorListener()
+	{
+		@Override
+		public void handleError(String title, String body)
+		{
+		}
+	};
+
+	private HotSpotLogFixture()
+	{
+	}
+
+	public static synchronized File getLog(int iterations) throws IOException
+	{
+		File logFile = new File(LOG_DIR, "hotspot-" + iterations + ".log");
+
+		if (!logFile.isFile() || logFile.length() == 0)
+		{
+			generateLog(iterations, logFile);
+		}
+
+		return logFile;
+	}
+
+	/**
+	 * @return a log written by SyntheticHotSpotLog with the default settings
+	 *         and seed, with PrintAssembly output
+	 */
+	public static synchronized File getSyntheticLog(int compilations) throws IOException
+	{
+		File logFile = new File(LOG_DIR, "synthetic-" + compilations + ".log");
+
+		if (!logFile.isFile() || logFile.length() == 0)
+		{
+			if (!LOG_DIR.isDirectory() && !LOG_DIR.mkdirs())
+			{
+				throw new IOException("Could not create " + LOG_DIR);
+			}
+
+			File partialFile = new File(LOG_DIR, logFile.getName() + ".partial");
+
+			SyntheticHotSpotLog generator = new SyntheticHotSpotLog(42);
+
+			generator.setCompilationCount(compilations);
+			generator.setPrintAssembly(true);
+
+			generator.write(partialFile);
+
+			if (!partialFile.renameTo(logFile))
+			{
+				throw new IOException("Could not rename " + partialFile + " to " + logFile);
+			}
+		}
+
+		return logFile;
+	}
+
+	public static SplitLog splitLog(File logFile) throws IOException
+	{
+		File configFile = File.createTempFile("jitwatch-benchmark", ".properties");
+
+		try
+		{
+			HotSpotLogParser parser = new HotSpotLogParser(NO_OP_JIT_LISTENER);
+
+			parser.setConfig(new JITWatchConfig(configFile));
+
+			parser.processLogFile(logFile, NO_OP_ERROR_LISTENER);
+
+			return parser.getSplitLog();
+		}
+		finally
+		{
+			configFile.delete();
+		}
+	}
+
+	/**
+	 * @return the LogCompilation lines that HotSpotLogParser passes to its
+	 *         TagProcessor
+	 */
+	public static List<String> getCompilationLines(int iterations) throws IOException
+	{
+		List<NumberedLine> numberedLines = splitLog(getLog(iterations)).getCompilationLines();
+
+		List<String> result = new ArrayList<>(numberedLines.size());
+
+		for (NumberedLine numberedLine : numberedLines)
+		{
+			String line = numberedLine.getLine();
+
+			if (!isSkippedBodyTag(line))
+			{
+				result.add(line);
+			}
+		}
+
+		return result;
+	}
+
+	private static boolean isSkippedBodyTag(String line)
+	{
+		for (String skip : SKIP_BODY_TAGS)
+		{
+			if (line.startsWith(skip))
+			{
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	private static void generateLog(int iterations, File logFile) throws IOException
+	{
+		if (!LOG_DIR.isDirectory() && !LOG_DIR.mkdirs())
+		{
+			throw new IOException("Could not create " + LOG_DIR);
+		}
+
+		File partialFile = new File(LOG_DIR, logFile.getName() + ".partial");
+
+		String javaExecutable = Paths.get(System.getProperty("java.home"), "bin", "java").toString();
+
+		ProcessBuilder builder = new ProcessBuilder(javaExecutable, "-XX:+UnlockDiagnosticVMOptions", "-XX:+LogCompilation",
+				"-XX:LogFile=" + partialFile.getAbsolutePath(), "-cp", System.getProperty("java.class.path"),
+				MakeHotSpotLog.class.getName(), Integer.toString(iterations));
+
+		builder.redirectErrorStream(true);
+		builder.redirectOutput(new File(LOG_DIR, "MakeHotSpotLog-" + iterations + ".out"));
+
+		try
+		{
+			int exitCode = builder.start().waitFor();
+
+			if (exitCode != 0 || !partialFile.isFile())
+			{
+				throw new IOException("MakeHotSpotLog exited with " + exitCode + " and did not write " + partialFile);
+			}
+		}
+		catch (InterruptedException ie)
+		{
+			Thread.currentThread().interrupt();
+			throw new IOException("Interrupted while generating " + logFile, ie);
+		}
+
+		if (!partialFile.renameTo(logFile))
+		{
+			throw new IOException("Could not rename " + partialFile + " to " + logFile);
+		}
+	}
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2026 Chris Newland.
+ * Licensed under https://github.com/AdoptOpenJDK/jitwatch/blob/master/LICENSE-BSD
+ * Instructions: https://github.com/AdoptOpenJDK/jitwatch/wiki
+ */
+package org.adoptopenjdk.jitwatch.benchmark;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.adoptopenjdk.jitwatch.parser.MappedLineReader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Reads and classifies every line of a generated log with
+ * BufferedReader.readLine() + trim() and with the MappedLineReader.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LogSplittingBenchmark
+{
+	@Param({ "2000", "20000", "200000" })
+	public int logIterations;
+
+	private File logFile;
+
+	@Setup
+	public void setup() throws IOException
+	{
+		logFile = HotSpotLogFixture.getLog(logIterations);
+	}
+
+	@Benchmark
+	public long bufferedReader() throws IOException
+	{
+		long count = 0;
+
+		try (BufferedReader reader = new BufferedReader(new FileReader(logFile), 65536))
+		{
+			String line = reader.readLine();
+
+			while (line != null)
+			{
+				line = line.trim();
+
+				if (!line.isEmpty() && line.charAt(0) != '@')
+				{
+					count += line.length();
+				}
+
+				line = reader.readLine();
+			}
+		}
+
+		return count;
+	}
+
+	@Benchmark
+	public long mappedLineReader() throws IOException
+	{
+		long count = 0;
+
+		try (MappedLineReader reader = new MappedLineReader(logFile))
+		{
+			while (reader.nextLine())
+			{
+				if (!reader.isBlank() && reader.getTrimmedFirstByte() != '@')
+				{
+					count += reader.getTrimmedLine().length();
+				}
+			}
+		}
+
+		return count;
+	}
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2026 Chris Newland.
+ * Licensed under https://github.com/AdoptOpenJDK/jitwatch/blob/master/LICENSE-BSD
+ * Instructions: https://github.com/AdoptOpenJDK/jitwatch/wiki
+ */
+package org.adoptopenjdk.jitwatch.benchmark;
+
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.ATTR_METHOD;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.adoptopenjdk.jitwatch.model.LogParseException;
+import org.adoptopenjdk.jitwatch.util.ParseUtil;
+import org.adoptopenjdk.jitwatch.util.StringUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Splits and expands every LogCompilation method signature found on the
+ * top-level tags of a generated log.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SignatureParsingBenchmark
+{
+	@Param({ "2000", "20000" })
+	public int logIterations;
+
+	private List<String> signatures;
+
+	private List<String> parameterTypes;
+
+	@Setup
+	public void setup() throws IOException, LogParseException
+	{
+		signatures = new ArrayList<>();
+		parameterTypes = new ArrayList<>();
+
+		for (String line : HotSpotLogFixture.getCompilationLines(logIterations))
+		{
+			String signature = StringUtil.getAttribute(line, ATTR_METHOD);
+
+			// only tags that carry a full signature, not a dictionary id
+			if (signature != null && signature.indexOf('(') != -1)
+			{
+				signatures.add(signature);
+				parameterTypes.add(ParseUtil.splitLogSignatureWithRegex(signature)[2]);
+			}
+		}
+	}
+
+	@Benchmark
+	public void splitLogSignature(Blackhole blackhole) throws LogParseException
+	{
+		for (String signature : signatures)
+		{
+			blackhole.consume(ParseUtil.splitLogSignatureWithRegex(signature));
+		}
+	}
+
+	@Benchmark
+	public void parseTypeString(Blackhole blackhole)
+	{
+		for (String types : parameterTypes)
+		{
+			blackhole.consume(ParseUtil.parseTypeString(types));
+		}
+	}
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright (c) 2026 Chris Newland.
+ * Licensed under https://github.com/AdoptOpenJDK/jitwatch/blob/master/LICENSE-BSD
+ * Instructions: https://github.com/AdoptOpenJDK/jitwatch/wiki
+ */
+package org.adoptopenjdk.jitwatch.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Parses a whole log written by SyntheticHotSpotLog, from reading the file to
+ * attaching the assembly, at sizes MakeHotSpotLog cannot reach.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class SyntheticLogParseBenchmark
+{
+	@Param({ "10000", "100000", "1000000" })
+	public int compilations;
+
+	private File logFile;
+
+	@Setup
+	public void setup() throws IOException
+	{
+		logFile = HotSpotLogFixture.getSyntheticLog(compilations);
+	}
+
+	@Benchmark
+	public int parseLog() throws IOException
+	{
+		return HotSpotLogFixture.splitLog(logFile).getCompilationLines().size();
+	}
+}
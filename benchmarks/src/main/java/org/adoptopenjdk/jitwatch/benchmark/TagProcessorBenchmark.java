@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2026 Chris Newland.
+ * Licensed under https://github.com/AdoptOpenJDK/jitwatch/blob/master/LICENSE-BSD
+ * Instructions: https://github.com/AdoptOpenJDK/jitwatch/wiki
+ */
+package org.adoptopenjdk.jitwatch.benchmark;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.adoptopenjdk.jitwatch.core.TagProcessor;
+import org.adoptopenjdk.jitwatch.model.Tag;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Feeds every LogCompilation line of a generated log through a TagProcessor.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TagProcessorBenchmark
+{
+	@Param({ "2000", "20000", "200000" })
+	public int logIterations;
+
+	private List<String> compilationLines;
+
+	@Setup
+	public void setup() throws IOException
+	{
+		compilationLines = HotSpotLogFixture.getCompilationLines(logIterations);
+	}
+
+	@Benchmark
+	public void processLines(Blackhole blackhole)
+	{
+		TagProcessor tagProcessor = new TagProcessor();
+
+		for (String line : compilationLines)
+		{
+			Tag tag = tagProcessor.processLine(line);
+
+			if (tag != null)
+			{
+				blackhole.consume(tag);
+			}
+		}
+	}
+
+	@Benchmark
+	public void processLinesAndReadAttributes(Blackhole blackhole)
+	{
+		TagProcessor tagProcessor = new TagProcessor();
+
+		for (String line : compilationLines)
+		{
+			Tag tag = tagProcessor.processLine(line);
+
+			if (tag != null)
+			{
+				blackhole.consume(tag.getAttributes().size());
+			}
+		}
+	}
+}
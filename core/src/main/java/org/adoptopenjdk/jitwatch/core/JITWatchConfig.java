@@ -7,6 +7,7 @@ package org.adoptopenjdk.jitwatch.core;
 
 import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.C_DOT;
 import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.DEBUG_LOGGING;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.DEFAULT_FOLLOW_POLL_MILLIS;
 import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.S_COMMA;
 import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.S_DOT;
 import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.S_EMPTY;
@@ -71,6 +72,22 @@ public class JITWatchConfig
 	private static final String KEY_TRIVIEW_TRILINK_MOUSE_FOLLOW = "triview.mouse_follow";
 	private static final String KEY_TRIVIEW_LOCAL_ASM_LABELS = "triview.local_asm_labels";
 
+	private static final String KEY_PARSE_PARALLEL = "parse.parallel";
+	private static final String KEY_PARSE_THREADS = "parse.threads";
+	private static final String KEY_PARSE_SPILL = "parse.spill";
+	private static final String KEY_PARSE_SPILL_DIR = "parse.spill.dir";
+	private static final String KEY_PARSE_MAPPED_READER = "parse.mmap";
+	private static final String KEY_PARSE_FOLLOW_POLL_MILLIS = "parse.follow.poll.ms";
+	private static final String KEY_PARSE_SNAPSHOT = "parse.snapshot";
+	private static final String KEY_PARSE_LAZY_TASKS = "parse.lazy.tasks";
+	private static final String KEY_PARSE_COMPACT_TAGS = "parse.compact.tags";
+	private static final String KEY_PARSE_LAZY_CLASSES = "parse.lazy.classes";
+	private static final String KEY_PARSE_CLASS_FILE_MODEL = "parse.classfile.model";
+	private static final String KEY_PARSE_CLASS_INDEX = "parse.class.index";
+	private static final String KEY_PARSE_CLASS_INDEX_DIR = "parse.class.index.dir";
+
+	private static final String KEY_BYTECODE_CLASS_FILE_READER = "bytecode.classfile";
+
 	private static final String SANDBOX_PREFIX = "sandbox";
 	private static final String KEY_SANDBOX_INTEL_MODE = SANDBOX_PREFIX + ".intel.mode";
 	private static final String KEY_SANDBOX_TIERED_MODE = SANDBOX_PREFIX + ".tiered.mode";
@@ -104,6 +121,23 @@ public class JITWatchConfig
 	private boolean mouseFollow = false;
 	private boolean localAsmLabels = false;
 
+	private boolean parallelParse = false;
+	private int parseThreads = 0;
+	private boolean spillSplitLog = false;
+	private String spillDirectory;
+	private boolean mappedLogReader = false;
+
+	private int followPollMillis = DEFAULT_FOLLOW_POLL_MILLIS;
+	private boolean modelSnapshot = false;
+	private boolean lazyTaskBodies = false;
+	private boolean compactTags = false;
+	private boolean lazyClassModel = false;
+	private boolean classFileModel = false;
+	private boolean classLocationIndex = false;
+	private String classIndexDirectory;
+
+	private boolean classFileBytecodeReader = false;
+
 	private TieredCompilation tieredCompilationMode;
 	private CompressedOops compressedOopsMode;
 	private BackgroundCompilation backgroundCompilationMode;
@@ -342,6 +376,22 @@ public class JITWatchConfig
 		mouseFollow = loadBooleanFromProperty(loadedProps, KEY_TRIVIEW_TRILINK_MOUSE_FOLLOW, false);
 		localAsmLabels = loadBooleanFromProperty(loadedProps, KEY_TRIVIEW_LOCAL_ASM_LABELS, true);
 
+		parallelParse = loadBooleanFromProperty(loadedProps, KEY_PARSE_PARALLEL, false);
+		parseThreads = loadIntFromProperty(loadedProps, KEY_PARSE_THREADS, 0);
+		spillSplitLog = loadBooleanFromProperty(loadedProps, KEY_PARSE_SPILL, false);
+		spillDirectory = getProperty(loadedProps, KEY_PARSE_SPILL_DIR, S_EMPTY);
+		mappedLogReader = loadBooleanFromProperty(loadedProps, KEY_PARSE_MAPPED_READER, false);
+		followPollMillis = loadIntFromProperty(loadedProps, KEY_PARSE_FOLLOW_POLL_MILLIS, DEFAULT_FOLLOW_POLL_MILLIS);
+		modelSnapshot = loadBooleanFromProperty(loadedProps, KEY_PARSE_SNAPSHOT, false);
+		lazyTaskBodies = loadBooleanFromProperty(loadedProps, KEY_PARSE_LAZY_TASKS, false);
+		compactTags = loadBooleanFromProperty(loadedProps, KEY_PARSE_COMPACT_TAGS, false);
+		lazyClassModel = loadBooleanFromProperty(loadedProps, KEY_PARSE_LAZY_CLASSES, false);
+		classFileModel = loadBooleanFromProperty(loadedProps, KEY_PARSE_CLASS_FILE_MODEL, false);
+		classLocationIndex = loadBooleanFromProperty(loadedProps, KEY_PARSE_CLASS_INDEX, false);
+		classIndexDirectory = getProperty(loadedProps, KEY_PARSE_CLASS_INDEX_DIR, S_EMPTY);
+
+		classFileBytecodeReader = loadBooleanFromProperty(loadedProps, KEY_BYTECODE_CLASS_FILE_READER, false);
+
 		loadTieredMode();
 
 		loadCompressedOopsMode();
@@ -603,6 +653,22 @@ public class JITWatchConfig
 		putProperty(loadedProps, KEY_TRIVIEW_TRILINK_MOUSE_FOLLOW, Boolean.toString(mouseFollow));
 		putProperty(loadedProps, KEY_TRIVIEW_LOCAL_ASM_LABELS, Boolean.toString(localAsmLabels));
 
+		putProperty(loadedProps, KEY_PARSE_PARALLEL, Boolean.toString(parallelParse));
+		putProperty(loadedProps, KEY_PARSE_THREADS, Integer.toString(parseThreads));
+		putProperty(loadedProps, KEY_PARSE_SPILL, Boolean.toString(spillSplitLog));
+		putProperty(loadedProps, KEY_PARSE_SPILL_DIR, spillDirectory);
+		putProperty(loadedProps, KEY_PARSE_MAPPED_READER, Boolean.toString(mappedLogReader));
+		putProperty(loadedProps, KEY_PARSE_FOLLOW_POLL_MILLIS, Integer.toString(followPollMillis));
+		putProperty(loadedProps, KEY_PARSE_SNAPSHOT, Boolean.toString(modelSnapshot));
+		putProperty(loadedProps, KEY_PARSE_LAZY_TASKS, Boolean.toString(lazyTaskBodies));
+		putProperty(loadedProps, KEY_PARSE_COMPACT_TAGS, Boolean.toString(compactTags));
+		putProperty(loadedProps, KEY_PARSE_LAZY_CLASSES, Boolean.toString(lazyClassModel));
+		putProperty(loadedProps, KEY_PARSE_CLASS_FILE_MODEL, Boolean.toString(classFileModel));
+		putProperty(loadedProps, KEY_PARSE_CLASS_INDEX, Boolean.toString(classLocationIndex));
+		putProperty(loadedProps, KEY_PARSE_CLASS_INDEX_DIR, classIndexDirectory);
+
+		putProperty(loadedProps, KEY_BYTECODE_CLASS_FILE_READER, Boolean.toString(classFileBytecodeReader));
+
 		saveTieredCompilationMode();
 
 		saveCompressedOopsMode();
@@ -968,4 +1034,174 @@ public class JITWatchConfig
 	{
 		this.noPromptHsdis = noPromptHsdis;
 	}
-}
\ No newline at end of file
+
+	public boolean isParallelParse()
+	{
+		return parallelParse;
+	}
+
+	public void setParallelParse(boolean parallelParse)
+	{
+		this.parallelParse = parallelParse;
+	}
+
+	public int getParseThreads()
+	{
+		return parseThreads;
+	}
+
+	// 0 means use one thread per available processor
+	public void setParseThreads(int parseThreads)
+	{
+		this.parseThreads = parseThreads;
+	}
+
+	public int getEffectiveParseThreads()
+	{
+		return parseThreads > 0 ? parseThreads : Runtime.getRuntime().availableProcessors();
+	}
+
+	// with a parallel parse the LogCompilation lines go to the pipeline, which
+	// holds a bounded number at a time, and only the other sections are spilled
+	public boolean isSpillSplitLog()
+	{
+		return spillSplitLog;
+	}
+
+	public void setSpillSplitLog(boolean spillSplitLog)
+	{
+		this.spillSplitLog = spillSplitLog;
+	}
+
+	// empty means use java.io.tmpdir
+	public String getSpillDirectory()
+	{
+		return spillDirectory;
+	}
+
+	public void setSpillDirectory(String spillDirectory)
+	{
+		this.spillDirectory = spillDirectory;
+	}
+
+	// read the log through a memory mapped window. Off by default as a mapped
+	// window is only unmapped when it is garbage collected, which keeps the
+	// log file locked on Windows after the parse has closed it
+	public boolean isMappedLogReader()
+	{
+		return mappedLogReader;
+	}
+
+	public void setMappedLogReader(boolean mappedLogReader)
+	{
+		this.mappedLogReader = mappedLogReader;
+	}
+
+	// how long follow mode sleeps once it has caught up with the log
+	public int getFollowPollMillis()
+	{
+		return followPollMillis;
+	}
+
+	public void setFollowPollMillis(int followPollMillis)
+	{
+		this.followPollMillis = followPollMillis;
+	}
+
+	public boolean isModelSnapshot()
+	{
+		return modelSnapshot;
+	}
+
+	public void setModelSnapshot(boolean modelSnapshot)
+	{
+		this.modelSnapshot = modelSnapshot;
+	}
+
+	// the log is read with the memory-mapped reader when this is set, even
+	// if it is turned off, as it knows where each line starts in the file
+	public boolean isLazyTaskBodies()
+	{
+		return lazyTaskBodies;
+	}
+
+	public void setLazyTaskBodies(boolean lazyTaskBodies)
+	{
+		this.lazyTaskBodies = lazyTaskBodies;
+	}
+
+	// store the tags inside each <task> as a CompactTagTree
+	public boolean isCompactTags()
+	{
+		return compactTags;
+	}
+
+	public void setCompactTags(boolean compactTags)
+	{
+		this.compactTags = compactTags;
+	}
+
+	// skip the classes named by class loading lines and load a class only
+	// when a compilation refers to it, so unreferenced classes are not in the
+	// model
+	public boolean isLazyClassModel()
+	{
+		return lazyClassModel;
+	}
+
+	public void setLazyClassModel(boolean lazyClassModel)
+	{
+		this.lazyClassModel = lazyClassModel;
+	}
+
+	// build MetaClasses from the method tables of the class files instead of
+	// loading the classes, falling back to loading when there is no class file.
+	// Off by default until measured against loading on large classpaths
+	public boolean isClassFileModel()
+	{
+		return classFileModel;
+	}
+
+	public void setClassFileModel(boolean classFileModel)
+	{
+		this.classFileModel = classFileModel;
+	}
+
+	// index the classes in each class location when the class loader is
+	// configured so a class is found without searching every location.
+	// Off by default as the class names of each jar are cached on disk
+	public boolean isClassLocationIndex()
+	{
+		return classLocationIndex;
+	}
+
+	public void setClassLocationIndex(boolean classLocationIndex)
+	{
+		this.classLocationIndex = classLocationIndex;
+	}
+
+	// where the class names of each jar are cached, empty means a directory
+	// in the home directory of the user
+	public String getClassIndexDirectory()
+	{
+		return classIndexDirectory;
+	}
+
+	public void setClassIndexDirectory(String classIndexDirectory)
+	{
+		this.classIndexDirectory = classIndexDirectory;
+	}
+
+	// read bytecode directly from the class files, falling back to javap.
+	// Off by default until its output is checked against javap across class
+	// file versions
+	public boolean isClassFileBytecodeReader()
+	{
+		return classFileBytecodeReader;
+	}
+
+	public void setClassFileBytecodeReader(boolean classFileBytecodeReader)
+	{
+		this.classFileBytecodeReader = classFileBytecodeReader;
+	}
+}
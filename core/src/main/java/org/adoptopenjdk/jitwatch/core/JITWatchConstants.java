@@ -37,6 +37,7 @@ public final class JITWatchConstants
 	public static final int DEFAULT_FREQ_INLINE_SIZE = 325;
 	public static final int DEFAULT_MAX_INLINE_SIZE = 35;
 	public static final int DEFAULT_COMPILER_THRESHOLD = 10000;	
+	public static final int DEFAULT_FOLLOW_POLL_MILLIS = 500;
 	
 	public static final String TAG_XML = "<?xml";
 	public static final String TAG_TTY = "<tty>";
@@ -104,6 +105,8 @@ public final class JITWatchConstants
 	public static final String TAG_ELIMINATE_LOCK = "eliminate_lock";
 	public static final String TAG_JVMS = "jvms";
 	public static final String TAG_UNCOMMON_TRAP = "uncommon_trap";
+	public static final String TAG_DEOPTIMIZED = "deoptimized";
+	public static final String TAG_MAKE_NOT_ENTRANT = "make_not_entrant";
 	public static final String TAG_PARSE_DONE = "parse_done";
 	public static final String TAG_PHASE_DONE = "phase_done";
 	public static final String TAG_HOT_THROW = "hot_throw";
@@ -166,6 +169,7 @@ public final class JITWatchConstants
 	public static final String ATTR_COUNT = "count";
 	public static final String ATTR_PROF_FACTOR = "prof_factor";
 	public static final String ATTR_ACTION = "action";
+	public static final String ATTR_ZOMBIE = "zombie";
 	public static final String ATTR_COMMENT = "comment";
 	public static final String ATTR_ADDRESS = "address";
 	public static final String ATTR_ENTRY = "entry";
@@ -14,10 +14,11 @@ import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.DEBUG_LOGGING_TAG
 import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.S_FRAGMENT;
 import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.TAG_OPEN_FRAGMENT;
 
-import java.util.Map;
 import java.util.Stack;
 
+import org.adoptopenjdk.jitwatch.model.CompactTagTree;
 import org.adoptopenjdk.jitwatch.model.Tag;
+import org.adoptopenjdk.jitwatch.model.TagInterner;
 import org.adoptopenjdk.jitwatch.model.Task;
 import org.adoptopenjdk.jitwatch.model.bytecode.Opcode;
 import org.adoptopenjdk.jitwatch.util.StringUtil;
@@ -34,6 +35,43 @@ public class TagProcessor
 	private Tag topTag = null;
 	private boolean fragmentSeen;
 
+	private final boolean compactTasks;
+
+	// non-null while the children of a task are being stored compactly,
+	// currentTag stays on the task and compactIndex follows the open tags
+	private CompactTagTree.Builder compactBuilder = null;
+	private int compactIndex;
+
+	private long tagCount = 0;
+
+	private final TagInterner tagInterner;
+
+	public TagProcessor()
+	{
+		this(false);
+	}
+
+	/**
+	 * @param compactTasks
+	 *            store the children of each task in a CompactTagTree instead
+	 *            of as Tag objects
+	 */
+	public TagProcessor(boolean compactTasks)
+	{
+		this(compactTasks, null);
+	}
+
+	/**
+	 * @param tagInterner
+	 *            shares the klass and type entries of tasks not stored
+	 *            compactly, or null to keep the entries of each task
+	 */
+	public TagProcessor(boolean compactTasks, TagInterner tagInterner)
+	{
+		this.compactTasks = compactTasks;
+		this.tagInterner = tagInterner;
+	}
+
 	public String getTopTagName()
 	{
 		String result = null;
@@ -46,6 +84,15 @@ public class TagProcessor
 		return result;
 	}
 
+	/**
+	 * @return the number of Tag objects created by this processor, children
+	 *         stored compactly are not counted
+	 */
+	public long getTagCount()
+	{
+		return tagCount;
+	}
+
 	public Tag processLine(String line)
 	{
 		Tag result = null;
@@ -56,6 +103,21 @@ public class TagProcessor
 			{
 				result = handleTag(line);
 			}
+			else if (compactBuilder != null)
+			{
+				String closingTag = getClosingTag(compactBuilder.getName(compactIndex));
+
+				if (line.endsWith(closingTag))
+				{
+					line = line.substring(0, line.length() - closingTag.length());
+					compactBuilder.addTextContent(compactIndex, line);
+					processLine(closingTag);
+				}
+				else
+				{
+					compactBuilder.addTextContent(compactIndex, line);
+				}
+			}
 			else if (currentTag != null)
 			{
 				String closingTag = currentTag.getClosingTag();
@@ -98,10 +160,28 @@ public class TagProcessor
 		return fragmentSeen;
 	}
 
+	/**
+	 * @return true if no tag is open, so the next line begins a new top-level
+	 *         tag
+	 */
+	public boolean isAtTopLevel()
+	{
+		return currentTag == null;
+	}
+
 	private void resetState()
 	{
 		currentTag = null;
 		topTag = null;
+		compactBuilder = null;
+	}
+
+	private String getClosingTag(String name)
+	{
+		StringBuilder builder = new StringBuilder();
+		builder.append(C_OPEN_ANGLE).append(C_SLASH).append(name).append(C_CLOSE_ANGLE);
+
+		return builder.toString();
 	}
 
 	private Tag handleTag(String line)
@@ -124,7 +204,11 @@ public class TagProcessor
 						currentTag == null ? "null" : currentTag.getName(), topTag == null ? "null" : topTag.getName());
 			}
 
-			if (currentTag != null && closeName.equals(currentTag.getName()))
+			if (compactBuilder != null)
+			{
+				result = closeCompactTag(closeName);
+			}
+			else if (currentTag != null && closeName.equals(currentTag.getName()))
 			{
 				if (currentTag.getParent() == null)
 				{
@@ -180,13 +264,18 @@ public class TagProcessor
 			logger.debug("processValidLine(line:{}, indexEndName:{}, selfClosing:{})", line, indexEndName, selfClosing);
 		}
 
-		Tag result = null;
-
 		String name = line.substring(1, indexEndName);
 
 		String attributeString = line.substring(indexEndName);
 
-		Map<String, String> attrs = StringUtil.attributeStringToMap(attributeString);
+		if (compactBuilder != null)
+		{
+			processCompactLine(name, attributeString, selfClosing);
+
+			return null;
+		}
+
+		Tag result = null;
 
 		Tag nextTag;
 
@@ -199,6 +288,8 @@ public class TagProcessor
 			nextTag = new Tag(name, attributeString, selfClosing);
 		}
 
+		tagCount++;
+
 		if (DEBUG_LOGGING_TAGPROCESSOR)
 		{
 			logger.debug("top: {}", topTag);
@@ -229,6 +320,12 @@ public class TagProcessor
 				// new tag at top level
 				currentTag = nextTag;
 				topTag = nextTag;
+
+				if (compactTasks && !selfClosing && nextTag instanceof Task)
+				{
+					compactBuilder = new CompactTagTree.Builder();
+					compactIndex = compactBuilder.addTag(-1, name, attributeString, false);
+				}
 			}
 		}
 		else
@@ -241,30 +338,27 @@ public class TagProcessor
 			switch (name)
 			{
 			case JITWatchConstants.TAG_TYPE:
-				((Task) topTag).addDictionaryType(attrs.get(JITWatchConstants.ATTR_ID), nextTag);
+				((Task) topTag).addDictionaryType(StringUtil.getAttribute(attributeString, JITWatchConstants.ATTR_ID), intern(nextTag));
 				break;
 
 			case JITWatchConstants.TAG_METHOD:
-				((Task) topTag).addDictionaryMethod(attrs.get(JITWatchConstants.ATTR_ID), nextTag);
+				((Task) topTag).addDictionaryMethod(StringUtil.getAttribute(attributeString, JITWatchConstants.ATTR_ID), nextTag);
 				break;
 
 			case JITWatchConstants.TAG_KLASS:
-				((Task) topTag).addDictionaryKlass(attrs.get(JITWatchConstants.ATTR_ID), nextTag);
+				((Task) topTag).addDictionaryKlass(StringUtil.getAttribute(attributeString, JITWatchConstants.ATTR_ID), intern(nextTag));
 				break;
 
 			case JITWatchConstants.TAG_PARSE:
-				String currentMethodID = attrs.get(JITWatchConstants.ATTR_METHOD);
+				String currentMethodID = StringUtil.getAttribute(attributeString, JITWatchConstants.ATTR_METHOD);
 				methodIDStack.push(currentMethodID);
 				break;
 
 			case JITWatchConstants.TAG_BC:
-				String bci = attrs.get(JITWatchConstants.ATTR_BCI);
-				String code = attrs.get(JITWatchConstants.ATTR_CODE);
-
 				try
 				{
-					int bciValue = Integer.parseInt(bci);
-					int codeValue = Integer.parseInt(code);
+					int bciValue = StringUtil.getIntAttribute(attributeString, JITWatchConstants.ATTR_BCI);
+					int codeValue = StringUtil.getIntAttribute(attributeString, JITWatchConstants.ATTR_CODE);
 					Opcode opcode = Opcode.getByCode(codeValue);
 
 					((Task) topTag).addBCIOpcodeMapping(methodIDStack.peek(), bciValue, opcode);
@@ -301,4 +395,119 @@ public class TagProcessor
 
 		return result;
 	}
+
+	// same transitions as for Tag objects in handleTag()
+	private Tag closeCompactTag(String closeName)
+	{
+		Tag result = null;
+
+		if (closeName.equals(compactBuilder.getName(compactIndex)))
+		{
+			int parentIndex = compactBuilder.getParent(compactIndex);
+
+			if (parentIndex == -1)
+			{
+				result = finishCompactTask();
+			}
+			else
+			{
+				compactIndex = parentIndex;
+
+				if (JITWatchConstants.TAG_PARSE.equals(compactBuilder.getName(compactIndex)))
+				{
+					methodIDStack.pop();
+				}
+			}
+		}
+		else if (S_FRAGMENT.equals(closeName))
+		{
+			result = finishCompactTask();
+		}
+
+		return result;
+	}
+
+	private void processCompactLine(String name, String attributeString, boolean selfClosing)
+	{
+		int index = compactBuilder.addTag(compactIndex, name, attributeString, selfClosing);
+
+		switch (name)
+		{
+		case JITWatchConstants.TAG_PARSE:
+			methodIDStack.push(StringUtil.getAttribute(attributeString, JITWatchConstants.ATTR_METHOD));
+			break;
+
+		case JITWatchConstants.TAG_BC:
+			try
+			{
+				int bciValue = StringUtil.getIntAttribute(attributeString, JITWatchConstants.ATTR_BCI);
+				int codeValue = StringUtil.getIntAttribute(attributeString, JITWatchConstants.ATTR_CODE);
+				Opcode opcode = Opcode.getByCode(codeValue);
+
+				((Task) topTag).addBCIOpcodeMapping(methodIDStack.peek(), bciValue, opcode);
+			}
+			catch (NumberFormatException nfe)
+			{
+				logger.error("Couldn't parse bc tag <{}{}", name, attributeString);
+			}
+
+			break;
+
+		default:
+			break;
+		}
+
+		if (!selfClosing)
+		{
+			compactIndex = index;
+		}
+	}
+
+	// the parse dictionary holds views of the type, method and klass tags so
+	// it is filled once the tree is built
+	private Task finishCompactTask()
+	{
+		Task task = (Task) topTag;
+
+		CompactTagTree tree = compactBuilder.build();
+
+		compactBuilder = null;
+
+		task.setCompactTree(tree);
+
+		for (int index = 1; index < tree.size(); index++)
+		{
+			String name = tree.getName(index);
+
+			switch (name)
+			{
+			case JITWatchConstants.TAG_TYPE:
+				task.addDictionaryType(getCompactTagID(tree, index), tree.getTag(index, task));
+				break;
+
+			case JITWatchConstants.TAG_METHOD:
+				task.addDictionaryMethod(getCompactTagID(tree, index), tree.getTag(index, task));
+				break;
+
+			case JITWatchConstants.TAG_KLASS:
+				task.addDictionaryKlass(getCompactTagID(tree, index), tree.getTag(index, task));
+				break;
+
+			default:
+				break;
+			}
+		}
+
+		return task;
+	}
+
+	private Tag intern(Tag tag)
+	{
+		return tagInterner != null ? tagInterner.intern(tag) : tag;
+	}
+
+	private String getCompactTagID(CompactTagTree tree, int index)
+	{
+		return StringUtil.getAttribute(tree.getAttributeString(index), JITWatchConstants.ATTR_ID);
+	}
 }
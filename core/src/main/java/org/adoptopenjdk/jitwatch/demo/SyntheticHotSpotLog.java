@@ -0,0 +1,1126 @@
+/*
+ * Copyright (c) 2026 Chris Newland.
+ * Licensed under https://github.com/AdoptOpenJDK/jitwatch/blob/master/LICENSE-BSD
+ * Instructions: https://github.com/AdoptOpenJDK/jitwatch/wiki
+ */
+package org.adoptopenjdk.jitwatch.demo;
+
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.S_NEWLINE;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Hashtable;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.StringJoiner;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.Vector;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+import java.util.zip.CRC32;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes a well-formed HotSpot LogCompilation log without running a VM so
+ * JITWatch itself can be load and soak tested at production scale. The same
+ * seed and settings write the same bytes when run on the same JDK.
+ *
+ * The compiled methods are real JDK methods so the parser can resolve them;
+ * bytecode sizes, inlining decisions, timings and addresses are made up. As
+ * HotSpot does, each compiler thread writes its tasks to a file of its own
+ * which is appended as a compilation_log section once the tty section is
+ * complete, so memory use does not grow with the size of the log.
+ *
+ * Usage: SyntheticHotSpotLog [options] <log file, gzipped if it ends .gz>
+ */
+public class SyntheticHotSpotLog
+{
+	private static final Class<?>[] CLASS_POOL = new Class<?>[] { String.class, StringBuilder.class, Integer.class, Long.class,
+			Character.class, Double.class, Float.class, Short.class, Byte.class, Boolean.class, Math.class, Objects.class,
+			Arrays.class, Collections.class, ArrayList.class, LinkedList.class, ArrayDeque.class, Vector.class, HashMap.class,
+			LinkedHashMap.class, TreeMap.class, Hashtable.class, IdentityHashMap.class, HashSet.class, TreeSet.class,
+			PriorityQueue.class, BitSet.class, Random.class, UUID.class, Optional.class, StringJoiner.class,
+			ConcurrentHashMap.class, AtomicInteger.class, AtomicLong.class, Pattern.class, BigInteger.class, BigDecimal.class,
+			CRC32.class };
+
+	private static final String[] TRAP_REASONS = new String[] { "unstable_if", "null_check", "class_check", "range_check",
+			"bimorphic", "unloaded", "type_checked_inlining" };
+
+	private static final String[] TRAP_ACTIONS = new String[] { "reinterpret", "make_not_entrant", "maybe_recompile", "none" };
+
+	private static final String[] INSTRUCTIONS = new String[] { "mov    %eax,-0x14000(%rsp)", "push   %rbp",
+			"sub    $0x20,%rsp", "mov    0xc(%rsi),%eax", "add    $0x1,%eax", "cmp    %r10d,%eax", "mov    0x8(%rsi),%r10d",
+			"movslq %edx,%r11", "lea    (%r12,%r11,8),%r10", "test   %eax,0x5ce1e93(%rip)", "add    $0x20,%rsp", "pop    %rbp" };
+
+	// bytecode size limits above which C1 and C2 do not inline
+	private static final int MAX_INLINE_SIZE = 35;
+	private static final int FREQ_INLINE_SIZE = 325;
+
+	private static final int MAX_METHOD_BYTES = 500;
+
+	private static final int FIRST_DICTIONARY_ID = 700;
+
+	private static final int PROCESS_ID = 12345;
+
+	private static final long FIRST_NMETHOD_ADDRESS = 0x00007f0000001000L;
+
+	private static final long CODE_CACHE_SIZE = 240L * 1024 * 1024;
+
+	private long seed = 42;
+
+	private int classCount = CLASS_POOL.length;
+	private int methodsPerClass = 20;
+
+	private long compilationCount = 10_000;
+	private long targetBytes = 0;
+
+	private int compileRate = 1000;
+
+	private int c1Percent = 60;
+	private int osrPercent = 5;
+	private int trapPercent = 10;
+
+	private int maxInlineDepth = 3;
+
+	private int sweepInterval = 500;
+
+	private int c1Threads = 1;
+	private int c2Threads = 2;
+
+	private boolean printAssembly = false;
+	private boolean traceClassLoading = false;
+
+	private Random random;
+
+	private List<SyntheticMethod> methods;
+
+	private Writer tty;
+
+	private List<CompilerThreadLog> c1ThreadLogs;
+	private List<CompilerThreadLog> c2ThreadLogs;
+
+	// tty lines waiting for the VM clock to reach their stamp
+	private PriorityQueue<PendingLine> pendingLines;
+
+	private long pendingSequence;
+
+	private long bytesWritten;
+
+	private long nextAddress;
+
+	private long freeCodeCache;
+
+	private int nmethodCount;
+
+	private int sweeperTraversals;
+
+	private static class SyntheticMethod
+	{
+		private final Method method;
+		private final int bytes;
+		private final String signature;
+
+		SyntheticMethod(Method method, int bytes)
+		{
+			this.method = method;
+			this.bytes = bytes;
+
+			StringBuilder builder = new StringBuilder();
+
+			builder.append(getInternalName(method.getDeclaringClass())).append(' ').append(method.getName()).append(" (");
+
+			for (Class<?> paramType : method.getParameterTypes())
+			{
+				builder.append(getDescriptor(paramType));
+			}
+
+			builder.append(')').append(getDescriptor(method.getReturnType()));
+
+			this.signature = builder.toString();
+		}
+
+		boolean isStatic()
+		{
+			return Modifier.isStatic(method.getModifiers());
+		}
+	}
+
+	private static class CompilerThreadLog
+	{
+		private final String threadId;
+		private final String threadName;
+		private final File file;
+		private final Writer writer;
+
+		CompilerThreadLog(String threadId, String threadName, File file) throws IOException
+		{
+			this.threadId = threadId;
+			this.threadName = threadName;
+			this.file = file;
+			this.writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8), 65536);
+		}
+	}
+
+	private static class PendingLine
+	{
+		private final long stamp;
+		private final long sequence;
+		private final String text;
+
+		PendingLine(long stamp, long sequence, String text)
+		{
+			this.stamp = stamp;
+			this.sequence = sequence;
+			this.text = text;
+		}
+	}
+
+	// type, klass and method ids are numbered per compilation as in HotSpot
+	private static class TaskDictionary
+	{
+		private final Map<Class<?>, Integer> typeIds = new HashMap<>();
+		private final Map<SyntheticMethod, Integer> methodIds = new IdentityHashMap<>();
+
+		private int nextId = FIRST_DICTIONARY_ID;
+	}
+
+	public SyntheticHotSpotLog(long seed)
+	{
+		this.seed = seed;
+	}
+
+	public void setClassCount(int classCount)
+	{
+		this.classCount = Math.max(1, Math.min(classCount, CLASS_POOL.length));
+	}
+
+	public void setMethodsPerClass(int methodsPerClass)
+	{
+		this.methodsPerClass = Math.max(1, methodsPerClass);
+	}
+
+	public void setCompilationCount(long compilationCount)
+	{
+		this.compilationCount = compilationCount;
+	}
+
+	// when set, compilations are written until the log reaches this size
+	public void setTargetBytes(long targetBytes)
+	{
+		this.targetBytes = targetBytes;
+	}
+
+	// compilations queued per second of VM time
+	public void setCompileRate(int compileRate)
+	{
+		this.compileRate = Math.max(1, compileRate);
+	}
+
+	public void setC1Percent(int c1Percent)
+	{
+		this.c1Percent = c1Percent;
+	}
+
+	public void setOSRPercent(int osrPercent)
+	{
+		this.osrPercent = osrPercent;
+	}
+
+	// percentage of C2 compilations that later hit an uncommon trap and are
+	// made not entrant
+	public void setTrapPercent(int trapPercent)
+	{
+		this.trapPercent = trapPercent;
+	}
+
+	public void setMaxInlineDepth(int maxInlineDepth)
+	{
+		this.maxInlineDepth = maxInlineDepth;
+	}
+
+	// compilations between code cache sweeps, 0 for no sweeper events
+	public void setSweepInterval(int sweepInterval)
+	{
+		this.sweepInterval = sweepInterval;
+	}
+
+	public void setCompilerThreads(int c1Threads, int c2Threads)
+	{
+		this.c1Threads = Math.max(1, c1Threads);
+		this.c2Threads = Math.max(1, c2Threads);
+	}
+
+	public void setPrintAssembly(boolean printAssembly)
+	{
+		this.printAssembly = printAssembly;
+	}
+
+	/**
+	 * Writes a TraceClassLoading line for every class in the pool, including
+	 * those no method is compiled from.
+	 */
+	public void setTraceClassLoading(boolean traceClassLoading)
+	{
+		this.traceClassLoading = traceClassLoading;
+	}
+
+	/**
+	 * @return the number of compilations written
+	 */
+	public long write(File logFile) throws IOException
+	{
+		random = new Random(seed);
+
+		methods = buildMethods();
+
+		pendingLines = new PriorityQueue<>(64, new Comparator<PendingLine>()
+		{
+			@Override
+			public int compare(PendingLine l1, PendingLine l2)
+			{
+				int result = Long.compare(l1.stamp, l2.stamp);
+
+				if (result == 0)
+				{
+					result = Long.compare(l1.sequence, l2.sequence);
+				}
+
+				return result;
+			}
+		});
+
+		pendingSequence = 0;
+		bytesWritten = 0;
+		nextAddress = FIRST_NMETHOD_ADDRESS;
+		freeCodeCache = CODE_CACHE_SIZE;
+		nmethodCount = 0;
+		sweeperTraversals = 0;
+
+		File directory = logFile.getAbsoluteFile().getParentFile();
+
+		c1ThreadLogs = createThreadLogs("C1 CompilerThread", 2001, c1Threads, directory);
+		c2ThreadLogs = createThreadLogs("C2 CompilerThread", 1001, c2Threads, directory);
+
+		long written = 0;
+
+		try (OutputStream output = openOutput(logFile))
+		{
+			tty = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8), 65536);
+
+			writeHeader();
+
+			long clock = 50;
+
+			while (targetBytes > 0 ? bytesWritten < targetBytes : written < compilationCount)
+			{
+				clock += nextQueueInterval();
+
+				flushPendingLines(clock);
+
+				writeCompilation((int) (written + 1), clock);
+
+				written++;
+			}
+
+			flushPendingLines(Long.MAX_VALUE);
+
+			long endStamp = clock + 100;
+
+			write(tty, "<destroy_vm stamp='" + formatStamp(endStamp) + "'/>");
+			write(tty, "</tty>");
+
+			tty.flush();
+
+			appendThreadLogs(output, c2ThreadLogs);
+			appendThreadLogs(output, c1ThreadLogs);
+
+			write(tty, "<hotspot_log_done stamp='" + formatStamp(endStamp) + "'/>");
+			write(tty, "</hotspot_log>");
+
+			tty.flush();
+		}
+		finally
+		{
+			deleteThreadLogs(c2ThreadLogs);
+			deleteThreadLogs(c1ThreadLogs);
+		}
+
+		return written;
+	}
+
+	private OutputStream openOutput(File logFile) throws IOException
+	{
+		OutputStream result = new FileOutputStream(logFile);
+
+		if (logFile.getName().endsWith(".gz"))
+		{
+			result = new GZIPOutputStream(result, 65536);
+		}
+
+		return result;
+	}
+
+	private List<SyntheticMethod> buildMethods()
+	{
+		List<SyntheticMethod> result = new ArrayList<>();
+
+		for (int c = 0; c < classCount; c++)
+		{
+			List<Method> candidates = new ArrayList<>();
+
+			for (Method method : CLASS_POOL[c].getDeclaredMethods())
+			{
+				int modifiers = method.getModifiers();
+
+				if (!method.isSynthetic() && !method.isBridge() && !Modifier.isAbstract(modifiers) && !Modifier.isNative(modifiers))
+				{
+					candidates.add(method);
+				}
+			}
+
+			// getDeclaredMethods() order is unspecified
+			Collections.sort(candidates, new Comparator<Method>()
+			{
+				@Override
+				public int compare(Method m1, Method m2)
+				{
+					return (m1.getName() + m1.toString()).compareTo(m2.getName() + m2.toString());
+				}
+			});
+
+			Collections.shuffle(candidates, random);
+
+			int count = Math.min(methodsPerClass, candidates.size());
+
+			for (int m = 0; m < count; m++)
+			{
+				result.add(new SyntheticMethod(candidates.get(m), between(1, MAX_METHOD_BYTES)));
+			}
+		}
+
+		return result;
+	}
+
+	private List<CompilerThreadLog> createThreadLogs(String namePrefix, int firstThreadId, int count, File directory)
+			throws IOException
+	{
+		List<CompilerThreadLog> result = new ArrayList<>(count);
+
+		for (int i = 0; i < count; i++)
+		{
+			File file = File.createTempFile("jitwatch-synthetic-thread", ".log", directory);
+
+			result.add(new CompilerThreadLog(Integer.toString(firstThreadId + i), namePrefix + i, file));
+		}
+
+		return result;
+	}
+
+	private void appendThreadLogs(OutputStream output, List<CompilerThreadLog> threadLogs) throws IOException
+	{
+		for (CompilerThreadLog threadLog : threadLogs)
+		{
+			threadLog.writer.close();
+
+			write(tty, "<compilation_log thread='" + threadLog.threadId + "'>");
+			write(tty, "<start_compile_thread name='" + threadLog.threadName + "' thread='" + threadLog.threadId + "' process='"
+					+ PROCESS_ID + "' stamp='0.010'/>");
+
+			tty.flush();
+
+			Files.copy(threadLog.file.toPath(), output);
+
+			write(tty, "</compilation_log>");
+		}
+	}
+
+	private void deleteThreadLogs(List<CompilerThreadLog> threadLogs)
+	{
+		if (threadLogs != null)
+		{
+			for (CompilerThreadLog threadLog : threadLogs)
+			{
+				try
+				{
+					threadLog.writer.close();
+				}
+				catch (IOException ioe)
+				{
+					// deleting anyway
+				}
+
+				threadLog.file.delete();
+			}
+		}
+	}
+
+	private void writeHeader() throws IOException
+	{
+		write(tty, "<?xml version='1.0' encoding='UTF-8'?>");
+		write(tty, "<hotspot_log version='160 1' process='" + PROCESS_ID + "' time_ms='1500000000000'>");
+		write(tty, "<vm_version>");
+		write(tty, "<name>");
+		write(tty, "Java HotSpot(TM) 64-Bit Server VM");
+		write(tty, "</name>");
+		write(tty, "<release>");
+		write(tty, "25.181-b13");
+		write(tty, "</release>");
+		write(tty, "<info>");
+		write(tty, "Java HotSpot(TM) 64-Bit Server VM (25.181-b13) for linux-amd64 JRE (1.8.0_181-b13), built by SyntheticHotSpotLog seed "
+				+ seed);
+		write(tty, "</info>");
+		write(tty, "</vm_version>");
+		write(tty, "<vm_arguments>");
+		write(tty, "<args>");
+		write(tty, "-XX:+UnlockDiagnosticVMOptions -XX:+LogCompilation" + (printAssembly ? " -XX:+PrintAssembly" : "")
+				+ (traceClassLoading ? " -XX:+TraceClassLoading" : ""));
+		write(tty, "</args>");
+		write(tty, "<command>");
+		write(tty, SyntheticHotSpotLog.class.getName());
+		write(tty, "</command>");
+		write(tty, "<launcher>");
+		write(tty, "SUN_STANDARD");
+		write(tty, "</launcher>");
+		write(tty, "</vm_arguments>");
+		write(tty, "<tty>");
+
+		if (traceClassLoading)
+		{
+			for (Class<?> clazz : CLASS_POOL)
+			{
+				write(tty, "[Loaded " + clazz.getName() + " from /usr/lib/jvm/java-8/jre/lib/rt.jar]");
+			}
+		}
+	}
+
+	private void writeCompilation(int compileID, long queuedStamp) throws IOException
+	{
+		SyntheticMethod method = pickMethod();
+
+		boolean c1 = random.nextInt(100) < c1Percent;
+		boolean osr = random.nextInt(100) < osrPercent;
+
+		List<CompilerThreadLog> threadLogs = c1 ? c1ThreadLogs : c2ThreadLogs;
+
+		CompilerThreadLog threadLog = threadLogs.get(compileID % threadLogs.size());
+
+		long startStamp = queuedStamp + between(0, 5);
+		long doneStamp = startStamp + (c1 ? between(0, 3) : between(1, 40));
+
+		int count = between(1000, 20000);
+		int backedgeCount = osr ? between(10000, 100000) : 0;
+		int osrBCI = osr ? between(0, method.bytes - 1) : 0;
+
+		int nmSize = c1 ? between(200, 3000) : between(300, 8000);
+
+		long address = nextAddress;
+
+		nextAddress += (nmSize + 63) & ~63;
+
+		StringBuilder methodAttrs = new StringBuilder();
+
+		if (osr)
+		{
+			methodAttrs.append("compile_kind='osr' osr_bci='").append(osrBCI).append("' ");
+		}
+
+		methodAttrs.append("method='").append(method.signature).append("' bytes='").append(method.bytes).append("' count='")
+				.append(count).append("' ");
+
+		if (osr)
+		{
+			methodAttrs.append("backedge_count='").append(backedgeCount).append("' ");
+		}
+
+		methodAttrs.append("iicount='").append(count).append("'");
+
+		String level = c1 ? "3" : "4";
+
+		write(tty, "<task_queued compile_id='" + compileID + "' " + methodAttrs + " level='" + level + "' stamp='"
+				+ formatStamp(queuedStamp) + "' comment='tiered' hot_count='" + count + "'/>");
+
+		writeTask(threadLog.writer, compileID, method, c1, methodAttrs.toString(), level, count, nmSize, startStamp, doneStamp);
+
+		nmethodCount++;
+		freeCodeCache -= nmSize;
+
+		StringBuilder nmethod = new StringBuilder();
+
+		nmethod.append("<nmethod compile_id='").append(compileID).append("' ");
+
+		if (osr)
+		{
+			nmethod.append("compile_kind='osr' ");
+		}
+
+		nmethod.append("compiler='").append(c1 ? "C1" : "C2").append("' level='").append(level).append("' entry='")
+				.append(formatAddress(address + 0x140)).append("' size='").append(nmSize).append("' address='")
+				.append(formatAddress(address)).append("' relocation='288' insts_offset='320' stub_offset='")
+				.append(nmSize / 2).append("' ").append(methodAttrs.substring(methodAttrs.indexOf("method='"))).append(" stamp='")
+				.append(formatStamp(doneStamp)).append("'/>");
+
+		if (printAssembly)
+		{
+			nmethod.append(S_NEWLINE).append(buildAssembly(method, address, doneStamp));
+		}
+
+		addPendingLine(doneStamp, nmethod.toString());
+
+		if (!c1 && random.nextInt(100) < trapPercent)
+		{
+			addTrap(compileID, method, doneStamp + between(10, 2000));
+		}
+
+		if (freeCodeCache < CODE_CACHE_SIZE / 20)
+		{
+			addPendingLine(doneStamp, "<code_cache_full space='CodeCache' stamp='" + formatStamp(doneStamp) + "'/>");
+
+			addSweep(doneStamp);
+		}
+		else if (sweepInterval > 0 && compileID % sweepInterval == 0)
+		{
+			addSweep(doneStamp);
+		}
+	}
+
+	private void writeTask(Writer writer, int compileID, SyntheticMethod method, boolean c1, String methodAttrs, String level,
+			int count, int nmSize, long startStamp, long doneStamp) throws IOException
+	{
+		String start = formatStamp(startStamp);
+		String done = formatStamp(doneStamp);
+
+		write(writer, "<task compile_id='" + compileID + "' " + methodAttrs + (c1 ? " level='" + level + "'" : "") + " stamp='" + start
+				+ "'>");
+
+		TaskDictionary dictionary = new TaskDictionary();
+
+		int inlinedBytes;
+
+		if (c1)
+		{
+			write(writer, "<phase name='buildIR' stamp='" + start + "'>");
+
+			int methodId = getMethodId(writer, dictionary, method, count);
+
+			write(writer, "<parse method='" + methodId + "'  stamp='" + start + "'>");
+			write(writer, "<phase name='parse_hir' stamp='" + start + "'>");
+
+			inlinedBytes = writeInlines(writer, dictionary, method, true, 1, count, start);
+
+			write(writer, "<phase_done name='parse_hir' stamp='" + done + "'/>");
+			write(writer, "</phase>");
+			write(writer, "<parse_done stamp='" + done + "'/>");
+			write(writer, "</parse>");
+			write(writer, "<phase_done name='buildIR' stamp='" + done + "'/>");
+			write(writer, "</phase>");
+		}
+		else
+		{
+			write(writer, "<phase name='parse' nodes='3' live='3' stamp='" + start + "'>");
+
+			int methodId = getMethodId(writer, dictionary, method, count);
+
+			write(writer, "<parse method='" + methodId + "' uses='" + count + "' stamp='" + start + "'>");
+
+			inlinedBytes = writeInlines(writer, dictionary, method, false, 1, count, start);
+
+			int nodes = between(50, 5000);
+
+			write(writer, "<parse_done nodes='" + nodes + "' live='" + (nodes - nodes / 4) + "' memory='" + nodes * 96 + "' stamp='"
+					+ done + "'/>");
+			write(writer, "</parse>");
+			write(writer, "<phase_done name='parse' nodes='" + nodes + "' live='" + (nodes - nodes / 4) + "' stamp='" + done + "'/>");
+			write(writer, "</phase>");
+			write(writer, "<phase name='optimizer' nodes='" + nodes + "' live='" + (nodes - nodes / 4) + "' stamp='" + done + "'>");
+			write(writer, "<phase_done name='optimizer' nodes='" + nodes / 2 + "' live='" + nodes / 3 + "' stamp='" + done + "'/>");
+			write(writer, "</phase>");
+		}
+
+		write(writer, "<code_cache total_blobs='" + (nmethodCount + 400) + "' nmethods='" + (nmethodCount + 1)
+				+ "' adapters='250' free_code_cache='" + (freeCodeCache - nmSize) + "'/>");
+		write(writer, "<task_done success='1' nmsize='" + nmSize + "' count='" + count + "' inlined_bytes='" + inlinedBytes
+				+ "' stamp='" + done + "'/>");
+		write(writer, "</task>");
+	}
+
+	// returns the bytecode size of everything inlined into the caller
+	private int writeInlines(Writer writer, TaskDictionary dictionary, SyntheticMethod caller, boolean c1, int depth, int count,
+			String stamp) throws IOException
+	{
+		int result = 0;
+
+		if (depth <= maxInlineDepth)
+		{
+			int calls = between(0, 3);
+
+			for (int i = 0; i < calls; i++)
+			{
+				SyntheticMethod callee = pickMethod();
+
+				int bci = between(0, caller.bytes - 1);
+
+				write(writer, "<bc code='" + (callee.isStatic() ? 184 : 182) + "' bci='" + bci + "'/>");
+
+				int calleeId = getMethodId(writer, dictionary, callee, count);
+
+				if (c1)
+				{
+					write(writer, "<call method='" + calleeId + "' instr='" + (callee.isStatic() ? "invokestatic" : "invokevirtual")
+							+ "'/>");
+				}
+				else
+				{
+					write(writer, "<call method='" + calleeId + "' count='" + count + "' prof_factor='1' inline='1'/>");
+				}
+
+				if (callee.bytes <= (c1 ? MAX_INLINE_SIZE : FREQ_INLINE_SIZE))
+				{
+					write(writer, "<inline_success reason='" + (callee.bytes <= 6 ? "accessor" : "inline (hot)") + "'/>");
+
+					if (c1)
+					{
+						write(writer, "<parse method='" + calleeId + "'>");
+					}
+					else
+					{
+						write(writer, "<parse method='" + calleeId + "' uses='" + count + "' stamp='" + stamp + "'>");
+					}
+
+					result += callee.bytes + writeInlines(writer, dictionary, callee, c1, depth + 1, count, stamp);
+
+					if (c1)
+					{
+						write(writer, "<parse_done stamp='" + stamp + "'/>");
+					}
+					else
+					{
+						int nodes = between(10, 500);
+
+						write(writer, "<parse_done nodes='" + nodes + "' live='" + nodes + "' memory='" + nodes * 96 + "' stamp='"
+								+ stamp + "'/>");
+					}
+
+					write(writer, "</parse>");
+				}
+				else
+				{
+					write(writer, "<inline_fail reason='" + (c1 ? "callee is too large" : "hot method too big") + "'/>");
+
+					if (!c1)
+					{
+						write(writer, "<direct_call bci='" + bci + "'/>");
+					}
+				}
+			}
+		}
+
+		return result;
+	}
+
+	private int getMethodId(Writer writer, TaskDictionary dictionary, SyntheticMethod syntheticMethod, int count)
+			throws IOException
+	{
+		Integer result = dictionary.methodIds.get(syntheticMethod);
+
+		if (result == null)
+		{
+			Method method = syntheticMethod.method;
+
+			int holderId = getTypeId(writer, dictionary, method.getDeclaringClass());
+			int returnId = getTypeId(writer, dictionary, method.getReturnType());
+
+			StringBuilder arguments = new StringBuilder();
+
+			for (Class<?> paramType : method.getParameterTypes())
+			{
+				if (arguments.length() > 0)
+				{
+					arguments.append(' ');
+				}
+
+				arguments.append(getTypeId(writer, dictionary, paramType));
+			}
+
+			result = dictionary.nextId++;
+
+			dictionary.methodIds.put(syntheticMethod, result);
+
+			write(writer, "<method id='" + result + "' holder='" + holderId + "' name='" + method.getName() + "' return='" + returnId
+					+ "'" + (arguments.length() > 0 ? " arguments='" + arguments + "'" : "") + " flags='" + method.getModifiers()
+					+ "' bytes='" + syntheticMethod.bytes + "' iicount='" + count + "'/>");
+		}
+
+		return result;
+	}
+
+	private int getTypeId(Writer writer, TaskDictionary dictionary, Class<?> type) throws IOException
+	{
+		Integer result = dictionary.typeIds.get(type);
+
+		if (result == null)
+		{
+			result = dictionary.nextId++;
+
+			dictionary.typeIds.put(type, result);
+
+			if (type.isPrimitive())
+			{
+				write(writer, "<type id='" + result + "' name='" + type.getName() + "'/>");
+			}
+			else
+			{
+				write(writer, "<klass id='" + result + "' name='" + getInternalName(type) + "' flags='" + type.getModifiers() + "'/>");
+			}
+		}
+
+		return result;
+	}
+
+	private String buildAssembly(SyntheticMethod method, long address, long stamp)
+	{
+		StringBuilder builder = new StringBuilder();
+
+		Method reflected = method.method;
+
+		String descriptor = method.signature.substring(method.signature.lastIndexOf(' ') + 1);
+
+		builder.append("<print_nmethod stamp='").append(formatStamp(stamp)).append("'>").append(S_NEWLINE);
+		builder.append("Decoding compiled method ").append(formatAddress(address)).append(':').append(S_NEWLINE);
+		builder.append("Code:").append(S_NEWLINE);
+		builder.append("[Disassembling for mach=&apos;i386:x86-64&apos;]").append(S_NEWLINE);
+		builder.append("[Entry Point]").append(S_NEWLINE);
+		builder.append("[Constants]").append(S_NEWLINE);
+		builder.append("  # {method} &apos;").append(reflected.getName()).append("&apos; &apos;").append(descriptor)
+				.append("&apos; in &apos;").append(getInternalName(reflected.getDeclaringClass())).append("&apos;")
+				.append(S_NEWLINE);
+
+		long instructionAddress = address + 0x140;
+
+		int instructions = between(5, 40);
+
+		for (int i = 0; i < instructions; i++)
+		{
+			builder.append("  ").append(formatAddress(instructionAddress)).append(": ")
+					.append(INSTRUCTIONS[random.nextInt(INSTRUCTIONS.length)]).append(S_NEWLINE);
+
+			instructionAddress += between(1, 8);
+		}
+
+		builder.append("  ").append(formatAddress(instructionAddress)).append(": retq").append(S_NEWLINE);
+		builder.append("</print_nmethod>");
+
+		return builder.toString();
+	}
+
+	private void addTrap(int compileID, SyntheticMethod method, long stamp)
+	{
+		StringBuilder builder = new StringBuilder();
+
+		String formattedStamp = formatStamp(stamp);
+
+		builder.append("<uncommon_trap thread='4321' reason='").append(TRAP_REASONS[random.nextInt(TRAP_REASONS.length)])
+				.append("' action='").append(TRAP_ACTIONS[random.nextInt(TRAP_ACTIONS.length)]).append("' compile_id='")
+				.append(compileID).append("' compiler='C2' level='4' stamp='").append(formattedStamp).append("'>")
+				.append(S_NEWLINE);
+		builder.append("<jvms bci='").append(between(0, method.bytes - 1)).append("' method='").append(method.signature)
+				.append("' bytes='").append(method.bytes).append("' count='5000' iicount='5000'/>").append(S_NEWLINE);
+		builder.append("</uncommon_trap>").append(S_NEWLINE);
+		builder.append("<make_not_entrant thread='4321' compile_id='").append(compileID)
+				.append("' compiler='C2' level='4' stamp='").append(formattedStamp).append("'/>");
+
+		addPendingLine(stamp, builder.toString());
+	}
+
+	private void addSweep(long stamp)
+	{
+		sweeperTraversals++;
+
+		long reclaimed = (CODE_CACHE_SIZE - freeCodeCache) * between(30, 70) / 100;
+
+		freeCodeCache += reclaimed;
+
+		addPendingLine(stamp, "<sweeper state='finished' traversals='" + sweeperTraversals + "' total_blobs='" + (nmethodCount + 400)
+				+ "' nmethods='" + nmethodCount + "' adapters='250' free_code_cache='" + freeCodeCache + "' stamp='"
+				+ formatStamp(stamp) + "'/>");
+	}
+
+	private void addPendingLine(long stamp, String text)
+	{
+		pendingLines.add(new PendingLine(stamp, pendingSequence++, text));
+	}
+
+	private void flushPendingLines(long clock) throws IOException
+	{
+		while (!pendingLines.isEmpty() && pendingLines.peek().stamp <= clock)
+		{
+			write(tty, pendingLines.poll().text);
+		}
+	}
+
+	// hot methods are compiled far more often than the rest
+	private SyntheticMethod pickMethod()
+	{
+		double r = random.nextDouble();
+
+		return methods.get((int) (r * r * methods.size()));
+	}
+
+	private long nextQueueInterval()
+	{
+		double meanMillis = 1000.0 / compileRate;
+
+		return Math.round(-Math.log(1.0 - random.nextDouble()) * meanMillis);
+	}
+
+	private int between(int min, int max)
+	{
+		return max <= min ? min : min + random.nextInt(max - min + 1);
+	}
+
+	private void write(Writer writer, String text) throws IOException
+	{
+		writer.write(text);
+		writer.write(S_NEWLINE);
+
+		bytesWritten += text.length() + S_NEWLINE.length();
+	}
+
+	private static String formatStamp(long millis)
+	{
+		StringBuilder builder = new StringBuilder();
+
+		builder.append(millis / 1000).append('.');
+
+		long fraction = millis % 1000;
+
+		if (fraction < 100)
+		{
+			builder.append('0');
+		}
+
+		if (fraction < 10)
+		{
+			builder.append('0');
+		}
+
+		return builder.append(fraction).toString();
+	}
+
+	private static String formatAddress(long address)
+	{
+		String hex = Long.toHexString(address);
+
+		StringBuilder builder = new StringBuilder("0x");
+
+		for (int i = hex.length(); i < 16; i++)
+		{
+			builder.append('0');
+		}
+
+		return builder.append(hex).toString();
+	}
+
+	private static String getInternalName(Class<?> type)
+	{
+		return type.getName().replace('.', '/');
+	}
+
+	private static String getDescriptor(Class<?> type)
+	{
+		String result;
+
+		if (type.isArray())
+		{
+			result = getInternalName(type);
+		}
+		else if (type.isPrimitive())
+		{
+			if (type == void.class)
+			{
+				result = "V";
+			}
+			else if (type == boolean.class)
+			{
+				result = "Z";
+			}
+			else if (type == long.class)
+			{
+				result = "J";
+			}
+			else
+			{
+				result = type.getName().substring(0, 1).toUpperCase();
+			}
+		}
+		else
+		{
+			result = "L" + getInternalName(type) + ";";
+		}
+
+		return result;
+	}
+
+	public static void main(String[] args) throws IOException
+	{
+		if (args.length < 1)
+		{
+			System.err.println("Usage: SyntheticHotSpotLog <options> <log file, gzipped if it ends .gz>");
+			System.err.println("options:");
+			System.err.println("-seed=N\t\tRandom seed (default 42)");
+			System.err.println("-classes=N\tNumber of JDK classes to compile methods from (max " + CLASS_POOL.length + ")");
+			System.err.println("-methods=N\tMethods per class (default 20)");
+			System.err.println("-compilations=N\tNumber of compilations (default 10000)");
+			System.err.println("-size=N[K|M|G]\tWrite compilations until the log is this size instead");
+			System.err.println("-rate=N\t\tCompilations queued per second of VM time (default 1000)");
+			System.err.println("-c1=N\t\tPercentage of C1 compilations (default 60)");
+			System.err.println("-osr=N\t\tPercentage of OSR compilations (default 5)");
+			System.err.println("-traps=N\tPercentage of C2 compilations hitting an uncommon trap (default 10)");
+			System.err.println("-depth=N\tMaximum inline depth (default 3)");
+			System.err.println("-sweep=N\tCompilations between sweeper events, 0 for none (default 500)");
+			System.err.println("-threads=C1,C2\tCompiler threads (default 1,2)");
+			System.err.println("-asm\t\tWrite PrintAssembly output for every nmethod");
+			System.err.println("-loaded\t\tWrite TraceClassLoading output for every class in the pool");
+
+			System.exit(-1);
+		}
+
+		long seed = 42;
+
+		for (String arg : args)
+		{
+			if (arg.startsWith("-seed="))
+			{
+				seed = Long.parseLong(getOptionValue(arg));
+			}
+		}
+
+		SyntheticHotSpotLog generator = new SyntheticHotSpotLog(seed);
+
+		for (int i = 0; i < args.length - 1; i++)
+		{
+			String arg = args[i];
+
+			String option = arg.indexOf('=') != -1 ? arg.substring(0, arg.indexOf('=')) : arg;
+
+			switch (option)
+			{
+			case "-seed":
+				break;
+			case "-classes":
+				generator.setClassCount(Integer.parseInt(getOptionValue(arg)));
+				break;
+			case "-methods":
+				generator.setMethodsPerClass(Integer.parseInt(getOptionValue(arg)));
+				break;
+			case "-compilations":
+				generator.setCompilationCount(Long.parseLong(getOptionValue(arg)));
+				break;
+			case "-size":
+				generator.setTargetBytes(parseSize(getOptionValue(arg)));
+				break;
+			case "-rate":
+				generator.setCompileRate(Integer.parseInt(getOptionValue(arg)));
+				break;
+			case "-c1":
+				generator.setC1Percent(Integer.parseInt(getOptionValue(arg)));
+				break;
+			case "-osr":
+				generator.setOSRPercent(Integer.parseInt(getOptionValue(arg)));
+				break;
+			case "-traps":
+				generator.setTrapPercent(Integer.parseInt(getOptionValue(arg)));
+				break;
+			case "-depth":
+				generator.setMaxInlineDepth(Integer.parseInt(getOptionValue(arg)));
+				break;
+			case "-sweep":
+				generator.setSweepInterval(Integer.parseInt(getOptionValue(arg)));
+				break;
+			case "-threads":
+				String[] threads = getOptionValue(arg).split(",");
+				generator.setCompilerThreads(Integer.parseInt(threads[0]), Integer.parseInt(threads[1]));
+				break;
+			case "-asm":
+				generator.setPrintAssembly(true);
+				break;
+			case "-loaded":
+				generator.setTraceClassLoading(true);
+				break;
+			default:
+				System.err.println("Unknown option " + arg);
+				System.exit(-1);
+			}
+		}
+
+		File logFile = new File(args[args.length - 1]);
+
+		long compilations = generator.write(logFile);
+
+		System.out.println("Wrote " + compilations + " compilations to " + logFile.getAbsolutePath() + " ("
+				+ logFile.length() + " bytes)");
+	}
+
+	private static String getOptionValue(String arg)
+	{
+		return arg.substring(arg.indexOf('=') + 1);
+	}
+
+	private static long parseSize(String value)
+	{
+		long multiplier = 1;
+
+		String digits = value.toUpperCase();
+
+		switch (digits.charAt(digits.length() - 1))
+		{
+		case 'K':
+			multiplier = 1024L;
+			break;
+		case 'M':
+			multiplier = 1024L * 1024;
+			break;
+		case 'G':
+			multiplier = 1024L * 1024 * 1024;
+			break;
+		default:
+			break;
+		}
+
+		if (multiplier > 1)
+		{
+			digits = digits.substring(0, digits.length() - 1);
+		}
+
+		return Long.parseLong(digits) * multiplier;
+	}
+}
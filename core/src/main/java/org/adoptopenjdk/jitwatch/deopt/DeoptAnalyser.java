@@ -0,0 +1,190 @@
+/*
+ * Copyright (c) 2026 Chris Newland.
+ * Licensed under https://github.com/AdoptOpenJDK/jitwatch/blob/master/LICENSE-BSD
+ * Instructions: https://github.com/AdoptOpenJDK/jitwatch/wiki
+ */
+package org.adoptopenjdk.jitwatch.deopt;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.adoptopenjdk.jitwatch.model.Compilation;
+import org.adoptopenjdk.jitwatch.model.DeoptEvent;
+import org.adoptopenjdk.jitwatch.model.DeoptEvent.DeoptEventType;
+import org.adoptopenjdk.jitwatch.model.IMetaMember;
+import org.adoptopenjdk.jitwatch.model.IReadOnlyDeoptEventStore;
+import org.adoptopenjdk.jitwatch.model.IReadOnlyJITDataModel;
+
+/**
+ * Summarises the deopt events of a model: how many happened in each interval
+ * of the run, the most common reasons and the members whose code was thrown
+ * away and recompiled again and again.
+ */
+public class DeoptAnalyser
+{
+	public static final long DEFAULT_INTERVAL_MILLIS = 1000;
+
+	// made not entrant this many times and still being recompiled
+	public static final int DEFAULT_RECOMPILE_LOOP_THRESHOLD = 3;
+
+	private final IReadOnlyDeoptEventStore store;
+
+	private final List<DeoptEvent> events;
+
+	public DeoptAnalyser(IReadOnlyJITDataModel model)
+	{
+		this.store = model.getDeoptEvents();
+		this.events = store.getEvents();
+	}
+
+	public int getEventCount()
+	{
+		return events.size();
+	}
+
+	/**
+	 * @return the number of events of the type in each interval from the
+	 *         start of the VM to the last event
+	 */
+	public int[] getCountsPerInterval(DeoptEventType eventType, long intervalMillis)
+	{
+		int[] result;
+
+		if (events.isEmpty())
+		{
+			result = new int[0];
+		}
+		else
+		{
+			long lastStamp = events.get(events.size() - 1).getStamp();
+
+			result = new int[(int) (lastStamp / intervalMillis) + 1];
+
+			for (int i = 0; i < result.length; i++)
+			{
+				long from = i * intervalMillis;
+
+				result[i] = store.count(eventType, from, from + intervalMillis);
+			}
+		}
+
+		return result;
+	}
+
+	/**
+	 * @return the reasons given by uncommon traps and deoptimizations with the
+	 *         most frequent first
+	 */
+	public Map<String, Integer> getReasonCounts()
+	{
+		Map<String, Integer> counts = new HashMap<>();
+
+		for (DeoptEvent event : events)
+		{
+			String reason = event.getReason();
+
+			if (reason != null)
+			{
+				Integer count = counts.get(reason);
+
+				counts.put(reason, count == null ? 1 : count + 1);
+			}
+		}
+
+		List<Map.Entry<String, Integer>> entries = new ArrayList<>(counts.entrySet());
+
+		Collections.sort(entries, new Comparator<Map.Entry<String, Integer>>()
+		{
+			@Override
+			public int compare(Map.Entry<String, Integer> e1, Map.Entry<String, Integer> e2)
+			{
+				int result = Integer.compare(e2.getValue(), e1.getValue());
+
+				if (result == 0)
+				{
+					result = e1.getKey().compareTo(e2.getKey());
+				}
+
+				return result;
+			}
+		});
+
+		Map<String, Integer> result = new LinkedHashMap<>();
+
+		for (Map.Entry<String, Integer> entry : entries)
+		{
+			result.put(entry.getKey(), entry.getValue());
+		}
+
+		return result;
+	}
+
+	/**
+	 * @return the stats of every member with events linked to one of its
+	 *         compilations
+	 */
+	public List<DeoptMemberStats> getMemberStats()
+	{
+		Map<IMetaMember, DeoptMemberStats> statsMap = new IdentityHashMap<>();
+
+		List<DeoptMemberStats> result = new ArrayList<>();
+
+		for (DeoptEvent event : events)
+		{
+			Compilation compilation = event.getCompilation();
+
+			if (compilation != null)
+			{
+				IMetaMember member = compilation.getMember();
+
+				DeoptMemberStats stats = statsMap.get(member);
+
+				if (stats == null)
+				{
+					stats = new DeoptMemberStats(member);
+
+					statsMap.put(member, stats);
+					result.add(stats);
+				}
+
+				stats.addEvent(event);
+			}
+		}
+
+		return result;
+	}
+
+	/**
+	 * @return members made not entrant at least threshold times, the most
+	 *         often first
+	 */
+	public List<DeoptMemberStats> getRecompileLoops(int threshold)
+	{
+		List<DeoptMemberStats> result = new ArrayList<>();
+
+		for (DeoptMemberStats stats : getMemberStats())
+		{
+			if (stats.getNotEntrantCount() >= threshold)
+			{
+				result.add(stats);
+			}
+		}
+
+		Collections.sort(result, new Comparator<DeoptMemberStats>()
+		{
+			@Override
+			public int compare(DeoptMemberStats s1, DeoptMemberStats s2)
+			{
+				return Integer.compare(s2.getNotEntrantCount(), s1.getNotEntrantCount());
+			}
+		});
+
+		return result;
+	}
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2026 Chris Newland.
+ * Licensed under https://github.com/AdoptOpenJDK/jitwatch/blob/master/LICENSE-BSD
+ * Instructions: https://github.com/AdoptOpenJDK/jitwatch/wiki
+ */
+package org.adoptopenjdk.jitwatch.deopt;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.adoptopenjdk.jitwatch.model.DeoptEvent;
+import org.adoptopenjdk.jitwatch.model.IMetaMember;
+
+/**
+ * The deopt events that affected the compiled code of one member.
+ */
+public class DeoptMemberStats
+{
+	private final IMetaMember member;
+
+	private int trapCount;
+	private int deoptimizedCount;
+	private int notEntrantCount;
+
+	private final Map<String, Integer> reasons = new TreeMap<>();
+
+	public DeoptMemberStats(IMetaMember member)
+	{
+		this.member = member;
+	}
+
+	void addEvent(DeoptEvent event)
+	{
+		switch (event.getEventType())
+		{
+		case UNCOMMON_TRAP:
+			trapCount++;
+			break;
+		case DEOPTIMIZED:
+			deoptimizedCount++;
+			break;
+		case MAKE_NOT_ENTRANT:
+			notEntrantCount++;
+			break;
+		default:
+			break;
+		}
+
+		String reason = event.getReason();
+
+		if (reason != null)
+		{
+			Integer count = reasons.get(reason);
+
+			reasons.put(reason, count == null ? 1 : count + 1);
+		}
+	}
+
+	public IMetaMember getMember()
+	{
+		return member;
+	}
+
+	public int getTrapCount()
+	{
+		return trapCount;
+	}
+
+	public int getDeoptimizedCount()
+	{
+		return deoptimizedCount;
+	}
+
+	/**
+	 * @return how many times compiled code for the member was thrown away
+	 */
+	public int getNotEntrantCount()
+	{
+		return notEntrantCount;
+	}
+
+	public int getCompilationCount()
+	{
+		return member.getCompilations().size();
+	}
+
+	public Map<String, Integer> getReasons()
+	{
+		return reasons;
+	}
+
+	/**
+	 * @return the most frequent trap or deoptimization reason or null if none
+	 *         was given
+	 */
+	public String getTopReason()
+	{
+		String result = null;
+
+		int topCount = 0;
+
+		for (Map.Entry<String, Integer> entry : reasons.entrySet())
+		{
+			if (entry.getValue() > topCount)
+			{
+				result = entry.getKey();
+				topCount = entry.getValue();
+			}
+		}
+
+		return result;
+	}
+}
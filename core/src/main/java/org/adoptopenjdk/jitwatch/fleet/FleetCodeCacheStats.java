@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2026 Chris Newland.
+ * Licensed under https://github.com/AdoptOpenJDK/jitwatch/blob/master/LICENSE-BSD
+ * Instructions: https://github.com/AdoptOpenJDK/jitwatch/wiki
+ */
+package org.adoptopenjdk.jitwatch.fleet;
+
+import org.adoptopenjdk.jitwatch.model.CodeCacheEvent;
+import org.adoptopenjdk.jitwatch.model.CodeCacheEvent.CodeCacheEventType;
+
+/**
+ * Code cache events of one log, or of the whole fleet once merged, reduced to
+ * counts and extremes so that the events themselves need not be kept.
+ */
+public class FleetCodeCacheStats
+{
+	private final String logName;
+
+	private final long[] eventCounts = new long[CodeCacheEventType.values().length];
+
+	private long minFreeCodeCache = -1;
+	private long totalNativeCodeSize;
+
+	private int logCount;
+	private int cacheFullLogCount;
+
+	public FleetCodeCacheStats(String logName)
+	{
+		this.logName = logName;
+		this.logCount = logName != null ? 1 : 0;
+	}
+
+	void addEvent(CodeCacheEvent event)
+	{
+		CodeCacheEventType eventType = event.getEventType();
+
+		eventCounts[eventType.ordinal()]++;
+
+		if (eventType == CodeCacheEventType.CACHE_FULL)
+		{
+			cacheFullLogCount = 1;
+		}
+
+		long freeCodeCache = event.getFreeCodeCache();
+
+		if (freeCodeCache > 0 && (minFreeCodeCache == -1 || freeCodeCache < minFreeCodeCache))
+		{
+			minFreeCodeCache = freeCodeCache;
+		}
+
+		if (eventType == CodeCacheEventType.COMPILATION)
+		{
+			totalNativeCodeSize += event.getNativeCodeSize();
+		}
+	}
+
+	public void merge(FleetCodeCacheStats other)
+	{
+		for (int i = 0; i < eventCounts.length; i++)
+		{
+			eventCounts[i] += other.eventCounts[i];
+		}
+
+		if (other.minFreeCodeCache != -1 && (minFreeCodeCache == -1 || other.minFreeCodeCache < minFreeCodeCache))
+		{
+			minFreeCodeCache = other.minFreeCodeCache;
+		}
+
+		totalNativeCodeSize += other.totalNativeCodeSize;
+
+		logCount += other.logCount;
+		cacheFullLogCount += other.cacheFullLogCount;
+	}
+
+	/**
+	 * @return the log these events came from or null for the fleet total
+	 */
+	public String getLogName()
+	{
+		return logName;
+	}
+
+	public long getEventCount(CodeCacheEventType eventType)
+	{
+		return eventCounts[eventType.ordinal()];
+	}
+
+	/**
+	 * @return the lowest free code cache reported or -1 if none was
+	 */
+	public long getMinFreeCodeCache()
+	{
+		return minFreeCodeCache;
+	}
+
+	public long getTotalNativeCodeSize()
+	{
+		return totalNativeCodeSize;
+	}
+
+	public int getLogCount()
+	{
+		return logCount;
+	}
+
+	public int getCacheFullLogCount()
+	{
+		return cacheFullLogCount;
+	}
+}
@@ -0,0 +1,184 @@
+/*
+ * Copyright (c) 2026 Chris Newland.
+ * Licensed under https://github.com/AdoptOpenJDK/jitwatch/blob/master/LICENSE-BSD
+ * Instructions: https://github.com/AdoptOpenJDK/jitwatch/wiki
+ */
+package org.adoptopenjdk.jitwatch.fleet;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.adoptopenjdk.jitwatch.deopt.DeoptAnalyser;
+import org.adoptopenjdk.jitwatch.deopt.DeoptMemberStats;
+import org.adoptopenjdk.jitwatch.inline.HeadlessInlineVisitor;
+import org.adoptopenjdk.jitwatch.inline.HeadlessInlineVisitor.InlineFailureInfo;
+import org.adoptopenjdk.jitwatch.model.CodeCacheEvent;
+import org.adoptopenjdk.jitwatch.model.Compilation;
+import org.adoptopenjdk.jitwatch.model.IMetaMember;
+import org.adoptopenjdk.jitwatch.model.IReadOnlyJITDataModel;
+import org.adoptopenjdk.jitwatch.report.Report;
+import org.adoptopenjdk.jitwatch.report.comparator.ScoreComparator;
+import org.adoptopenjdk.jitwatch.report.suggestion.SuggestionWalker;
+import org.adoptopenjdk.jitwatch.treevisitor.ITreeVisitable;
+import org.adoptopenjdk.jitwatch.treevisitor.TreeVisitor;
+
+/**
+ * What the fleet model keeps from the model of a single log. Only strings and
+ * counters are kept so the model can be discarded once this is built.
+ */
+public class FleetLogSummary
+{
+	private final String logName;
+
+	private final Map<String, FleetMemberStats> memberStats = new HashMap<>();
+
+	private final Map<String, FleetSuggestion> suggestions = new HashMap<>();
+
+	private final FleetCodeCacheStats codeCacheStats;
+
+	private FleetLogSummary(String logName)
+	{
+		this.logName = logName;
+		this.codeCacheStats = new FleetCodeCacheStats(logName);
+	}
+
+	/**
+	 * Must be called on the thread that parsed the model while its class
+	 * loader is still open as building the reports can load classes.
+	 */
+	public static FleetLogSummary summarise(String logName, IReadOnlyJITDataModel model)
+	{
+		FleetLogSummary summary = new FleetLogSummary(logName);
+
+		summary.addCompilations(model);
+
+		summary.addDeopts(model);
+
+		summary.addInlineFailures(model);
+
+		summary.addSuggestions(model);
+
+		for (CodeCacheEvent event : model.getCodeCacheEvents())
+		{
+			summary.codeCacheStats.addEvent(event);
+		}
+
+		for (FleetMemberStats stats : summary.memberStats.values())
+		{
+			stats.setLogCount(1);
+		}
+
+		return summary;
+	}
+
+	private void addCompilations(IReadOnlyJITDataModel model)
+	{
+		TreeVisitor.walkTree(model, new ITreeVisitable()
+		{
+			@Override
+			public void visit(IMetaMember metaMember)
+			{
+				List<Compilation> compilations = metaMember.getCompilations();
+
+				if (!compilations.isEmpty())
+				{
+					FleetMemberStats stats = getMemberStats(metaMember.toString());
+
+					for (Compilation compilation : compilations)
+					{
+						stats.addCompilation(compilation.isFailed(), compilation.getCompilationDuration(),
+								compilation.getNativeSize());
+					}
+				}
+			}
+
+			@Override
+			public void reset()
+			{
+			}
+		});
+	}
+
+	// a deoptimisation is compiled code of the member being made not entrant
+	private void addDeopts(IReadOnlyJITDataModel model)
+	{
+		for (DeoptMemberStats deoptStats : new DeoptAnalyser(model).getMemberStats())
+		{
+			getMemberStats(deoptStats.getMember().toString()).setDecompiles(deoptStats.getNotEntrantCount());
+		}
+	}
+
+	private void addInlineFailures(IReadOnlyJITDataModel model)
+	{
+		HeadlessInlineVisitor inlineVisitor = new HeadlessInlineVisitor(model);
+
+		TreeVisitor.walkTree(model, inlineVisitor);
+
+		for (Map.Entry<String, Map<String, InlineFailureInfo>> reasonEntry : inlineVisitor.getFailures().entrySet())
+		{
+			String reason = reasonEntry.getKey();
+
+			for (InlineFailureInfo failure : reasonEntry.getValue().values())
+			{
+				getMemberStats(failure.getMemberName()).addInlineFailure(reason, failure.getFailureCount());
+			}
+		}
+	}
+
+	private void addSuggestions(IReadOnlyJITDataModel model)
+	{
+		List<Report> reports = new SuggestionWalker(model).getReports(new ScoreComparator());
+
+		for (Report report : reports)
+		{
+			FleetSuggestion suggestion = new FleetSuggestion(report);
+
+			FleetSuggestion existing = suggestions.get(suggestion.getKey());
+
+			if (existing == null)
+			{
+				suggestions.put(suggestion.getKey(), suggestion);
+			}
+			else
+			{
+				existing.addOccurrence(report.getScore());
+			}
+		}
+	}
+
+	private FleetMemberStats getMemberStats(String memberSignature)
+	{
+		FleetMemberStats result = memberStats.get(memberSignature);
+
+		if (result == null)
+		{
+			result = new FleetMemberStats(memberSignature);
+
+			memberStats.put(memberSignature, result);
+		}
+
+		return result;
+	}
+
+	public String getLogName()
+	{
+		return logName;
+	}
+
+	public Collection<FleetMemberStats> getMemberStats()
+	{
+		return memberStats.values();
+	}
+
+	public Collection<FleetSuggestion> getSuggestions()
+	{
+		return suggestions.values();
+	}
+
+	public FleetCodeCacheStats getCodeCacheStats()
+	{
+		return codeCacheStats;
+	}
+}
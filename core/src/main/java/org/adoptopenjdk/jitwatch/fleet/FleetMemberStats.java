@@ -0,0 +1,173 @@
+/*
+ * Copyright (c) 2026 Chris Newland.
+ * Licensed under https://github.com/AdoptOpenJDK/jitwatch/blob/master/LICENSE-BSD
+ * Instructions: https://github.com/AdoptOpenJDK/jitwatch/wiki
+ */
+package org.adoptopenjdk.jitwatch.fleet;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compilation statistics for one member summed over every log of the fleet
+ * that mentions it. Members are identified by their signature because each
+ * log has its own model.
+ */
+public class FleetMemberStats
+{
+	private final String memberSignature;
+
+	private int logCount;
+
+	private int compilationCount;
+	private int failedCompilationCount;
+	private long totalCompileMillis;
+	private int maxNativeSize;
+
+	private int decompileCount;
+	private int decompiledLogCount;
+
+	private int inlineFailureCount;
+	private int inlineFailedLogCount;
+
+	private final Map<String, Integer> inlineFailureReasons = new TreeMap<>();
+
+	public FleetMemberStats(String memberSignature)
+	{
+		this.memberSignature = memberSignature;
+	}
+
+	void addCompilation(boolean failed, long compileMillis, int nativeSize)
+	{
+		compilationCount++;
+
+		if (failed)
+		{
+			failedCompilationCount++;
+		}
+
+		totalCompileMillis += compileMillis;
+
+		maxNativeSize = Math.max(maxNativeSize, nativeSize);
+	}
+
+	void setDecompiles(int decompiles)
+	{
+		decompileCount = decompiles;
+		decompiledLogCount = decompiles > 0 ? 1 : 0;
+	}
+
+	void addInlineFailure(String reason, int count)
+	{
+		Integer current = inlineFailureReasons.get(reason);
+
+		inlineFailureReasons.put(reason, current == null ? count : current + count);
+
+		inlineFailureCount += count;
+		inlineFailedLogCount = 1;
+	}
+
+	void setLogCount(int logCount)
+	{
+		this.logCount = logCount;
+	}
+
+	/**
+	 * Adds the statistics of the same member from other logs.
+	 */
+	public void merge(FleetMemberStats other)
+	{
+		logCount += other.logCount;
+
+		compilationCount += other.compilationCount;
+		failedCompilationCount += other.failedCompilationCount;
+		totalCompileMillis += other.totalCompileMillis;
+		maxNativeSize = Math.max(maxNativeSize, other.maxNativeSize);
+
+		decompileCount += other.decompileCount;
+		decompiledLogCount += other.decompiledLogCount;
+
+		inlineFailureCount += other.inlineFailureCount;
+		inlineFailedLogCount += other.inlineFailedLogCount;
+
+		for (Map.Entry<String, Integer> entry : other.inlineFailureReasons.entrySet())
+		{
+			Integer current = inlineFailureReasons.get(entry.getKey());
+
+			inlineFailureReasons.put(entry.getKey(), current == null ? entry.getValue() : current + entry.getValue());
+		}
+	}
+
+	public String getMemberSignature()
+	{
+		return memberSignature;
+	}
+
+	/**
+	 * @return the number of logs in which the member was compiled or failed
+	 *         to inline
+	 */
+	public int getLogCount()
+	{
+		return logCount;
+	}
+
+	public int getCompilationCount()
+	{
+		return compilationCount;
+	}
+
+	public int getFailedCompilationCount()
+	{
+		return failedCompilationCount;
+	}
+
+	public long getTotalCompileMillis()
+	{
+		return totalCompileMillis;
+	}
+
+	public int getMaxNativeSize()
+	{
+		return maxNativeSize;
+	}
+
+	/**
+	 * @return the number of times compiled code for the member was made not
+	 *         entrant, summed over all logs
+	 */
+	public int getDecompileCount()
+	{
+		return decompileCount;
+	}
+
+	public int getDecompiledLogCount()
+	{
+		return decompiledLogCount;
+	}
+
+	/**
+	 * @return how often a call to this member was not inlined
+	 */
+	public int getInlineFailureCount()
+	{
+		return inlineFailureCount;
+	}
+
+	public int getInlineFailedLogCount()
+	{
+		return inlineFailedLogCount;
+	}
+
+	public Map<String, Integer> getInlineFailureReasons()
+	{
+		return inlineFailureReasons;
+	}
+
+	@Override
+	public String toString()
+	{
+		return "FleetMemberStats [" + memberSignature + ", logs=" + logCount + ", compilations=" + compilationCount
+				+ ", decompiles=" + decompileCount + ", inlineFailures=" + inlineFailureCount + "]";
+	}
+}
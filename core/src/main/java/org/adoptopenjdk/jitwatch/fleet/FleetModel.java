@@ -0,0 +1,212 @@
+/*
+ * Copyright (c) 2026 Chris Newland.
+ * Licensed under https://github.com/AdoptOpenJDK/jitwatch/blob/master/LICENSE-BSD
+ * Instructions: https://github.com/AdoptOpenJDK/jitwatch/wiki
+ */
+package org.adoptopenjdk.jitwatch.fleet;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * The merged view of many logs from the same application. Its size depends on
+ * the number of distinct members and suggestions, not on the number or length
+ * of the logs, because only the summary of each log is merged in.
+ */
+public class FleetModel
+{
+	private final Map<String, FleetMemberStats> memberStats = new HashMap<>();
+
+	private final Map<String, FleetSuggestion> suggestions = new HashMap<>();
+
+	private final FleetCodeCacheStats codeCacheStats = new FleetCodeCacheStats(null);
+
+	private final List<FleetCodeCacheStats> logCodeCacheStats = new ArrayList<>();
+
+	private final Map<String, String> failedLogs = new TreeMap<>();
+
+	public synchronized void merge(FleetLogSummary summary)
+	{
+		for (FleetMemberStats stats : summary.getMemberStats())
+		{
+			FleetMemberStats existing = memberStats.get(stats.getMemberSignature());
+
+			if (existing == null)
+			{
+				memberStats.put(stats.getMemberSignature(), stats);
+			}
+			else
+			{
+				existing.merge(stats);
+			}
+		}
+
+		for (FleetSuggestion suggestion : summary.getSuggestions())
+		{
+			FleetSuggestion existing = suggestions.get(suggestion.getKey());
+
+			if (existing == null)
+			{
+				suggestions.put(suggestion.getKey(), suggestion);
+			}
+			else
+			{
+				existing.merge(suggestion);
+			}
+		}
+
+		codeCacheStats.merge(summary.getCodeCacheStats());
+
+		logCodeCacheStats.add(summary.getCodeCacheStats());
+	}
+
+	public synchronized void addFailedLog(String logName, String reason)
+	{
+		failedLogs.put(logName, reason);
+	}
+
+	public synchronized int getLogCount()
+	{
+		return logCodeCacheStats.size();
+	}
+
+	public synchronized Map<String, String> getFailedLogs()
+	{
+		return new TreeMap<>(failedLogs);
+	}
+
+	public synchronized FleetMemberStats getMemberStats(String memberSignature)
+	{
+		return memberStats.get(memberSignature);
+	}
+
+	/**
+	 * @return members that were deoptimised in at least one log, the most
+	 *         widespread first
+	 */
+	public synchronized List<FleetMemberStats> getDecompiledMembers()
+	{
+		List<FleetMemberStats> result = new ArrayList<>();
+
+		for (FleetMemberStats stats : memberStats.values())
+		{
+			if (stats.getDecompileCount() > 0)
+			{
+				result.add(stats);
+			}
+		}
+
+		Collections.sort(result, new Comparator<FleetMemberStats>()
+		{
+			@Override
+			public int compare(FleetMemberStats o1, FleetMemberStats o2)
+			{
+				int result = Integer.compare(o2.getDecompiledLogCount(), o1.getDecompiledLogCount());
+
+				if (result == 0)
+				{
+					result = Integer.compare(o2.getDecompileCount(), o1.getDecompileCount());
+				}
+
+				if (result == 0)
+				{
+					result = o1.getMemberSignature().compareTo(o2.getMemberSignature());
+				}
+
+				return result;
+			}
+		});
+
+		return result;
+	}
+
+	/**
+	 * @return members that failed to inline in at least one log, the most
+	 *         widespread first
+	 */
+	public synchronized List<FleetMemberStats> getInlineFailedMembers()
+	{
+		List<FleetMemberStats> result = new ArrayList<>();
+
+		for (FleetMemberStats stats : memberStats.values())
+		{
+			if (stats.getInlineFailureCount() > 0)
+			{
+				result.add(stats);
+			}
+		}
+
+		Collections.sort(result, new Comparator<FleetMemberStats>()
+		{
+			@Override
+			public int compare(FleetMemberStats o1, FleetMemberStats o2)
+			{
+				int result = Integer.compare(o2.getInlineFailedLogCount(), o1.getInlineFailedLogCount());
+
+				if (result == 0)
+				{
+					result = Integer.compare(o2.getInlineFailureCount(), o1.getInlineFailureCount());
+				}
+
+				if (result == 0)
+				{
+					result = o1.getMemberSignature().compareTo(o2.getMemberSignature());
+				}
+
+				return result;
+			}
+		});
+
+		return result;
+	}
+
+	/**
+	 * @return suggestions made in the most logs first, then by score
+	 */
+	public synchronized List<FleetSuggestion> getSuggestions()
+	{
+		List<FleetSuggestion> result = new ArrayList<>(suggestions.values());
+
+		Collections.sort(result, new Comparator<FleetSuggestion>()
+		{
+			@Override
+			public int compare(FleetSuggestion o1, FleetSuggestion o2)
+			{
+				int result = Integer.compare(o2.getLogCount(), o1.getLogCount());
+
+				if (result == 0)
+				{
+					result = Integer.compare(o2.getMaxScore(), o1.getMaxScore());
+				}
+
+				if (result == 0)
+				{
+					result = o1.getKey().compareTo(o2.getKey());
+				}
+
+				return result;
+			}
+		});
+
+		return result;
+	}
+
+	public synchronized FleetCodeCacheStats getCodeCacheStats()
+	{
+		return codeCacheStats;
+	}
+
+	/**
+	 * @return the code cache statistics of each log in the order the logs
+	 *         finished parsing
+	 */
+	public synchronized List<FleetCodeCacheStats> getLogCodeCacheStats()
+	{
+		return new ArrayList<>(logCodeCacheStats);
+	}
+}
@@ -0,0 +1,211 @@
+/*
+ * Copyright (c) 2026 Chris Newland.
+ * Licensed under https://github.com/AdoptOpenJDK/jitwatch/blob/master/LICENSE-BSD
+ * Instructions: https://github.com/AdoptOpenJDK/jitwatch/wiki
+ */
+package org.adoptopenjdk.jitwatch.fleet;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.adoptopenjdk.jitwatch.core.IJITListener;
+import org.adoptopenjdk.jitwatch.core.JITWatchConfig;
+import org.adoptopenjdk.jitwatch.model.JITEvent;
+import org.adoptopenjdk.jitwatch.parser.ILogParseErrorListener;
+import org.adoptopenjdk.jitwatch.parser.ILogParser;
+import org.adoptopenjdk.jitwatch.parser.ParserFactory;
+import org.adoptopenjdk.jitwatch.parser.ParserType;
+import org.adoptopenjdk.jitwatch.util.ClassUtil;
+import com.chrisnewland.freelogj.Logger;
+import com.chrisnewland.freelogj.LoggerFactory;
+
+/**
+ * Parses the logs of many VMs running the same application, each on its own
+ * thread with its own parser, and merges them into a FleetModel.
+ *
+ * At most one model per thread is alive at a time. Each model is reduced to a
+ * FleetLogSummary as soon as its log is parsed and then dropped.
+ */
+public class FleetParser
+{
+	private static final Logger logger = LoggerFactory.getLogger(FleetParser.class);
+
+	private static final AtomicInteger POOL_COUNTER = new AtomicInteger();
+
+	private final ParserType parserType;
+
+	private final File configFile;
+
+	private final int threads;
+
+	/**
+	 * @param configFile
+	 *            the JITWatch properties to parse with or null for the
+	 *            default file
+	 * @param threads
+	 *            the number of logs to parse at once
+	 */
+	public FleetParser(ParserType parserType, File configFile, int threads)
+	{
+		this.parserType = parserType;
+		this.configFile = configFile;
+		this.threads = Math.max(1, threads);
+	}
+
+	public FleetModel parse(List<File> logFiles) throws InterruptedException
+	{
+		final FleetModel fleetModel = new FleetModel();
+
+		final int poolId = POOL_COUNTER.incrementAndGet();
+
+		ExecutorService executor = Executors.newFixedThreadPool(Math.min(threads, Math.max(1, logFiles.size())),
+				new ThreadFactory()
+				{
+					private final AtomicInteger threadCounter = new AtomicInteger();
+
+					@Override
+					public Thread newThread(Runnable runnable)
+					{
+						Thread thread = new Thread(runnable, "JITWatch-fleet-" + poolId + "-" + threadCounter.incrementAndGet());
+						thread.setDaemon(true);
+						return thread;
+					}
+				});
+
+		List<Future<?>> futures = new ArrayList<>(logFiles.size());
+
+		try
+		{
+			for (final File logFile : logFiles)
+			{
+				futures.add(executor.submit(new Runnable()
+				{
+					@Override
+					public void run()
+					{
+						parseLog(logFile, fleetModel);
+					}
+				}));
+			}
+
+			for (Future<?> future : futures)
+			{
+				try
+				{
+					future.get();
+				}
+				catch (ExecutionException ee)
+				{
+					logger.error("Fleet parse task failed", ee.getCause());
+				}
+			}
+		}
+		finally
+		{
+			executor.shutdownNow();
+		}
+
+		return fleetModel;
+	}
+
+	private void parseLog(File logFile, FleetModel fleetModel)
+	{
+		String logName = logFile.getPath();
+
+		FleetLogListener listener = new FleetLogListener();
+
+		ClassUtil.confineToCurrentThread();
+
+		try
+		{
+			ILogParser parser = ParserFactory.getParser(parserType, listener);
+
+			parser.setConfig(createConfig());
+
+			parser.processLogFile(logFile, listener);
+
+			if (parser.hasParseError())
+			{
+				fleetModel.addFailedLog(logName, listener.getError());
+			}
+			else
+			{
+				fleetModel.merge(FleetLogSummary.summarise(logName, parser.getModel()));
+
+				logger.info("Merged {} into the fleet model", logName);
+			}
+		}
+		catch (IOException | RuntimeException e)
+		{
+			logger.warn("Could not parse fleet log {}", logName, e);
+
+			fleetModel.addFailedLog(logName, e.toString());
+		}
+		finally
+		{
+			ClassUtil.releaseCurrentThread();
+		}
+	}
+
+	private JITWatchConfig createConfig()
+	{
+		JITWatchConfig config = configFile != null ? new JITWatchConfig(configFile) : new JITWatchConfig();
+
+		// the logs are already parsed in parallel
+		config.setParallelParse(false);
+
+		return config;
+	}
+
+	private static class FleetLogListener implements IJITListener, ILogParseErrorListener
+	{
+		private String error;
+
+		public String getError()
+		{
+			return error;
+		}
+
+		@Override
+		public void handleError(String title, String body)
+		{
+			if (error == null)
+			{
+				error = title + ": " + body;
+			}
+		}
+
+		@Override
+		public void handleLogEntry(String entry)
+		{
+		}
+
+		@Override
+		public void handleErrorEntry(String entry)
+		{
+		}
+
+		@Override
+		public void handleJITEvent(JITEvent event)
+		{
+		}
+
+		@Override
+		public void handleReadStart()
+		{
+		}
+
+		@Override
+		public void handleReadComplete()
+		{
+		}
+	}
+}
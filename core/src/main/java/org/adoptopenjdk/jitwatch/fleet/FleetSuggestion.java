@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2026 Chris Newland.
+ * Licensed under https://github.com/AdoptOpenJDK/jitwatch/blob/master/LICENSE-BSD
+ * Instructions: https://github.com/AdoptOpenJDK/jitwatch/wiki
+ */
+package org.adoptopenjdk.jitwatch.fleet;
+
+import org.adoptopenjdk.jitwatch.report.Report;
+import org.adoptopenjdk.jitwatch.report.ReportType;
+
+/**
+ * A suggestion report made for the same caller, bytecode offset and text in
+ * one or more logs of the fleet.
+ */
+public class FleetSuggestion
+{
+	private final ReportType type;
+	private final String callerSignature;
+	private final int bci;
+	private final String text;
+
+	private int maxScore;
+	private int occurrenceCount;
+	private int logCount;
+
+	public FleetSuggestion(Report report)
+	{
+		this.type = report.getType();
+		this.callerSignature = report.getCaller() != null ? report.getCaller().toString() : null;
+		this.bci = report.getBytecodeOffset();
+		this.text = report.getText();
+		this.maxScore = report.getScore();
+		this.occurrenceCount = 1;
+		this.logCount = 1;
+	}
+
+	String getKey()
+	{
+		return type + "|" + callerSignature + "|" + bci + "|" + text;
+	}
+
+	/**
+	 * The same suggestion made again in the same log.
+	 */
+	void addOccurrence(int score)
+	{
+		maxScore = Math.max(maxScore, score);
+		occurrenceCount++;
+	}
+
+	/**
+	 * The same suggestion made in other logs.
+	 */
+	public void merge(FleetSuggestion other)
+	{
+		maxScore = Math.max(maxScore, other.maxScore);
+		occurrenceCount += other.occurrenceCount;
+		logCount += other.logCount;
+	}
+
+	public ReportType getType()
+	{
+		return type;
+	}
+
+	public String getCallerSignature()
+	{
+		return callerSignature;
+	}
+
+	public int getBytecodeOffset()
+	{
+		return bci;
+	}
+
+	public String getText()
+	{
+		return text;
+	}
+
+	public int getMaxScore()
+	{
+		return maxScore;
+	}
+
+	public int getOccurrenceCount()
+	{
+		return occurrenceCount;
+	}
+
+	public int getLogCount()
+	{
+		return logCount;
+	}
+}
@@ -12,16 +12,33 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
 
+/**
+ * Fixed memory histogram with log-linear buckets in the style of
+ * HdrHistogram. Values below 2 * SUB_BUCKET_COUNT have a bucket each, above
+ * that every power of 2 is split into SUB_BUCKET_COUNT buckets so a value is
+ * recorded to within 1 / SUB_BUCKET_COUNT of itself.
+ *
+ * Recording is lock-free and histograms filled by different threads can be
+ * merged. Percentiles walk the buckets instead of sorting the values.
+ */
 public class Histo
 {
-	private Map<Long, Integer> bucketMap = new HashMap<>();
+	private static final int SUB_BUCKET_BITS = 7;
+
+	private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+
+	// one set of sub buckets for each shift from 0 to the top bit of a long
+	private static final int BUCKET_COUNT = (Long.SIZE - 1 - SUB_BUCKET_BITS + 1) * SUB_BUCKET_COUNT;
 
-	// lots of writes, not COWAL
-	private List<Long> values = new ArrayList<>();
+	private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+
+	private final AtomicLong totalCount = new AtomicLong();
+
+	private final AtomicLong maxValue = new AtomicLong();
 
-	private long lastTime = 0;
-	private int maxCount = 0;
 	private long resolution = 1;
 
 	public Histo()
@@ -34,54 +51,75 @@ public class Histo
 		this.resolution = resolution;
 	}
 
+	/**
+	 * Values below zero are recorded as zero.
+	 */
 	public void addValue(long inValue)
 	{
-        long value = inValue;
-		synchronized (values)
-		{
-			values.add(value);
-		}
+		long value = Math.max(0, inValue);
 
-		if (resolution > 1)
-		{
-			value = (value / resolution) * resolution;
-		}
+		counts.incrementAndGet(getBucketIndex(value));
+
+		totalCount.incrementAndGet();
 
-		int newCount = 0;
+		long currentMax = maxValue.get();
 
-		if (bucketMap.containsKey(value))
+		while (value > currentMax && !maxValue.compareAndSet(currentMax, value))
 		{
-			newCount = bucketMap.get(value) + 1;
+			currentMax = maxValue.get();
 		}
-		else
+	}
+
+	/**
+	 * Adds the values recorded by another histogram to this one.
+	 */
+	public void merge(Histo other)
+	{
+		for (int i = 0; i < BUCKET_COUNT; i++)
 		{
-			newCount = 1;
+			long count = other.counts.get(i);
+
+			if (count > 0)
+			{
+				counts.addAndGet(i, count);
+			}
 		}
 
-		bucketMap.put(value, newCount);
+		totalCount.addAndGet(other.totalCount.get());
+
+		long otherMax = other.maxValue.get();
 
-		if (newCount > maxCount)
+		long currentMax = maxValue.get();
+
+		while (otherMax > currentMax && !maxValue.compareAndSet(currentMax, otherMax))
 		{
-			maxCount = newCount;
+			currentMax = maxValue.get();
 		}
+	}
 
-		if (value > lastTime)
+	public void clear()
+	{
+		for (int i = 0; i < BUCKET_COUNT; i++)
 		{
-			lastTime = value;
+			counts.set(i, 0);
 		}
 
+		totalCount.set(0);
+		maxValue.set(0);
 	}
 
-	public void clear()
+	public long getCount()
 	{
-		bucketMap.clear();
-		lastTime = 0;
-		maxCount = 0;
+		return totalCount.get();
 	}
 
+	/**
+	 * @return the recorded values rounded down to the resolution and their
+	 *         counts, the least frequent first
+	 */
 	public List<Map.Entry<Long, Integer>> getSortedData()
 	{
-		List<Map.Entry<Long, Integer>> result = new ArrayList<>(bucketMap.entrySet());
+		List<Map.Entry<Long, Integer>> result = new ArrayList<>(getResolutionCounts().entrySet());
 
 		Collections.sort(result, new Comparator<Map.Entry<Long, Integer>>()
 		{
@@ -98,48 +136,150 @@ public class Histo
 	/*
 	 * Nearest rank percentile calculation from
 	 * http://en.wikipedia.org/wiki/Percentile
+	 *
+	 * The value returned is the highest value of the bucket holding the rank
+	 * so it is exact for small values and within 1 / SUB_BUCKET_COUNT of the
+	 * recorded value above them.
 	 */
 	public long getPercentile(double percentile)
 	{
 		long result = 0;
 
-		List<Long> valuesCopy = null;
+		long count = totalCount.get();
 
-		synchronized (values)
+		long max = maxValue.get();
+
+		if (count == 0 || percentile <= 0)
+		{
+			result = 0;
+		}
+		else if (percentile >= 100)
 		{
-			valuesCopy = new ArrayList<>(values);
+			result = max;
 		}
+		else
+		{
+			long rank = Math.round(0.5 + (percentile) / 100.0 * count);
 
-		Collections.sort(valuesCopy);
+			long cumulative = 0;
 
-		int count = valuesCopy.size();
+			for (int i = 0; i < BUCKET_COUNT; i++)
+			{
+				cumulative += counts.get(i);
 
-		if (percentile >= 100)
+				if (cumulative >= rank)
+				{
+					result = Math.min(getHighestValue(i), max);
+					break;
+				}
+			}
+		}
+
+		return result;
+	}
+
+	/**
+	 * @return the highest recorded value rounded down to the resolution
+	 */
+	public long getLastTime()
+	{
+		return roundToResolution(maxValue.get());
+	}
+
+	/**
+	 * @return the highest count in the data returned by getSortedData()
+	 */
+	public int getMaxCount()
+	{
+		int result = 0;
+
+		for (Integer count : getResolutionCounts().values())
 		{
-			result = valuesCopy.get(count - 1);
+			result = Math.max(result, count);
 		}
-		else if (percentile <= 0)
+
+		return result;
+	}
+
+	private Map<Long, Integer> getResolutionCounts()
+	{
+		Map<Long, Integer> result = new HashMap<>();
+
+		for (int i = 0; i < BUCKET_COUNT; i++)
 		{
-			result = 0;
+			long count = counts.get(i);
+
+			if (count > 0)
+			{
+				long key = roundToResolution(getLowestValue(i));
+
+				Integer existing = result.get(key);
+
+				long newCount = existing == null ? count : existing + count;
+
+				result.put(key, (int) Math.min(Integer.MAX_VALUE, newCount));
+			}
+		}
+
+		return result;
+	}
+
+	private long roundToResolution(long value)
+	{
+		long result = value;
+
+		if (resolution > 1)
+		{
+			result = (value / resolution) * resolution;
+		}
+
+		return result;
+	}
+
+	private static int getBucketIndex(long value)
+	{
+		int result;
+
+		if (value < SUB_BUCKET_COUNT)
+		{
+			result = (int) value;
 		}
 		else
 		{
-			double position = 0.5 + (percentile) / 100.0 * count;
-			int index = (int) Math.round(position) - 1;
+			int shift = (Long.SIZE - 1 - Long.numberOfLeadingZeros(value)) - SUB_BUCKET_BITS;
 
-			result = valuesCopy.get(index);
+			// value >>> shift is in [SUB_BUCKET_COUNT, 2 * SUB_BUCKET_COUNT)
+			result = (shift + 1) * SUB_BUCKET_COUNT + (int) (value >>> shift) - SUB_BUCKET_COUNT;
 		}
 
 		return result;
 	}
 
-	public long getLastTime()
+	private static int getShift(int index)
 	{
-		return lastTime;
+		return Math.max(0, index / SUB_BUCKET_COUNT - 1);
 	}
 
-	public int getMaxCount()
+	private static long getLowestValue(int index)
+	{
+		long result;
+
+		if (index < SUB_BUCKET_COUNT)
+		{
+			result = index;
+		}
+		else
+		{
+			long subBucket = SUB_BUCKET_COUNT + index % SUB_BUCKET_COUNT;
+
+			result = subBucket << getShift(index);
+		}
+
+		return result;
+	}
+
+	private static long getHighestValue(int index)
 	{
-		return maxCount;
+		return getLowestValue(index) + (1L << getShift(index)) - 1;
 	}
 }
@@ -85,6 +85,15 @@ public class HeadlessInlineVisitor implements ITreeVisitable
 
     }
 
+    /**
+     * @return the inlining failures found so far keyed by the failure reason
+     *         and then by the member that was not inlined
+     */
+    public Map<String, Map<String, InlineFailureInfo>> getFailures()
+    {
+        return failures;
+    }
+
     public void printFailedList(PrintStream out)
     {
         for (Map.Entry<String, Map<String, InlineFailureInfo>> entry : failures.entrySet())
@@ -212,7 +221,7 @@ public class HeadlessInlineVisitor implements ITreeVisitable
         }
     }
 
-    private static class InlineFailureInfo
+    public static class InlineFailureInfo
     {
         private String memberName;
         private int byteCodeSize;
@@ -230,6 +239,26 @@ public class HeadlessInlineVisitor implements ITreeVisitable
             failureCount++;
         }
 
+        public String getMemberName()
+        {
+            return memberName;
+        }
+
+        public int getByteCodeSize()
+        {
+            return byteCodeSize;
+        }
+
+        public int getFailureCount()
+        {
+            return failureCount;
+        }
+
+        public Set<String> getCallers()
+        {
+            return callers;
+        }
+
         public void addCaller(String name)
         {
             callers.add(name);
@@ -12,4 +12,15 @@ public interface IJarScanOperation
 	void processInstructions(String className, MemberBytecode memberBytecode);
 		
 	String getReport();
+
+	/**
+	 * @return a new operation with the same settings and no results. A
+	 *         multi-threaded JarScan gives each worker thread its own copy.
+	 */
+	IJarScanOperation createWorkerCopy();
+
+	/**
+	 * Adds the results of a copy made by createWorkerCopy() to this operation.
+	 */
+	void merge(IJarScanOperation other);
 }
\ No newline at end of file
@@ -15,11 +15,17 @@ import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.S_SLASH;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.PrintWriter;
 import java.io.Writer;
 import java.util.ArrayList;
 import java.util.Enumeration;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipFile;
 
@@ -33,13 +39,17 @@ import org.adoptopenjdk.jitwatch.jarscan.nextinstruction.NextInstructionOperatio
 import org.adoptopenjdk.jitwatch.jarscan.sequencecount.SequenceCountOperation;
 import org.adoptopenjdk.jitwatch.jarscan.sequencesearch.SequenceSearchOperation;
 import org.adoptopenjdk.jitwatch.loader.BytecodeLoader;
+import org.adoptopenjdk.jitwatch.loader.ClassFileReader;
 import org.adoptopenjdk.jitwatch.model.bytecode.ClassBC;
 import org.adoptopenjdk.jitwatch.model.bytecode.MemberBytecode;
 
 public class JarScan
 {
+	// queued classes scanned by each fork join task before it stops splitting
+	private static final int CLASSES_PER_TASK = 4;
+
 	private long processableClassCount = 0;
-	private long processingClass = 0;
+	private AtomicLong processingClass = new AtomicLong();
 
 	private boolean counting = false;
 
@@ -47,6 +57,34 @@ public class JarScan
 	private IJarScanOperation operation;
 	private List<String> allowedPackagePrefixes = new ArrayList<>();
 
+	private int threads = 1;
+
+	private boolean classFileReader = false;
+
+	// classes found while scanning with multiple threads, null when single threaded
+	private List<QueuedClass> queuedClasses = null;
+
+	// jars stay open until their queued classes have been read from them
+	private List<ZipFile> openJars = new ArrayList<>();
+
+	private static class QueuedClass
+	{
+		private final List<String> classLocations;
+		private final String fqClassName;
+
+		// the jar and entry the class was listed from, null for a folder
+		private final ZipFile jar;
+		private final ZipEntry entry;
+
+		QueuedClass(List<String> classLocations, String fqClassName, ZipFile jar, ZipEntry entry)
+		{
+			this.classLocations = classLocations;
+			this.fqClassName = fqClassName;
+			this.jar = jar;
+			this.entry = entry;
+		}
+	}
+
 	public JarScan(IJarScanOperation operation)
 	{
 		this(operation, false);
@@ -59,6 +97,24 @@ public class JarScan
 		this.verbose = isVerbose;
 	}
 
+	/**
+	 * Scan with the given number of threads. Each thread fills its own copy of
+	 * the operation and the copies are merged when the scan completes.
+	 */
+	public void setThreads(int threads)
+	{
+		this.threads = Math.max(1, threads);
+	}
+
+	/**
+	 * Read bytecode directly from the class files, falling back to javap,
+	 * instead of always using javap.
+	 */
+	public void setClassFileReader(boolean classFileReader)
+	{
+		this.classFileReader = classFileReader;
+	}
+
 	public void writeReport()
 	{
 		Writer writer = new PrintWriter(System.out);
@@ -83,7 +139,9 @@ public class JarScan
 
 		classLocations.add(jarFile.getPath());
 
-		try (ZipFile zip = new ZipFile(jarFile))
+		ZipFile zip = new ZipFile(jarFile);
+
+		try
 		{
 			@SuppressWarnings("unchecked")
 			Enumeration<ZipEntry> list = (Enumeration<ZipEntry>) zip.entries();
@@ -98,10 +156,21 @@ public class JarScan
 				{
 					String fqName = name.replace(S_SLASH, S_DOT).substring(0, name.length() - S_DOT_CLASS.length());
 
-					process(classLocations, fqName);
+					process(classLocations, fqName, zip, entry);
 				}
 			}
 		}
+		finally
+		{
+			if (queuedClasses != null)
+			{
+				openJars.add(zip);
+			}
+			else
+			{
+				zip.close();
+			}
+		}
 	}
 
 	public void iterateFolder(File root, File folder) throws IOException
@@ -124,7 +193,7 @@ public class JarScan
 			{
 				String fqName = fileName.replace(S_SLASH, S_DOT).substring(0, fileName.length() - S_DOT_CLASS.length());
 
-				process(classLocations, fqName);
+				process(classLocations, fqName, null, null);
 			}
 			else if (child.isDirectory())
 			{
@@ -161,29 +230,51 @@ public class JarScan
 		return allowed;
 	}
 
-	private void process(List<String> classLocations, String fqClassName)
+	private void process(List<String> classLocations, String fqClassName, ZipFile jar, ZipEntry entry)
 	{
 		if (!isAllowedPackage(fqClassName))
 		{
 			return;
 		}
 
+		if (verbose && counting)
+		{
+			processableClassCount++;
+			return;
+		}
+
+		if (queuedClasses != null)
+		{
+			queuedClasses.add(new QueuedClass(classLocations, fqClassName, jar, entry));
+		}
+		else
+		{
+			scanClass(classLocations, fqClassName, jar, entry, operation);
+		}
+	}
+
+	private void scanClass(List<String> classLocations, String fqClassName, ZipFile jar, ZipEntry entry,
+			IJarScanOperation classOperation)
+	{
 		if (verbose)
 		{
-			if (counting)
-			{
-				processableClassCount++;
-				return;
-			}
-			else
-			{
-				System.err.println("Parsing class " + (1 + processingClass++ + "/" + processableClassCount) + " " + fqClassName);
-			}
+			System.err.println("Parsing class " + processingClass.incrementAndGet() + "/" + processableClassCount + " " + fqClassName);
 		}
 
 		boolean cacheBytecode = false;
 
-		ClassBC classBytecode = BytecodeLoader.fetchBytecodeForClass(classLocations, fqClassName, cacheBytecode);
+		ClassBC classBytecode = null;
+
+		if (jar != null && classFileReader)
+		{
+			classBytecode = readFromJar(jar, entry, fqClassName, cacheBytecode);
+		}
+
+		if (classBytecode == null)
+		{
+			classBytecode = BytecodeLoader.fetchBytecodeForClass(classLocations, null, fqClassName, null, classFileReader,
+					cacheBytecode);
+		}
 
 		if (classBytecode != null)
 		{
@@ -197,7 +288,7 @@ public class JarScan
 								.println("    Processing member: " + memberBytecode.getMemberSignatureParts().toStringSingleLine());
 					}
 
-					operation.processInstructions(fqClassName, memberBytecode);
+					classOperation.processInstructions(fqClassName, memberBytecode);
 				}
 				catch (Exception e)
 				{
@@ -215,6 +306,107 @@ public class JarScan
 		}
 	}
 
+	// reads the class from the jar it was listed from instead of opening the jar again
+	private ClassBC readFromJar(ZipFile jar, ZipEntry entry, String fqClassName, boolean cacheBytecode)
+	{
+		ClassBC result = null;
+
+		try (InputStream inputStream = jar.getInputStream(entry))
+		{
+			result = ClassFileReader.readClass(fqClassName, inputStream, cacheBytecode);
+		}
+		catch (IOException ioe)
+		{
+			if (verbose)
+			{
+				System.err.println("Could not read class file for " + fqClassName + ", trying BytecodeLoader: " + ioe.getMessage());
+			}
+		}
+
+		return result;
+	}
+
+	private void scanQueuedClasses()
+	{
+		Map<Thread, IJarScanOperation> workerOperations = new ConcurrentHashMap<>();
+
+		ForkJoinPool pool = new ForkJoinPool(threads);
+
+		try
+		{
+			pool.invoke(new ScanAction(queuedClasses, 0, queuedClasses.size(), workerOperations));
+		}
+		finally
+		{
+			pool.shutdown();
+		}
+
+		for (IJarScanOperation workerOperation : workerOperations.values())
+		{
+			operation.merge(workerOperation);
+		}
+	}
+
+	// splits the queued classes in halves, idle workers steal the unstarted halves
+	private class ScanAction extends RecursiveAction
+	{
+		private static final long serialVersionUID = 1L;
+
+		private final List<QueuedClass> classes;
+		private final int start;
+		private final int end;
+		private final Map<Thread, IJarScanOperation> workerOperations;
+
+		ScanAction(List<QueuedClass> classes, int start, int end, Map<Thread, IJarScanOperation> workerOperations)
+		{
+			this.classes = classes;
+			this.start = start;
+			this.end = end;
+			this.workerOperations = workerOperations;
+		}
+
+		@Override
+		protected void compute()
+		{
+			if (end - start <= CLASSES_PER_TASK)
+			{
+				IJarScanOperation workerOperation = getWorkerOperation();
+
+				for (int i = start; i < end; i++)
+				{
+					QueuedClass queuedClass = classes.get(i);
+
+					scanClass(queuedClass.classLocations, queuedClass.fqClassName, queuedClass.jar, queuedClass.entry,
+							workerOperation);
+				}
+			}
+			else
+			{
+				int middle = (start + end) >>> 1;
+
+				invokeAll(new ScanAction(classes, start, middle, workerOperations),
+						new ScanAction(classes, middle, end, workerOperations));
+			}
+		}
+
+		// only the current thread uses its entry so no further locking is needed
+		private IJarScanOperation getWorkerOperation()
+		{
+			Thread thread = Thread.currentThread();
+
+			IJarScanOperation workerOperation = workerOperations.get(thread);
+
+			if (workerOperation == null)
+			{
+				workerOperation = operation.createWorkerCopy();
+
+				workerOperations.put(thread, workerOperation);
+			}
+
+			return workerOperation;
+		}
+	}
+
 	private static void showUsage()
 	{
 		StringBuilder builder = new StringBuilder();
@@ -225,6 +417,8 @@ public class JarScan
 		builder.append(SEPARATOR).append(S_NEWLINE);
 		builder.append("Flags:").append(S_NEWLINE);
 		builder.append("     --verbose            Log progress information to stderr").append(S_NEWLINE);
+		builder.append("     --threads=n          Scan classes with n threads (default 1)").append(S_NEWLINE);
+		builder.append("     --classfile          Read bytecode from the class files instead of javap").append(S_NEWLINE);
 		builder.append(SEPARATOR).append(S_NEWLINE);
 
 		builder.append("Options:").append(S_NEWLINE);
@@ -270,6 +464,8 @@ public class JarScan
 	private static final String ARG_LENGTH = "--length=";
 	private static final String ARG_SEQUENCE = "--sequence=";
 	private static final String ARG_VERBOSE = "--verbose";
+	private static final String ARG_THREADS = "--threads=";
+	private static final String ARG_CLASSFILE = "--classfile";
 
 	private static int getParam(String[] args, String paramName, boolean mandatory)
 	{
@@ -427,7 +623,36 @@ public class JarScan
 	public void processJarsAndFolders(String[] args, boolean counting) throws IOException
 	{
 		this.counting = counting;
-		
+
+		if (threads > 1 && !counting)
+		{
+			queuedClasses = new ArrayList<>();
+		}
+
+		try
+		{
+			iterateJarsAndFolders(args);
+
+			if (queuedClasses != null)
+			{
+				scanQueuedClasses();
+			}
+		}
+		finally
+		{
+			queuedClasses = null;
+
+			for (ZipFile zip : openJars)
+			{
+				zip.close();
+			}
+
+			openJars.clear();
+		}
+	}
+
+	private void iterateJarsAndFolders(String[] args) throws IOException
+	{
 		for (String arg : args)
 		{
 			if (arg.startsWith("--"))
@@ -469,6 +694,15 @@ public class JarScan
 
 		JarScan scanner = new JarScan(operation, isVerbose);
 
+		int threads = getParam(args, ARG_THREADS, false);
+
+		if (threads > 1)
+		{
+			scanner.setThreads(threads);
+		}
+
+		scanner.setClassFileReader(getParamString(args, ARG_CLASSFILE) != null);
+
 		String packages = getParamString(args, ARG_PACKAGES);
 
 		if (packages != null)
@@ -74,4 +74,14 @@ public class AllocCountMap
 				
 		return builder.toString();
 	}
-}
\ No newline at end of file
+
+	public void merge(AllocCountMap other)
+	{
+		for (Map.Entry<String, Integer> entry : other.typeCountMap.entrySet())
+		{
+			Integer count = typeCountMap.get(entry.getKey());
+
+			typeCountMap.put(entry.getKey(), count == null ? entry.getValue() : count + entry.getValue());
+		}
+	}
+}
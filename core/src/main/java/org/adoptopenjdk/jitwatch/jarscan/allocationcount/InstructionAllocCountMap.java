@@ -41,4 +41,20 @@ public class InstructionAllocCountMap
 
 		return builder.toString();
 	}
-}
\ No newline at end of file
+
+	public void merge(InstructionAllocCountMap other)
+	{
+		for (Map.Entry<Opcode, AllocCountMap> entry : other.opcodeMap.entrySet())
+		{
+			AllocCountMap typeCountMap = opcodeMap.get(entry.getKey());
+
+			if (typeCountMap == null)
+			{
+				typeCountMap = new AllocCountMap();
+				opcodeMap.put(entry.getKey(), typeCountMap);
+			}
+
+			typeCountMap.merge(entry.getValue());
+		}
+	}
+}
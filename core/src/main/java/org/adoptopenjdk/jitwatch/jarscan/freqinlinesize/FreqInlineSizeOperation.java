@@ -44,7 +44,15 @@ public class FreqInlineSizeOperation implements IJarScanOperation
 			@Override
 			public int compare(Map.Entry<MemberSignatureParts, Integer> o1, Map.Entry<MemberSignatureParts, Integer> o2)
 			{
-				return o2.getValue().compareTo(o1.getValue());
+				int result = o2.getValue().compareTo(o1.getValue());
+
+				// ties in name order so the report does not depend on the scan order
+				if (result == 0)
+				{
+					result = o1.getKey().toStringSingleLine().compareTo(o2.getKey().toStringSingleLine());
+				}
+
+				return result;
 			}
 		});
 
@@ -93,6 +101,18 @@ public class FreqInlineSizeOperation implements IJarScanOperation
 		return builder.toString();
 	}
 
+	@Override
+	public IJarScanOperation createWorkerCopy()
+	{
+		return new FreqInlineSizeOperation(freqInlineSize);
+	}
+
+	@Override
+	public void merge(IJarScanOperation other)
+	{
+		countMap.putAll(((FreqInlineSizeOperation) other).countMap);
+	}
+
 	@Override
 	public void processInstructions(String className, MemberBytecode memberBytecode)
 	{
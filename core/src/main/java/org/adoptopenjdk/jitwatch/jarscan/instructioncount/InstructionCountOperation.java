@@ -68,6 +68,23 @@ public class InstructionCountOperation implements IJarScanOperation
 		return builder.toString();
 	}
 
+	@Override
+	public IJarScanOperation createWorkerCopy()
+	{
+		return new InstructionCountOperation(limit);
+	}
+
+	@Override
+	public void merge(IJarScanOperation other)
+	{
+		for (Map.Entry<Opcode, Integer> entry : ((InstructionCountOperation) other).opcodeCountMap.entrySet())
+		{
+			Integer count = opcodeCountMap.get(entry.getKey());
+
+			opcodeCountMap.put(entry.getKey(), count == null ? entry.getValue() : count + entry.getValue());
+		}
+	}
+
 	private void count(Opcode opcode)
 	{
 		Integer count = opcodeCountMap.get(opcode);
@@ -41,4 +41,20 @@ public class InvokeMethodCountMap
 
 		return builder.toString();
 	}
-}
\ No newline at end of file
+
+	public void merge(InvokeMethodCountMap other)
+	{
+		for (Map.Entry<Opcode, MethodCountMap> entry : other.opcodeMap.entrySet())
+		{
+			MethodCountMap invokeCountMap = opcodeMap.get(entry.getKey());
+
+			if (invokeCountMap == null)
+			{
+				invokeCountMap = new MethodCountMap();
+				opcodeMap.put(entry.getKey(), invokeCountMap);
+			}
+
+			invokeCountMap.merge(entry.getValue());
+		}
+	}
+}
@@ -74,4 +74,14 @@ public class MethodCountMap
 				
 		return builder.toString();
 	}
+
+	public void merge(MethodCountMap other)
+	{
+		for (Map.Entry<String, Integer> entry : other.methodCountMap.entrySet())
+		{
+			Integer count = methodCountMap.get(entry.getKey());
+
+			methodCountMap.put(entry.getKey(), count == null ? entry.getValue() : count + entry.getValue());
+		}
+	}
 }
@@ -93,6 +93,18 @@ public class MethodLengthOperation implements IJarScanOperation
 		return builder.toString();
 	}
 
+	@Override
+	public IJarScanOperation createWorkerCopy()
+	{
+		return new MethodLengthOperation(findSize);
+	}
+
+	@Override
+	public void merge(IJarScanOperation other)
+	{
+		methodMap.putAll(((MethodLengthOperation) other).methodMap);
+	}
+
 	@Override
 	public void processInstructions(String className, MemberBytecode memberBytecode)
 	{
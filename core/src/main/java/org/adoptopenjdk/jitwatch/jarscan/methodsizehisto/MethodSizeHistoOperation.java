@@ -39,7 +39,15 @@ public class MethodSizeHistoOperation implements IJarScanOperation
 			@Override
 			public int compare(Map.Entry<Integer, Integer> o1, Map.Entry<Integer, Integer> o2)
 			{
-				return o2.getValue().compareTo(o1.getValue());
+				int result = o2.getValue().compareTo(o1.getValue());
+
+				// ties in size order so the report does not depend on the scan order
+				if (result == 0)
+				{
+					result = o1.getKey().compareTo(o2.getKey());
+				}
+
+				return result;
 			}
 		});
 
@@ -59,6 +67,23 @@ public class MethodSizeHistoOperation implements IJarScanOperation
 		return builder.toString();
 	}
 
+	@Override
+	public IJarScanOperation createWorkerCopy()
+	{
+		return new MethodSizeHistoOperation();
+	}
+
+	@Override
+	public void merge(IJarScanOperation other)
+	{
+		for (Map.Entry<Integer, Integer> entry : ((MethodSizeHistoOperation) other).methodSizeMap.entrySet())
+		{
+			Integer existingCount = methodSizeMap.get(entry.getKey());
+
+			methodSizeMap.put(entry.getKey(), existingCount == null ? entry.getValue() : existingCount + entry.getValue());
+		}
+	}
+
 	@Override
 	public void processInstructions(String className, MemberBytecode memberBytecode)
 	{
@@ -79,6 +79,23 @@ public class SequenceCountOperation implements IJarScanOperation
 		chain.clear();
 	}
 
+	@Override
+	public IJarScanOperation createWorkerCopy()
+	{
+		return new SequenceCountOperation(maxLength);
+	}
+
+	@Override
+	public void merge(IJarScanOperation other)
+	{
+		for (Map.Entry<InstructionSequence, Integer> entry : ((SequenceCountOperation) other).chainCountMap.entrySet())
+		{
+			Integer count = chainCountMap.get(entry.getKey());
+
+			chainCountMap.put(entry.getKey(), count == null ? entry.getValue() : count + entry.getValue());
+		}
+	}
+
 	@Override
 	public void processInstructions(String className, MemberBytecode memberBytecode)
 	{
@@ -30,8 +30,12 @@ public class SequenceSearchOperation implements IJarScanOperation
 	private List<Opcode> chain = new LinkedList<>();
 	private List<Opcode> wantedChain = new LinkedList<>();
 
+	private String sequence;
+
 	public SequenceSearchOperation(String sequence)
 	{
+		this.sequence = sequence;
+
 		String[] searchSequence = sequence.toLowerCase().split(S_COMMA);
 
 		for (String mnemonic : searchSequence)
@@ -69,6 +73,18 @@ public class SequenceSearchOperation implements IJarScanOperation
 		chain.clear();
 	}
 
+	@Override
+	public IJarScanOperation createWorkerCopy()
+	{
+		return new SequenceSearchOperation(sequence);
+	}
+
+	@Override
+	public void merge(IJarScanOperation other)
+	{
+		matchingMethods.addAll(((SequenceSearchOperation) other).matchingMethods);
+	}
+
 	@Override
 	public void processInstructions(String className, MemberBytecode memberBytecode)
 	{
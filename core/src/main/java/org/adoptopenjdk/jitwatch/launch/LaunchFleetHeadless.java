@@ -0,0 +1,287 @@
+/*
+ * Copyright (c) 2026 Chris Newland.
+ * Licensed under https://github.com/AdoptOpenJDK/jitwatch/blob/master/LICENSE-BSD
+ * Instructions: https://github.com/AdoptOpenJDK/jitwatch/wiki
+ */
+package org.adoptopenjdk.jitwatch.launch;
+
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.C_NEWLINE;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.C_SPACE;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.HEADLESS_SEPARATOR;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.S_NEWLINE;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import org.adoptopenjdk.jitwatch.core.JITWatchConfig;
+import org.adoptopenjdk.jitwatch.fleet.FleetCodeCacheStats;
+import org.adoptopenjdk.jitwatch.fleet.FleetMemberStats;
+import org.adoptopenjdk.jitwatch.fleet.FleetModel;
+import org.adoptopenjdk.jitwatch.fleet.FleetParser;
+import org.adoptopenjdk.jitwatch.fleet.FleetSuggestion;
+import org.adoptopenjdk.jitwatch.model.CodeCacheEvent.CodeCacheEventType;
+import org.adoptopenjdk.jitwatch.parser.ParserType;
+import com.chrisnewland.freelogj.LoggerFactory;
+
+public class LaunchFleetHeadless
+{
+	private boolean showDecompiles;
+	private boolean showInlineFailures;
+	private boolean showSuggestions;
+	private boolean showCodeCache;
+	private boolean outputFile;
+
+	private final List<File> logFiles = new ArrayList<>();
+
+	public LaunchFleetHeadless(String[] args) throws IOException, InterruptedException
+	{
+		LoggerFactory.setLogFile(Paths.get("jitwatch.out"));
+
+		parseArgs(args);
+
+		if (!showDecompiles && !showInlineFailures && !showSuggestions && !showCodeCache)
+		{
+			showDecompiles = true;
+			showInlineFailures = true;
+			showSuggestions = true;
+			showCodeCache = true;
+		}
+
+		String parserProperty = System.getProperty("jitwatch.parser", ParserType.HOTSPOT.toString());
+
+		ParserType parserType = ParserType.fromString(parserProperty);
+
+		// one log per core unless parse.threads is configured
+		int threads = new JITWatchConfig().getEffectiveParseThreads();
+
+		FleetModel fleetModel = new FleetParser(parserType, null, threads).parse(logFiles);
+
+		String output = buildOutput(fleetModel);
+
+		if (outputFile)
+		{
+			Files.write(Paths.get("fleet.csv"), ("sep=" + HEADLESS_SEPARATOR + S_NEWLINE + output).getBytes());
+
+			System.out.println("Wrote to fleet.csv");
+		}
+		else
+		{
+			System.out.println(output);
+		}
+	}
+
+	public static void main(String[] args) throws IOException, InterruptedException
+	{
+		if (args.length < 2)
+		{
+			System.err.println("Usage: LaunchFleetHeadless <options> <hotspot log files or directories of logs>");
+			System.err.println("options:");
+			System.err.println("-d\tShow members deoptimised in any log");
+			System.err.println("-i\tShow members that failed to inline in any log");
+			System.err.println("-s\tShow code suggestions merged across logs");
+			System.err.println("-c\tShow code cache statistics for each log");
+			System.err.println("-f\tWrite output to fleet.csv");
+			System.err.println("Without -d, -i, -s or -c everything is shown");
+
+			System.exit(-1);
+		}
+
+		new LaunchFleetHeadless(args);
+	}
+
+	private void parseArgs(String[] args)
+	{
+		for (String arg : args)
+		{
+			switch (arg)
+			{
+			case "-d":
+				showDecompiles = true;
+				break;
+
+			case "-i":
+				showInlineFailures = true;
+				break;
+
+			case "-s":
+				showSuggestions = true;
+				break;
+
+			case "-c":
+				showCodeCache = true;
+				break;
+
+			case "-f":
+				outputFile = true;
+				break;
+
+			default:
+				addLogFiles(new File(arg));
+				break;
+			}
+		}
+	}
+
+	private void addLogFiles(File file)
+	{
+		if (file.isDirectory())
+		{
+			File[] children = file.listFiles();
+
+			if (children != null)
+			{
+				Arrays.sort(children);
+
+				for (File child : children)
+				{
+					if (child.isFile())
+					{
+						logFiles.add(child);
+					}
+				}
+			}
+		}
+		else
+		{
+			logFiles.add(file);
+		}
+	}
+
+	private String buildOutput(FleetModel fleetModel)
+	{
+		StringBuilder builder = new StringBuilder();
+
+		builder.append("Logs merged").append(HEADLESS_SEPARATOR).append(fleetModel.getLogCount()).append(S_NEWLINE);
+
+		for (Map.Entry<String, String> entry : fleetModel.getFailedLogs().entrySet())
+		{
+			builder.append("Failed log").append(HEADLESS_SEPARATOR).append(entry.getKey()).append(HEADLESS_SEPARATOR);
+			builder.append(entry.getValue().replace(C_NEWLINE, C_SPACE)).append(S_NEWLINE);
+		}
+
+		builder.append(S_NEWLINE);
+
+		if (showDecompiles)
+		{
+			appendDecompiles(builder, fleetModel.getDecompiledMembers());
+		}
+
+		if (showInlineFailures)
+		{
+			appendInlineFailures(builder, fleetModel.getInlineFailedMembers());
+		}
+
+		if (showSuggestions)
+		{
+			appendSuggestions(builder, fleetModel.getSuggestions());
+		}
+
+		if (showCodeCache)
+		{
+			appendCodeCache(builder, fleetModel);
+		}
+
+		return builder.toString();
+	}
+
+	private void appendDecompiles(StringBuilder builder, List<FleetMemberStats> members)
+	{
+		builder.append("Member").append(HEADLESS_SEPARATOR);
+		builder.append("Logs Deoptimised").append(HEADLESS_SEPARATOR);
+		builder.append("Logs Compiled").append(HEADLESS_SEPARATOR);
+		builder.append("Decompiles").append(HEADLESS_SEPARATOR);
+		builder.append("Compilations").append(HEADLESS_SEPARATOR);
+		builder.append("Failed Compilations").append(HEADLESS_SEPARATOR);
+		builder.append("Compile Time (ms)").append(S_NEWLINE);
+
+		for (FleetMemberStats stats : members)
+		{
+			builder.append(stats.getMemberSignature()).append(HEADLESS_SEPARATOR);
+			builder.append(stats.getDecompiledLogCount()).append(HEADLESS_SEPARATOR);
+			builder.append(stats.getLogCount()).append(HEADLESS_SEPARATOR);
+			builder.append(stats.getDecompileCount()).append(HEADLESS_SEPARATOR);
+			builder.append(stats.getCompilationCount()).append(HEADLESS_SEPARATOR);
+			builder.append(stats.getFailedCompilationCount()).append(HEADLESS_SEPARATOR);
+			builder.append(stats.getTotalCompileMillis()).append(S_NEWLINE);
+		}
+
+		builder.append(S_NEWLINE);
+	}
+
+	private void appendInlineFailures(StringBuilder builder, List<FleetMemberStats> members)
+	{
+		builder.append("Member").append(HEADLESS_SEPARATOR);
+		builder.append("Logs Failing").append(HEADLESS_SEPARATOR);
+		builder.append("Failures").append(HEADLESS_SEPARATOR);
+		builder.append("Reasons").append(S_NEWLINE);
+
+		for (FleetMemberStats stats : members)
+		{
+			builder.append(stats.getMemberSignature()).append(HEADLESS_SEPARATOR);
+			builder.append(stats.getInlineFailedLogCount()).append(HEADLESS_SEPARATOR);
+			builder.append(stats.getInlineFailureCount()).append(HEADLESS_SEPARATOR);
+			builder.append(stats.getInlineFailureReasons()).append(S_NEWLINE);
+		}
+
+		builder.append(S_NEWLINE);
+	}
+
+	private void appendSuggestions(StringBuilder builder, List<FleetSuggestion> suggestions)
+	{
+		builder.append("Type").append(HEADLESS_SEPARATOR);
+		builder.append("Logs").append(HEADLESS_SEPARATOR);
+		builder.append("Occurrences").append(HEADLESS_SEPARATOR);
+		builder.append("Max Score").append(HEADLESS_SEPARATOR);
+		builder.append("Caller Member").append(HEADLESS_SEPARATOR);
+		builder.append("BCI").append(HEADLESS_SEPARATOR);
+		builder.append("Suggestion").append(S_NEWLINE);
+
+		for (FleetSuggestion suggestion : suggestions)
+		{
+			String caller = suggestion.getCallerSignature() != null ? suggestion.getCallerSignature() : "Unknown";
+
+			builder.append(suggestion.getType()).append(HEADLESS_SEPARATOR);
+			builder.append(suggestion.getLogCount()).append(HEADLESS_SEPARATOR);
+			builder.append(suggestion.getOccurrenceCount()).append(HEADLESS_SEPARATOR);
+			builder.append(suggestion.getMaxScore()).append(HEADLESS_SEPARATOR);
+			builder.append(caller).append(HEADLESS_SEPARATOR);
+			builder.append(suggestion.getBytecodeOffset()).append(HEADLESS_SEPARATOR);
+			builder.append(suggestion.getText().replace(C_NEWLINE, C_SPACE)).append(S_NEWLINE);
+		}
+
+		builder.append(S_NEWLINE);
+	}
+
+	private void appendCodeCache(StringBuilder builder, FleetModel fleetModel)
+	{
+		builder.append("Log").append(HEADLESS_SEPARATOR);
+		builder.append("Compilations").append(HEADLESS_SEPARATOR);
+		builder.append("Sweeps").append(HEADLESS_SEPARATOR);
+		builder.append("Cache Full").append(HEADLESS_SEPARATOR);
+		builder.append("Min Free Code Cache").append(HEADLESS_SEPARATOR);
+		builder.append("Native Code Size").append(S_NEWLINE);
+
+		for (FleetCodeCacheStats stats : fleetModel.getLogCodeCacheStats())
+		{
+			appendCodeCacheStats(builder, stats.getLogName(), stats);
+		}
+
+		appendCodeCacheStats(builder, "Fleet", fleetModel.getCodeCacheStats());
+	}
+
+	private void appendCodeCacheStats(StringBuilder builder, String name, FleetCodeCacheStats stats)
+	{
+		builder.append(name).append(HEADLESS_SEPARATOR);
+		builder.append(stats.getEventCount(CodeCacheEventType.COMPILATION)).append(HEADLESS_SEPARATOR);
+		builder.append(stats.getEventCount(CodeCacheEventType.SWEEPER)).append(HEADLESS_SEPARATOR);
+		builder.append(stats.getEventCount(CodeCacheEventType.CACHE_FULL)).append(HEADLESS_SEPARATOR);
+		builder.append(stats.getMinFreeCodeCache()).append(HEADLESS_SEPARATOR);
+		builder.append(stats.getTotalNativeCodeSize()).append(S_NEWLINE);
+	}
+}
@@ -15,15 +15,20 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.util.List;
+import java.util.Map;
 
 import com.chrisnewland.freelogj.LoggerFactory;
 import org.adoptopenjdk.jitwatch.core.IJITListener;
 import org.adoptopenjdk.jitwatch.core.JITWatchConfig;
+import org.adoptopenjdk.jitwatch.deopt.DeoptAnalyser;
+import org.adoptopenjdk.jitwatch.deopt.DeoptMemberStats;
 import org.adoptopenjdk.jitwatch.inline.HeadlessInlineVisitor;
+import org.adoptopenjdk.jitwatch.model.DeoptEvent.DeoptEventType;
 import org.adoptopenjdk.jitwatch.model.IReadOnlyJITDataModel;
 import org.adoptopenjdk.jitwatch.model.JITEvent;
 import org.adoptopenjdk.jitwatch.parser.ILogParseErrorListener;
 import org.adoptopenjdk.jitwatch.parser.ILogParser;
+import org.adoptopenjdk.jitwatch.parser.ParseMetrics;
 import org.adoptopenjdk.jitwatch.parser.ParserFactory;
 import org.adoptopenjdk.jitwatch.parser.ParserType;
 import org.adoptopenjdk.jitwatch.report.Report;
@@ -35,6 +40,8 @@ import org.adoptopenjdk.jitwatch.util.StringUtil;
 
 public class LaunchHeadless implements IJITListener, ILogParseErrorListener
 {
+	private static final String PARSE_METRICS_FILE = "parse-metrics.properties";
+
 	private boolean showTimeLine;
 	private boolean showErrors;
 	private boolean showModel;
@@ -42,6 +49,15 @@ public class LaunchHeadless implements IJITListener, ILogParseErrorListener
 	private boolean showSuggestions;
 	private boolean outputFile;
 	private boolean showInlineFailedCalls;
+	private boolean parallelParse;
+	private boolean spillSplitLog;
+	private boolean followLog;
+	private boolean modelSnapshot;
+	private boolean lazyTaskBodies;
+	private boolean compactTags;
+	private boolean showDeopts;
+	private boolean showParseMetrics;
+	private boolean lazyClassModel;
 
 	private ILogParser parser;
 	private JITWatchConfig config;
@@ -64,6 +80,36 @@ public class LaunchHeadless implements IJITListener, ILogParseErrorListener
 
 		config = new JITWatchConfig();
 
+		if (parallelParse)
+		{
+			config.setParallelParse(true);
+		}
+
+		if (spillSplitLog)
+		{
+			config.setSpillSplitLog(true);
+		}
+
+		if (modelSnapshot)
+		{
+			config.setModelSnapshot(true);
+		}
+
+		if (lazyTaskBodies)
+		{
+			config.setLazyTaskBodies(true);
+		}
+
+		if (compactTags)
+		{
+			config.setCompactTags(true);
+		}
+
+		if (lazyClassModel)
+		{
+			config.setLazyClassModel(true);
+		}
+
 		String parserProperty = System.getProperty("jitwatch.parser", ParserType.HOTSPOT.toString());
 
 		ParserType parserType = ParserType.fromString(parserProperty);
@@ -72,7 +118,14 @@ public class LaunchHeadless implements IJITListener, ILogParseErrorListener
 
 		parser.setConfig(config);
 
-		parser.processLogFile(new File(compilationLog), this);
+		if (followLog)
+		{
+			parser.followLogFile(new File(compilationLog), this);
+		}
+		else
+		{
+			parser.processLogFile(new File(compilationLog), this);
+		}
 	}
 
 	@Override public void handleLogEntry(String entry)
@@ -114,7 +167,7 @@ public class LaunchHeadless implements IJITListener, ILogParseErrorListener
 	{
 		if (args.length < 2)
 		{
-			System.err.println("Usage: LaunchHeadless <options> <hotspot log file>");
+			System.err.println("Usage: LaunchHeadless <options> <hotspot log file, optionally gzip or zip compressed>");
 			System.err.println("options:");
 			System.err.println("-e\tShow parse errors");
 			System.err.println("-m\tShow model");
@@ -123,6 +176,15 @@ public class LaunchHeadless implements IJITListener, ILogParseErrorListener
 			System.err.println("-t\tShow compilation timeline");
 			System.err.println("-f\tWrite output to headless.csv");
 			System.err.println("-i\tShow inline failed calls");
+			System.err.println("-p\tParse the log using multiple threads");
+			System.err.println("-l\tKeep the split log in temporary files to reduce heap usage");
+			System.err.println("-w\tWatch a log that is still being written until the VM exits");
+			System.err.println("-z\tReload the model from a snapshot file next to the log, writing it after the first parse");
+			System.err.println("-b\tKeep only a summary of each compile task, reading the task body from the log when needed");
+			System.err.println("-k\tStore the tags of each compile task in compact arrays to reduce heap usage");
+			System.err.println("-d\tShow deoptimizations per second, their top reasons and recompile loops");
+			System.err.println("-a\tLoad only the classes that compilations refer to instead of every class in the log");
+			System.err.println("-r\tShow parse phase wall times and throughput, writing them to " + PARSE_METRICS_FILE);
 			// System.err.println("-o\tShow optimized virtual calls");
 
 			System.exit(-1);
@@ -167,6 +229,42 @@ public class LaunchHeadless implements IJITListener, ILogParseErrorListener
 				showInlineFailedCalls = true;
 				break;
 
+			case "-p":
+				parallelParse = true;
+				break;
+
+			case "-l":
+				spillSplitLog = true;
+				break;
+
+			case "-w":
+				followLog = true;
+				break;
+
+			case "-z":
+				modelSnapshot = true;
+				break;
+
+			case "-b":
+				lazyTaskBodies = true;
+				break;
+
+			case "-k":
+				compactTags = true;
+				break;
+
+			case "-d":
+				showDeopts = true;
+				break;
+
+			case "-r":
+				showParseMetrics = true;
+				break;
+
+			case "-a":
+				lazyClassModel = true;
+				break;
+
 			// case "-o":
 			// showOptimizedVirtualCalls = true;
 			// break;s
@@ -206,6 +304,27 @@ public class LaunchHeadless implements IJITListener, ILogParseErrorListener
 			outputBuilder.append(getSuggestions(suggestions));
 		}
 
+		if (showDeopts)
+		{
+			outputBuilder.append(getDeopts(new DeoptAnalyser(parser.getModel())));
+		}
+
+		if (showParseMetrics)
+		{
+			ParseMetrics metrics = parser.getParseMetrics();
+
+			outputBuilder.append(getParseMetrics(metrics));
+
+			try
+			{
+				metrics.write(new File(PARSE_METRICS_FILE));
+			}
+			catch (IOException e)
+			{
+				e.printStackTrace();
+			}
+		}
+
 		if (outputFile)
 		{
 			outputBuilder.insert(0, "sep=" + HEADLESS_SEPARATOR + S_NEWLINE);
@@ -287,6 +406,84 @@ public class LaunchHeadless implements IJITListener, ILogParseErrorListener
 		return builder.toString();
 	}
 
+	private String getParseMetrics(ParseMetrics metrics)
+	{
+		StringBuilder builder = new StringBuilder();
+
+		builder.append("Metric").append(HEADLESS_SEPARATOR);
+		builder.append("Value").append(S_NEWLINE);
+
+		for (Map.Entry<String, Long> entry : metrics.getValues().entrySet())
+		{
+			builder.append(entry.getKey()).append(HEADLESS_SEPARATOR);
+			builder.append(entry.getValue()).append(S_NEWLINE);
+		}
+
+		builder.append(S_NEWLINE);
+
+		return builder.toString();
+	}
+
+	private String getDeopts(DeoptAnalyser analyser)
+	{
+		StringBuilder builder = new StringBuilder();
+
+		long interval = DeoptAnalyser.DEFAULT_INTERVAL_MILLIS;
+
+		int[] traps = analyser.getCountsPerInterval(DeoptEventType.UNCOMMON_TRAP, interval);
+		int[] deoptimized = analyser.getCountsPerInterval(DeoptEventType.DEOPTIMIZED, interval);
+		int[] notEntrant = analyser.getCountsPerInterval(DeoptEventType.MAKE_NOT_ENTRANT, interval);
+
+		builder.append("Interval Start").append(HEADLESS_SEPARATOR);
+		builder.append("Uncommon Traps").append(HEADLESS_SEPARATOR);
+		builder.append("Deoptimized").append(HEADLESS_SEPARATOR);
+		builder.append("Made Not Entrant").append(S_NEWLINE);
+
+		for (int i = 0; i < traps.length; i++)
+		{
+			// quiet intervals are left out so a storm stands out
+			if (traps[i] + deoptimized[i] + notEntrant[i] > 0)
+			{
+				builder.append(StringUtil.formatTimestamp(i * interval, true)).append(HEADLESS_SEPARATOR);
+				builder.append(traps[i]).append(HEADLESS_SEPARATOR);
+				builder.append(deoptimized[i]).append(HEADLESS_SEPARATOR);
+				builder.append(notEntrant[i]).append(S_NEWLINE);
+			}
+		}
+
+		builder.append(S_NEWLINE);
+
+		builder.append("Reason").append(HEADLESS_SEPARATOR);
+		builder.append("Count").append(S_NEWLINE);
+
+		for (Map.Entry<String, Integer> entry : analyser.getReasonCounts().entrySet())
+		{
+			builder.append(entry.getKey()).append(HEADLESS_SEPARATOR);
+			builder.append(entry.getValue()).append(S_NEWLINE);
+		}
+
+		builder.append(S_NEWLINE);
+
+		builder.append("Class").append(HEADLESS_SEPARATOR);
+		builder.append("Member").append(HEADLESS_SEPARATOR);
+		builder.append("Made Not Entrant").append(HEADLESS_SEPARATOR);
+		builder.append("Compilations").append(HEADLESS_SEPARATOR);
+		builder.append("Uncommon Traps").append(HEADLESS_SEPARATOR);
+		builder.append("Top Reason").append(S_NEWLINE);
+
+		for (DeoptMemberStats stats : analyser.getRecompileLoops(DeoptAnalyser.DEFAULT_RECOMPILE_LOOP_THRESHOLD))
+		{
+			builder.append(stats.getMember().getMetaClass().getFullyQualifiedName()).append(HEADLESS_SEPARATOR);
+			builder.append(stats.getMember().toStringUnqualifiedMethodName(true, true)).append(HEADLESS_SEPARATOR);
+			builder.append(stats.getNotEntrantCount()).append(HEADLESS_SEPARATOR);
+			builder.append(stats.getCompilationCount()).append(HEADLESS_SEPARATOR);
+			builder.append(stats.getTrapCount()).append(HEADLESS_SEPARATOR);
+			builder.append(stats.getTopReason()).append(S_NEWLINE);
+		}
+
+		return builder.toString();
+	}
+
 	// private void showOptimizedVCalls(List<OptimizedVirtualCall> vCalls)
 	// {
 	// StringBuilder builder = new StringBuilder();
@@ -47,6 +47,7 @@ import java.util.Map;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
+import org.adoptopenjdk.jitwatch.model.IReadOnlyJITDataModel;
 import org.adoptopenjdk.jitwatch.model.MemberSignatureParts;
 import org.adoptopenjdk.jitwatch.model.MetaClass;
 import org.adoptopenjdk.jitwatch.model.bytecode.BCParamConstant;
@@ -98,14 +99,41 @@ public final class BytecodeLoader
 	{
 	}
 
-	/*
-	 * Builds a meta class from bytecode where JITDataModel.buildAndGetMetaClass
-	 * fails due to NoClassDefFoundError
+	/**
+	 * Builds a meta class from the method table of its class file, found in
+	 * the class file locations of the model, without loading the class. Unlike
+	 * JITDataModel.buildAndGetMetaClass(Class) this cannot fail with a
+	 * NoClassDefFoundError for a missing dependency.
+	 *
+	 * @return the MetaClass or null if the model has no class file locations
+	 *         or the class file could not be found or read, in which case the
+	 *         class must be loaded to build it
 	 */
-	public static MetaClass buildMetaClassFromClass(String fqClassName)
+	public static MetaClass buildMetaClassFromClass(IReadOnlyJITDataModel model, String fqClassName)
 	{
-		// TODO implement
-		return null;
+		MetaClass result = null;
+
+		List<String> classLocations = model.getClassFileLocations();
+
+		if (classLocations != null)
+		{
+			try
+			{
+				ClassFileMembers classMembers = ClassFileReader.readMembers(classLocations, model.getClassLocationIndex(),
+						fqClassName);
+
+				if (classMembers != null)
+				{
+					result = model.buildAndGetMetaClass(classMembers);
+				}
+			}
+			catch (IOException ioe)
+			{
+				logger.warn("Could not read class file for {}, loading the class", fqClassName, ioe);
+			}
+		}
+
+		return result;
 	}
 
 	public static ClassBC fetchBytecodeForClass(List<String> classLocations, String fqClassName, boolean cacheBytecode)
@@ -115,6 +143,20 @@ public final class BytecodeLoader
 
 	public static ClassBC fetchBytecodeForClass(List<String> classLocations, String fqClassName, Path javapPath,
 			boolean cacheBytecode)
+	{
+		return fetchBytecodeForClass(classLocations, null, fqClassName, javapPath, false, cacheBytecode);
+	}
+
+	/**
+	 * @param classIndex
+	 *            the index of the class locations for reading the class file
+	 *            or null to search the class locations
+	 * @param readClassFile
+	 *            read the bytecode directly from the class file and only use
+	 *            javap if that fails
+	 */
+	public static ClassBC fetchBytecodeForClass(List<String> classLocations, ClassLocationIndex classIndex, String fqClassName,
+			Path javapPath, boolean readClassFile, boolean cacheBytecode)
 	{
 		if (DEBUG_LOGGING_BYTECODE)
 		{
@@ -125,6 +167,31 @@ public final class BytecodeLoader
 
 		ClassBC classBytecode = null;
 
+		if (readClassFile)
+		{
+			try
+			{
+				classBytecode = ClassFileReader.readClass(classLocations, classIndex, fqClassName, cacheBytecode);
+			}
+			catch (Exception e)
+			{
+				logger.warn("Could not read class file for {}, trying javap", fqClassName, e);
+			}
+		}
+
+		if (classBytecode == null)
+		{
+			classBytecode = fetchBytecodeViaJavap(classLocations, fqClassName, javapPath, cacheBytecode);
+		}
+
+		return classBytecode;
+	}
+
+	private static ClassBC fetchBytecodeViaJavap(List<String> classLocations, String fqClassName, Path javapPath,
+			boolean cacheBytecode)
+	{
+		ClassBC classBytecode = null;
+
 		String byteCodeString = null;
 
 		try
@@ -809,6 +876,7 @@ public final class BytecodeLoader
 								logger.debug("Found a table or lookup switch");
 							}
 
+							table = new BCParamSwitch();
 							inSwitch = true;
 						}
 						else
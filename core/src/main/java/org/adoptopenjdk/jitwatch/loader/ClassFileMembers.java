@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2026 Chris Newland.
+ * Licensed under https://github.com/AdoptOpenJDK/jitwatch/blob/master/LICENSE-BSD
+ * Instructions: https://github.com/AdoptOpenJDK/jitwatch/wiki
+ */
+package org.adoptopenjdk.jitwatch.loader;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The methods and constructors declared by a class as read from its class
+ * file by ClassFileReader.readMembers(), enough for JITDataModel to build the
+ * MetaClass without loading the class.
+ *
+ * Type names are in the form returned by Class.getName() so they match the
+ * names of the classes the reflection built members hold.
+ */
+public final class ClassFileMembers
+{
+	public static final class Member
+	{
+		private final String name;
+		private final int accessFlags;
+		private final String returnTypeName;
+		private final List<String> paramTypeNames;
+
+		Member(String name, int accessFlags, String returnTypeName, List<String> paramTypeNames)
+		{
+			this.name = name;
+			this.accessFlags = accessFlags;
+			this.returnTypeName = returnTypeName;
+			this.paramTypeNames = paramTypeNames;
+		}
+
+		/**
+		 * @return the method name or &lt;init&gt; for a constructor
+		 */
+		public String getName()
+		{
+			return name;
+		}
+
+		public int getAccessFlags()
+		{
+			return accessFlags;
+		}
+
+		public String getReturnTypeName()
+		{
+			return returnTypeName;
+		}
+
+		public List<String> getParamTypeNames()
+		{
+			return paramTypeNames;
+		}
+	}
+
+	private final String fqClassName;
+	private final boolean isInterface;
+	private final List<Member> members = new ArrayList<>();
+
+	ClassFileMembers(String fqClassName, boolean isInterface)
+	{
+		this.fqClassName = fqClassName;
+		this.isInterface = isInterface;
+	}
+
+	void addMember(Member member)
+	{
+		members.add(member);
+	}
+
+	public String getFullyQualifiedClassName()
+	{
+		return fqClassName;
+	}
+
+	public boolean isInterface()
+	{
+		return isInterface;
+	}
+
+	/**
+	 * @return the methods and constructors in class file order, without the
+	 *         static initialiser
+	 */
+	public List<Member> getMembers()
+	{
+		return Collections.unmodifiableList(members);
+	}
+}
@@ -0,0 +1,1293 @@
+/*
+ * Copyright (c) 2026 Chris Newland.
+ * Licensed under https://github.com/AdoptOpenJDK/jitwatch/blob/master/LICENSE-BSD
+ * Instructions: https://github.com/AdoptOpenJDK/jitwatch/wiki
+ */
+package org.adoptopenjdk.jitwatch.loader;
+
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.C_CLOSE_PARENTHESES;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.C_COLON;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.C_DOT;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.C_DOUBLE_QUOTE;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.C_HASH;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.C_OBJECT_REF;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.C_OPEN_SQUARE_BRACKET;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.C_SEMICOLON;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.C_SLASH;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.C_SPACE;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.DEBUG_LOGGING_BYTECODE;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.S_DEFAULT;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.S_STATIC_INIT;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.adoptopenjdk.jitwatch.model.MemberSignatureParts;
+import org.adoptopenjdk.jitwatch.model.bytecode.BCParamConstant;
+import org.adoptopenjdk.jitwatch.model.bytecode.BCParamNumeric;
+import org.adoptopenjdk.jitwatch.model.bytecode.BCParamString;
+import org.adoptopenjdk.jitwatch.model.bytecode.BCParamSwitch;
+import org.adoptopenjdk.jitwatch.model.bytecode.BytecodeInstruction;
+import org.adoptopenjdk.jitwatch.model.bytecode.ClassBC;
+import org.adoptopenjdk.jitwatch.model.bytecode.ExceptionTableEntry;
+import org.adoptopenjdk.jitwatch.model.bytecode.LineTableEntry;
+import org.adoptopenjdk.jitwatch.model.bytecode.MemberBytecode;
+import org.adoptopenjdk.jitwatch.model.bytecode.Opcode;
+import org.adoptopenjdk.jitwatch.model.bytecode.SourceMapper;
+import org.adoptopenjdk.jitwatch.util.ParseUtil;
+import com.chrisnewland.freelogj.Logger;
+import com.chrisnewland.freelogj.LoggerFactory;
+
+/**
+ * Builds a ClassBC straight from class file bytes (JVMS chapter 4) instead of
+ * running javap and parsing its text output.
+ *
+ * The model is the one BytecodeLoader.parse() builds from javap -c -p -v:
+ * operands are the ones javap prints, branch and switch targets are absolute,
+ * wide instructions take the opcode they modify and instruction comments use
+ * the javap constant pool format that the bytecode annotation and JarScan
+ * code expects.
+ *
+ * Platform classes are read through the platform class loader (jrt: on JDK 9+,
+ * rt.jar before) and other classes from the directories and jars in the class
+ * locations, the same search order as javap. When given a ClassLocationIndex
+ * of the class locations a class is read from the location the index holds
+ * it in, otherwise the jars of recently used class locations are searched and
+ * kept open until closeJars().
+ */
+public final class ClassFileReader
+{
+	private static final Logger logger = LoggerFactory.getLogger(ClassFileReader.class);
+
+	private static final int MAGIC = 0xCAFEBABE;
+
+	private static final int CONSTANT_UTF8 = 1;
+	private static final int CONSTANT_INTEGER = 3;
+	private static final int CONSTANT_FLOAT = 4;
+	private static final int CONSTANT_LONG = 5;
+	private static final int CONSTANT_DOUBLE = 6;
+	private static final int CONSTANT_CLASS = 7;
+	private static final int CONSTANT_STRING = 8;
+	private static final int CONSTANT_FIELDREF = 9;
+	private static final int CONSTANT_METHODREF = 10;
+	private static final int CONSTANT_INTERFACE_METHODREF = 11;
+	private static final int CONSTANT_NAME_AND_TYPE = 12;
+	private static final int CONSTANT_METHOD_HANDLE = 15;
+	private static final int CONSTANT_METHOD_TYPE = 16;
+	private static final int CONSTANT_DYNAMIC = 17;
+	private static final int CONSTANT_INVOKE_DYNAMIC = 18;
+	private static final int CONSTANT_MODULE = 19;
+	private static final int CONSTANT_PACKAGE = 20;
+
+	private static final String[] REFERENCE_KINDS = { null, "REF_getField", "REF_getStatic", "REF_putField", "REF_putStatic",
+			"REF_invokeVirtual", "REF_invokeStatic", "REF_invokeSpecial", "REF_newInvokeSpecial", "REF_invokeInterface" };
+
+	private static final String[] NEWARRAY_TYPES = { null, null, null, null, "boolean", "char", "float", "double", "byte", "short",
+			"int", "long" };
+
+	private static final String JRT_PREFIX = "jrt:/";
+
+	// most recently used sets of class locations and their jars, kept open
+	// until evicted or closeJars() is called
+	private static final int MAX_OPEN_LOCATION_SETS = 4;
+
+	private static final Map<List<String>, ClassLocationJars> OPEN_JARS = new LinkedHashMap<List<String>, ClassLocationJars>(16,
+			0.75f, true)
+	{
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<List<String>, ClassLocationJars> eldest)
+		{
+			boolean evict = size() > MAX_OPEN_LOCATION_SETS;
+
+			if (evict)
+			{
+				eldest.getValue().close();
+			}
+
+			return evict;
+		}
+	};
+
+	// operand layouts
+	private static final byte NONE = 0;
+	private static final byte SIGNED_BYTE = 1;
+	private static final byte SIGNED_SHORT = 2;
+	private static final byte CONSTANT_U1 = 3;
+	private static final byte CONSTANT_U2 = 4;
+	private static final byte LOCAL = 5;
+	private static final byte IINC = 6;
+	private static final byte BRANCH = 7;
+	private static final byte BRANCH_WIDE = 8;
+	private static final byte TABLESWITCH = 9;
+	private static final byte LOOKUPSWITCH = 10;
+	private static final byte INVOKEINTERFACE = 11;
+	private static final byte INVOKEDYNAMIC = 12;
+	private static final byte NEWARRAY = 13;
+	private static final byte MULTIANEWARRAY = 14;
+	private static final byte WIDE = 15;
+
+	private static final Opcode[] OPCODES = new Opcode[256];
+	private static final byte[] LAYOUTS = new byte[256];
+
+	static
+	{
+		for (Opcode opcode : Opcode.values())
+		{
+			OPCODES[opcode.getCode()] = opcode;
+		}
+
+		LAYOUTS[Opcode.BIPUSH.getCode()] = SIGNED_BYTE;
+		LAYOUTS[Opcode.SIPUSH.getCode()] = SIGNED_SHORT;
+		LAYOUTS[Opcode.LDC.getCode()] = CONSTANT_U1;
+		LAYOUTS[Opcode.LDC_W.getCode()] = CONSTANT_U2;
+		LAYOUTS[Opcode.LDC2_W.getCode()] = CONSTANT_U2;
+
+		for (int code = Opcode.ILOAD.getCode(); code <= Opcode.ALOAD.getCode(); code++)
+		{
+			LAYOUTS[code] = LOCAL;
+		}
+
+		for (int code = Opcode.ISTORE.getCode(); code <= Opcode.ASTORE.getCode(); code++)
+		{
+			LAYOUTS[code] = LOCAL;
+		}
+
+		LAYOUTS[Opcode.IINC.getCode()] = IINC;
+
+		for (int code = Opcode.IFEQ.getCode(); code <= Opcode.JSR.getCode(); code++)
+		{
+			LAYOUTS[code] = BRANCH;
+		}
+
+		LAYOUTS[Opcode.RET.getCode()] = LOCAL;
+		LAYOUTS[Opcode.TABLESWITCH.getCode()] = TABLESWITCH;
+		LAYOUTS[Opcode.LOOKUPSWITCH.getCode()] = LOOKUPSWITCH;
+
+		for (int code = Opcode.GETSTATIC.getCode(); code <= Opcode.INVOKESTATIC.getCode(); code++)
+		{
+			LAYOUTS[code] = CONSTANT_U2;
+		}
+
+		LAYOUTS[Opcode.INVOKEINTERFACE.getCode()] = INVOKEINTERFACE;
+		LAYOUTS[Opcode.INVOKEDYNAMIC.getCode()] = INVOKEDYNAMIC;
+		LAYOUTS[Opcode.NEW.getCode()] = CONSTANT_U2;
+		LAYOUTS[Opcode.NEWARRAY.getCode()] = NEWARRAY;
+		LAYOUTS[Opcode.ANEWARRAY.getCode()] = CONSTANT_U2;
+		LAYOUTS[Opcode.CHECKCAST.getCode()] = CONSTANT_U2;
+		LAYOUTS[Opcode.INSTANCEOF.getCode()] = CONSTANT_U2;
+		LAYOUTS[Opcode.WIDE.getCode()] = WIDE;
+		LAYOUTS[Opcode.MULTIANEWARRAY.getCode()] = MULTIANEWARRAY;
+		LAYOUTS[Opcode.IFNULL.getCode()] = BRANCH;
+		LAYOUTS[Opcode.IFNONNULL.getCode()] = BRANCH;
+		LAYOUTS[Opcode.GOTO_W.getCode()] = BRANCH_WIDE;
+		LAYOUTS[Opcode.JSR_W.getCode()] = BRANCH_WIDE;
+	}
+
+	private final String fqClassName;
+	private final byte[] bytes;
+	private int pos;
+
+	// offset of the data following the tag of each constant pool entry
+	private int[] cpOffsets;
+	private byte[] cpTags;
+	private String[] utf8Cache;
+	private String[] commentCache;
+
+	private int thisClassIndex;
+
+	private ClassFileReader(String fqClassName, byte[] bytes)
+	{
+		this.fqClassName = fqClassName;
+		this.bytes = bytes;
+	}
+
+	/**
+	 * @return the ClassBC or null if the class file could not be found
+	 */
+	public static ClassBC readClass(List<String> classLocations, String fqClassName, boolean cacheBytecode) throws IOException
+	{
+		return readClass(classLocations, null, fqClassName, cacheBytecode);
+	}
+
+	/**
+	 * @param classIndex
+	 *            the index of the class locations or null to search them
+	 * @return the ClassBC or null if the class file could not be found
+	 */
+	public static ClassBC readClass(List<String> classLocations, ClassLocationIndex classIndex, String fqClassName,
+			boolean cacheBytecode) throws IOException
+	{
+		String resourceName = fqClassName.replace(C_DOT, C_SLASH) + ".class";
+
+		String moduleName = null;
+
+		URL platformURL = getPlatformClassLoader().getResource(resourceName);
+
+		if (platformURL != null)
+		{
+			moduleName = getModuleName(platformURL.toString());
+		}
+
+		byte[] classBytes = readClassBytes(platformURL, classLocations, classIndex, fqClassName, resourceName);
+
+		ClassBC result = null;
+
+		if (classBytes != null)
+		{
+			result = readClass(fqClassName, classBytes, cacheBytecode);
+
+			if (moduleName != null)
+			{
+				result.setModuleName(moduleName);
+			}
+		}
+		else if (DEBUG_LOGGING_BYTECODE)
+		{
+			logger.debug("No class file found for {}", fqClassName);
+		}
+
+		return result;
+	}
+
+	/**
+	 * Reads the class file from the stream, which the caller closes.
+	 */
+	public static ClassBC readClass(String fqClassName, InputStream inputStream, boolean cacheBytecode) throws IOException
+	{
+		return readClass(fqClassName, readFully(inputStream), cacheBytecode);
+	}
+
+	public static ClassBC readClass(String fqClassName, byte[] classBytes, boolean cacheBytecode) throws IOException
+	{
+		try
+		{
+			return new ClassFileReader(fqClassName, classBytes).read(cacheBytecode);
+		}
+		catch (IndexOutOfBoundsException | IllegalArgumentException e)
+		{
+			throw new IOException("Malformed class file for " + fqClassName, e);
+		}
+	}
+
+	/**
+	 * Reads only the method table of a class file, for building a MetaClass
+	 * without loading the class. The class file is found as for readClass().
+	 *
+	 * @return the members or null if the class file could not be found
+	 */
+	public static ClassFileMembers readMembers(List<String> classLocations, String fqClassName) throws IOException
+	{
+		return readMembers(classLocations, null, fqClassName);
+	}
+
+	/**
+	 * @param classIndex
+	 *            the index of the class locations or null to search them
+	 * @return the members or null if the class file could not be found
+	 */
+	public static ClassFileMembers readMembers(List<String> classLocations, ClassLocationIndex classIndex, String fqClassName)
+			throws IOException
+	{
+		String resourceName = fqClassName.replace(C_DOT, C_SLASH) + ".class";
+
+		byte[] classBytes = readClassBytes(getPlatformClassLoader().getResource(resourceName), classLocations, classIndex,
+				fqClassName, resourceName);
+
+		ClassFileMembers result = null;
+
+		if (classBytes != null)
+		{
+			result = readMembers(fqClassName, classBytes);
+		}
+		else if (DEBUG_LOGGING_BYTECODE)
+		{
+			logger.debug("No class file found for {}", fqClassName);
+		}
+
+		return result;
+	}
+
+	public static ClassFileMembers readMembers(String fqClassName, byte[] classBytes) throws IOException
+	{
+		try
+		{
+			return new ClassFileReader(fqClassName, classBytes).readMemberTable();
+		}
+		catch (IndexOutOfBoundsException | IllegalArgumentException e)
+		{
+			throw new IOException("Malformed class file for " + fqClassName, e);
+		}
+	}
+
+	private static byte[] readClassBytes(URL platformURL, List<String> classLocations, ClassLocationIndex classIndex,
+			String fqClassName, String resourceName) throws IOException
+	{
+		byte[] result = null;
+
+		if (platformURL != null)
+		{
+			try (InputStream inputStream = platformURL.openStream())
+			{
+				result = readFully(inputStream);
+			}
+		}
+		else if (classIndex != null)
+		{
+			// a class missing from the index is in none of the locations
+			result = classIndex.readClassBytes(fqClassName);
+		}
+		else if (classLocations != null && !classLocations.isEmpty())
+		{
+			result = getJars(classLocations).readClassBytes(resourceName);
+		}
+
+		return result;
+	}
+
+	private static synchronized ClassLocationJars getJars(List<String> classLocations)
+	{
+		ClassLocationJars result = OPEN_JARS.get(classLocations);
+
+		if (result == null)
+		{
+			List<File> locations = new ArrayList<>(classLocations.size());
+
+			for (String location : classLocations)
+			{
+				locations.add(new File(location));
+			}
+
+			result = new ClassLocationJars(locations);
+
+			// keyed by a copy as the caller may change its list
+			OPEN_JARS.put(new ArrayList<>(classLocations), result);
+		}
+
+		return result;
+	}
+
+	/**
+	 * Closes the jars kept open for reading class files. They are opened
+	 * again when next read from.
+	 */
+	public static synchronized void closeJars()
+	{
+		for (ClassLocationJars jars : OPEN_JARS.values())
+		{
+			jars.close();
+		}
+
+		OPEN_JARS.clear();
+	}
+
+	private static ClassLoader getPlatformClassLoader()
+	{
+		// the extension loader before JDK 9, both delegate to the boot loader
+		ClassLoader systemClassLoader = ClassLoader.getSystemClassLoader();
+
+		ClassLoader parent = systemClassLoader.getParent();
+
+		return parent != null ? parent : systemClassLoader;
+	}
+
+	// jrt:/java.base/java/lang/String.class
+	private static String getModuleName(String url)
+	{
+		String result = null;
+
+		if (url.startsWith(JRT_PREFIX))
+		{
+			int endIndex = url.indexOf(C_SLASH, JRT_PREFIX.length());
+
+			if (endIndex != -1)
+			{
+				result = url.substring(JRT_PREFIX.length(), endIndex);
+			}
+		}
+
+		return result;
+	}
+
+	static byte[] readFully(InputStream inputStream) throws IOException
+	{
+		ByteArrayOutputStream outputStream = new ByteArrayOutputStream(8192);
+
+		byte[] buffer = new byte[8192];
+
+		int read;
+
+		while ((read = inputStream.read(buffer)) != -1)
+		{
+			outputStream.write(buffer, 0, read);
+		}
+
+		return outputStream.toByteArray();
+	}
+
+	private ClassBC read(boolean cacheBytecode) throws IOException
+	{
+		if (u4() != MAGIC)
+		{
+			throw new IOException("Not a class file: " + fqClassName);
+		}
+
+		ClassBC classBytecode = new ClassBC(fqClassName);
+
+		classBytecode.setMinorVersion(u2());
+
+		int majorVersion = u2();
+
+		classBytecode.setMajorVersion(majorVersion);
+
+		readConstantPool();
+
+		int classAccessFlags = u2();
+
+		boolean isInterface = (classAccessFlags & ClassFileSignatures.ACC_INTERFACE) != 0;
+
+		thisClassIndex = u2();
+
+		pos += 2; // super_class
+
+		int interfaceCount = u2();
+
+		pos += 2 * interfaceCount;
+
+		int fieldCount = u2();
+
+		for (int i = 0; i < fieldCount; i++)
+		{
+			pos += 6; // access_flags, name_index, descriptor_index
+			skipAttributes();
+		}
+
+		int methodCount = u2();
+
+		for (int i = 0; i < methodCount; i++)
+		{
+			readMethod(classBytecode, isInterface, majorVersion);
+		}
+
+		int attributeCount = u2();
+
+		for (int i = 0; i < attributeCount; i++)
+		{
+			String attributeName = utf8(u2());
+			int length = u4();
+			int end = pos + length;
+
+			switch (attributeName)
+			{
+			case "SourceFile":
+				String sourceFile = utf8(u2());
+
+				classBytecode.setSourceFile(sourceFile);
+
+				if (cacheBytecode)
+				{
+					SourceMapper.addSourceClassMapping(classBytecode);
+				}
+				break;
+			case "Signature":
+				BytecodeLoader.buildClassGenerics(utf8(u2()), classBytecode);
+				break;
+			case "InnerClasses":
+				readInnerClasses(classBytecode);
+				break;
+			default:
+				break;
+			}
+
+			pos = end;
+		}
+
+		return classBytecode;
+	}
+
+	private ClassFileMembers readMemberTable() throws IOException
+	{
+		if (u4() != MAGIC)
+		{
+			throw new IOException("Not a class file: " + fqClassName);
+		}
+
+		pos += 4; // minor_version, major_version
+
+		readConstantPool();
+
+		int classAccessFlags = u2();
+
+		ClassFileMembers result = new ClassFileMembers(fqClassName, (classAccessFlags & ClassFileSignatures.ACC_INTERFACE) != 0);
+
+		pos += 4; // this_class, super_class
+
+		int interfaceCount = u2();
+
+		pos += 2 * interfaceCount;
+
+		int fieldCount = u2();
+
+		for (int i = 0; i < fieldCount; i++)
+		{
+			pos += 6; // access_flags, name_index, descriptor_index
+			skipAttributes();
+		}
+
+		int methodCount = u2();
+
+		for (int i = 0; i < methodCount; i++)
+		{
+			int accessFlags = u2();
+			String name = utf8(u2());
+			String descriptor = utf8(u2());
+
+			skipAttributes();
+
+			// not returned by Class.getDeclaredMethods() either
+			if (!S_STATIC_INIT.equals(name))
+			{
+				List<String> typeNames = getTypeNames(descriptor);
+
+				String returnTypeName = typeNames.remove(typeNames.size() - 1);
+
+				result.addMember(new ClassFileMembers.Member(name, accessFlags, returnTypeName, typeNames));
+			}
+		}
+
+		return result;
+	}
+
+	/**
+	 * @return the Class.getName() form of each parameter type of a method
+	 *         descriptor followed by the return type
+	 */
+	static List<String> getTypeNames(String descriptor)
+	{
+		List<String> result = new ArrayList<>();
+
+		int index = 1; // skip (
+
+		while (index < descriptor.length())
+		{
+			char c = descriptor.charAt(index);
+
+			if (c == C_CLOSE_PARENTHESES)
+			{
+				index++;
+				continue;
+			}
+
+			int start = index;
+
+			while (descriptor.charAt(index) == C_OPEN_SQUARE_BRACKET)
+			{
+				index++;
+			}
+
+			int end = (descriptor.charAt(index) == C_OBJECT_REF) ? descriptor.indexOf(C_SEMICOLON, index) + 1 : index + 1;
+
+			if (start == index)
+			{
+				// not an array so named as in the source
+				if (descriptor.charAt(index) == C_OBJECT_REF)
+				{
+					result.add(descriptor.substring(index + 1, end - 1).replace(C_SLASH, C_DOT));
+				}
+				else
+				{
+					result.add(ParseUtil.getPrimitiveClass(descriptor.charAt(index)).getName());
+				}
+			}
+			else
+			{
+				// arrays keep the descriptor form with dots
+				result.add(descriptor.substring(start, end).replace(C_SLASH, C_DOT));
+			}
+
+			index = end;
+		}
+
+		return result;
+	}
+
+	private void readConstantPool()
+	{
+		int count = u2();
+
+		cpOffsets = new int[count];
+		cpTags = new byte[count];
+		utf8Cache = new String[count];
+		commentCache = new String[count];
+
+		for (int index = 1; index < count; index++)
+		{
+			int tag = u1();
+
+			cpTags[index] = (byte) tag;
+			cpOffsets[index] = pos;
+
+			switch (tag)
+			{
+			case CONSTANT_UTF8:
+				pos += 2 + u2At(pos);
+				break;
+			case CONSTANT_INTEGER:
+			case CONSTANT_FLOAT:
+			case CONSTANT_FIELDREF:
+			case CONSTANT_METHODREF:
+			case CONSTANT_INTERFACE_METHODREF:
+			case CONSTANT_NAME_AND_TYPE:
+			case CONSTANT_DYNAMIC:
+			case CONSTANT_INVOKE_DYNAMIC:
+				pos += 4;
+				break;
+			case CONSTANT_LONG:
+			case CONSTANT_DOUBLE:
+				pos += 8;
+				index++; // takes two entries
+				break;
+			case CONSTANT_CLASS:
+			case CONSTANT_STRING:
+			case CONSTANT_METHOD_TYPE:
+			case CONSTANT_MODULE:
+			case CONSTANT_PACKAGE:
+				pos += 2;
+				break;
+			case CONSTANT_METHOD_HANDLE:
+				pos += 3;
+				break;
+			default:
+				throw new IllegalArgumentException("Unknown constant pool tag " + tag + " at index " + index);
+			}
+		}
+	}
+
+	private void readMethod(ClassBC classBytecode, boolean isInterface, int majorVersion)
+	{
+		int accessFlags = u2();
+		String name = utf8(u2());
+		String descriptor = utf8(u2());
+
+		String genericSignature = null;
+		List<String> exceptions = null;
+
+		int codeOffset = -1;
+
+		int attributeCount = u2();
+
+		for (int i = 0; i < attributeCount; i++)
+		{
+			String attributeName = utf8(u2());
+			int length = u4();
+			int end = pos + length;
+
+			switch (attributeName)
+			{
+			case "Code":
+				codeOffset = pos;
+				break;
+			case "Signature":
+				genericSignature = utf8(u2());
+
+				// as for javap output the method type variables join the class generics
+				BytecodeLoader.buildClassGenerics(genericSignature, classBytecode);
+				break;
+			case "Exceptions":
+				int exceptionCount = u2();
+
+				exceptions = new ArrayList<>(exceptionCount);
+
+				for (int e = 0; e < exceptionCount; e++)
+				{
+					exceptions.add(className(u2()));
+				}
+				break;
+			default:
+				break;
+			}
+
+			pos = end;
+		}
+
+		// javap only prints members with code
+		if (codeOffset != -1)
+		{
+			String declaration = ClassFileSignatures.getMethodDeclaration(fqClassName, isInterface, majorVersion, accessFlags, name,
+					descriptor, genericSignature, exceptions);
+
+			MemberSignatureParts msp = MemberSignatureParts.fromBytecodeSignature(fqClassName, declaration);
+
+			msp.setClassBC(classBytecode);
+
+			MemberBytecode memberBytecode = new MemberBytecode(classBytecode, msp);
+
+			int methodEnd = pos;
+
+			pos = codeOffset;
+
+			readCode(memberBytecode);
+
+			pos = methodEnd;
+
+			classBytecode.addMemberBytecode(memberBytecode);
+		}
+	}
+
+	private void readCode(MemberBytecode memberBytecode)
+	{
+		pos += 4; // max_stack, max_locals
+
+		int codeLength = u4();
+
+		int codeStart = pos;
+
+		memberBytecode.setInstructions(readInstructions(codeStart, codeLength));
+
+		pos = codeStart + codeLength;
+
+		int exceptionTableLength = u2();
+
+		for (int i = 0; i < exceptionTableLength; i++)
+		{
+			int from = u2();
+			int to = u2();
+			int target = u2();
+			int catchType = u2();
+
+			// javap shows finally handlers as 'any' which BytecodeLoader skips
+			if (catchType != 0)
+			{
+				memberBytecode.addExceptionTableEntry(new ExceptionTableEntry(from, to, target, className(catchType)));
+			}
+		}
+
+		int attributeCount = u2();
+
+		for (int i = 0; i < attributeCount; i++)
+		{
+			String attributeName = utf8(u2());
+			int length = u4();
+			int end = pos + length;
+
+			if ("LineNumberTable".equals(attributeName))
+			{
+				int entryCount = u2();
+
+				for (int e = 0; e < entryCount; e++)
+				{
+					int bci = u2();
+					int sourceLine = u2();
+
+					memberBytecode.addLineTableEntry(new LineTableEntry(sourceLine, bci));
+				}
+			}
+
+			pos = end;
+		}
+	}
+
+	private List<BytecodeInstruction> readInstructions(int codeStart, int codeLength)
+	{
+		List<BytecodeInstruction> instructions = new ArrayList<>(codeLength / 2);
+
+		int codeEnd = codeStart + codeLength;
+
+		pos = codeStart;
+
+		while (pos < codeEnd)
+		{
+			int offset = pos - codeStart;
+
+			int code = u1();
+
+			BytecodeInstruction instruction = new BytecodeInstruction();
+
+			instruction.setOffset(offset);
+
+			switch (LAYOUTS[code])
+			{
+			case NONE:
+				break;
+			case SIGNED_BYTE:
+				instruction.addParameter(new BCParamNumeric(bytes[pos++]));
+				break;
+			case SIGNED_SHORT:
+				instruction.addParameter(new BCParamNumeric(s2()));
+				break;
+			case CONSTANT_U1:
+				addConstant(instruction, u1());
+				break;
+			case CONSTANT_U2:
+				addConstant(instruction, u2());
+				break;
+			case LOCAL:
+				instruction.addParameter(new BCParamNumeric(u1()));
+				break;
+			case IINC:
+				instruction.addParameter(new BCParamNumeric(u1()));
+				instruction.addParameter(new BCParamNumeric(bytes[pos++]));
+				break;
+			case BRANCH:
+				instruction.addParameter(new BCParamNumeric(offset + s2()));
+				break;
+			case BRANCH_WIDE:
+				instruction.addParameter(new BCParamNumeric(offset + u4()));
+				break;
+			case TABLESWITCH:
+				readTableSwitch(instruction, codeStart, offset);
+				break;
+			case LOOKUPSWITCH:
+				readLookupSwitch(instruction, codeStart, offset);
+				break;
+			case INVOKEINTERFACE:
+				addConstant(instruction, u2());
+				instruction.addParameter(new BCParamNumeric(u1()));
+				pos++; // always 0
+				break;
+			case INVOKEDYNAMIC:
+				addConstant(instruction, u2());
+				instruction.addParameter(new BCParamNumeric(0));
+				pos += 2; // always 0
+				break;
+			case NEWARRAY:
+				instruction.addParameter(new BCParamString(NEWARRAY_TYPES[u1()]));
+				break;
+			case MULTIANEWARRAY:
+				addConstant(instruction, u2());
+				instruction.addParameter(new BCParamNumeric(u1()));
+				break;
+			case WIDE:
+				code = u1();
+
+				instruction.addParameter(new BCParamNumeric(u2()));
+
+				if (code == Opcode.IINC.getCode())
+				{
+					instruction.addParameter(new BCParamNumeric(s2()));
+				}
+				break;
+			default:
+				throw new IllegalArgumentException("Unknown operand layout for opcode " + code);
+			}
+
+			Opcode opcode = OPCODES[code];
+
+			if (opcode == null)
+			{
+				throw new IllegalArgumentException("Unknown opcode " + code + " at " + offset + " in " + fqClassName);
+			}
+
+			instruction.setOpcode(opcode);
+
+			instructions.add(instruction);
+		}
+
+		return instructions;
+	}
+
+	private void readTableSwitch(BytecodeInstruction instruction, int codeStart, int offset)
+	{
+		skipSwitchPadding(codeStart);
+
+		int defaultTarget = offset + u4();
+		int low = u4();
+		int high = u4();
+
+		BCParamSwitch table = new BCParamSwitch();
+
+		for (int key = low; key <= high; key++)
+		{
+			table.put(Integer.toString(key), Integer.toString(offset + u4()));
+		}
+
+		table.put(S_DEFAULT, Integer.toString(defaultTarget));
+
+		instruction.addParameter(table);
+		instruction.setComment("// " + low + " to " + high);
+	}
+
+	private void readLookupSwitch(BytecodeInstruction instruction, int codeStart, int offset)
+	{
+		skipSwitchPadding(codeStart);
+
+		int defaultTarget = offset + u4();
+		int pairCount = u4();
+
+		BCParamSwitch table = new BCParamSwitch();
+
+		for (int i = 0; i < pairCount; i++)
+		{
+			int key = u4();
+
+			table.put(Integer.toString(key), Integer.toString(offset + u4()));
+		}
+
+		table.put(S_DEFAULT, Integer.toString(defaultTarget));
+
+		instruction.addParameter(table);
+		instruction.setComment("// " + pairCount);
+	}
+
+	private void skipSwitchPadding(int codeStart)
+	{
+		while (((pos - codeStart) & 3) != 0)
+		{
+			pos++;
+		}
+	}
+
+	private void addConstant(BytecodeInstruction instruction, int index)
+	{
+		instruction.addParameter(new BCParamConstant(C_HASH + Integer.toString(index)));
+
+		String comment = commentCache[index];
+
+		if (comment == null)
+		{
+			// javap trims the comment as a whole
+			comment = ("// " + getConstantComment(index)).trim();
+			commentCache[index] = comment;
+		}
+
+		instruction.setComment(comment);
+	}
+
+	private void readInnerClasses(ClassBC classBytecode)
+	{
+		int count = u2();
+
+		for (int i = 0; i < count; i++)
+		{
+			int innerClassIndex = u2();
+			int outerClassIndex = u2();
+
+			pos += 4; // inner_name_index, inner_class_access_flags
+
+			if (outerClassIndex != 0 && fqClassName.equals(className(outerClassIndex).replace(C_SLASH, C_DOT)))
+			{
+				classBytecode.addInnerClassName(className(innerClassIndex).replace(C_SLASH, C_DOT));
+			}
+		}
+	}
+
+	private void skipAttributes()
+	{
+		int attributeCount = u2();
+
+		for (int i = 0; i < attributeCount; i++)
+		{
+			pos += 2; // attribute_name_index
+
+			int length = u4();
+
+			pos += length;
+		}
+	}
+
+	// javap ConstantWriter: references to members of this class omit the class
+	private String getConstantComment(int index)
+	{
+		int tag = cpTags[index];
+		int offset = cpOffsets[index];
+
+		switch (tag)
+		{
+		case CONSTANT_FIELDREF:
+			return "Field " + getReference(offset, u2At(offset) != thisClassIndex);
+		case CONSTANT_METHODREF:
+			return "Method " + getReference(offset, u2At(offset) != thisClassIndex);
+		case CONSTANT_INTERFACE_METHODREF:
+			return "InterfaceMethod " + getReference(offset, u2At(offset) != thisClassIndex);
+		default:
+			return getTagName(tag) + C_SPACE + getConstantValue(index);
+		}
+	}
+
+	private String getConstantValue(int index)
+	{
+		int tag = cpTags[index];
+		int offset = cpOffsets[index];
+
+		switch (tag)
+		{
+		case CONSTANT_UTF8:
+			return escape(utf8(index));
+		case CONSTANT_INTEGER:
+			return Integer.toString(s4At(offset));
+		case CONSTANT_FLOAT:
+			return Float.intBitsToFloat(s4At(offset)) + "f";
+		case CONSTANT_LONG:
+			return Long.toString(s8At(offset)) + "l";
+		case CONSTANT_DOUBLE:
+			return Double.longBitsToDouble(s8At(offset)) + "d";
+		case CONSTANT_CLASS:
+			return checkName(className(index));
+		case CONSTANT_STRING:
+			return escape(utf8(u2At(offset)));
+		case CONSTANT_FIELDREF:
+		case CONSTANT_METHODREF:
+		case CONSTANT_INTERFACE_METHODREF:
+			return getReference(offset, true);
+		case CONSTANT_NAME_AND_TYPE:
+			return checkName(utf8(u2At(offset))) + C_COLON + utf8(u2At(offset + 2));
+		case CONSTANT_METHOD_HANDLE:
+			return REFERENCE_KINDS[bytes[offset]] + C_SPACE + getConstantValue(u2At(offset + 1));
+		case CONSTANT_METHOD_TYPE:
+			return escape(utf8(u2At(offset)));
+		case CONSTANT_DYNAMIC:
+		case CONSTANT_INVOKE_DYNAMIC:
+			return C_HASH + Integer.toString(u2At(offset)) + C_COLON + getConstantValue(u2At(offset + 2));
+		default:
+			return checkName(utf8(u2At(offset)));
+		}
+	}
+
+	private String getReference(int offset, boolean includeClass)
+	{
+		String nameAndType = getConstantValue(u2At(offset + 2));
+
+		if (includeClass)
+		{
+			return checkName(className(u2At(offset))) + C_DOT + nameAndType;
+		}
+		else
+		{
+			return nameAndType;
+		}
+	}
+
+	private static String getTagName(int tag)
+	{
+		switch (tag)
+		{
+		case CONSTANT_UTF8:
+			return "Utf8";
+		case CONSTANT_INTEGER:
+			return "int";
+		case CONSTANT_FLOAT:
+			return "float";
+		case CONSTANT_LONG:
+			return "long";
+		case CONSTANT_DOUBLE:
+			return "double";
+		case CONSTANT_CLASS:
+			return "class";
+		case CONSTANT_STRING:
+			return "String";
+		case CONSTANT_NAME_AND_TYPE:
+			return "NameAndType";
+		case CONSTANT_METHOD_HANDLE:
+			return "MethodHandle";
+		case CONSTANT_METHOD_TYPE:
+			return "MethodType";
+		case CONSTANT_DYNAMIC:
+			return "Dynamic";
+		case CONSTANT_INVOKE_DYNAMIC:
+			return "InvokeDynamic";
+		case CONSTANT_MODULE:
+			return "Module";
+		case CONSTANT_PACKAGE:
+			return "Package";
+		default:
+			return "(unknown tag " + tag + ")";
+		}
+	}
+
+	// javap quotes names that are not made of Java identifiers separated by '/'
+	private static String checkName(String name)
+	{
+		int length = name.length();
+
+		if (length == 0)
+		{
+			return "\"\"";
+		}
+
+		int previous = C_SLASH;
+
+		for (int i = 0; i < length;)
+		{
+			int codePoint = name.codePointAt(i);
+
+			if ((previous == C_SLASH && !Character.isJavaIdentifierStart(codePoint))
+					|| (codePoint != C_SLASH && !Character.isJavaIdentifierPart(codePoint)))
+			{
+				return C_DOUBLE_QUOTE + escape(name) + C_DOUBLE_QUOTE;
+			}
+
+			previous = codePoint;
+
+			i += Character.charCount(codePoint);
+		}
+
+		return name;
+	}
+
+	private static String escape(String value)
+	{
+		StringBuilder builder = null;
+
+		for (int i = 0; i < value.length(); i++)
+		{
+			char c = value.charAt(i);
+
+			String replacement;
+
+			switch (c)
+			{
+			case '\t':
+				replacement = "\\t";
+				break;
+			case '\n':
+				replacement = "\\n";
+				break;
+			case '\r':
+				replacement = "\\r";
+				break;
+			case '\b':
+				replacement = "\\b";
+				break;
+			case '\f':
+				replacement = "\\f";
+				break;
+			case '"':
+				replacement = "\\\"";
+				break;
+			case '\'':
+				replacement = "\\'";
+				break;
+			case '\\':
+				replacement = "\\\\";
+				break;
+			default:
+				replacement = Character.isISOControl(c) ? String.format("\\u%04x", (int) c) : null;
+				break;
+			}
+
+			if (replacement != null && builder == null)
+			{
+				builder = new StringBuilder(value.length() + 16);
+				builder.append(value, 0, i);
+			}
+
+			if (builder != null)
+			{
+				if (replacement != null)
+				{
+					builder.append(replacement);
+				}
+				else
+				{
+					builder.append(c);
+				}
+			}
+		}
+
+		return builder == null ? value : builder.toString();
+	}
+
+	private String className(int classIndex)
+	{
+		return utf8(u2At(cpOffsets[classIndex]));
+	}
+
+	private String utf8(int index)
+	{
+		String result = utf8Cache[index];
+
+		if (result == null)
+		{
+			if (cpTags[index] != CONSTANT_UTF8)
+			{
+				throw new IllegalArgumentException("Constant pool entry " + index + " is not Utf8");
+			}
+
+			result = decodeModifiedUTF8(cpOffsets[index] + 2, u2At(cpOffsets[index]));
+			utf8Cache[index] = result;
+		}
+
+		return result;
+	}
+
+	private String decodeModifiedUTF8(int start, int length)
+	{
+		char[] chars = new char[length];
+		int count = 0;
+
+		int end = start + length;
+
+		int i = start;
+
+		while (i < end)
+		{
+			int b = bytes[i] & 0xff;
+
+			if (b < 0x80)
+			{
+				chars[count++] = (char) b;
+				i++;
+			}
+			else if ((b & 0xe0) == 0xc0)
+			{
+				chars[count++] = (char) (((b & 0x1f) << 6) | (bytes[i + 1] & 0x3f));
+				i += 2;
+			}
+			else
+			{
+				chars[count++] = (char) (((b & 0x0f) << 12) | ((bytes[i + 1] & 0x3f) << 6) | (bytes[i + 2] & 0x3f));
+				i += 3;
+			}
+		}
+
+		return new String(chars, 0, count);
+	}
+
+	private int u1()
+	{
+		return bytes[pos++] & 0xff;
+	}
+
+	private int u2()
+	{
+		int result = u2At(pos);
+		pos += 2;
+		return result;
+	}
+
+	private int s2()
+	{
+		return (short) u2();
+	}
+
+	private int u4()
+	{
+		int result = s4At(pos);
+		pos += 4;
+		return result;
+	}
+
+	private int u2At(int offset)
+	{
+		return ((bytes[offset] & 0xff) << 8) | (bytes[offset + 1] & 0xff);
+	}
+
+	private int s4At(int offset)
+	{
+		return ((bytes[offset] & 0xff) << 24) | ((bytes[offset + 1] & 0xff) << 16) | ((bytes[offset + 2] & 0xff) << 8)
+				| (bytes[offset + 3] & 0xff);
+	}
+
+	private long s8At(int offset)
+	{
+		return ((long) s4At(offset) << 32) | (s4At(offset + 4) & 0xffffffffL);
+	}
+}
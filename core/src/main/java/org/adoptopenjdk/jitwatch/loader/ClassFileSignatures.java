@@ -0,0 +1,389 @@
+/*
+ * Copyright (c) 2026 Chris Newland.
+ * Licensed under https://github.com/AdoptOpenJDK/jitwatch/blob/master/LICENSE-BSD
+ * Instructions: https://github.com/AdoptOpenJDK/jitwatch/wiki
+ */
+package org.adoptopenjdk.jitwatch.loader;
+
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.C_CLOSE_ANGLE;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.C_CLOSE_PARENTHESES;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.C_DOT;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.C_OPEN_ANGLE;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.C_OPEN_PARENTHESES;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.C_SEMICOLON;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.C_SLASH;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.C_SPACE;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.S_ARRAY_BRACKET_PAIR;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.S_CONSTRUCTOR_INIT;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.S_STATIC_INIT;
+
+import java.util.List;
+
+/**
+ * Writes method declarations in the form printed by javap -v so that
+ * MemberSignatureParts.fromBytecodeSignature() builds the same signature for
+ * the class file reader as it does for javap output.
+ *
+ * Generic types come from the Signature attribute when present, otherwise
+ * from the descriptor.
+ */
+final class ClassFileSignatures
+{
+	static final int ACC_PUBLIC = 0x0001;
+	static final int ACC_PRIVATE = 0x0002;
+	static final int ACC_PROTECTED = 0x0004;
+	static final int ACC_STATIC = 0x0008;
+	static final int ACC_FINAL = 0x0010;
+	static final int ACC_SYNCHRONIZED = 0x0020;
+	static final int ACC_VARARGS = 0x0080;
+	static final int ACC_NATIVE = 0x0100;
+	static final int ACC_INTERFACE = 0x0200;
+	static final int ACC_ABSTRACT = 0x0400;
+	static final int ACC_STRICT = 0x0800;
+
+	// javap only shows default methods for class files that can contain them
+	private static final int DEFAULT_METHOD_MAJOR_VERSION = 52;
+
+	private final String signature;
+	private int pos;
+
+	private ClassFileSignatures(String signature)
+	{
+		this.signature = signature;
+	}
+
+	/**
+	 * @param exceptions
+	 *            internal names from the Exceptions attribute or null if the
+	 *            method does not have one
+	 */
+	static String getMethodDeclaration(String fqClassName, boolean isInterface, int majorVersion, int accessFlags, String name,
+			String descriptor, String genericSignature, List<String> exceptions)
+	{
+		StringBuilder builder = new StringBuilder();
+
+		appendModifiers(builder, accessFlags);
+
+		if (isInterface && (accessFlags & ACC_ABSTRACT) == 0 && !S_STATIC_INIT.equals(name)
+				&& majorVersion >= DEFAULT_METHOD_MAJOR_VERSION && (accessFlags & (ACC_STATIC | ACC_PRIVATE)) == 0)
+		{
+			builder.append("default ");
+		}
+
+		ClassFileSignatures parser = new ClassFileSignatures(genericSignature != null ? genericSignature : descriptor);
+
+		if (parser.peek() == C_OPEN_ANGLE)
+		{
+			parser.appendTypeParameters(builder);
+			builder.append(C_SPACE);
+		}
+
+		String returnType = null;
+		String params = null;
+		String genericThrows = null;
+
+		if (parser.peek() == C_OPEN_PARENTHESES)
+		{
+			StringBuilder paramBuilder = new StringBuilder();
+
+			parser.appendParameters(paramBuilder);
+
+			params = adjustVarargs(accessFlags, paramBuilder.toString());
+
+			StringBuilder returnBuilder = new StringBuilder();
+			parser.appendType(returnBuilder);
+			returnType = returnBuilder.toString();
+
+			if (parser.peek() == '^')
+			{
+				StringBuilder throwsBuilder = new StringBuilder();
+
+				while (parser.peek() == '^')
+				{
+					parser.pos++;
+
+					if (throwsBuilder.length() > 0)
+					{
+						throwsBuilder.append(", ");
+					}
+
+					parser.appendType(throwsBuilder);
+				}
+
+				genericThrows = throwsBuilder.toString();
+			}
+		}
+
+		if (S_CONSTRUCTOR_INIT.equals(name))
+		{
+			builder.append(fqClassName).append(params);
+		}
+		else if (S_STATIC_INIT.equals(name))
+		{
+			builder.append("{}");
+		}
+		else
+		{
+			builder.append(returnType).append(C_SPACE).append(name).append(params);
+		}
+
+		if (exceptions != null)
+		{
+			builder.append(" throws ");
+
+			if (genericThrows != null)
+			{
+				builder.append(genericThrows);
+			}
+			else
+			{
+				for (int i = 0; i < exceptions.size(); i++)
+				{
+					if (i > 0)
+					{
+						builder.append(", ");
+					}
+
+					builder.append(exceptions.get(i).replace(C_SLASH, C_DOT));
+				}
+			}
+		}
+
+		builder.append(C_SEMICOLON);
+
+		return builder.toString();
+	}
+
+	private static void appendModifiers(StringBuilder builder, int accessFlags)
+	{
+		appendModifier(builder, accessFlags, ACC_PUBLIC, "public");
+		appendModifier(builder, accessFlags, ACC_PRIVATE, "private");
+		appendModifier(builder, accessFlags, ACC_PROTECTED, "protected");
+		appendModifier(builder, accessFlags, ACC_STATIC, "static");
+		appendModifier(builder, accessFlags, ACC_FINAL, "final");
+		appendModifier(builder, accessFlags, ACC_SYNCHRONIZED, "synchronized");
+		appendModifier(builder, accessFlags, ACC_NATIVE, "native");
+		appendModifier(builder, accessFlags, ACC_ABSTRACT, "abstract");
+		appendModifier(builder, accessFlags, ACC_STRICT, "strictfp");
+	}
+
+	private static void appendModifier(StringBuilder builder, int accessFlags, int flag, String modifier)
+	{
+		if ((accessFlags & flag) != 0)
+		{
+			builder.append(modifier).append(C_SPACE);
+		}
+	}
+
+	// as javap, the last array brackets of a varargs method become ...
+	private static String adjustVarargs(int accessFlags, String params)
+	{
+		if ((accessFlags & ACC_VARARGS) != 0)
+		{
+			int index = params.lastIndexOf(S_ARRAY_BRACKET_PAIR);
+
+			if (index > 0)
+			{
+				return params.substring(0, index) + "..." + params.substring(index + S_ARRAY_BRACKET_PAIR.length());
+			}
+		}
+
+		return params;
+	}
+
+	private char peek()
+	{
+		return pos < signature.length() ? signature.charAt(pos) : 0;
+	}
+
+	// <T:Ljava/lang/Object;U::Ljava/lang/Comparable<TU;>;>
+	private void appendTypeParameters(StringBuilder builder)
+	{
+		pos++; // <
+
+		builder.append(C_OPEN_ANGLE);
+
+		boolean first = true;
+
+		while (peek() != C_CLOSE_ANGLE)
+		{
+			if (!first)
+			{
+				builder.append(", ");
+			}
+
+			first = false;
+
+			int colon = signature.indexOf(':', pos);
+
+			builder.append(signature, pos, colon);
+
+			pos = colon;
+
+			String separator = " extends ";
+
+			while (peek() == ':')
+			{
+				pos++;
+
+				// an empty class bound is followed directly by an interface bound
+				if (peek() != ':')
+				{
+					builder.append(separator);
+					appendType(builder);
+					separator = " & ";
+				}
+			}
+		}
+
+		pos++; // >
+
+		builder.append(C_CLOSE_ANGLE);
+	}
+
+	private void appendParameters(StringBuilder builder)
+	{
+		pos++; // (
+
+		builder.append(C_OPEN_PARENTHESES);
+
+		boolean first = true;
+
+		while (peek() != C_CLOSE_PARENTHESES)
+		{
+			if (!first)
+			{
+				builder.append(", ");
+			}
+
+			first = false;
+
+			appendType(builder);
+		}
+
+		pos++; // )
+
+		builder.append(C_CLOSE_PARENTHESES);
+	}
+
+	private void appendType(StringBuilder builder)
+	{
+		char c = signature.charAt(pos++);
+
+		switch (c)
+		{
+		case 'B':
+			builder.append("byte");
+			break;
+		case 'C':
+			builder.append("char");
+			break;
+		case 'D':
+			builder.append("double");
+			break;
+		case 'F':
+			builder.append("float");
+			break;
+		case 'I':
+			builder.append("int");
+			break;
+		case 'J':
+			builder.append("long");
+			break;
+		case 'S':
+			builder.append("short");
+			break;
+		case 'Z':
+			builder.append("boolean");
+			break;
+		case 'V':
+			builder.append("void");
+			break;
+		case '[':
+			appendType(builder);
+			builder.append(S_ARRAY_BRACKET_PAIR);
+			break;
+		case 'T':
+		{
+			int end = signature.indexOf(C_SEMICOLON, pos);
+			builder.append(signature, pos, end);
+			pos = end + 1;
+			break;
+		}
+		case 'L':
+			appendClassType(builder);
+			break;
+		default:
+			throw new IllegalArgumentException("Unexpected '" + c + "' at " + (pos - 1) + " in " + signature);
+		}
+	}
+
+	// Ljava/util/Map<TK;+Ljava/lang/Number;>.Entry<*>;
+	private void appendClassType(StringBuilder builder)
+	{
+		while (true)
+		{
+			char c = signature.charAt(pos++);
+
+			switch (c)
+			{
+			case ';':
+				return;
+			case '/':
+				builder.append(C_DOT);
+				break;
+			case '<':
+				appendTypeArguments(builder);
+				break;
+			default:
+				builder.append(c);
+				break;
+			}
+		}
+	}
+
+	private void appendTypeArguments(StringBuilder builder)
+	{
+		builder.append(C_OPEN_ANGLE);
+
+		boolean first = true;
+
+		while (peek() != C_CLOSE_ANGLE)
+		{
+			if (!first)
+			{
+				builder.append(", ");
+			}
+
+			first = false;
+
+			char c = peek();
+
+			if (c == '*')
+			{
+				pos++;
+				builder.append('?');
+			}
+			else if (c == '+')
+			{
+				pos++;
+				builder.append("? extends ");
+				appendType(builder);
+			}
+			else if (c == '-')
+			{
+				pos++;
+				builder.append("? super ");
+				appendType(builder);
+			}
+			else
+			{
+				appendType(builder);
+			}
+		}
+
+		pos++; // >
+
+		builder.append(C_CLOSE_ANGLE);
+	}
+}
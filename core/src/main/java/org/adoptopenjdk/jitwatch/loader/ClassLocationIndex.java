@@ -0,0 +1,420 @@
+/*
+ * Copyright (c) 2026 Chris Newland.
+ * Licensed under https://github.com/AdoptOpenJDK/jitwatch/blob/master/LICENSE-BSD
+ * Instructions: https://github.com/AdoptOpenJDK/jitwatch/wiki
+ */
+package org.adoptopenjdk.jitwatch.loader;
+
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.C_DOT;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.C_SLASH;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.DEBUG_LOGGING_CLASSPATH;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.S_NEWLINE;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.CodeSource;
+import java.security.cert.Certificate;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import com.chrisnewland.freelogj.Logger;
+import com.chrisnewland.freelogj.LoggerFactory;
+
+/**
+ * Maps every class in a list of class locations to the jar or directory that
+ * holds it so that DisposableURLClassLoader and ClassFileReader find a class
+ * with one hash lookup instead of probing each location in turn. As on a
+ * classpath the first location holding a class wins.
+ *
+ * The locations are listed in parallel. The class names of each jar are kept
+ * in a cache directory and reused while the jar has the same modification
+ * time and length, directories are always listed again.
+ *
+ * Multi-release jars are indexed by their base entries only.
+ */
+public final class ClassLocationIndex
+{
+	private static final Logger logger = LoggerFactory.getLogger(ClassLocationIndex.class);
+
+	private static final String CLASS_SUFFIX = ".class";
+
+	private static final String MODULE_INFO = "module-info.class";
+
+	private static final String META_INF = "META-INF/";
+
+	private static final String CACHE_SUFFIX = ".index";
+
+	private static final AtomicInteger POOL_COUNTER = new AtomicInteger();
+
+	private final List<String> locationNames;
+
+	private final List<File> locations;
+
+	private final Map<String, Integer> classLocations;
+
+	// opened when a class is first read from the jar
+	private final ClassLocationJars jars;
+
+	private final CodeSource[] codeSources;
+
+	private ClassLocationIndex(List<String> locationNames, List<File> locations, Map<String, Integer> classLocations)
+	{
+		this.locationNames = locationNames;
+		this.locations = locations;
+		this.classLocations = classLocations;
+
+		jars = new ClassLocationJars(locations);
+		codeSources = new CodeSource[locations.size()];
+	}
+
+	/**
+	 * @param cacheDirectory
+	 *            where to keep the class names of each jar or null to list
+	 *            every jar
+	 */
+	public static ClassLocationIndex build(List<String> classLocations, File cacheDirectory)
+	{
+		List<File> locations = new ArrayList<>(classLocations.size());
+
+		for (String location : classLocations)
+		{
+			locations.add(new File(location));
+		}
+
+		List<List<String>> classNames = listLocations(locations, cacheDirectory);
+
+		Map<String, Integer> index = new HashMap<>();
+
+		for (int i = 0; i < classNames.size(); i++)
+		{
+			for (String fqClassName : classNames.get(i))
+			{
+				if (!index.containsKey(fqClassName))
+				{
+					index.put(fqClassName, i);
+				}
+			}
+		}
+
+		if (DEBUG_LOGGING_CLASSPATH)
+		{
+			logger.debug("Indexed {} classes in {} locations", index.size(), locations.size());
+		}
+
+		return new ClassLocationIndex(new ArrayList<>(classLocations), locations, index);
+	}
+
+	private static List<List<String>> listLocations(List<File> locations, final File cacheDirectory)
+	{
+		List<List<String>> result = new ArrayList<>(locations.size());
+
+		int threads = Math.max(1, Math.min(locations.size(), Runtime.getRuntime().availableProcessors()));
+
+		final int poolId = POOL_COUNTER.incrementAndGet();
+
+		ExecutorService executor = Executors.newFixedThreadPool(threads, new ThreadFactory()
+		{
+			private final AtomicInteger threadCounter = new AtomicInteger();
+
+			@Override
+			public Thread newThread(Runnable runnable)
+			{
+				Thread thread = new Thread(runnable, "JITWatch-classindex-" + poolId + "-" + threadCounter.incrementAndGet());
+				thread.setDaemon(true);
+				return thread;
+			}
+		});
+
+		try
+		{
+			List<Future<List<String>>> futures = new ArrayList<>(locations.size());
+
+			for (final File location : locations)
+			{
+				futures.add(executor.submit(new Callable<List<String>>()
+				{
+					@Override
+					public List<String> call()
+					{
+						return listLocation(location, cacheDirectory);
+					}
+				}));
+			}
+
+			for (int i = 0; i < futures.size(); i++)
+			{
+				List<String> classNames;
+
+				try
+				{
+					classNames = futures.get(i).get();
+				}
+				catch (ExecutionException ee)
+				{
+					logger.warn("Could not index class location {}", locations.get(i), ee.getCause());
+					classNames = new ArrayList<>();
+				}
+				catch (InterruptedException ie)
+				{
+					Thread.currentThread().interrupt();
+					classNames = new ArrayList<>();
+				}
+
+				result.add(classNames);
+			}
+		}
+		finally
+		{
+			executor.shutdownNow();
+		}
+
+		return result;
+	}
+
+	private static List<String> listLocation(File location, File cacheDirectory)
+	{
+		List<String> result = new ArrayList<>();
+
+		try
+		{
+			if (location.isDirectory())
+			{
+				listDirectory(location.toPath(), result);
+			}
+			else if (location.isFile())
+			{
+				File cacheFile = (cacheDirectory != null) ? getCacheFile(cacheDirectory, location) : null;
+
+				if (cacheFile == null || !readCache(cacheFile, location, result))
+				{
+					result.clear();
+
+					listJar(location, result);
+
+					if (cacheFile != null)
+					{
+						writeCache(cacheFile, location, result);
+					}
+				}
+			}
+		}
+		catch (IOException ioe)
+		{
+			logger.warn("Could not index class location {}", location, ioe);
+		}
+
+		return result;
+	}
+
+	private static void listDirectory(final Path directory, final List<String> result) throws IOException
+	{
+		Files.walkFileTree(directory, new SimpleFileVisitor<Path>()
+		{
+			@Override
+			public FileVisitResult visitFile(Path file, BasicFileAttributes attrs)
+			{
+				addClassName(directory.relativize(file).toString().replace(File.separatorChar, C_SLASH), result);
+
+				return FileVisitResult.CONTINUE;
+			}
+		});
+	}
+
+	private static void listJar(File jar, List<String> result) throws IOException
+	{
+		try (ZipFile zipFile = new ZipFile(jar))
+		{
+			Enumeration<? extends ZipEntry> entries = zipFile.entries();
+
+			while (entries.hasMoreElements())
+			{
+				addClassName(entries.nextElement().getName(), result);
+			}
+		}
+	}
+
+	private static void addClassName(String resourceName, List<String> result)
+	{
+		if (resourceName.endsWith(CLASS_SUFFIX) && !resourceName.startsWith(META_INF) && !resourceName.endsWith(MODULE_INFO))
+		{
+			result.add(resourceName.substring(0, resourceName.length() - CLASS_SUFFIX.length()).replace(C_SLASH, C_DOT));
+		}
+	}
+
+	// one file per jar named by a hash of its path, which is checked on reading
+	static File getCacheFile(File cacheDirectory, File jar)
+	{
+		String path = jar.getAbsolutePath();
+
+		return new File(cacheDirectory, Integer.toHexString(path.hashCode()) + "-" + jar.getName() + CACHE_SUFFIX);
+	}
+
+	private static boolean readCache(File cacheFile, File jar, List<String> result)
+	{
+		boolean valid = false;
+
+		if (cacheFile.isFile())
+		{
+			try (BufferedReader reader = Files.newBufferedReader(cacheFile.toPath(), StandardCharsets.UTF_8))
+			{
+				valid = jar.getAbsolutePath().equals(reader.readLine()) && Long.toString(jar.lastModified()).equals(reader.readLine())
+						&& Long.toString(jar.length()).equals(reader.readLine());
+
+				if (valid)
+				{
+					String line;
+
+					while ((line = reader.readLine()) != null)
+					{
+						result.add(line);
+					}
+				}
+			}
+			catch (IOException ioe)
+			{
+				logger.warn("Could not read class index cache {}", cacheFile, ioe);
+
+				valid = false;
+			}
+		}
+
+		return valid;
+	}
+
+	private static void writeCache(File cacheFile, File jar, List<String> classNames)
+	{
+		try
+		{
+			File cacheDirectory = cacheFile.getParentFile();
+
+			if (!cacheDirectory.isDirectory() && !cacheDirectory.mkdirs() && !cacheDirectory.isDirectory())
+			{
+				throw new IOException("Could not create " + cacheDirectory);
+			}
+
+			// written aside and moved so a parse on another thread never reads
+			// a partial cache
+			File tempFile = File.createTempFile(cacheFile.getName(), ".tmp", cacheDirectory);
+
+			try (BufferedWriter writer = Files.newBufferedWriter(tempFile.toPath(), StandardCharsets.UTF_8))
+			{
+				writer.write(jar.getAbsolutePath());
+				writer.write(S_NEWLINE);
+				writer.write(Long.toString(jar.lastModified()));
+				writer.write(S_NEWLINE);
+				writer.write(Long.toString(jar.length()));
+				writer.write(S_NEWLINE);
+
+				for (String fqClassName : classNames)
+				{
+					writer.write(fqClassName);
+					writer.write(S_NEWLINE);
+				}
+			}
+
+			Files.move(tempFile.toPath(), cacheFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+		}
+		catch (IOException ioe)
+		{
+			logger.warn("Could not write class index cache {}", cacheFile, ioe);
+		}
+	}
+
+	/**
+	 * @return true if the index was built from these class locations in this
+	 *         order
+	 */
+	public boolean isFor(List<String> classLocations)
+	{
+		return locationNames.equals(classLocations);
+	}
+
+	public boolean contains(String fqClassName)
+	{
+		return classLocations.containsKey(fqClassName);
+	}
+
+	/**
+	 * @return the jar or directory holding the class or null if no location
+	 *         holds it
+	 */
+	public File getLocation(String fqClassName)
+	{
+		Integer index = classLocations.get(fqClassName);
+
+		return (index != null) ? locations.get(index) : null;
+	}
+
+	public int size()
+	{
+		return classLocations.size();
+	}
+
+	/**
+	 * @return the class file bytes or null if no location holds the class
+	 */
+	public byte[] readClassBytes(String fqClassName) throws IOException
+	{
+		byte[] result = null;
+
+		Integer index = classLocations.get(fqClassName);
+
+		if (index != null)
+		{
+			String resourceName = fqClassName.replace(C_DOT, C_SLASH) + CLASS_SUFFIX;
+
+			result = jars.readClassBytes(index, resourceName);
+		}
+
+		return result;
+	}
+
+	/**
+	 * @return the CodeSource for defining a class found in the index
+	 */
+	public synchronized CodeSource getCodeSource(String fqClassName) throws MalformedURLException
+	{
+		int index = classLocations.get(fqClassName);
+
+		if (codeSources[index] == null)
+		{
+			URL url = locations.get(index).toURI().toURL();
+
+			codeSources[index] = new CodeSource(url, (Certificate[]) null);
+		}
+
+		return codeSources[index];
+	}
+
+	/**
+	 * Closes the jars opened for reading classes. They are opened again when
+	 * next read from.
+	 */
+	public void close()
+	{
+		jars.close();
+	}
+}
@@ -0,0 +1,155 @@
+/*
+ * Copyright (c) 2026 Chris Newland.
+ * Licensed under https://github.com/AdoptOpenJDK/jitwatch/blob/master/LICENSE-BSD
+ * Instructions: https://github.com/AdoptOpenJDK/jitwatch/wiki
+ */
+package org.adoptopenjdk.jitwatch.loader;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import com.chrisnewland.freelogj.Logger;
+import com.chrisnewland.freelogj.LoggerFactory;
+
+/**
+ * The jars and directories of a list of class locations. Each jar is opened
+ * when a class is first read from it and kept open until close() so reading
+ * many classes does not open the jar again for every class.
+ */
+final class ClassLocationJars
+{
+	private static final Logger logger = LoggerFactory.getLogger(ClassLocationJars.class);
+
+	private final List<File> locations;
+
+	private final ZipFile[] zipFiles;
+
+	// jars that could not be opened are skipped until close(), as on a classpath
+	private final boolean[] unreadable;
+
+	ClassLocationJars(List<File> locations)
+	{
+		this.locations = locations;
+
+		zipFiles = new ZipFile[locations.size()];
+		unreadable = new boolean[locations.size()];
+	}
+
+	List<File> getLocations()
+	{
+		return locations;
+	}
+
+	/**
+	 * @return the bytes of the resource from the first location holding it
+	 *         or null if no location holds it
+	 */
+	byte[] readClassBytes(String resourceName) throws IOException
+	{
+		byte[] result = null;
+
+		for (int i = 0; i < locations.size() && result == null; i++)
+		{
+			result = readClassBytes(i, resourceName);
+		}
+
+		return result;
+	}
+
+	/**
+	 * @return the bytes of the resource from the location or null if the
+	 *         location does not hold it or is not a readable jar
+	 */
+	byte[] readClassBytes(int index, String resourceName) throws IOException
+	{
+		byte[] result = null;
+
+		File location = locations.get(index);
+
+		if (location.isDirectory())
+		{
+			File classFile = new File(location, resourceName);
+
+			if (classFile.isFile())
+			{
+				result = Files.readAllBytes(classFile.toPath());
+			}
+		}
+		else if (location.isFile())
+		{
+			ZipFile zipFile = getZipFile(index);
+
+			if (zipFile != null)
+			{
+				try
+				{
+					ZipEntry entry = zipFile.getEntry(resourceName);
+
+					if (entry != null)
+					{
+						try (InputStream inputStream = zipFile.getInputStream(entry))
+						{
+							result = ClassFileReader.readFully(inputStream);
+						}
+					}
+				}
+				catch (IllegalStateException ise)
+				{
+					// closed by another thread
+					throw new IOException("Could not read " + resourceName + " from closed jar " + location, ise);
+				}
+			}
+		}
+
+		return result;
+	}
+
+	/**
+	 * @return the open jar at the index or null if it cannot be opened
+	 */
+	private synchronized ZipFile getZipFile(int index)
+	{
+		if (zipFiles[index] == null && !unreadable[index])
+		{
+			try
+			{
+				zipFiles[index] = new ZipFile(locations.get(index));
+			}
+			catch (IOException ioe)
+			{
+				logger.warn("Skipping unreadable class location {}", locations.get(index), ioe);
+
+				unreadable[index] = true;
+			}
+		}
+
+		return zipFiles[index];
+	}
+
+	synchronized void close()
+	{
+		for (int i = 0; i < zipFiles.length; i++)
+		{
+			if (zipFiles[i] != null)
+			{
+				try
+				{
+					zipFiles[i].close();
+				}
+				catch (IOException ioe)
+				{
+					logger.warn("Could not close {}", locations.get(i), ioe);
+				}
+
+				zipFiles[i] = null;
+			}
+
+			unreadable[i] = false;
+		}
+	}
+}
@@ -5,6 +5,9 @@
  */
 package org.adoptopenjdk.jitwatch.loader;
 
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.C_DOT;
+
+import java.io.IOException;
 import java.net.URL;
 import java.net.URLClassLoader;
 import java.util.ArrayList;
@@ -13,17 +16,106 @@ import java.util.List;
 
 public class DisposableURLClassLoader extends URLClassLoader
 {
+	static
+	{
+		// classes are loaded from several threads when building the class
+		// model in parallel
+		ClassLoader.registerAsParallelCapable();
+	}
+
 	private List<URL> urlList = new ArrayList<>();
+
+	private final ClassLocationIndex classIndex;
 	
 	public DisposableURLClassLoader(final List<URL> urls)
+	{
+		this(urls, null);
+	}
+
+	/**
+	 * @param classIndex
+	 *            the classes in the urls, used to find a class without
+	 *            searching each url, or null to search them
+	 */
+	public DisposableURLClassLoader(final List<URL> urls, ClassLocationIndex classIndex)
 	{
 		super(urls.toArray(new URL[urls.size()]));
 		
 		urlList.addAll(urls);
+
+		this.classIndex = classIndex;
 	}
 	
 	public List<URL> getURLListCopy()
 	{
 		return Collections.unmodifiableList(urlList);
 	}
-}
\ No newline at end of file
+
+	@Override
+	protected Class<?> findClass(String name) throws ClassNotFoundException
+	{
+		if (classIndex == null)
+		{
+			return super.findClass(name);
+		}
+
+		byte[] classBytes;
+
+		try
+		{
+			classBytes = classIndex.readClassBytes(name);
+		}
+		catch (IOException ioe)
+		{
+			throw new ClassNotFoundException(name, ioe);
+		}
+
+		if (classBytes == null)
+		{
+			throw new ClassNotFoundException(name);
+		}
+
+		int lastDot = name.lastIndexOf(C_DOT);
+
+		if (lastDot != -1)
+		{
+			definePackageIfMissing(name.substring(0, lastDot));
+		}
+
+		try
+		{
+			return defineClass(name, classBytes, 0, classBytes.length, classIndex.getCodeSource(name));
+		}
+		catch (IOException ioe)
+		{
+			throw new ClassNotFoundException(name, ioe);
+		}
+	}
+
+	@SuppressWarnings("deprecation")
+	private void definePackageIfMissing(String packageName)
+	{
+		if (getPackage(packageName) == null)
+		{
+			try
+			{
+				definePackage(packageName, null, null, null, null, null, null, null);
+			}
+			catch (IllegalArgumentException iae)
+			{
+				// defined by another thread
+			}
+		}
+	}
+
+	@Override
+	public void close() throws IOException
+	{
+		if (classIndex != null)
+		{
+			classIndex.close();
+		}
+
+		super.close();
+	}
+}
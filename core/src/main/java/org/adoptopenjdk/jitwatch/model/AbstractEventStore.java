@@ -0,0 +1,263 @@
+/*
+ * Copyright (c) 2026 Chris Newland.
+ * Licensed under https://github.com/AdoptOpenJDK/jitwatch/blob/master/LICENSE-BSD
+ * Instructions: https://github.com/AdoptOpenJDK/jitwatch/wiki
+ */
+package org.adoptopenjdk.jitwatch.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Append-only store of stamped events kept as parallel arrays. This class
+ * keeps the stamps and event type ordinals and subclasses keep their other
+ * columns at the same arrival index.
+ *
+ * Events normally arrive in stamp order but one written late by another
+ * thread can break it, so from the first such event a stamp ordered index
+ * over the arrival indexes is kept as well. Range queries by stamp are a
+ * binary search over that order. Event objects are created on demand.
+ *
+ * Subclasses synchronize on the store.
+ */
+public abstract class AbstractEventStore<E>
+{
+	private int size = 0;
+
+	private long[] stamps;
+	private byte[] eventTypes;
+
+	// arrival indexes in stamp order, null while arrival order is stamp order
+	private int[] stampOrder = null;
+
+	protected AbstractEventStore(int initialCapacity)
+	{
+		stamps = new long[initialCapacity];
+		eventTypes = new byte[initialCapacity];
+	}
+
+	/**
+	 * Appends the stamp and event type of an event. The caller must hold the
+	 * lock on the store and fill its own columns at the returned index.
+	 *
+	 * @return the arrival index of the event
+	 */
+	protected final int addStamp(long stamp, int eventTypeOrdinal)
+	{
+		if (size == stamps.length)
+		{
+			int capacity = stamps.length * 2;
+
+			stamps = Arrays.copyOf(stamps, capacity);
+			eventTypes = Arrays.copyOf(eventTypes, capacity);
+
+			if (stampOrder != null)
+			{
+				stampOrder = Arrays.copyOf(stampOrder, capacity);
+			}
+
+			growColumns(capacity);
+		}
+
+		if (stampOrder == null && size > 0 && stamp < stamps[size - 1])
+		{
+			stampOrder = new int[stamps.length];
+
+			for (int i = 0; i < size; i++)
+			{
+				stampOrder[i] = i;
+			}
+		}
+
+		stamps[size] = stamp;
+		eventTypes[size] = (byte) eventTypeOrdinal;
+
+		if (stampOrder != null)
+		{
+			int position = size;
+
+			if (stamp < stamps[stampOrder[size - 1]])
+			{
+				position = upperBound(stamp);
+
+				System.arraycopy(stampOrder, position, stampOrder, position + 1, size - position);
+			}
+
+			stampOrder[position] = size;
+		}
+
+		return size++;
+	}
+
+	/**
+	 * Grows the columns of the subclass to the new capacity.
+	 */
+	protected abstract void growColumns(int capacity);
+
+	/**
+	 * @return a new event from the columns at the arrival index
+	 */
+	protected abstract E createEvent(int index);
+
+	public synchronized int size()
+	{
+		return size;
+	}
+
+	/**
+	 * @return the earliest stamp or 0 if there are no events
+	 */
+	public synchronized long getFirstStamp()
+	{
+		return size > 0 ? stamps[getArrivalIndex(0)] : 0;
+	}
+
+	/**
+	 * @return the latest stamp or 0 if there are no events
+	 */
+	public synchronized long getLastStamp()
+	{
+		return size > 0 ? stamps[getArrivalIndex(size - 1)] : 0;
+	}
+
+	/**
+	 * @return the events with fromStamp <= stamp < toStamp in stamp order
+	 */
+	public synchronized List<E> getEvents(long fromStamp, long toStamp)
+	{
+		int start = lowerBound(fromStamp);
+		int end = lowerBound(toStamp);
+
+		List<E> result = new ArrayList<>(Math.max(0, end - start));
+
+		for (int i = start; i < end; i++)
+		{
+			result.add(createEvent(getArrivalIndex(i)));
+		}
+
+		return result;
+	}
+
+	/**
+	 * @return the number of events with fromStamp <= stamp < toStamp
+	 */
+	public synchronized int count(long fromStamp, long toStamp)
+	{
+		return Math.max(0, lowerBound(toStamp) - lowerBound(fromStamp));
+	}
+
+	/**
+	 * Counts without creating any event objects.
+	 *
+	 * @return the number of events of the type with fromStamp <= stamp <
+	 *         toStamp
+	 */
+	protected final int countEventType(int eventTypeOrdinal, long fromStamp, long toStamp)
+	{
+		int result = 0;
+
+		int end = lowerBound(toStamp);
+
+		for (int i = lowerBound(fromStamp); i < end; i++)
+		{
+			if (eventTypes[getArrivalIndex(i)] == eventTypeOrdinal)
+			{
+				result++;
+			}
+		}
+
+		return result;
+	}
+
+	protected final long getStampAt(int index)
+	{
+		return stamps[index];
+	}
+
+	protected final int getEventTypeAt(int index)
+	{
+		return eventTypes[index];
+	}
+
+	/**
+	 * @return the stamps of the events from the arrival index on, in arrival
+	 *         order
+	 */
+	protected final long[] getStampsFrom(int start)
+	{
+		return Arrays.copyOfRange(stamps, start, size);
+	}
+
+	protected final void checkIndex(int index)
+	{
+		if (index < 0 || index >= size)
+		{
+			throw new IndexOutOfBoundsException("Index " + index + " size " + size);
+		}
+	}
+
+	/**
+	 * Empties the store keeping its capacity. The caller must hold the lock on
+	 * the store and clear its own columns.
+	 */
+	protected final void clearStamps()
+	{
+		size = 0;
+
+		stampOrder = null;
+	}
+
+	protected final int getArrivalIndex(int stampIndex)
+	{
+		return stampOrder == null ? stampIndex : stampOrder[stampIndex];
+	}
+
+	// position in stamp order of the first event with a stamp >= the given
+	// stamp
+	private int lowerBound(long stamp)
+	{
+		int low = 0;
+		int high = size;
+
+		while (low < high)
+		{
+			int mid = (low + high) >>> 1;
+
+			if (stamps[getArrivalIndex(mid)] < stamp)
+			{
+				low = mid + 1;
+			}
+			else
+			{
+				high = mid;
+			}
+		}
+
+		return low;
+	}
+
+	// position in stamp order of the first event with a stamp > the given
+	// stamp so that events with equal stamps stay in arrival order
+	private int upperBound(long stamp)
+	{
+		int low = 0;
+		int high = size;
+
+		while (low < high)
+		{
+			int mid = (low + high) >>> 1;
+
+			if (stamps[getArrivalIndex(mid)] <= stamp)
+			{
+				low = mid + 1;
+			}
+			else
+			{
+				high = mid;
+			}
+		}
+
+		return low;
+	}
+}
@@ -35,6 +35,7 @@ import org.adoptopenjdk.jitwatch.model.assembly.AssemblyMethod;
 import org.adoptopenjdk.jitwatch.model.bytecode.BytecodeInstruction;
 import org.adoptopenjdk.jitwatch.model.bytecode.ClassBC;
 import org.adoptopenjdk.jitwatch.model.bytecode.MemberBytecode;
+import org.adoptopenjdk.jitwatch.util.ClassUtil;
 import org.adoptopenjdk.jitwatch.util.ParseUtil;
 import org.adoptopenjdk.jitwatch.util.StringUtil;
 import com.chrisnewland.freelogj.Logger;
@@ -44,6 +45,14 @@ public abstract class AbstractMetaMember implements IMetaMember, Comparable<IMet
 {
 	protected static final Logger logger = LoggerFactory.getLogger(AbstractMetaMember.class);
 
+	protected static final int ACC_VARARGS = 0x0080;
+
+	// the class file access flags kept by Method.getModifiers() and
+	// Constructor.getModifiers()
+	protected static final int ACC_RECOGNIZED_METHOD_FLAGS = 0x1DFF;
+
+	private static final int ACCESS_MODIFIERS = Modifier.PUBLIC | Modifier.PROTECTED | Modifier.PRIVATE;
+
 	protected MetaClass metaClass;
 	private List<Compilation> compilations;
 	private int selectedCompilationIndex;
@@ -57,6 +66,11 @@ public abstract class AbstractMetaMember implements IMetaMember, Comparable<IMet
 	protected Class<?> returnType;
 	protected List<Class<?>> paramTypes;
 
+	// set instead of the types above by members read from a class file, in
+	// the form of Class.getName(), so that no class has to be loaded
+	protected String returnClassName;
+	protected List<String> paramClassNames;
+
 	public AbstractMetaMember(String memberName)
 	{
 		this.memberName = memberName;
@@ -76,6 +90,130 @@ public abstract class AbstractMetaMember implements IMetaMember, Comparable<IMet
 		}
 	}
 
+	// JVMS 2.9.3
+	protected void checkPolymorphicSignature(int accessFlags)
+	{
+		String fqClassName = metaClass.getFullyQualifiedName();
+
+		isPolymorphicSignature = ("java.lang.invoke.MethodHandle".equals(fqClassName) || "java.lang.invoke.VarHandle".equals(fqClassName))
+				&& (accessFlags & (Modifier.NATIVE | ACC_VARARGS)) == (Modifier.NATIVE | ACC_VARARGS) && paramClassNames.size() == 1
+				&& "[Ljava.lang.Object;".equals(paramClassNames.get(0));
+	}
+
+	/**
+	 * Builds the declaration of a member read from a class file as
+	 * Method.toString() or Constructor.toString() would, without the throws
+	 * clause.
+	 */
+	protected String buildDeclaration(int modifierMask, boolean isDefault)
+	{
+		StringBuilder builder = new StringBuilder();
+
+		int mod = modifier & modifierMask;
+
+		if (mod != 0 && !isDefault)
+		{
+			builder.append(Modifier.toString(mod)).append(C_SPACE);
+		}
+		else
+		{
+			if ((mod & ACCESS_MODIFIERS) != 0)
+			{
+				builder.append(Modifier.toString(mod & ACCESS_MODIFIERS)).append(C_SPACE);
+			}
+
+			if (isDefault)
+			{
+				builder.append("default ");
+			}
+
+			if ((mod & ~ACCESS_MODIFIERS) != 0)
+			{
+				builder.append(Modifier.toString(mod & ~ACCESS_MODIFIERS)).append(C_SPACE);
+			}
+		}
+
+		if (isConstructor())
+		{
+			builder.append(metaClass.getFullyQualifiedName());
+		}
+		else
+		{
+			builder.append(getTypeName(returnClassName)).append(C_SPACE);
+			builder.append(metaClass.getFullyQualifiedName()).append(C_DOT).append(memberName);
+		}
+
+		builder.append(C_OPEN_PARENTHESES);
+
+		for (int i = 0; i < paramClassNames.size(); i++)
+		{
+			if (i > 0)
+			{
+				builder.append(C_COMMA);
+			}
+
+			builder.append(getTypeName(paramClassNames.get(i)));
+		}
+
+		builder.append(C_CLOSE_PARENTHESES);
+
+		return builder.toString();
+	}
+
+	// as Class.getTypeName()
+	private static String getTypeName(String className)
+	{
+		return className.charAt(0) == C_OPEN_SQUARE_BRACKET ? ParseUtil.expandParameterType(className) : className;
+	}
+
+	String getReturnClassName()
+	{
+		return returnType != null ? returnType.getName() : returnClassName;
+	}
+
+	List<String> getParamClassNames()
+	{
+		List<String> result = paramClassNames;
+
+		if (result == null && paramTypes != null)
+		{
+			result = new ArrayList<>(paramTypes.size());
+
+			for (Class<?> paramType : paramTypes)
+			{
+				result.add(paramType.getName());
+			}
+		}
+
+		return result;
+	}
+
+	// members read from a class file only load their parameter classes if a
+	// signature has to be matched by assignability
+	private List<Class<?>> getParamClasses() throws ClassNotFoundException
+	{
+		if (paramTypes == null && paramClassNames != null)
+		{
+			List<Class<?>> classes = new ArrayList<>(paramClassNames.size());
+
+			for (String paramClassName : paramClassNames)
+			{
+				if (ParseUtil.isPrimitive(paramClassName))
+				{
+					classes.add(ParseUtil.classForPrimitive(paramClassName));
+				}
+				else
+				{
+					classes.add(ClassUtil.loadClassWithoutInitialising(paramClassName));
+				}
+			}
+
+			paramTypes = classes;
+		}
+
+		return paramTypes;
+	}
+
 	@Override
 	public String getMemberName()
 	{
@@ -133,11 +271,14 @@ public abstract class AbstractMetaMember implements IMetaMember, Comparable<IMet
 		if (returnTypeClassName != null)
 		{
 			Class<?> sigReturnType = ParseUtil.findClassForLogCompilationParameter(returnTypeClassName);
-			matched = returnType.equals(sigReturnType);
+
+			String memberReturnClassName = getReturnClassName();
+
+			matched = memberReturnClassName != null && memberReturnClassName.equals(sigReturnType.getName());
 
 			if (DEBUG_LOGGING_SIG_MATCH)
 			{
-				logger.debug("Return: '{}' === '{}' ? {}", returnType.getName(), sigReturnType.getName(), matched);
+				logger.debug("Return: '{}' === '{}' ? {}", memberReturnClassName, sigReturnType.getName(), matched);
 			}
 		}
 		else
@@ -184,7 +325,7 @@ public abstract class AbstractMetaMember implements IMetaMember, Comparable<IMet
 					{
 						List<Class<?>> mspClassTypes = getClassesForParamTypes(msp);
 
-						if (ParseUtil.paramClassesMatch(isVarArgs, this.paramTypes, mspClassTypes, matchTypesExactly))
+						if (ParseUtil.paramClassesMatch(isVarArgs, getParamClasses(), mspClassTypes, matchTypesExactly))
 						{
 							result = true;
 						}
@@ -226,13 +367,15 @@ public abstract class AbstractMetaMember implements IMetaMember, Comparable<IMet
 	{
 		String result = null;
 
-		if (isConstructor() || returnType == null)
+		String memberReturnClassName = getReturnClassName();
+
+		if (isConstructor() || memberReturnClassName == null)
 		{
 			result = S_TYPE_NAME_VOID;
 		}
 		else
 		{
-			result = ParseUtil.expandParameterType(returnType.getName());
+			result = ParseUtil.expandParameterType(memberReturnClassName);
 		}
 
 		return result;
@@ -243,9 +386,9 @@ public abstract class AbstractMetaMember implements IMetaMember, Comparable<IMet
 	{
 		List<String> typeNames = new ArrayList<>();
 
-		for (Class<?> paramClass : paramTypes)
+		for (String paramClassName : getParamClassNames())
 		{
-			typeNames.add(ParseUtil.expandParameterType(paramClass.getName()));
+			typeNames.add(ParseUtil.expandParameterType(paramClassName));
 		}
 
 		return typeNames.toArray(new String[typeNames.size()]);
@@ -394,20 +537,24 @@ public abstract class AbstractMetaMember implements IMetaMember, Comparable<IMet
 				builder.append(Modifier.toString(modifier)).append(C_SPACE);
 			}
 
-			if (!isConstructor() && returnType != null)
+			String memberReturnClassName = getReturnClassName();
+
+			if (!isConstructor() && memberReturnClassName != null)
 			{
-				builder.append(expandParam(returnType.getName(), fqParamTypes)).append(C_SPACE);
+				builder.append(expandParam(memberReturnClassName, fqParamTypes)).append(C_SPACE);
 			}
 		}
 
 		builder.append(memberName);
 		builder.append(C_OPEN_PARENTHESES);
 
-		if (paramTypes.size() > 0)
+		List<String> memberParamClassNames = getParamClassNames();
+
+		if (memberParamClassNames.size() > 0)
 		{
-			for (Class<?> paramClass : paramTypes)
+			for (String paramClassName : memberParamClassNames)
 			{
-				builder.append(expandParam(paramClass.getName(), fqParamTypes)).append(C_COMMA);
+				builder.append(expandParam(paramClassName, fqParamTypes)).append(C_COMMA);
 			}
 
 			builder.deleteCharAt(builder.length() - 1);
@@ -467,9 +614,11 @@ public abstract class AbstractMetaMember implements IMetaMember, Comparable<IMet
 		}
 
 		// return type of constructor is not declared in signature
-		if (!isConstructor() && returnType != null)
+		String memberReturnClassName = getReturnClassName();
+
+		if (!isConstructor() && memberReturnClassName != null)
 		{
-			String rt = expandParamRegEx(returnType.getName());
+			String rt = expandParamRegEx(memberReturnClassName);
 
 			builder.append(rt);
 			builder.append(C_SPACE);
@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2026 Chris Newland.
+ * Licensed under https://github.com/AdoptOpenJDK/jitwatch/blob/master/LICENSE-BSD
+ * Instructions: https://github.com/AdoptOpenJDK/jitwatch/wiki
+ */
+package org.adoptopenjdk.jitwatch.model;
+
+import java.util.List;
+
+/**
+ * A read-only view of one tag in a CompactTagTree. Views are cheap and are
+ * created each time the tree is navigated so two views of the same tag are
+ * equal but not the same object.
+ */
+public class CompactTag extends Tag
+{
+	private final CompactTagTree tree;
+	private final int index;
+	private final Task root;
+
+	public CompactTag(CompactTagTree tree, int index, Task root)
+	{
+		this.tree = tree;
+		this.index = index;
+		this.root = root;
+	}
+
+	@Override
+	public String getName()
+	{
+		return tree.getName(index);
+	}
+
+	@Override
+	public String getAttributeString()
+	{
+		return tree.getAttributeString(index);
+	}
+
+	@Override
+	public boolean isSelfClosing()
+	{
+		return tree.isSelfClosing(index);
+	}
+
+	@Override
+	public String getTextContent()
+	{
+		return tree.getTextContent(index);
+	}
+
+	@Override
+	public List<Tag> getChildren()
+	{
+		return tree.getChildren(index, root);
+	}
+
+	@Override
+	public Tag getParent()
+	{
+		return tree.getTag(tree.getParent(index), root);
+	}
+
+	// views of the same element stand in for the same Tag object, comparing
+	// them field by field would recurse between parent and children
+	@Override
+	public boolean equals(Object o)
+	{
+		boolean result;
+
+		if (o instanceof CompactTag && ((CompactTag) o).tree == tree)
+		{
+			result = ((CompactTag) o).index == index;
+		}
+		else
+		{
+			result = super.equals(o);
+		}
+
+		return result;
+	}
+
+	@Override
+	public int hashCode()
+	{
+		return super.hashCode();
+	}
+
+	@Override
+	public void addChild(Tag child)
+	{
+		throw new UnsupportedOperationException("Compact tags are read-only");
+	}
+
+	@Override
+	public void addTextContent(String text)
+	{
+		throw new UnsupportedOperationException("Compact tags are read-only");
+	}
+
+	@Override
+	public void setParent(Tag parent)
+	{
+		throw new UnsupportedOperationException("Compact tags are read-only");
+	}
+}
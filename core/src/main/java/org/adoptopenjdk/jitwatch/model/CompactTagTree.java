@@ -0,0 +1,287 @@
+/*
+ * Copyright (c) 2026 Chris Newland.
+ * Licensed under https://github.com/AdoptOpenJDK/jitwatch/blob/master/LICENSE-BSD
+ * Instructions: https://github.com/AdoptOpenJDK/jitwatch/wiki
+ */
+package org.adoptopenjdk.jitwatch.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The tags below a Task stored as parallel arrays instead of one Tag object
+ * per element. Tag 0 is the task itself and tags are numbered in the order
+ * their opening lines were read.
+ *
+ * Each tag is an index into the arrays: a name id into a table of the
+ * distinct names, its parent, first child and next sibling, and the bounds
+ * of its attribute string and text content in one shared character buffer.
+ *
+ * Tag objects for the elements are created on demand as CompactTag views and
+ * are not kept, so only the arrays stay resident.
+ */
+public final class CompactTagTree
+{
+	private static final int NONE = -1;
+
+	private final String[] names;
+
+	private final int[] nameIds;
+	private final int[] parents;
+	private final int[] firstChildren;
+	private final int[] nextSiblings;
+	private final int[] attributeStarts;
+	private final int[] textStarts;
+	private final int[] textEnds;
+	private final boolean[] selfClosing;
+
+	private final String chars;
+
+	private CompactTagTree(Builder builder)
+	{
+		int size = builder.size;
+
+		names = builder.names.toArray(new String[builder.names.size()]);
+
+		nameIds = Arrays.copyOf(builder.nameIds, size);
+		parents = Arrays.copyOf(builder.parents, size);
+		firstChildren = Arrays.copyOf(builder.firstChildren, size);
+		nextSiblings = Arrays.copyOf(builder.nextSiblings, size);
+		attributeStarts = Arrays.copyOf(builder.attributeStarts, size + 1);
+		textStarts = Arrays.copyOf(builder.textStarts, size);
+		textEnds = Arrays.copyOf(builder.textEnds, size);
+		selfClosing = Arrays.copyOf(builder.selfClosing, size);
+
+		chars = builder.chars.toString();
+	}
+
+	public int size()
+	{
+		return nameIds.length;
+	}
+
+	public String getName(int index)
+	{
+		return names[nameIds[index]];
+	}
+
+	// attribute strings are stored back to back in tag order
+	public String getAttributeString(int index)
+	{
+		return chars.substring(attributeStarts[index], attributeStarts[index + 1]);
+	}
+
+	public String getTextContent(int index)
+	{
+		String result = null;
+
+		if (textStarts[index] != NONE)
+		{
+			result = chars.substring(textStarts[index], textEnds[index]);
+		}
+
+		return result;
+	}
+
+	public boolean isSelfClosing(int index)
+	{
+		return selfClosing[index];
+	}
+
+	/**
+	 * @return the index of the parent tag or -1 for the task
+	 */
+	public int getParent(int index)
+	{
+		return parents[index];
+	}
+
+	/**
+	 * @param root
+	 *            the Task that tag 0 stands for
+	 */
+	public Tag getTag(int index, Task root)
+	{
+		return index == 0 ? root : new CompactTag(this, index, root);
+	}
+
+	public List<Tag> getChildren(int index, Task root)
+	{
+		List<Tag> result;
+
+		int child = firstChildren[index];
+
+		if (child == NONE)
+		{
+			result = Collections.emptyList();
+		}
+		else
+		{
+			result = new ArrayList<>();
+
+			while (child != NONE)
+			{
+				result.add(new CompactTag(this, child, root));
+
+				child = nextSiblings[child];
+			}
+		}
+
+		return Collections.unmodifiableList(result);
+	}
+
+	/**
+	 * Collects the tags of one task as they are read. Attribute strings must
+	 * be added in tag order, text content may be added to any open tag.
+	 */
+	public static final class Builder
+	{
+		private static final int INITIAL_CAPACITY = 64;
+
+		private final List<String> names = new ArrayList<>();
+		private final Map<String, Integer> nameTable = new HashMap<>();
+
+		private int size = 0;
+
+		private int[] nameIds = new int[INITIAL_CAPACITY];
+		private int[] parents = new int[INITIAL_CAPACITY];
+		private int[] firstChildren = new int[INITIAL_CAPACITY];
+		private int[] lastChildren = new int[INITIAL_CAPACITY];
+		private int[] nextSiblings = new int[INITIAL_CAPACITY];
+		private int[] attributeStarts = new int[INITIAL_CAPACITY + 1];
+		private int[] textStarts = new int[INITIAL_CAPACITY];
+		private int[] textEnds = new int[INITIAL_CAPACITY];
+		private boolean[] selfClosing = new boolean[INITIAL_CAPACITY];
+
+		// attribute strings first, then text content appended as it arrives
+		private final StringBuilder chars = new StringBuilder();
+		private final StringBuilder text = new StringBuilder();
+
+		/**
+		 * @param parent
+		 *            the index of the parent tag or -1 for the task
+		 * @return the index of the new tag
+		 */
+		public int addTag(int parent, String name, String attributeString, boolean isSelfClosing)
+		{
+			if (size == nameIds.length)
+			{
+				grow();
+			}
+
+			int index = size++;
+
+			nameIds[index] = getNameId(name);
+			parents[index] = parent;
+			firstChildren[index] = NONE;
+			lastChildren[index] = NONE;
+			nextSiblings[index] = NONE;
+			textStarts[index] = NONE;
+			textEnds[index] = NONE;
+			selfClosing[index] = isSelfClosing;
+
+			attributeStarts[index] = chars.length();
+			chars.append(attributeString);
+			attributeStarts[index + 1] = chars.length();
+
+			if (parent != NONE)
+			{
+				if (firstChildren[parent] == NONE)
+				{
+					firstChildren[parent] = index;
+				}
+				else
+				{
+					nextSiblings[lastChildren[parent]] = index;
+				}
+
+				lastChildren[parent] = index;
+			}
+
+			return index;
+		}
+
+		public void addTextContent(int index, String content)
+		{
+			if (textStarts[index] == NONE)
+			{
+				textStarts[index] = text.length();
+			}
+			else if (textEnds[index] != text.length())
+			{
+				// another tag was given text since, move this tag's text to
+				// the end so it stays contiguous
+				String existing = text.substring(textStarts[index], textEnds[index]);
+
+				textStarts[index] = text.length();
+				text.append(existing);
+			}
+
+			text.append(content);
+
+			textEnds[index] = text.length();
+		}
+
+		public String getName(int index)
+		{
+			return names.get(nameIds[index]);
+		}
+
+		public int getParent(int index)
+		{
+			return parents[index];
+		}
+
+		public CompactTagTree build()
+		{
+			int textOffset = chars.length();
+
+			chars.append(text);
+
+			for (int i = 0; i < size; i++)
+			{
+				if (textStarts[i] != NONE)
+				{
+					textStarts[i] += textOffset;
+					textEnds[i] += textOffset;
+				}
+			}
+
+			return new CompactTagTree(this);
+		}
+
+		private int getNameId(String name)
+		{
+			Integer id = nameTable.get(name);
+
+			if (id == null)
+			{
+				id = names.size();
+
+				names.add(name);
+				nameTable.put(name, id);
+			}
+
+			return id;
+		}
+
+		private void grow()
+		{
+			int capacity = nameIds.length * 2;
+
+			nameIds = Arrays.copyOf(nameIds, capacity);
+			parents = Arrays.copyOf(parents, capacity);
+			firstChildren = Arrays.copyOf(firstChildren, capacity);
+			lastChildren = Arrays.copyOf(lastChildren, capacity);
+			nextSiblings = Arrays.copyOf(nextSiblings, capacity);
+			attributeStarts = Arrays.copyOf(attributeStarts, capacity + 1);
+			textStarts = Arrays.copyOf(textStarts, capacity);
+			textEnds = Arrays.copyOf(textEnds, capacity);
+			selfClosing = Arrays.copyOf(selfClosing, capacity);
+		}
+	}
+}
@@ -63,6 +63,18 @@ public class Compilation
 
 	private CompilerThread compilerThread = null;
 
+	// used instead of tagTask and assembly when the model was read from a
+	// snapshot, cleared once loaded
+	private ILazyLoader<Task> taskLoader = null;
+
+	private ILazyLoader<AssemblyMethod> assemblyLoader = null;
+
+	private int lazyBytecodeSize;
+
+	// used when only a summary of the task was kept while parsing, the full
+	// task is rebuilt from the log each time it is asked for
+	private ILazyLoader<Task> taskBodyLoader = null;
+
 	public Compilation(IMetaMember member, int index)
 	{
 		this.member = member;
@@ -89,14 +101,27 @@ public class Compilation
 		return entryAddress;
 	}
 
-	public AssemblyMethod getAssembly()
+	public synchronized AssemblyMethod getAssembly()
 	{
+		if (assemblyLoader != null)
+		{
+			assembly = assemblyLoader.load();
+			assemblyLoader = null;
+		}
+
 		return assembly;
 	}
 
-	public void setAssembly(AssemblyMethod assembly)
+	public synchronized void setAssembly(AssemblyMethod assembly)
 	{
 		this.assembly = assembly;
+		this.assemblyLoader = null;
+	}
+
+	public synchronized void setAssemblyLoader(ILazyLoader<AssemblyMethod> assemblyLoader)
+	{
+		this.assembly = null;
+		this.assemblyLoader = assemblyLoader;
 	}
 
 	public Map<String, String> getQueuedAttributes()
@@ -192,9 +217,11 @@ public class Compilation
 		}
 	}
 
-	public void setTagTask(Task tagTask)
+	public synchronized void setTagTask(Task tagTask)
 	{
 		this.tagTask = tagTask;
+		this.taskLoader = null;
+		this.taskBodyLoader = null;
 
 		Map<String, String> attrs = tagTask.getAttributes();
 
@@ -216,9 +243,52 @@ public class Compilation
 		return tagNMethod;
 	}
 
-	public Task getTagTask()
+	/**
+	 * Sets a task that will be loaded on first use along with the values that
+	 * setTagTask() would have taken from it.
+	 */
+	public synchronized void setTagTaskLoader(ILazyLoader<Task> taskLoader, long stampTaskCompilationStart, boolean failedTask,
+			int bytecodeSize)
+	{
+		this.tagTask = null;
+		this.taskLoader = taskLoader;
+		this.taskBodyLoader = null;
+		this.stampTaskCompilationStart = stampTaskCompilationStart;
+		this.failedTask = failedTask;
+		this.lazyBytecodeSize = bytecodeSize;
+	}
+
+	/**
+	 * Loads the full task on each call when the task set by setTagTask() is a
+	 * summary. The summary is kept and holds the task attributes along with
+	 * the task_done, code_cache and failure children.
+	 */
+	public synchronized void setTagTaskBodyLoader(ILazyLoader<Task> taskBodyLoader)
+	{
+		this.taskBodyLoader = taskBodyLoader;
+	}
+
+	public synchronized Task getTagTask()
 	{
-		return tagTask;
+		if (taskLoader != null)
+		{
+			tagTask = taskLoader.load();
+			taskLoader = null;
+		}
+
+		Task result = tagTask;
+
+		if (taskBodyLoader != null)
+		{
+			Task taskBody = taskBodyLoader.load();
+
+			if (taskBody != null)
+			{
+				result = taskBody;
+			}
+		}
+
+		return result;
 	}
 
 	public Tag getTagTaskDone()
@@ -248,11 +318,15 @@ public class Compilation
 		return result;
 	}
 
-	public int getBytecodeSize()
+	public synchronized int getBytecodeSize()
 	{
 		int result = 0;
 
-		if (tagTask != null)
+		if (taskLoader != null)
+		{
+			result = lazyBytecodeSize;
+		}
+		else if (tagTask != null)
 		{
 			result = Integer.parseInt(tagTask.getAttributes().get(ATTR_BYTES));
 		}
@@ -422,9 +496,11 @@ public class Compilation
 			builder.append(tagNMethod).append("\n");
 		}
 
-		if (tagTask != null)
+		Task task = getTagTask();
+
+		if (task != null)
 		{
-			builder.append(tagTask).append("\n");
+			builder.append(task).append("\n");
 		}
 
 		return builder.toString();
@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2026 Chris Newland.
+ * Licensed under https://github.com/AdoptOpenJDK/jitwatch/blob/master/LICENSE-BSD
+ * Instructions: https://github.com/AdoptOpenJDK/jitwatch/wiki
+ */
+package org.adoptopenjdk.jitwatch.model;
+
+/**
+ * A runtime event that throws away compiled code: an uncommon trap taken by
+ * compiled code, a frame deoptimized back to the interpreter or an nmethod
+ * being made not entrant or zombie.
+ */
+public class DeoptEvent
+{
+	public enum DeoptEventType
+	{
+		UNCOMMON_TRAP, DEOPTIMIZED, MAKE_NOT_ENTRANT, MAKE_ZOMBIE
+	};
+
+	public static final int NO_COMPILE_ID = -1;
+
+	public static final int NO_BCI = -1;
+
+	private final DeoptEventType eventType;
+
+	private final long stamp;
+
+	private final int compileID;
+
+	private final String reason;
+	private final String action;
+
+	private final String method;
+	private final int bci;
+
+	private final Compilation compilation;
+
+	/**
+	 * @param method
+	 *            the method of the innermost jvms scope as written in the
+	 *            log, where the trap or deoptimization happened
+	 * @param compilation
+	 *            the compilation whose code was affected or null if it is not
+	 *            in the model
+	 */
+	public DeoptEvent(DeoptEventType eventType, long stamp, int compileID, String reason, String action, String method, int bci,
+			Compilation compilation)
+	{
+		this.eventType = eventType;
+		this.stamp = stamp;
+		this.compileID = compileID;
+		this.reason = reason;
+		this.action = action;
+		this.method = method;
+		this.bci = bci;
+		this.compilation = compilation;
+	}
+
+	public DeoptEventType getEventType()
+	{
+		return eventType;
+	}
+
+	public long getStamp()
+	{
+		return stamp;
+	}
+
+	public int getCompileID()
+	{
+		return compileID;
+	}
+
+	public String getReason()
+	{
+		return reason;
+	}
+
+	public String getAction()
+	{
+		return action;
+	}
+
+	public String getMethod()
+	{
+		return method;
+	}
+
+	public int getBCI()
+	{
+		return bci;
+	}
+
+	public Compilation getCompilation()
+	{
+		return compilation;
+	}
+
+	@Override
+	public String toString()
+	{
+		return "DeoptEvent [eventType=" + eventType + ", stamp=" + stamp + ", compileID=" + compileID + ", reason=" + reason
+				+ ", action=" + action + ", method=" + method + ", bci=" + bci + "]";
+	}
+}
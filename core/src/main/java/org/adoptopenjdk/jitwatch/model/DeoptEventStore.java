@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) 2026 Chris Newland.
+ * Licensed under https://github.com/AdoptOpenJDK/jitwatch/blob/master/LICENSE-BSD
+ * Instructions: https://github.com/AdoptOpenJDK/jitwatch/wiki
+ */
+package org.adoptopenjdk.jitwatch.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.adoptopenjdk.jitwatch.model.DeoptEvent.DeoptEventType;
+
+/**
+ * DeoptEvents kept as parallel arrays. The reason, action and method strings
+ * repeat heavily in a deopt storm so each is stored once in a string table
+ * and referred to by id.
+ *
+ * Events are read back in stamp order.
+ */
+public class DeoptEventStore extends AbstractEventStore<DeoptEvent> implements IReadOnlyDeoptEventStore
+{
+	private static final int INITIAL_CAPACITY = 256;
+
+	private static final int NO_STRING = -1;
+
+	private static final DeoptEventType[] EVENT_TYPES = DeoptEventType.values();
+
+	private final List<String> strings = new ArrayList<>();
+	private final Map<String, Integer> stringIds = new HashMap<>();
+
+	private int[] compileIDs = new int[INITIAL_CAPACITY];
+	private int[] reasonIds = new int[INITIAL_CAPACITY];
+	private int[] actionIds = new int[INITIAL_CAPACITY];
+	private int[] methodIds = new int[INITIAL_CAPACITY];
+	private int[] bcis = new int[INITIAL_CAPACITY];
+	private Compilation[] compilations = new Compilation[INITIAL_CAPACITY];
+
+	public DeoptEventStore()
+	{
+		super(INITIAL_CAPACITY);
+	}
+
+	public synchronized void add(DeoptEvent event)
+	{
+		int index = addStamp(event.getStamp(), event.getEventType().ordinal());
+
+		compileIDs[index] = event.getCompileID();
+		reasonIds[index] = getStringId(event.getReason());
+		actionIds[index] = getStringId(event.getAction());
+		methodIds[index] = getStringId(event.getMethod());
+		bcis[index] = event.getBCI();
+		compilations[index] = event.getCompilation();
+	}
+
+	@Override
+	public synchronized DeoptEvent getEvent(int index)
+	{
+		checkIndex(index);
+
+		return createEvent(getArrivalIndex(index));
+	}
+
+	@Override
+	public synchronized List<DeoptEvent> getEvents()
+	{
+		int size = size();
+
+		List<DeoptEvent> result = new ArrayList<>(size);
+
+		for (int i = 0; i < size; i++)
+		{
+			result.add(createEvent(getArrivalIndex(i)));
+		}
+
+		return result;
+	}
+
+	/**
+	 * Counts without creating any DeoptEvent objects.
+	 */
+	@Override
+	public synchronized int count(DeoptEventType eventType, long fromStamp, long toStamp)
+	{
+		return countEventType(eventType.ordinal(), fromStamp, toStamp);
+	}
+
+	public synchronized void clear()
+	{
+		Arrays.fill(compilations, 0, size(), null);
+
+		clearStamps();
+
+		strings.clear();
+		stringIds.clear();
+	}
+
+	@Override
+	protected DeoptEvent createEvent(int index)
+	{
+		return new DeoptEvent(EVENT_TYPES[getEventTypeAt(index)], getStampAt(index), compileIDs[index], getString(reasonIds[index]),
+				getString(actionIds[index]), getString(methodIds[index]), bcis[index], compilations[index]);
+	}
+
+	@Override
+	protected void growColumns(int capacity)
+	{
+		compileIDs = Arrays.copyOf(compileIDs, capacity);
+		reasonIds = Arrays.copyOf(reasonIds, capacity);
+		actionIds = Arrays.copyOf(actionIds, capacity);
+		methodIds = Arrays.copyOf(methodIds, capacity);
+		bcis = Arrays.copyOf(bcis, capacity);
+		compilations = Arrays.copyOf(compilations, capacity);
+	}
+
+	private int getStringId(String value)
+	{
+		int result = NO_STRING;
+
+		if (value != null)
+		{
+			Integer id = stringIds.get(value);
+
+			if (id == null)
+			{
+				id = strings.size();
+
+				strings.add(value);
+				stringIds.put(value, id);
+			}
+
+			result = id;
+		}
+
+		return result;
+	}
+
+	private String getString(int id)
+	{
+		return id == NO_STRING ? null : strings.get(id);
+	}
+}
@@ -0,0 +1,15 @@
+/*
+ * Copyright (c) 2026 Chris Newland.
+ * Licensed under https://github.com/AdoptOpenJDK/jitwatch/blob/master/LICENSE-BSD
+ * Instructions: https://github.com/AdoptOpenJDK/jitwatch/wiki
+ */
+package org.adoptopenjdk.jitwatch.model;
+
+/**
+ * Builds part of the model the first time it is used instead of when the
+ * model is loaded.
+ */
+public interface ILazyLoader<T>
+{
+	T load();
+}
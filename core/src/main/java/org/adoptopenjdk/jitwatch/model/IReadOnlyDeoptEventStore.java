@@ -0,0 +1,52 @@
+/*
+ * Copyright (c) 2026 Chris Newland.
+ * Licensed under https://github.com/AdoptOpenJDK/jitwatch/blob/master/LICENSE-BSD
+ * Instructions: https://github.com/AdoptOpenJDK/jitwatch/wiki
+ */
+package org.adoptopenjdk.jitwatch.model;
+
+import java.util.List;
+
+import org.adoptopenjdk.jitwatch.model.DeoptEvent.DeoptEventType;
+
+/**
+ * The read side of the DeoptEventStore of a model. Events are indexed in
+ * stamp order.
+ */
+public interface IReadOnlyDeoptEventStore
+{
+	int size();
+
+	DeoptEvent getEvent(int index);
+
+	/**
+	 * @return every event in stamp order
+	 */
+	List<DeoptEvent> getEvents();
+
+	/**
+	 * @return the earliest stamp or 0 if there are no events
+	 */
+	long getFirstStamp();
+
+	/**
+	 * @return the latest stamp or 0 if there are no events
+	 */
+	long getLastStamp();
+
+	/**
+	 * @return the events with fromStamp <= stamp < toStamp in stamp order
+	 */
+	List<DeoptEvent> getEvents(long fromStamp, long toStamp);
+
+	/**
+	 * @return the number of events with fromStamp <= stamp < toStamp
+	 */
+	int count(long fromStamp, long toStamp);
+
+	/**
+	 * @return the number of events of the type with fromStamp <= stamp <
+	 *         toStamp
+	 */
+	int count(DeoptEventType eventType, long fromStamp, long toStamp);
+}
@@ -7,6 +7,9 @@ package org.adoptopenjdk.jitwatch.model;
 
 import java.util.List;
 
+import org.adoptopenjdk.jitwatch.loader.ClassFileMembers;
+import org.adoptopenjdk.jitwatch.loader.ClassLocationIndex;
+
 public interface IReadOnlyJITDataModel
 {
     PackageManager getPackageManager();
@@ -15,7 +18,11 @@ public interface IReadOnlyJITDataModel
 
     List<JITEvent> getEventListCopy();
 
+    IReadOnlyJITEventStore getEventStore();
+
     List<CodeCacheEvent> getCodeCacheEvents();
+
+    IReadOnlyDeoptEventStore getDeoptEvents();
     
 	List<CompilerThread> getCompilerThreads();
     
@@ -28,8 +35,18 @@ public interface IReadOnlyJITDataModel
     int getJDKMajorVersion();
     
 	IMetaMember findMetaMember(MemberSignatureParts msp);
+
+	MemberSignatureCache getMemberSignatureCache();
     
 	MetaClass buildAndGetMetaClass(Class<?> clazz);
+
+	MetaClass buildAndGetMetaClass(ClassFileMembers classMembers);
+
+	List<String> getClassFileLocations();
+
+	ClassLocationIndex getClassLocationIndex();
+
+	boolean isClassFileBytecodeReader();
 	
 	long getBaseTimestamp();
 }
\ No newline at end of file
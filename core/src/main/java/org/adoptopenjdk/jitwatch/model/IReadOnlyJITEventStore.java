@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2026 Chris Newland.
+ * Licensed under https://github.com/AdoptOpenJDK/jitwatch/blob/master/LICENSE-BSD
+ * Instructions: https://github.com/AdoptOpenJDK/jitwatch/wiki
+ */
+package org.adoptopenjdk.jitwatch.model;
+
+import java.util.List;
+
+/**
+ * The read side of the JITEventStore of a model. Index arguments are arrival
+ * indexes.
+ */
+public interface IReadOnlyJITEventStore
+{
+	int size();
+
+	/**
+	 * @return a number that changes every time the store is cleared so a
+	 *         reader knows its cursor is no longer valid
+	 */
+	int getGeneration();
+
+	long getStamp(int index);
+
+	EventType getEventType(int index);
+
+	IMetaMember getMember(int index);
+
+	JITEvent getEvent(int index);
+
+	/**
+	 * @return every event in arrival order
+	 */
+	List<JITEvent> getEvents();
+
+	/**
+	 * @return the events appended since the reader had seen cursor events, in
+	 *         arrival order
+	 */
+	List<JITEvent> getEventsSince(int cursor);
+
+	/**
+	 * @return the stamps of the events appended since the reader had seen
+	 *         cursor events, in arrival order
+	 */
+	long[] getStampsSince(int cursor);
+
+	/**
+	 * @return the earliest stamp or 0 if there are no events
+	 */
+	long getFirstStamp();
+
+	/**
+	 * @return the latest stamp or 0 if there are no events
+	 */
+	long getLastStamp();
+
+	/**
+	 * @return the events with fromStamp <= stamp < toStamp in stamp order
+	 */
+	List<JITEvent> getEvents(long fromStamp, long toStamp);
+
+	/**
+	 * @return the number of events with fromStamp <= stamp < toStamp
+	 */
+	int count(long fromStamp, long toStamp);
+
+	/**
+	 * @return the number of events of the type with fromStamp <= stamp <
+	 *         toStamp
+	 */
+	int count(EventType eventType, long fromStamp, long toStamp);
+}
@@ -15,6 +15,7 @@ import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.C_DOT;
 import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.DEBUG_LOGGING;
 import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.MODIFIERS;
 import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.OSR;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.S_CONSTRUCTOR_INIT;
 import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.S_EMPTY;
 import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.S_SPACE;
 
@@ -30,6 +31,8 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+import org.adoptopenjdk.jitwatch.loader.ClassFileMembers;
+import org.adoptopenjdk.jitwatch.loader.ClassLocationIndex;
 import org.adoptopenjdk.jitwatch.model.bytecode.SourceMapper;
 import org.adoptopenjdk.jitwatch.util.ParseUtil;
 import com.chrisnewland.freelogj.Logger;
@@ -42,12 +45,17 @@ public class JITDataModel implements IReadOnlyJITDataModel
 	private PackageManager packageManager;
 	private JITStats stats;
 
-	// Not using CopyOnWriteArrayList as writes will vastly out number reads
-	private List<JITEvent> jitEvents = new ArrayList<>();
+	private MemberSignatureCache memberSignatureCache = new MemberSignatureCache();
+
+	// primitive backed so readers can range query or read only new events
+	// instead of copying the whole list
+	private JITEventStore jitEvents = new JITEventStore();
 
 	// written during parse, make copy for graphing as needs sort
 	private List<CodeCacheEvent> codeCacheTagList = new ArrayList<>();
 
+	private DeoptEventStore deoptEvents = new DeoptEventStore();
+
 	private Map<String, CompilerThread> compilerThreads = new HashMap<>();
 
 	private Tag endOfLog;
@@ -56,6 +64,13 @@ public class JITDataModel implements IReadOnlyJITDataModel
 
 	private long baseTimestamp = 0;
 
+	// null when MetaClasses are built by loading the class
+	private volatile List<String> classFileLocations;
+
+	private volatile ClassLocationIndex classLocationIndex;
+
+	private volatile boolean classFileBytecodeReader = false;
+
 	public JITDataModel()
 	{
 		packageManager = new PackageManager();
@@ -85,6 +100,8 @@ public class JITDataModel implements IReadOnlyJITDataModel
 
 		stats.reset();
 
+		memberSignatureCache.clear();
+
 		jitEvents.clear();
 
 		for (CompilerThread thread : compilerThreads.values())
@@ -95,6 +112,12 @@ public class JITDataModel implements IReadOnlyJITDataModel
 		compilerThreads.clear();
 
 		codeCacheTagList.clear();
+
+		deoptEvents.clear();
+
+		classLocationIndex = null;
+
+		classFileBytecodeReader = false;
 	}
 
 	@Override public List<CompilerThread> getCompilerThreads()
@@ -146,21 +169,19 @@ public class JITDataModel implements IReadOnlyJITDataModel
 		return stats;
 	}
 
-	// ugly but better than using COWAL with so many writes
 	public void addEvent(JITEvent event)
 	{
-		synchronized (jitEvents)
-		{
-			jitEvents.add(event);
-		}
+		jitEvents.add(event);
 	}
 
 	@Override public List<JITEvent> getEventListCopy()
 	{
-		synchronized (jitEvents)
-		{
-			return new ArrayList<>(jitEvents);
-		}
+		return jitEvents.getEvents();
+	}
+
+	@Override public JITEventStore getEventStore()
+	{
+		return jitEvents;
 	}
 
 	public void addNativeBytes(long count)
@@ -259,21 +280,7 @@ public class JITDataModel implements IReadOnlyJITDataModel
 
 		if (metaClass != null)
 		{
-			List<IMetaMember> metaList = metaClass.getMetaMembers();
-
-			if (DEBUG_LOGGING)
-			{
-				logger.debug("Comparing msp against {} members of metaClass {}", metaList.size(), metaClass.toString());
-			}
-
-			for (IMetaMember member : metaList)
-			{
-				if (member.matchesSignature(msp, true))
-				{
-					result = member;
-					break;
-				}
-			}
+			result = metaClass.getMemberForSignature(msp);
 		}
 		else
 		{
@@ -286,47 +293,62 @@ public class JITDataModel implements IReadOnlyJITDataModel
 		return result;
 	}
 
-	@Override public MetaClass buildAndGetMetaClass(Class<?> clazz)
+	/**
+	 * @param classFileLocations
+	 *            the directories and jars to read class files from when
+	 *            building MetaClasses without loading the class, or null to
+	 *            always load the class
+	 */
+	public void setClassFileLocations(List<String> classFileLocations)
 	{
-		MetaClass resultMetaClass = null;
-
-		String fqClassName = clazz.getName();
-
-		String packageName;
-		String className;
-
-		int lastDotIndex = fqClassName.lastIndexOf(C_DOT);
+		this.classFileLocations = classFileLocations;
+	}
 
-		if (lastDotIndex != -1)
-		{
-			packageName = fqClassName.substring(0, lastDotIndex);
-			className = fqClassName.substring(lastDotIndex + 1);
-		}
-		else
-		{
-			packageName = S_EMPTY;
-			className = fqClassName;
-		}
+	@Override public List<String> getClassFileLocations()
+	{
+		return classFileLocations;
+	}
 
-		if (DEBUG_LOGGING)
-		{
-			logger.debug("buildAndGetMetaClass {} {}", packageName, fqClassName);
-		}
+	/**
+	 * @param classLocationIndex
+	 *            the index of the class locations for reading class files or
+	 *            null to search the class locations
+	 */
+	public void setClassLocationIndex(ClassLocationIndex classLocationIndex)
+	{
+		this.classLocationIndex = classLocationIndex;
+	}
 
-		MetaPackage metaPackage = packageManager.getMetaPackage(packageName);
+	@Override public ClassLocationIndex getClassLocationIndex()
+	{
+		return classLocationIndex;
+	}
 
-		if (metaPackage == null)
-		{
-			metaPackage = packageManager.buildPackage(packageName);
-		}
+	/**
+	 * @param classFileBytecodeReader
+	 *            read the bytecode of a class directly from its class file
+	 *            instead of with javap
+	 */
+	public void setClassFileBytecodeReader(boolean classFileBytecodeReader)
+	{
+		this.classFileBytecodeReader = classFileBytecodeReader;
+	}
 
-		resultMetaClass = new MetaClass(metaPackage, className);
+	@Override public boolean isClassFileBytecodeReader()
+	{
+		return classFileBytecodeReader;
+	}
 
-		packageManager.addMetaClass(resultMetaClass);
+	@Override public MemberSignatureCache getMemberSignatureCache()
+	{
+		return memberSignatureCache;
+	}
 
-		metaPackage.addClass(resultMetaClass);
+	@Override public MetaClass buildAndGetMetaClass(Class<?> clazz)
+	{
+		String fqClassName = clazz.getName();
 
-		stats.incCountClass();
+		MetaClass resultMetaClass = createMetaClass(fqClassName);
 
 		if (clazz.isInterface())
 		{
@@ -374,6 +396,74 @@ public class JITDataModel implements IReadOnlyJITDataModel
 		return resultMetaClass;
 	}
 
+	@Override public MetaClass buildAndGetMetaClass(ClassFileMembers classMembers)
+	{
+		MetaClass resultMetaClass = createMetaClass(classMembers.getFullyQualifiedClassName());
+
+		resultMetaClass.setInterface(classMembers.isInterface());
+
+		for (ClassFileMembers.Member member : classMembers.getMembers())
+		{
+			if (S_CONSTRUCTOR_INIT.equals(member.getName()))
+			{
+				resultMetaClass.addMember(new MetaConstructor(resultMetaClass, member.getAccessFlags(), member.getParamTypeNames()));
+				stats.incCountConstructor();
+			}
+			else
+			{
+				resultMetaClass.addMember(new MetaMethod(resultMetaClass, member.getName(), member.getAccessFlags(),
+						member.getReturnTypeName(), member.getParamTypeNames()));
+				stats.incCountMethod();
+			}
+		}
+
+		return resultMetaClass;
+	}
+
+	private MetaClass createMetaClass(String fqClassName)
+	{
+		String packageName;
+		String className;
+
+		int lastDotIndex = fqClassName.lastIndexOf(C_DOT);
+
+		if (lastDotIndex != -1)
+		{
+			packageName = fqClassName.substring(0, lastDotIndex);
+			className = fqClassName.substring(lastDotIndex + 1);
+		}
+		else
+		{
+			packageName = S_EMPTY;
+			className = fqClassName;
+		}
+
+		if (DEBUG_LOGGING)
+		{
+			logger.debug("buildAndGetMetaClass {} {}", packageName, fqClassName);
+		}
+
+		MetaPackage metaPackage = packageManager.getMetaPackage(packageName);
+
+		if (metaPackage == null)
+		{
+			metaPackage = packageManager.buildPackage(packageName);
+		}
+
+		MetaClass resultMetaClass = new MetaClass(metaPackage, className);
+
+		packageManager.addMetaClass(resultMetaClass);
+
+		// failed signatures naming this class may now resolve
+		memberSignatureCache.clearFailures(resultMetaClass.getFullyQualifiedName());
+
+		metaPackage.addClass(resultMetaClass);
+
+		stats.incCountClass();
+
+		return resultMetaClass;
+	}
+
 	public void addCodeCacheEvent(CodeCacheEvent event)
 	{
 		synchronized (codeCacheTagList)
@@ -382,6 +472,16 @@ public class JITDataModel implements IReadOnlyJITDataModel
 		}
 	}
 
+	public void addDeoptEvent(DeoptEvent event)
+	{
+		deoptEvents.add(event);
+	}
+
+	@Override public DeoptEventStore getDeoptEvents()
+	{
+		return deoptEvents;
+	}
+
 	public void setEndOfLog(Tag tag)
 	{
 		this.endOfLog = tag;
@@ -0,0 +1,178 @@
+/*
+ * Copyright (c) 2026 Chris Newland.
+ * Licensed under https://github.com/AdoptOpenJDK/jitwatch/blob/master/LICENSE-BSD
+ * Instructions: https://github.com/AdoptOpenJDK/jitwatch/wiki
+ */
+package org.adoptopenjdk.jitwatch.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Append-only store of the JITEvents of a model kept as parallel arrays of
+ * stamps, event types and member ids. Each member is stored once in a member
+ * table.
+ *
+ * Events keep their arrival index so a reader can remember how many it has
+ * seen and later fetch only the events appended since (a cursor).
+ */
+public class JITEventStore extends AbstractEventStore<JITEvent> implements IReadOnlyJITEventStore
+{
+	private static final int INITIAL_CAPACITY = 1024;
+
+	private static final int NO_MEMBER = -1;
+
+	private static final EventType[] EVENT_TYPES = EventType.values();
+
+	private final List<IMetaMember> members = new ArrayList<>();
+	private final Map<IMetaMember, Integer> memberIds = new IdentityHashMap<>();
+
+	private int[] eventMemberIds = new int[INITIAL_CAPACITY];
+
+	private int generation = 0;
+
+	public JITEventStore()
+	{
+		super(INITIAL_CAPACITY);
+	}
+
+	public void add(JITEvent event)
+	{
+		add(event.getStamp(), event.getEventType(), event.getEventMember());
+	}
+
+	public synchronized void add(long stamp, EventType eventType, IMetaMember member)
+	{
+		int index = addStamp(stamp, eventType.ordinal());
+
+		eventMemberIds[index] = getMemberId(member);
+	}
+
+	@Override
+	public synchronized int getGeneration()
+	{
+		return generation;
+	}
+
+	@Override
+	public synchronized long getStamp(int index)
+	{
+		checkIndex(index);
+
+		return getStampAt(index);
+	}
+
+	@Override
+	public synchronized EventType getEventType(int index)
+	{
+		checkIndex(index);
+
+		return EVENT_TYPES[getEventTypeAt(index)];
+	}
+
+	@Override
+	public synchronized IMetaMember getMember(int index)
+	{
+		checkIndex(index);
+
+		return getMemberById(eventMemberIds[index]);
+	}
+
+	@Override
+	public synchronized JITEvent getEvent(int index)
+	{
+		checkIndex(index);
+
+		return createEvent(index);
+	}
+
+	@Override
+	public synchronized List<JITEvent> getEvents()
+	{
+		return getEventsSince(0);
+	}
+
+	@Override
+	public synchronized List<JITEvent> getEventsSince(int cursor)
+	{
+		int size = size();
+
+		int start = Math.min(Math.max(0, cursor), size);
+
+		List<JITEvent> result = new ArrayList<>(size - start);
+
+		for (int i = start; i < size; i++)
+		{
+			result.add(createEvent(i));
+		}
+
+		return result;
+	}
+
+	@Override
+	public synchronized long[] getStampsSince(int cursor)
+	{
+		return getStampsFrom(Math.min(Math.max(0, cursor), size()));
+	}
+
+	/**
+	 * Counts without creating any JITEvent objects.
+	 */
+	@Override
+	public synchronized int count(EventType eventType, long fromStamp, long toStamp)
+	{
+		return countEventType(eventType.ordinal(), fromStamp, toStamp);
+	}
+
+	public synchronized void clear()
+	{
+		clearStamps();
+
+		members.clear();
+		memberIds.clear();
+
+		generation++;
+	}
+
+	@Override
+	protected JITEvent createEvent(int index)
+	{
+		return new JITEvent(getStampAt(index), EVENT_TYPES[getEventTypeAt(index)], getMemberById(eventMemberIds[index]));
+	}
+
+	@Override
+	protected void growColumns(int capacity)
+	{
+		eventMemberIds = Arrays.copyOf(eventMemberIds, capacity);
+	}
+
+	private int getMemberId(IMetaMember member)
+	{
+		int result = NO_MEMBER;
+
+		if (member != null)
+		{
+			Integer id = memberIds.get(member);
+
+			if (id == null)
+			{
+				id = members.size();
+
+				members.add(member);
+				memberIds.put(member, id);
+			}
+
+			result = id;
+		}
+
+		return result;
+	}
+
+	private IMetaMember getMemberById(int id)
+	{
+		return id == NO_MEMBER ? null : members.get(id);
+	}
+}
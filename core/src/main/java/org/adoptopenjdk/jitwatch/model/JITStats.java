@@ -56,6 +56,39 @@ public class JITStats
 		countConstructor = 0;
 	}
 
+	// every counter in a fixed order, used to save and restore a model snapshot
+	public long[] getCounters()
+	{
+		return new long[] { countPrivate, countProtected, countPublic, countStatic, countFinal, countSynchronized, countStrictfp,
+				countNative, countAbstract, countOSR, countC1, countC2, countC2N, totalCompileTime, nativeBytes, countCompilerThreads,
+				countClass, countMethod, countConstructor };
+	}
+
+	public void setCounters(long[] counters)
+	{
+		int i = 0;
+
+		countPrivate = counters[i++];
+		countProtected = counters[i++];
+		countPublic = counters[i++];
+		countStatic = counters[i++];
+		countFinal = counters[i++];
+		countSynchronized = counters[i++];
+		countStrictfp = counters[i++];
+		countNative = counters[i++];
+		countAbstract = counters[i++];
+		countOSR = counters[i++];
+		countC1 = counters[i++];
+		countC2 = counters[i++];
+		countC2N = counters[i++];
+		totalCompileTime = counters[i++];
+		nativeBytes = counters[i++];
+		countCompilerThreads = counters[i++];
+		countClass = counters[i++];
+		countMethod = counters[i++];
+		countConstructor = counters[i++];
+	}
+
 	public void recordDelay(long delay)
 	{
 		totalCompileTime += delay;
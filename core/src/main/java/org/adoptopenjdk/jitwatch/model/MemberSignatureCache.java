@@ -0,0 +1,421 @@
+/*
+ * Copyright (c) 2026 Chris Newland.
+ * Licensed under https://github.com/AdoptOpenJDK/jitwatch/blob/master/LICENSE-BSD
+ * Instructions: https://github.com/AdoptOpenJDK/jitwatch/wiki
+ */
+package org.adoptopenjdk.jitwatch.model;
+
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.C_DOT;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.C_OBJECT_REF;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.C_OPEN_SQUARE_BRACKET;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.C_SEMICOLON;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.C_SLASH;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.C_SPACE;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.adoptopenjdk.jitwatch.util.ParseUtil;
+
+/**
+ * Bounded LRU cache from a raw LogCompilation method signature to the member
+ * it resolved to, or to the reason it could not be resolved.
+ *
+ * The same signature is resolved for task_queued, nmethod, task and task_done
+ * so caching the result saves repeating the regex split and class loading of
+ * MemberSignatureParts for every tag. The classes of each parameter and return
+ * type string are cached too as the same types appear in many signatures.
+ *
+ * A failure is dropped when a MetaClass is added for any class named in its
+ * signature, the holder or a parameter or return type, as it may now resolve.
+ * The split signature is kept so resolving it again does not repeat the regex.
+ */
+public class MemberSignatureCache
+{
+	public static final int DEFAULT_CAPACITY = 16384;
+
+	private final int capacity;
+
+	// value is the IMetaMember, a Failure, or the String[] split signature of
+	// a dropped failure waiting to be resolved again
+	private final LinkedHashMap<String, Object> cache;
+
+	// the cached failed signatures naming each class, by fully qualified name
+	private final Map<String, Set<String>> failuresByClass = new HashMap<>();
+
+	// parameter or return type string to its classes
+	private final LinkedHashMap<String, Class<?>[]> typeClasses;
+
+	private int failureCount = 0;
+
+	private long hitCount = 0;
+	private long failureHitCount = 0;
+	private long missCount = 0;
+	private long evictionCount = 0;
+
+	public MemberSignatureCache()
+	{
+		this(DEFAULT_CAPACITY);
+	}
+
+	public MemberSignatureCache(final int capacity)
+	{
+		if (capacity < 1)
+		{
+			throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+		}
+
+		this.capacity = capacity;
+
+		cache = new LinkedHashMap<String, Object>(16, 0.75f, true)
+		{
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, Object> eldest)
+			{
+				boolean evict = size() > MemberSignatureCache.this.capacity;
+
+				if (evict)
+				{
+					evictionCount++;
+
+					if (eldest.getValue() instanceof Failure)
+					{
+						unlinkFailure(eldest.getKey(), (Failure) eldest.getValue(), null);
+					}
+				}
+
+				return evict;
+			}
+		};
+
+		typeClasses = new LinkedHashMap<String, Class<?>[]>(16, 0.75f, true)
+		{
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, Class<?>[]> eldest)
+			{
+				return size() > MemberSignatureCache.this.capacity;
+			}
+		};
+	}
+
+	private static final class Failure
+	{
+		private final String message;
+
+		// null if the signature could not be split
+		private final String[] parts;
+
+		private final List<String> classNames;
+
+		Failure(String message, String[] parts, List<String> classNames)
+		{
+			this.message = message;
+			this.parts = parts;
+			this.classNames = classNames;
+		}
+	}
+
+	/**
+	 * @return the cached member or null if the signature has not been cached
+	 * @throws LogParseException
+	 *             if the signature is cached as unresolvable
+	 */
+	public synchronized IMetaMember getMember(String logSignature) throws LogParseException
+	{
+		Object value = cache.get(logSignature);
+
+		if (value instanceof IMetaMember)
+		{
+			hitCount++;
+
+			return (IMetaMember) value;
+		}
+		else if (value instanceof Failure)
+		{
+			failureHitCount++;
+
+			throw new LogParseException(((Failure) value).message);
+		}
+		else
+		{
+			missCount++;
+
+			return null;
+		}
+	}
+
+	/**
+	 * @return the split signature kept from an earlier failure or else the
+	 *         signature split with ParseUtil.splitLogSignatureWithRegex
+	 */
+	public String[] splitSignature(String logSignature) throws LogParseException
+	{
+		String[] result = null;
+
+		synchronized (this)
+		{
+			Object value = cache.get(logSignature);
+
+			if (value instanceof String[])
+			{
+				result = (String[]) value;
+			}
+			else if (value instanceof Failure)
+			{
+				result = ((Failure) value).parts;
+			}
+		}
+
+		if (result == null)
+		{
+			result = ParseUtil.splitLogSignatureWithRegex(logSignature);
+		}
+
+		return result;
+	}
+
+	/**
+	 * @return the classes of a parameter or return type string as returned by
+	 *         ParseUtil.getClassTypes, which must not be modified
+	 */
+	public Class<?>[] getClassTypes(String typesString) throws LogParseException
+	{
+		Class<?>[] result;
+
+		synchronized (this)
+		{
+			result = typeClasses.get(typesString);
+		}
+
+		if (result == null)
+		{
+			// loaded outside the lock, a type that fails is not cached
+			result = ParseUtil.getClassTypes(typesString);
+
+			synchronized (this)
+			{
+				typeClasses.put(typesString, result);
+			}
+		}
+
+		return result;
+	}
+
+	public synchronized void putMember(String logSignature, IMetaMember member)
+	{
+		put(logSignature, member);
+	}
+
+	public synchronized void putFailure(String logSignature, String message)
+	{
+		putFailure(logSignature, null, message);
+	}
+
+	/**
+	 * @param parts
+	 *            the split signature or null if it could not be split
+	 */
+	public synchronized void putFailure(String logSignature, String[] parts, String message)
+	{
+		List<String> classNames = getClassNames(logSignature, parts);
+
+		put(logSignature, new Failure(message, parts, classNames));
+
+		for (String className : classNames)
+		{
+			Set<String> classFailures = failuresByClass.get(className);
+
+			if (classFailures == null)
+			{
+				classFailures = new HashSet<>();
+				failuresByClass.put(className, classFailures);
+			}
+
+			classFailures.add(logSignature);
+		}
+
+		failureCount++;
+	}
+
+	private void put(String logSignature, Object value)
+	{
+		Object previous = cache.put(logSignature, value);
+
+		if (previous instanceof Failure)
+		{
+			unlinkFailure(logSignature, (Failure) previous, null);
+		}
+	}
+
+	/**
+	 * Drops the failures of signatures naming the class so they are resolved
+	 * again against it
+	 */
+	public synchronized void clearFailures(String fqClassName)
+	{
+		if (failureCount > 0)
+		{
+			Set<String> classFailures = failuresByClass.remove(fqClassName);
+
+			if (classFailures != null)
+			{
+				for (String logSignature : classFailures)
+				{
+					Object value = cache.get(logSignature);
+
+					if (value instanceof Failure)
+					{
+						Failure failure = (Failure) value;
+
+						unlinkFailure(logSignature, failure, fqClassName);
+
+						if (failure.parts != null)
+						{
+							cache.put(logSignature, failure.parts);
+						}
+						else
+						{
+							cache.remove(logSignature);
+						}
+					}
+				}
+			}
+		}
+	}
+
+	// removes the failure from the sets of its classes except skipClassName
+	private void unlinkFailure(String logSignature, Failure failure, String skipClassName)
+	{
+		for (String className : failure.classNames)
+		{
+			if (!className.equals(skipClassName))
+			{
+				Set<String> classFailures = failuresByClass.get(className);
+
+				if (classFailures != null && classFailures.remove(logSignature) && classFailures.isEmpty())
+				{
+					failuresByClass.remove(className);
+				}
+			}
+		}
+
+		failureCount--;
+	}
+
+	// the holder, parameter and return classes of a LogCompilation signature
+	// such as java/lang/String indexOf (Ljava/lang/String;I)I
+	private static List<String> getClassNames(String logSignature, String[] parts)
+	{
+		List<String> result = new ArrayList<>();
+
+		if (parts != null)
+		{
+			result.add(parts[0].replace(C_SLASH, C_DOT));
+
+			addTypeClassNames(result, parts[2]);
+			addTypeClassNames(result, parts[3]);
+		}
+		else
+		{
+			int spacePos = logSignature.indexOf(C_SPACE);
+
+			String className = (spacePos == -1) ? logSignature : logSignature.substring(0, spacePos);
+
+			result.add(className.replace(C_SLASH, C_DOT));
+		}
+
+		return result;
+	}
+
+	private static void addTypeClassNames(List<String> classNames, String typesString)
+	{
+		for (String typeName : ParseUtil.parseTypeString(typesString))
+		{
+			int start = 0;
+
+			while (start < typeName.length() && typeName.charAt(start) == C_OPEN_SQUARE_BRACKET)
+			{
+				start++;
+			}
+
+			int end = typeName.length();
+
+			if (start > 0 && start < end && typeName.charAt(start) == C_OBJECT_REF && typeName.charAt(end - 1) == C_SEMICOLON)
+			{
+				start++;
+				end--;
+			}
+
+			// primitives are a single character
+			if (end - start > 1)
+			{
+				String className = typeName.substring(start, end);
+
+				if (!classNames.contains(className))
+				{
+					classNames.add(className);
+				}
+			}
+		}
+	}
+
+	public synchronized void clear()
+	{
+		cache.clear();
+		failuresByClass.clear();
+		typeClasses.clear();
+
+		failureCount = 0;
+
+		hitCount = 0;
+		failureHitCount = 0;
+		missCount = 0;
+		evictionCount = 0;
+	}
+
+	public synchronized int size()
+	{
+		return cache.size();
+	}
+
+	public int getCapacity()
+	{
+		return capacity;
+	}
+
+	public synchronized long getHitCount()
+	{
+		return hitCount;
+	}
+
+	public synchronized long getFailureHitCount()
+	{
+		return failureHitCount;
+	}
+
+	public synchronized long getMissCount()
+	{
+		return missCount;
+	}
+
+	public synchronized long getEvictionCount()
+	{
+		return evictionCount;
+	}
+
+	@Override
+	public synchronized String toString()
+	{
+		return "MemberSignatureCache [size=" + cache.size() + ", capacity=" + capacity + ", hits=" + hitCount + ", failureHits="
+				+ failureHitCount + ", misses=" + missCount + ", evictions=" + evictionCount + "]";
+	}
+}
@@ -148,9 +148,20 @@ public class MemberSignatureParts
 
 	public static MemberSignatureParts fromLogCompilationSignature(String toParse) throws LogParseException
 	{
-		MemberSignatureParts msp = new MemberSignatureParts();
+		return fromLogCompilationSignature(toParse, ParseUtil.splitLogSignatureWithRegex(toParse), null);
+	}
 
-		String[] parts = ParseUtil.splitLogSignatureWithRegex(toParse);
+	/**
+	 * @param parts
+	 *            the signature split by ParseUtil.splitLogSignatureWithRegex
+	 * @param cache
+	 *            resolves the parameter and return types, or null to load them
+	 *            every time
+	 */
+	public static MemberSignatureParts fromLogCompilationSignature(String toParse, String[] parts, MemberSignatureCache cache)
+			throws LogParseException
+	{
+		MemberSignatureParts msp = new MemberSignatureParts();
 
 		msp.fullyQualifiedClassName = parts[0].replaceAll(S_SLASH, S_DOT);
 		msp.memberName = parts[1];
@@ -158,7 +169,7 @@ public class MemberSignatureParts
 		String paramTypes = parts[2];
 		String returnType = parts[3];
 
-		setParamsAndReturn(msp, paramTypes, returnType);
+		setParamsAndReturn(msp, paramTypes, returnType, cache);
 
 		completeSignature(toParse, msp);
 
@@ -374,7 +385,7 @@ public class MemberSignatureParts
 			msp.memberName = memberName;
 			msp.fullyQualifiedClassName = className;
 
-			setParamsAndReturn(msp, paramTypes, returnType);
+			setParamsAndReturn(msp, paramTypes, returnType, null);
 
 		}
 
@@ -383,10 +394,11 @@ public class MemberSignatureParts
 		return msp;
 	}
 
-	private static void setParamsAndReturn(MemberSignatureParts msp, String paramTypes, String returnType) throws LogParseException
+	private static void setParamsAndReturn(MemberSignatureParts msp, String paramTypes, String returnType,
+			MemberSignatureCache cache) throws LogParseException
 	{
-		Class<?>[] paramClasses = ParseUtil.getClassTypes(paramTypes);
-		Class<?>[] returnClasses = ParseUtil.getClassTypes(returnType);
+		Class<?>[] paramClasses = (cache == null) ? ParseUtil.getClassTypes(paramTypes) : cache.getClassTypes(paramTypes);
+		Class<?>[] returnClasses = (cache == null) ? ParseUtil.getClassTypes(returnType) : cache.getClassTypes(returnType);
 
 		Class<?> returnClass;
 
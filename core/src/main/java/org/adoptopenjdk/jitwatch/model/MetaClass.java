@@ -21,6 +21,7 @@ import java.util.concurrent.CopyOnWriteArrayList;
 //import com.chrisnewland.freelogj.Logger;
 //import com.chrisnewland.freelogj.LoggerFactory;
 import org.adoptopenjdk.jitwatch.loader.BytecodeLoader;
+import org.adoptopenjdk.jitwatch.loader.ClassLocationIndex;
 import org.adoptopenjdk.jitwatch.model.bytecode.ClassBC;
 import com.chrisnewland.freelogj.Logger;
 import com.chrisnewland.freelogj.LoggerFactory;
@@ -39,6 +40,9 @@ public class MetaClass implements Comparable<MetaClass>
 	private List<IMetaMember> classMethods = new CopyOnWriteArrayList<>();
 	private List<IMetaMember> classConstructors = new CopyOnWriteArrayList<>();
 
+	// rebuilt on the next lookup after members are added
+	private volatile MetaMemberIndex memberIndex = null;
+
 	private int compiledMethodCount = 0;
 
 	private ClassBC classBytecode = null;
@@ -77,6 +81,11 @@ public class MetaClass implements Comparable<MetaClass>
 		compiledMethodCount++;
 	}
 
+	public int getCompiledMethodCount()
+	{
+		return compiledMethodCount;
+	}
+
 	public boolean hasCompiledMethods()
 	{
 		return compiledMethodCount > 0;
@@ -115,8 +124,17 @@ public class MetaClass implements Comparable<MetaClass>
 		}
 
 		if (classBytecode == null)
-		{		
-			classBytecode = BytecodeLoader.fetchBytecodeForClass(classLocations, getFullyQualifiedName(), javapPath, true);
+		{
+			ClassLocationIndex classIndex = model.getClassLocationIndex();
+
+			// only when indexing the same locations
+			if (classIndex != null && !classIndex.isFor(classLocations))
+			{
+				classIndex = null;
+			}
+
+			classBytecode = BytecodeLoader.fetchBytecodeForClass(classLocations, classIndex, getFullyQualifiedName(), javapPath,
+					model.isClassFileBytecodeReader(), true);
 
 			if (classBytecode != null)
 			{
@@ -247,23 +265,28 @@ public class MetaClass implements Comparable<MetaClass>
 
 	public IMetaMember getMemberForSignature(MemberSignatureParts msp)
 	{
-		IMetaMember result = null;
+		MetaMemberIndex index = getMemberIndex();
 
 		if (DEBUG_LOGGING_SIG_MATCH)
 		{
-			logger.debug("Comparing: {} members of {}", getMetaMembers().size(), this);
+			logger.debug("Comparing: {} members of {}", index.getMemberCount(), this);
 		}
 
-		for (IMetaMember member : getMetaMembers())
+		return index.find(msp);
+	}
+
+	private MetaMemberIndex getMemberIndex()
+	{
+		MetaMemberIndex index = memberIndex;
+
+		// members are never removed so a count mismatch means the index is stale
+		if (index == null || index.getMemberCount() != classConstructors.size() + classMethods.size())
 		{
-			if (member.matchesSignature(msp, true))
-			{
-				result = member;
-				break;
-			}
+			index = new MetaMemberIndex(getMetaMembers());
+			memberIndex = index;
 		}
 
-		return result;
+		return index;
 	}
 
 	public List<String> getTreePath()
@@ -8,7 +8,9 @@ package org.adoptopenjdk.jitwatch.model;
 import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.DEBUG_MEMBER_CREATION;
 
 import java.lang.reflect.Constructor;
+import java.lang.reflect.Modifier;
 import java.util.Arrays;
+import java.util.List;
 
 import org.adoptopenjdk.jitwatch.core.JITWatchConstants;
 import org.adoptopenjdk.jitwatch.util.StringUtil;
@@ -37,6 +39,31 @@ public class MetaConstructor extends AbstractMetaMember
         }
 	}
 
+	/**
+	 * Builds the constructor from its class file entry without loading the
+	 * class. The type names are in the form of Class.getName().
+	 */
+	public MetaConstructor(MetaClass methodClass, int accessFlags, List<String> paramClassNames)
+	{
+		super(StringUtil.getUnqualifiedMemberName(methodClass.getFullyQualifiedName()));
+
+		this.metaClass = methodClass;
+
+		returnType = Void.TYPE;
+
+		this.paramClassNames = paramClassNames;
+		modifier = accessFlags & ACC_RECOGNIZED_METHOD_FLAGS;
+
+		isVarArgs = (accessFlags & ACC_VARARGS) != 0;
+
+		this.constructorToString = buildDeclaration(Modifier.constructorModifiers(), false);
+
+		if (DEBUG_MEMBER_CREATION)
+		{
+			logger.debug("Created MetaConstructor: {}", toString());
+		}
+	}
+
 	@Override
 	public String toString()
 	{
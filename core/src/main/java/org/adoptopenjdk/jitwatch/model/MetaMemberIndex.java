@@ -0,0 +1,153 @@
+/*
+ * Copyright (c) 2026 Chris Newland.
+ * Licensed under https://github.com/AdoptOpenJDK/jitwatch/blob/master/LICENSE-BSD
+ * Instructions: https://github.com/AdoptOpenJDK/jitwatch/wiki
+ */
+package org.adoptopenjdk.jitwatch.model;
+
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.C_CLOSE_PARENTHESES;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.C_COMMA;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.C_OPEN_PARENTHESES;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Signature lookup for the members of one MetaClass.
+ *
+ * Members are keyed by name plus the Class.getName() of their parameter and
+ * return types, which is the form MemberSignatureParts uses for LogCompilation
+ * signatures, so those resolve without loading any classes. Other signatures
+ * (generics, varargs, bytecode and assembly forms) fall back to
+ * matchesSignature() over the members with the same name and the result is
+ * remembered.
+ *
+ * An index is immutable apart from its memo and is replaced when members are
+ * added to the class.
+ */
+class MetaMemberIndex
+{
+	private final int memberCount;
+
+	private final Map<String, IMetaMember> membersByDescriptor = new HashMap<>();
+
+	private final Map<String, List<IMetaMember>> membersByName = new HashMap<>();
+
+	private final Map<MemberSignatureParts, IMetaMember> resolved = new ConcurrentHashMap<>();
+
+	MetaMemberIndex(List<IMetaMember> members)
+	{
+		this.memberCount = members.size();
+
+		for (IMetaMember member : members)
+		{
+			List<IMetaMember> sameName = membersByName.get(member.getMemberName());
+
+			if (sameName == null)
+			{
+				sameName = new ArrayList<>(1);
+				membersByName.put(member.getMemberName(), sameName);
+			}
+
+			sameName.add(member);
+
+			String descriptor = getDescriptor(member);
+
+			// keep the first as a linear scan would
+			if (descriptor != null && !membersByDescriptor.containsKey(descriptor))
+			{
+				membersByDescriptor.put(descriptor, member);
+			}
+		}
+	}
+
+	int getMemberCount()
+	{
+		return memberCount;
+	}
+
+	IMetaMember find(MemberSignatureParts msp)
+	{
+		IMetaMember result = membersByDescriptor.get(getDescriptor(msp.getMemberName(), msp.getParamTypes(), msp.getReturnType()));
+
+		if (result == null)
+		{
+			result = resolved.get(msp);
+
+			if (result == null)
+			{
+				result = findByMatching(msp);
+
+				if (result != null)
+				{
+					resolved.put(msp, result);
+				}
+			}
+		}
+
+		return result;
+	}
+
+	private IMetaMember findByMatching(MemberSignatureParts msp)
+	{
+		List<IMetaMember> candidates = membersByName.get(msp.getMemberName());
+
+		if (candidates != null)
+		{
+			for (IMetaMember member : candidates)
+			{
+				if (member.matchesSignature(msp, true))
+				{
+					return member;
+				}
+			}
+		}
+
+		return null;
+	}
+
+	private static String getDescriptor(IMetaMember member)
+	{
+		if (!(member instanceof AbstractMetaMember))
+		{
+			return null;
+		}
+
+		AbstractMetaMember abstractMember = (AbstractMetaMember) member;
+
+		// polymorphic signatures match any descriptor
+		List<String> paramClassNames = abstractMember.getParamClassNames();
+		String returnClassName = abstractMember.getReturnClassName();
+
+		if (abstractMember.isPolymorphicSignature || paramClassNames == null || returnClassName == null)
+		{
+			return null;
+		}
+
+		return getDescriptor(member.getMemberName(), paramClassNames, returnClassName);
+	}
+
+	private static String getDescriptor(String memberName, List<String> paramTypeNames, String returnTypeName)
+	{
+		StringBuilder builder = new StringBuilder();
+
+		builder.append(memberName).append(C_OPEN_PARENTHESES);
+
+		for (int i = 0; i < paramTypeNames.size(); i++)
+		{
+			if (i > 0)
+			{
+				builder.append(C_COMMA);
+			}
+
+			builder.append(paramTypeNames.get(i));
+		}
+
+		builder.append(C_CLOSE_PARENTHESES).append(returnTypeName);
+
+		return builder.toString();
+	}
+}
@@ -40,6 +40,37 @@ public class MetaMethod extends AbstractMetaMember
         }
     }
 
+    /**
+     * Builds the method from its class file entry without loading the class.
+     * The type names are in the form of Class.getName().
+     */
+    public MetaMethod(MetaClass methodClass, String methodName, int accessFlags, String returnClassName,
+            List<String> paramClassNames)
+    {
+        super(methodName);
+
+        this.metaClass = methodClass;
+        this.returnClassName = returnClassName;
+        this.paramClassNames = paramClassNames;
+
+        modifier = accessFlags & Modifier.methodModifiers();
+
+        isVarArgs = (accessFlags & ACC_VARARGS) != 0;
+
+        checkPolymorphicSignature(accessFlags);
+
+        // as Method.isDefault()
+        boolean isDefault = methodClass.isInterface()
+                && (modifier & (Modifier.ABSTRACT | Modifier.PUBLIC | Modifier.STATIC)) == Modifier.PUBLIC;
+
+        this.methodToString = buildDeclaration(Modifier.methodModifiers(), isDefault);
+
+        if (DEBUG_MEMBER_CREATION)
+        {
+            logger.debug("Created MetaMethod: {}", toString());
+        }
+    }
+
     public void setParamTypes(List<Class<?>> types)
     {
     	this.paramTypes = types;
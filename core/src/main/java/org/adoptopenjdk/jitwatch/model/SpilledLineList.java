@@ -0,0 +1,302 @@
+/*
+ * Copyright (c) 2026 Chris Newland.
+ * Licensed under https://github.com/AdoptOpenJDK/jitwatch/blob/master/LICENSE-BSD
+ * Instructions: https://github.com/AdoptOpenJDK/jitwatch/wiki
+ */
+package org.adoptopenjdk.jitwatch.model;
+
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.C_NEWLINE;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.C_SPACE;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractSequentialList;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.NoSuchElementException;
+
+import com.chrisnewland.freelogj.Logger;
+import com.chrisnewland.freelogj.LoggerFactory;
+
+/**
+ * An append-only list of NumberedLines that keeps its contents in a temporary
+ * file instead of on the heap. Each iteration re-reads the file so only the
+ * current line is held in memory.
+ *
+ * Iteration is forward only, ListIterator methods that move backwards or
+ * modify the list are not supported. size() is a running count but get(int)
+ * and subList() read the file from the start so callers should iterate.
+ *
+ * The temporary file is deleted by clear(), which the parser calls when it is
+ * reset or its parsed logs are discarded.
+ */
+public class SpilledLineList extends AbstractSequentialList<NumberedLine>
+{
+	private static final Logger logger = LoggerFactory.getLogger(SpilledLineList.class);
+
+	private static final int BUFFER_SIZE = 65536;
+
+	private final File spillDirectory;
+	private final String name;
+
+	private File spillFile = null;
+	private BufferedWriter writer = null;
+	private int size = 0;
+
+	private final List<BufferedReader> openReaders = new ArrayList<>();
+
+	public SpilledLineList(File spillDirectory, String name)
+	{
+		this.spillDirectory = spillDirectory;
+		this.name = name;
+	}
+
+	@Override
+	public synchronized boolean add(NumberedLine numberedLine)
+	{
+		try
+		{
+			if (writer == null)
+			{
+				openWriter();
+			}
+
+			writer.write(Long.toString(numberedLine.getLineNumber()));
+			writer.write(C_SPACE);
+			writer.write(numberedLine.getLine());
+			writer.write(C_NEWLINE);
+
+			size++;
+
+			return true;
+		}
+		catch (IOException ioe)
+		{
+			throw new IllegalStateException("Could not spill line to " + spillFile, ioe);
+		}
+	}
+
+	@Override
+	public synchronized int size()
+	{
+		return size;
+	}
+
+	@Override
+	public synchronized void clear()
+	{
+		closeReaders();
+
+		if (writer != null)
+		{
+			try
+			{
+				writer.close();
+			}
+			catch (IOException ioe)
+			{
+				logger.warn("Could not close spill file {}", spillFile, ioe);
+			}
+
+			writer = null;
+		}
+
+		if (spillFile != null)
+		{
+			if (!spillFile.delete())
+			{
+				logger.warn("Could not delete spill file {}", spillFile);
+			}
+
+			spillFile = null;
+		}
+
+		size = 0;
+	}
+
+	public File getSpillFile()
+	{
+		return spillFile;
+	}
+
+	@Override
+	public synchronized ListIterator<NumberedLine> listIterator(int index)
+	{
+		if (index < 0 || index > size)
+		{
+			throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+		}
+
+		BufferedReader reader = null;
+
+		if (size > 0)
+		{
+			try
+			{
+				writer.flush();
+
+				reader = new BufferedReader(new InputStreamReader(new FileInputStream(spillFile), StandardCharsets.UTF_8),
+						BUFFER_SIZE);
+
+				openReaders.add(reader);
+			}
+			catch (IOException ioe)
+			{
+				throw new IllegalStateException("Could not read spill file " + spillFile, ioe);
+			}
+		}
+
+		SpilledLineIterator iterator = new SpilledLineIterator(reader, size);
+
+		for (int i = 0; i < index; i++)
+		{
+			iterator.next();
+		}
+
+		return iterator;
+	}
+
+	private void openWriter() throws IOException
+	{
+		spillFile = File.createTempFile("jitwatch-" + name + "-", ".split", spillDirectory);
+
+		writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(spillFile), StandardCharsets.UTF_8), BUFFER_SIZE);
+	}
+
+	private void closeReaders()
+	{
+		for (BufferedReader reader : openReaders)
+		{
+			closeQuietly(reader);
+		}
+
+		openReaders.clear();
+	}
+
+	private synchronized void readerFinished(BufferedReader reader)
+	{
+		closeQuietly(reader);
+		openReaders.remove(reader);
+	}
+
+	private static void closeQuietly(BufferedReader reader)
+	{
+		try
+		{
+			reader.close();
+		}
+		catch (IOException ioe)
+		{
+			// ignore
+		}
+	}
+
+	private class SpilledLineIterator implements ListIterator<NumberedLine>
+	{
+		private BufferedReader reader;
+
+		// lines written after the iterator was created are not visible
+		private final int limit;
+
+		private int nextIndex = 0;
+
+		SpilledLineIterator(BufferedReader reader, int limit)
+		{
+			this.reader = reader;
+			this.limit = limit;
+		}
+
+		@Override
+		public boolean hasNext()
+		{
+			return nextIndex < limit;
+		}
+
+		@Override
+		public NumberedLine next()
+		{
+			if (!hasNext())
+			{
+				throw new NoSuchElementException();
+			}
+
+			String spilled;
+
+			try
+			{
+				spilled = reader.readLine();
+			}
+			catch (IOException ioe)
+			{
+				throw new IllegalStateException("Could not read spill file " + spillFile, ioe);
+			}
+
+			if (spilled == null)
+			{
+				throw new IllegalStateException("Spill file " + spillFile + " ended before line " + nextIndex);
+			}
+
+			nextIndex++;
+
+			if (nextIndex == limit)
+			{
+				readerFinished(reader);
+				reader = null;
+			}
+
+			int spacePos = spilled.indexOf(C_SPACE);
+
+			return new NumberedLine(Long.parseLong(spilled.substring(0, spacePos)), spilled.substring(spacePos + 1));
+		}
+
+		@Override
+		public int nextIndex()
+		{
+			return nextIndex;
+		}
+
+		@Override
+		public boolean hasPrevious()
+		{
+			return false;
+		}
+
+		@Override
+		public NumberedLine previous()
+		{
+			throw new UnsupportedOperationException("SpilledLineList can only be iterated forwards");
+		}
+
+		@Override
+		public int previousIndex()
+		{
+			return nextIndex - 1;
+		}
+
+		@Override
+		public void remove()
+		{
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public void set(NumberedLine e)
+		{
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public void add(NumberedLine e)
+		{
+			throw new UnsupportedOperationException();
+		}
+	}
+}
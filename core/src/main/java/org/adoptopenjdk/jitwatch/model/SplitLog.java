@@ -5,17 +5,47 @@
  */
 package org.adoptopenjdk.jitwatch.model;
 
+import java.io.File;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
 public class SplitLog
 {
-	private List<NumberedLine> headerLines = new ArrayList<>();
-	private List<NumberedLine> classLoaderLines = new ArrayList<>();
-	private List<NumberedLine> compilationLines = new ArrayList<>();
-	private List<NumberedLine> assemblyLines = new ArrayList<>();
-	
+	private List<NumberedLine> headerLines;
+	private List<NumberedLine> classLoaderLines;
+	private List<NumberedLine> compilationLines;
+	private List<NumberedLine> assemblyLines;
+
+	private final boolean spilled;
+
+	public SplitLog()
+	{
+		headerLines = new ArrayList<>();
+		classLoaderLines = new ArrayList<>();
+		compilationLines = new ArrayList<>();
+		assemblyLines = new ArrayList<>();
+
+		spilled = false;
+	}
+
+	// Keeps each section in a temporary file under spillDirectory and re-reads
+	// it whenever the section is iterated so the log is never held on the heap
+	public SplitLog(File spillDirectory)
+	{
+		headerLines = new SpilledLineList(spillDirectory, "header");
+		classLoaderLines = new SpilledLineList(spillDirectory, "classloader");
+		compilationLines = new SpilledLineList(spillDirectory, "compilation");
+		assemblyLines = new SpilledLineList(spillDirectory, "assembly");
+
+		spilled = true;
+	}
+
+	public boolean isSpilled()
+	{
+		return spilled;
+	}
+
 	public void clear()
 	{
 		headerLines.clear();
@@ -17,18 +17,20 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
-
-import org.adoptopenjdk.jitwatch.util.StringUtil;
+import java.util.Objects;
 
 public class Tag
 {
 	private String name;
 	private String attributeString;
-	private List<Tag> children = new ArrayList<>();
+	private List<Tag> children;
 	private Tag parent = null;
 	private boolean selfClosing = false;
 	private boolean isFragment = false;
 	private String textContent = null;
+
+	// parsed from attributeString on first use
+	private TagAttributes attributes = null;
 	
 	private static final String INDENT = "  ";
 
@@ -37,6 +39,12 @@ public class Tag
 		this.name = name;
 		this.attributeString = attributeString;
 		this.selfClosing = selfClosing;
+		this.children = new ArrayList<>();
+	}
+
+	// for views onto tags stored elsewhere, which override every accessor
+	protected Tag()
+	{
 	}
 
 	public void addTextContent(String text)
@@ -75,7 +83,7 @@ public class Tag
 	public String getClosingTag()
 	{		
 		StringBuilder builder = new StringBuilder();
-		builder.append(C_OPEN_ANGLE).append(C_SLASH).append(name).append(C_CLOSE_ANGLE);
+		builder.append(C_OPEN_ANGLE).append(C_SLASH).append(getName()).append(C_CLOSE_ANGLE);
 		
 		return builder.toString();
 	}
@@ -98,7 +106,7 @@ public class Tag
 	{
 		List<Tag> result = new ArrayList<>();
 
-		for (Tag child : children)
+		for (Tag child : getChildren())
 		{
 			if (child.getName().equals(name))
 			{
@@ -113,13 +121,11 @@ public class Tag
 	{	
 		List<Tag> result = new ArrayList<>();
 
-		for (Tag child : children)
+		for (Tag child : getChildren())
 		{
 			if (child.getName().equals(tagName))
 			{
-				Map<String, String> attributes = child.getAttributes();
-				
-				if (attrValue != null && attrValue.equals(attributes.get(attrName)))
+				if (attrValue != null && attrValue.equals(child.getAttribute(attrName)))
 				{
 					result.add(child);
 				}
@@ -144,9 +150,34 @@ public class Tag
 		return name;
 	}
 
+	/**
+	 * @return a read-only view of the attributes, parsed once and cached
+	 */
 	public Map<String, String> getAttributes()
 	{
-		return StringUtil.attributeStringToMap(attributeString);
+		TagAttributes result = attributes;
+
+		if (result == null)
+		{
+			result = TagAttributes.parse(getAttributeString());
+			attributes = result;
+		}
+
+		return result;
+	}
+
+	public String getAttribute(String name)
+	{
+		return getAttributes().get(name);
+	}
+
+	/**
+	 * @return the unparsed remainder of the opening line after the tag name,
+	 *         including the closing '>' or '/>'
+	 */
+	public String getAttributeString()
+	{
+		return attributeString;
 	}
 
 	private int getDepth(Tag tag)
@@ -178,7 +209,7 @@ public class Tag
 			builder.append(INDENT);
 		}
 
-		builder.append(C_OPEN_ANGLE).append(name);
+		builder.append(C_OPEN_ANGLE).append(getName());
 		
 		Map<String,String> attrs = getAttributes();
 
@@ -191,17 +222,21 @@ public class Tag
 			}
 		}
 
-		if (selfClosing)
+		List<Tag> tagChildren = getChildren();
+
+		String tagTextContent = getTextContent();
+
+		if (isSelfClosing())
 		{
 			builder.append(C_SLASH).append(C_CLOSE_ANGLE).append(C_NEWLINE);
 		}
 		else
 		{
-			if (showChildren && children.size() > 0)
+			if (showChildren && tagChildren.size() > 0)
 			{
 				builder.append(C_CLOSE_ANGLE).append(C_NEWLINE);
 
-				for (Tag child : children)
+				for (Tag child : tagChildren)
 				{
 					builder.append(child.toString());
 				}
@@ -210,14 +245,14 @@ public class Tag
 			{
 				builder.append(C_CLOSE_ANGLE).append(C_NEWLINE);
 
-				if (textContent != null)
+				if (tagTextContent != null)
 				{
 					for (int i = 0; i < myDepth; i++)
 					{
 						builder.append(INDENT);
 					}
 
-					builder.append(textContent).append(C_NEWLINE);
+					builder.append(tagTextContent).append(C_NEWLINE);
 				}
 			}
 
@@ -227,7 +262,7 @@ public class Tag
 			}
 
 			builder.append(C_OPEN_ANGLE).append(C_SLASH);
-			builder.append(name).append(C_CLOSE_ANGLE).append(C_NEWLINE);
+			builder.append(getName()).append(C_CLOSE_ANGLE).append(C_NEWLINE);
 		}
 
 		return builder.toString();
@@ -246,27 +281,27 @@ public class Tag
 
         Tag tag = (Tag) o;
 
-        if (selfClosing != tag.selfClosing)
+        if (isSelfClosing() != tag.isSelfClosing())
 		{
 			return false;
 		}
-        if (attributeString != null ? !attributeString.equals(tag.attributeString) : tag.attributeString != null)
+        if (!Objects.equals(getAttributeString(), tag.getAttributeString()))
 		{
 			return false;
 		}
-        if (children != null ? !children.equals(tag.children) : tag.children != null)
+        if (!Objects.equals(getChildren(), tag.getChildren()))
 		{
 			return false;
 		}
-        if (name != null ? !name.equals(tag.name) : tag.name != null)
+        if (!Objects.equals(getName(), tag.getName()))
 		{
 			return false;
 		}
-        if (parent != null ? !parent.equals(tag.parent) : tag.parent != null)
+        if (!Objects.equals(getParent(), tag.getParent()))
 		{
 			return false;
 		}
-        if (textContent != null ? !textContent.equals(tag.textContent) : tag.textContent != null)
+        if (!Objects.equals(getTextContent(), tag.getTextContent()))
 		{
 			return false;
 		}
@@ -276,11 +311,11 @@ public class Tag
 
     @Override
     public int hashCode() {
-        int result = name != null ? name.hashCode() : 0;
-        result = 31 * result + (attributeString != null ? attributeString.hashCode() : 0);
-        result = 31 * result + (parent != null ? parent.hashCode() : 0);
-        result = 31 * result + (selfClosing ? 1 : 0);
-        result = 31 * result + (textContent != null ? textContent.hashCode() : 0);
+        int result = Objects.hashCode(getName());
+        result = 31 * result + Objects.hashCode(getAttributeString());
+        result = 31 * result + Objects.hashCode(getParent());
+        result = 31 * result + (isSelfClosing() ? 1 : 0);
+        result = 31 * result + Objects.hashCode(getTextContent());
         return result;
     }
 
@@ -0,0 +1,219 @@
+/*
+ * Copyright (c) 2026 Chris Newland.
+ * Licensed under https://github.com/AdoptOpenJDK/jitwatch/blob/master/LICENSE-BSD
+ * Instructions: https://github.com/AdoptOpenJDK/jitwatch/wiki
+ */
+package org.adoptopenjdk.jitwatch.model;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import org.adoptopenjdk.jitwatch.util.AttributeCursor;
+
+/**
+ * Read-only map of the attributes of a Tag, parsed once from the attribute
+ * string into a flat key/value array. Keys are shared between tags through a
+ * small cache so most lookups succeed on identity. Lookups scan the array so
+ * they do not allocate. Iteration is in log order.
+ */
+public final class TagAttributes extends AbstractMap<String, String>
+{
+	public static final TagAttributes EMPTY = new TagAttributes(new String[0], 0);
+
+	// Shared by the parsing and pipeline threads. Each slot holds one
+	// immutable key String whose hash maps to it, a reader always compares
+	// the key it gets with the attribute so a slot replaced by another thread
+	// only costs creating the key again.
+	private static final AtomicReferenceArray<String> KEY_CACHE = new AtomicReferenceArray<>(1024);
+
+	// key0, value0, key1, value1, ...
+	private final String[] keyValues;
+	private final int count;
+
+	private TagAttributes(String[] keyValues, int count)
+	{
+		this.keyValues = keyValues;
+		this.count = count;
+	}
+
+	/**
+	 * Same rules as StringUtil.attributeStringToMap(): values are single quoted
+	 * and a repeated key keeps its last value.
+	 */
+	public static TagAttributes parse(String attributeString)
+	{
+		if (attributeString == null || attributeString.isEmpty())
+		{
+			return EMPTY;
+		}
+
+		String[] keyValues = new String[8];
+		int count = 0;
+
+		AttributeCursor cursor = new AttributeCursor().reset(attributeString);
+
+		while (cursor.next())
+		{
+			String key = getSharedKey(cursor);
+			String value = cursor.getValue();
+
+			int existing = indexOfKey(keyValues, count, key);
+
+			if (existing != -1)
+			{
+				keyValues[existing + 1] = value;
+			}
+			else
+			{
+				if (count * 2 == keyValues.length)
+				{
+					keyValues = Arrays.copyOf(keyValues, keyValues.length * 2);
+				}
+
+				keyValues[count * 2] = key;
+				keyValues[count * 2 + 1] = value;
+				count++;
+			}
+		}
+
+		if (count == 0)
+		{
+			return EMPTY;
+		}
+
+		if (count * 2 < keyValues.length)
+		{
+			keyValues = Arrays.copyOf(keyValues, count * 2);
+		}
+
+		return new TagAttributes(keyValues, count);
+	}
+
+	private static String getSharedKey(AttributeCursor cursor)
+	{
+		int hash = cursor.keyHash();
+
+		int slot = (hash ^ (hash >>> 16)) & (KEY_CACHE.length() - 1);
+
+		String key = KEY_CACHE.get(slot);
+
+		if (key == null || !cursor.keyEquals(key))
+		{
+			key = cursor.getKey();
+
+			// no ordering is needed with other slots, only a safely published key
+			KEY_CACHE.lazySet(slot, key);
+		}
+
+		return key;
+	}
+
+	private static int indexOfKey(String[] keyValues, int count, Object key)
+	{
+		int limit = count * 2;
+
+		// keys are usually shared so try identity before equals
+		for (int i = 0; i < limit; i += 2)
+		{
+			if (keyValues[i] == key)
+			{
+				return i;
+			}
+		}
+
+		if (key != null)
+		{
+			for (int i = 0; i < limit; i += 2)
+			{
+				if (key.equals(keyValues[i]))
+				{
+					return i;
+				}
+			}
+		}
+
+		return -1;
+	}
+
+	@Override
+	public String get(Object key)
+	{
+		int index = indexOfKey(keyValues, count, key);
+
+		return index == -1 ? null : keyValues[index + 1];
+	}
+
+	@Override
+	public boolean containsKey(Object key)
+	{
+		return indexOfKey(keyValues, count, key) != -1;
+	}
+
+	@Override
+	public int size()
+	{
+		return count;
+	}
+
+	@Override
+	public boolean isEmpty()
+	{
+		return count == 0;
+	}
+
+	@Override
+	public Set<Map.Entry<String, String>> entrySet()
+	{
+		return new AbstractSet<Map.Entry<String, String>>()
+		{
+			@Override
+			public Iterator<Map.Entry<String, String>> iterator()
+			{
+				return new Iterator<Map.Entry<String, String>>()
+				{
+					private int index = 0;
+
+					@Override
+					public boolean hasNext()
+					{
+						return index < count;
+					}
+
+					@Override
+					public Map.Entry<String, String> next()
+					{
+						if (!hasNext())
+						{
+							throw new NoSuchElementException();
+						}
+
+						Map.Entry<String, String> entry = new AbstractMap.SimpleImmutableEntry<>(keyValues[index * 2],
+								keyValues[index * 2 + 1]);
+
+						index++;
+
+						return entry;
+					}
+
+					@Override
+					public void remove()
+					{
+						throw new UnsupportedOperationException();
+					}
+				};
+			}
+
+			@Override
+			public int size()
+			{
+				return count;
+			}
+		};
+	}
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) 2026 Chris Newland.
+ * Licensed under https://github.com/AdoptOpenJDK/jitwatch/blob/master/LICENSE-BSD
+ * Instructions: https://github.com/AdoptOpenJDK/jitwatch/wiki
+ */
+package org.adoptopenjdk.jitwatch.model;
+
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.ATTR_ID;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.C_QUOTE;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.C_SPACE;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.S_SPACE;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.TAG_KLASS;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.TAG_TYPE;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Shares one canonical Tag between the tasks of a parse whose parse
+ * dictionaries hold a klass or type entry with the same content.
+ *
+ * HotSpot numbers the ids of these entries per compilation so they are keyed
+ * on their attributes without the id, which is the dictionary key. The same
+ * klass is then shared whatever id each task gave it and its attributes are
+ * parsed once however many tasks look it up. Canonical tags have no id
+ * attribute and no parent.
+ *
+ * Method entries are not shared as their holder, return and arguments
+ * attributes are ids into the dictionary of their own task.
+ *
+ * Each parser has its own interner, shared by its parse worker threads.
+ */
+public final class TagInterner
+{
+	private static final String ID_PREFIX = ATTR_ID + "=" + C_QUOTE;
+
+	// keyed by the attribute string of the canonical tag
+	private final ConcurrentMap<String, Tag> klassTags = new ConcurrentHashMap<>();
+
+	private final ConcurrentMap<String, Tag> typeTags = new ConcurrentHashMap<>();
+
+	/**
+	 * @return the canonical tag for a klass or type entry, or the tag itself
+	 *         for any other tag or one with children or text that would be
+	 *         lost
+	 */
+	public Tag intern(Tag tag)
+	{
+		Tag result = tag;
+
+		if (tag.isSelfClosing() && tag.getTextContent() == null)
+		{
+			String name = tag.getName();
+
+			if (TAG_KLASS.equals(name))
+			{
+				result = intern(klassTags, name, tag.getAttributeString());
+			}
+			else if (TAG_TYPE.equals(name))
+			{
+				result = intern(typeTags, name, tag.getAttributeString());
+			}
+		}
+
+		return result;
+	}
+
+	private Tag intern(ConcurrentMap<String, Tag> canonicalTags, String name, String attributeString)
+	{
+		String content = removeID(attributeString);
+
+		Tag result = canonicalTags.get(content);
+
+		if (result == null)
+		{
+			Tag candidate = new Tag(name, content, true);
+
+			result = canonicalTags.putIfAbsent(content, candidate);
+
+			if (result == null)
+			{
+				result = candidate;
+			}
+		}
+
+		return result;
+	}
+
+	// id='729' name='java/lang/String' flags='17'/> without id='729'
+	private static String removeID(String attributeString)
+	{
+		String result = attributeString;
+
+		// the id and the space separating it from the other attributes
+		int start;
+		int valueStart;
+
+		if (attributeString.startsWith(ID_PREFIX))
+		{
+			start = 0;
+			valueStart = ID_PREFIX.length();
+		}
+		else
+		{
+			start = attributeString.indexOf(S_SPACE + ID_PREFIX);
+			valueStart = start + 1 + ID_PREFIX.length();
+		}
+
+		if (start != -1)
+		{
+			int end = attributeString.indexOf(C_QUOTE, valueStart);
+
+			if (end != -1)
+			{
+				end++;
+
+				if (start == 0 && end < attributeString.length() && attributeString.charAt(end) == C_SPACE)
+				{
+					end++;
+				}
+
+				result = attributeString.substring(0, start) + attributeString.substring(end);
+			}
+		}
+
+		return result;
+	}
+
+	public int size()
+	{
+		return klassTags.size() + typeTags.size();
+	}
+
+	public void clear()
+	{
+		klassTags.clear();
+		typeTags.clear();
+	}
+}
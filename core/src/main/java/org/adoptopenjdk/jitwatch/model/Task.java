@@ -15,6 +15,7 @@ import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.S_SPACE;
 import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.TAG_TASK;
 import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.ATTR_METHOD;
 
+import java.util.List;
 import java.util.Map;
 
 import org.adoptopenjdk.jitwatch.core.JITWatchConstants;
@@ -28,6 +29,9 @@ public class Task extends Tag
 	private static final Logger logger = LoggerFactory.getLogger(Task.class);
 
 	private IParseDictionary parseDictionary;
+
+	// when set the children of this task are read from the tree
+	private CompactTagTree compactTree;
 	
 	public Task(String attributeString, boolean selfClosing)
 	{
@@ -36,6 +40,33 @@ public class Task extends Tag
 		parseDictionary = new ParseDictionary(getAttributes().get(ATTR_METHOD));
 	}
 
+	/**
+	 * @param compactTree
+	 *            the tags of this task, with tag 0 standing for the task
+	 *            itself
+	 */
+	public void setCompactTree(CompactTagTree compactTree)
+	{
+		this.compactTree = compactTree;
+	}
+
+	public boolean isCompact()
+	{
+		return compactTree != null;
+	}
+
+	@Override
+	public List<Tag> getChildren()
+	{
+		return compactTree != null ? compactTree.getChildren(0, this) : super.getChildren();
+	}
+
+	@Override
+	public String getTextContent()
+	{
+		return compactTree != null ? compactTree.getTextContent(0) : super.getTextContent();
+	}
+
 	public IParseDictionary getParseDictionary()
 	{
 		return parseDictionary;
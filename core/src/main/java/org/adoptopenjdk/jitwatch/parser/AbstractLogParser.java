@@ -5,14 +5,16 @@
  */
 package org.adoptopenjdk.jitwatch.parser;
 
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.ATTR_ACTION;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.ATTR_BCI;
 import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.ATTR_COMPILER;
 import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.ATTR_COMPILE_ID;
 import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.ATTR_COMPILE_KIND;
 import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.ATTR_FREE_CODE_CACHE;
 import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.ATTR_METHOD;
 import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.ATTR_NMSIZE;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.ATTR_REASON;
 import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.ATTR_STAMP;
-import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.ATTR_STAMP_COMPLETED;
 import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.C1;
 import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.C2;
 import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.C2N;
@@ -26,26 +28,41 @@ import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.JVMCI;
 import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.S_DOT;
 import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.S_SLASH;
 import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.TAG_CODE_CACHE;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.TAG_JVMS;
 import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.TAG_TASK;
 import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.TAG_TASK_DONE;
 
 import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStreamReader;
 import java.io.Reader;
 import java.net.MalformedURLException;
 import java.net.URI;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
 import org.adoptopenjdk.jitwatch.core.IJITListener;
 import org.adoptopenjdk.jitwatch.core.JITWatchConfig;
 import org.adoptopenjdk.jitwatch.core.TagProcessor;
+import org.adoptopenjdk.jitwatch.loader.BytecodeLoader;
+import org.adoptopenjdk.jitwatch.loader.ClassFileMembers;
+import org.adoptopenjdk.jitwatch.loader.ClassFileReader;
+import org.adoptopenjdk.jitwatch.loader.ClassLocationIndex;
 import org.adoptopenjdk.jitwatch.model.CodeCacheEvent;
 import org.adoptopenjdk.jitwatch.model.CodeCacheEvent.CodeCacheEventType;
 import org.adoptopenjdk.jitwatch.model.Compilation;
 import org.adoptopenjdk.jitwatch.model.CompilerThread;
+import org.adoptopenjdk.jitwatch.model.DeoptEvent;
+import org.adoptopenjdk.jitwatch.model.DeoptEvent.DeoptEventType;
 import org.adoptopenjdk.jitwatch.model.EventType;
+import org.adoptopenjdk.jitwatch.model.ILazyLoader;
+import org.adoptopenjdk.jitwatch.model.IReadOnlyJITEventStore;
 import org.adoptopenjdk.jitwatch.model.IMetaMember;
 import org.adoptopenjdk.jitwatch.model.JITDataModel;
 import org.adoptopenjdk.jitwatch.model.JITEvent;
@@ -54,9 +71,14 @@ import org.adoptopenjdk.jitwatch.model.MetaClass;
 import org.adoptopenjdk.jitwatch.model.ParsedClasspath;
 import org.adoptopenjdk.jitwatch.model.SplitLog;
 import org.adoptopenjdk.jitwatch.model.Tag;
+import org.adoptopenjdk.jitwatch.model.TagInterner;
 import org.adoptopenjdk.jitwatch.model.Task;
+import org.adoptopenjdk.jitwatch.parser.ParseMetrics.ParsePhase;
+import org.adoptopenjdk.jitwatch.parser.snapshot.ModelSnapshotReader;
+import org.adoptopenjdk.jitwatch.parser.snapshot.ModelSnapshotWriter;
 import org.adoptopenjdk.jitwatch.util.ClassUtil;
 import org.adoptopenjdk.jitwatch.util.ParseUtil;
+import org.adoptopenjdk.jitwatch.util.StringUtil;
 import com.chrisnewland.freelogj.Logger;
 import com.chrisnewland.freelogj.LoggerFactory;
 
@@ -70,7 +92,8 @@ public abstract class AbstractLogParser implements ILogParser
 
 	protected String vmCommand = null;
 
-	protected boolean reading = false;
+	// cleared by stopParsing() which may be called from another thread
+	protected volatile boolean reading = false;
 
 	protected boolean hasParseError = false;
 	protected String errorDialogTitle;
@@ -90,8 +113,18 @@ public abstract class AbstractLogParser implements ILogParser
 
 	protected TagProcessor tagProcessor;
 
+	// shares the klass and type entries of the parse dictionaries of this parse
+	protected final TagInterner tagInterner = new TagInterner();
+
 	protected SplitLog splitLog = new SplitLog();
 
+	protected ParseMetrics parseMetrics = new ParseMetrics();
+
+	// runtime deopt events only name the compile_id of the code they affect
+	private Map<String, Compilation> compilationsByID = new HashMap<>();
+
+	private long lastDeoptStamp;
+
 	public AbstractLogParser(IJITListener jitListener)
 	{
 		model = new JITDataModel();
@@ -117,6 +150,12 @@ public abstract class AbstractLogParser implements ILogParser
 		return splitLog;
 	}
 
+	@Override
+	public ParseMetrics getParseMetrics()
+	{
+		return parseMetrics;
+	}
+
 	@Override
 	public ParsedClasspath getParsedClasspath()
 	{
@@ -138,6 +177,8 @@ public abstract class AbstractLogParser implements ILogParser
 
 		List<URL> classpathURLList = new ArrayList<>(configuredClasspathCount + parsedClasspathCount);
 
+		List<String> classLocations = new ArrayList<>(configuredClasspathCount + parsedClasspathCount);
+
 		for (String filename : configuredClassLocations)
 		{
 			URI uri = new File(filename).toURI();
@@ -152,6 +193,7 @@ public abstract class AbstractLogParser implements ILogParser
 			try
 			{
 				classpathURLList.add(uri.toURL());
+				classLocations.add(filename);
 			}
 			catch (MalformedURLException e)
 			{
@@ -170,6 +212,7 @@ public abstract class AbstractLogParser implements ILogParser
 				try
 				{
 					classpathURLList.add(uri.toURL());
+					classLocations.add(filename);
 				}
 				catch (MalformedURLException e)
 				{
@@ -178,7 +221,18 @@ public abstract class AbstractLogParser implements ILogParser
 			}
 		}
 
-		ClassUtil.initialise(classpathURLList);
+		ClassLocationIndex classIndex = null;
+
+		if (config.isClassLocationIndex())
+		{
+			classIndex = ClassLocationIndex.build(classLocations, getClassIndexDirectory());
+		}
+
+		ClassUtil.initialise(classpathURLList, classIndex);
+
+		model.setClassFileLocations(config.isClassFileModel() ? classLocations : null);
+
+		model.setClassLocationIndex(classIndex);
 	}
 
 	protected void logEvent(JITEvent event)
@@ -216,6 +270,7 @@ public abstract class AbstractLogParser implements ILogParser
 		getModel().reset();
 
 		splitLog.clear();
+		splitLog = createSplitLog();
 
 		hasParseError = false;
 		errorDialogTitle = null;
@@ -232,7 +287,13 @@ public abstract class AbstractLogParser implements ILogParser
 		parseLineNumber = 0;
 		processLineNumber = 0;
 
-		tagProcessor = new TagProcessor();
+		compilationsByID.clear();
+
+		lastDeoptStamp = 0;
+
+		tagInterner.clear();
+
+		tagProcessor = new TagProcessor(config.isCompactTags(), tagInterner);
 	}
 
 	@Override
@@ -279,7 +340,40 @@ public abstract class AbstractLogParser implements ILogParser
 	public void discardParsedLogs()
 	{
 		splitLog.clear();
-		splitLog = new SplitLog();
+		splitLog = createSplitLog();
+	}
+
+	private File getClassIndexDirectory()
+	{
+		String classIndexDirectory = config.getClassIndexDirectory();
+
+		File result;
+
+		if (classIndexDirectory == null || classIndexDirectory.isEmpty())
+		{
+			// per user so one user cannot plant class names for another
+			result = new File(new File(System.getProperty("user.home"), ".jitwatch"), "class-index");
+		}
+		else
+		{
+			result = new File(classIndexDirectory);
+		}
+
+		return result;
+	}
+
+	protected SplitLog createSplitLog()
+	{
+		if (config.isSpillSplitLog())
+		{
+			String spillDirectory = config.getSpillDirectory();
+
+			File directory = (spillDirectory == null || spillDirectory.isEmpty()) ? null : new File(spillDirectory);
+
+			return new SplitLog(directory);
+		}
+
+		return new SplitLog();
 	}
 
 	protected void addToClassModel(String fqClassName)
@@ -300,25 +394,162 @@ public abstract class AbstractLogParser implements ILogParser
 
 		try
 		{
-			clazz = ClassUtil.loadClassWithoutInitialising(fqClassName);
+			metaClass = BytecodeLoader.buildMetaClassFromClass(model, fqClassName);
+
+			if (metaClass == null)
+			{
+				clazz = ClassUtil.loadClassWithoutInitialising(fqClassName);
+
+				if (clazz != null)
+				{
+					model.buildAndGetMetaClass(clazz);
+				}
+			}
+		}
+		catch (Throwable t)
+		{
+			handleClassModelError(fqClassName, t);
+		}
+	}
+
+	/**
+	 * A class named by a class loading line as found by loadClassForModel() on
+	 * another thread: the members read from its class file, the loaded class
+	 * or the reason it could not be loaded.
+	 */
+	protected static class LoadedClass
+	{
+		private final String fqClassName;
+		private final ClassFileMembers classMembers;
+		private final Class<?> clazz;
+		private final Throwable error;
+
+		private LoadedClass(String fqClassName, ClassFileMembers classMembers, Class<?> clazz, Throwable error)
+		{
+			this.fqClassName = fqClassName;
+			this.classMembers = classMembers;
+			this.clazz = clazz;
+			this.error = error;
+		}
+
+		public String getFullyQualifiedClassName()
+		{
+			return fqClassName;
+		}
+	}
+
+	/**
+	 * Reads the members of a class from its class file, or loads the class and
+	 * reflects over its members, so that the slow part of building its
+	 * MetaClass can be done on a thread other than the parsing thread. The
+	 * class file locations and index must be those of the model, the class
+	 * loader the one ClassUtil uses on the parsing thread.
+	 */
+	protected static LoadedClass loadClassForModel(String fqClassName, List<String> classFileLocations,
+			ClassLocationIndex classIndex, ClassLoader classLoader)
+	{
+		LoadedClass result = null;
+
+		if (classFileLocations != null)
+		{
+			try
+			{
+				ClassFileMembers classMembers = ClassFileReader.readMembers(classFileLocations, classIndex, fqClassName);
+
+				if (classMembers != null)
+				{
+					result = new LoadedClass(fqClassName, classMembers, null, null);
+				}
+			}
+			catch (IOException ioe)
+			{
+				logger.warn("Could not read class file for {}, loading the class", fqClassName, ioe);
+			}
+		}
+
+		if (result == null)
+		{
+			result = reflectClassForModel(fqClassName, classLoader);
+		}
+
+		return result;
+	}
+
+	private static LoadedClass reflectClassForModel(String fqClassName, ClassLoader classLoader)
+	{
+		LoadedClass result;
+
+		try
+		{
+			Class<?> clazz = ClassUtil.loadClassWithoutInitialising(fqClassName, classLoader);
+
+			try
+			{
+				// cached by the Class for buildAndGetMetaClass
+				clazz.getDeclaredMethods();
+				clazz.getDeclaredConstructors();
+			}
+			catch (LinkageError le)
+			{
+				// buildAndGetMetaClass meets and handles it again
+			}
+
+			result = new LoadedClass(fqClassName, null, clazz, null);
+		}
+		catch (Throwable t)
+		{
+			result = new LoadedClass(fqClassName, null, null, t);
+		}
 
-			if (clazz != null)
+		return result;
+	}
+
+	/**
+	 * Adds a class found by loadClassForModel() to the model, reporting any
+	 * error as addToClassModel(String) would.
+	 */
+	protected void addToClassModel(LoadedClass loadedClass)
+	{
+		String fqClassName = loadedClass.fqClassName;
+
+		if (model.getPackageManager().getMetaClass(fqClassName) == null)
+		{
+			if (loadedClass.error != null)
+			{
+				handleClassModelError(fqClassName, loadedClass.error);
+			}
+			else if (loadedClass.classMembers != null)
 			{
-				model.buildAndGetMetaClass(clazz);
+				model.buildAndGetMetaClass(loadedClass.classMembers);
+			}
+			else
+			{
+				try
+				{
+					model.buildAndGetMetaClass(loadedClass.clazz);
+				}
+				catch (Throwable t)
+				{
+					handleClassModelError(fqClassName, t);
+				}
 			}
 		}
-		catch (ClassNotFoundException cnf)
+	}
+
+	private void handleClassModelError(String fqClassName, Throwable t)
+	{
+		if (t instanceof ClassNotFoundException)
 		{
 			if (!ParseUtil.possibleLambdaMethod(fqClassName))
 			{
 				logError("ClassNotFoundException: '" + fqClassName + C_QUOTE);
 			}
 		}
-		catch (NoClassDefFoundError ncdf)
+		else if (t instanceof NoClassDefFoundError)
 		{
-			logError("NoClassDefFoundError: '" + fqClassName + C_SPACE + "requires " + ncdf.getMessage() + C_QUOTE);
+			logError("NoClassDefFoundError: '" + fqClassName + C_SPACE + "requires " + t.getMessage() + C_QUOTE);
 		}
-		catch (UnsupportedClassVersionError ucve)
+		else if (t instanceof UnsupportedClassVersionError)
 		{
 			hasParseError = true;
 			errorDialogTitle = "UnsupportedClassVersionError for class " + fqClassName;
@@ -326,9 +557,9 @@ public abstract class AbstractLogParser implements ILogParser
 
 			logError(
 					"UnsupportedClassVersionError! Tried to load a class file with an unsupported format (later version than this JVM)");
-			logger.error("Class file for {} created in a later JVM version", fqClassName, ucve);
+			logger.error("Class file for {} created in a later JVM version", fqClassName, t);
 		}
-		catch (Throwable t)
+		else
 		{
 			// Possibly a VerifyError
 			logger.error("Could not addClassToModel {}", fqClassName, t);
@@ -344,20 +575,158 @@ public abstract class AbstractLogParser implements ILogParser
 		logger.debug("Assembly lines      : {}", splitLog.getAssemblyLines().size());
 	}
 
+	/**
+	 * @return the phase that times splitting the log
+	 */
+	protected ParsePhase getSplitPhase()
+	{
+		return ParsePhase.SPLIT;
+	}
+
 	@Override
 	public void processLogFile(Reader logFileReader, ILogParseErrorListener errorListener)
+	{
+		startProcessing(errorListener);
+
+		parseMetrics.startPhase(getSplitPhase());
+
+		splitLogFile(logFileReader);
+
+		parseMetrics.endPhase(getSplitPhase());
+
+		completeProcessing(null);
+	}
+
+	@Override
+	public void processLogFile(File logFile, ILogParseErrorListener errorListener) throws IOException
+	{
+		if (!logFile.isFile() || !logFile.canRead())
+		{
+			throw new FileNotFoundException("Cannot read log file " + logFile.getAbsolutePath());
+		}
+
+		startProcessing(errorListener);
+
+		boolean restored = config.isModelSnapshot() && restoreSnapshot(logFile);
+
+		parseMetrics.setByteCount(logFile.length());
+
+		if (restored)
+		{
+			completeParseMetrics();
+
+			jitListener.handleReadComplete();
+		}
+		else
+		{
+			parseMetrics.startPhase(getSplitPhase());
+
+			if (DecompressingInputStream.isCompressed(logFile))
+			{
+				splitLogFile(new InputStreamReader(new DecompressingInputStream(logFile, config.getEffectiveParseThreads()),
+						StandardCharsets.UTF_8));
+			}
+			else
+			{
+				splitLogFile(logFile);
+			}
+
+			parseMetrics.endPhase(getSplitPhase());
+
+			completeProcessing(config.isModelSnapshot() ? logFile : null);
+		}
+	}
+
+	private boolean restoreSnapshot(File logFile)
+	{
+		boolean result = false;
+
+		File snapshotFile = ModelSnapshotWriter.getSnapshotFile(logFile);
+
+		if (snapshotFile.isFile())
+		{
+			try
+			{
+				ModelSnapshotReader reader = new ModelSnapshotReader(snapshotFile);
+
+				if (reader.isSnapshotOf(logFile, config.getConfiguredClassLocations()))
+				{
+					parseMetrics.startPhase(ParsePhase.SNAPSHOT_RESTORE);
+
+					for (String location : reader.getParsedClassLocations())
+					{
+						getParsedClasspath().addClassLocation(location);
+					}
+
+					configureDisposableClassLoader();
+
+					reader.restore(model, tagInterner);
+
+					vmCommand = reader.getVMCommand();
+
+					IReadOnlyJITEventStore events = model.getEventStore();
+
+					int eventCount = events.size();
+
+					for (int i = 0; i < eventCount; i++)
+					{
+						logEvent(events.getEvent(i));
+					}
+
+					parseMetrics.endPhase(ParsePhase.SNAPSHOT_RESTORE);
+
+					jitListener.handleLogEntry("Loaded model snapshot " + snapshotFile.getAbsolutePath());
+
+					result = true;
+				}
+			}
+			catch (IOException | RuntimeException e)
+			{
+				logger.warn("Could not restore snapshot {}, parsing log instead", snapshotFile, e);
+
+				// discard anything restored before the failure
+				startProcessing(errorListener);
+			}
+		}
+
+		return result;
+	}
+
+	private void writeSnapshot(File logFile)
+	{
+		File snapshotFile = ModelSnapshotWriter.getSnapshotFile(logFile);
+
+		try
+		{
+			new ModelSnapshotWriter(model).write(snapshotFile, logFile, vmCommand, config.getConfiguredClassLocations(),
+					getParsedClasspath().getClassLocations());
+
+			jitListener.handleLogEntry("Wrote model snapshot " + snapshotFile.getAbsolutePath());
+		}
+		catch (IOException e)
+		{
+			logger.warn("Could not write snapshot {}", snapshotFile, e);
+		}
+	}
+
+	protected void startProcessing(ILogParseErrorListener errorListener)
 	{
 		reset();
 
+		parseMetrics.start();
+
 		configureDisposableClassLoader();
 
+		model.setClassFileBytecodeReader(config.isClassFileBytecodeReader());
+
 		// tell listener to reset any data
 		jitListener.handleReadStart();
 
 		this.errorListener = errorListener;
+	}
 
-		splitLogFile(logFileReader);
-
+	private void completeProcessing(File snapshotLogFile)
+	{
 		if (DEBUG_LOGGING)
 		{
 			logSplitStats();
@@ -365,9 +734,42 @@ public abstract class AbstractLogParser implements ILogParser
 
 		parseLogFile();
 
+		// only needed to link deopt events while parsing
+		compilationsByID.clear();
+
+		if (DEBUG_LOGGING)
+		{
+			logger.debug("Signature cache     : {}", model.getMemberSignatureCache());
+			logger.debug("Interned tags       : {}", tagInterner.size());
+		}
+
+		if (snapshotLogFile != null && !hasParseError)
+		{
+			parseMetrics.startPhase(ParsePhase.SNAPSHOT_WRITE);
+
+			writeSnapshot(snapshotLogFile);
+
+			parseMetrics.endPhase(ParsePhase.SNAPSHOT_WRITE);
+		}
+
+		completeParseMetrics();
+
 		jitListener.handleReadComplete();
 	}
 
+	protected void completeParseMetrics()
+	{
+		parseMetrics.setLineCount(parseLineNumber);
+
+		parseMetrics.addTagCount(tagProcessor.getTagCount());
+
+		parseMetrics.setSignatureCacheStats(model.getMemberSignatureCache());
+
+		parseMetrics.complete();
+
+		jitListener.handleLogEntry(parseMetrics.toString());
+	}
+
 	protected void handleTagQueued(Tag tag)
 	{
 		handleMethodLine(tag, EventType.QUEUE);
@@ -379,8 +781,6 @@ public abstract class AbstractLogParser implements ILogParser
 
 		String attrCompiler = tagAttributes.get(ATTR_COMPILER);
 
-		renameCompilationCompletedTimestamp(tag);
-
 		if (attrCompiler != null && attrCompiler.length() > 0)
 		{
 			if (C1.equalsIgnoreCase(attrCompiler))
@@ -459,6 +859,42 @@ public abstract class AbstractLogParser implements ILogParser
 		storeCodeCacheEventDetail(eventType, ParseUtil.parseStampFromTag(tag), 0, 0);
 	}
 
+	protected void storeDeoptEvent(DeoptEventType eventType, Tag tag)
+	{
+		Map<String, String> attrs = tag.getAttributes();
+
+		String compileID = attrs.get(ATTR_COMPILE_ID);
+
+		// not every deoptimized tag carries a stamp, it follows the event
+		// before it in the log
+		String stampAttr = attrs.get(ATTR_STAMP);
+
+		if (stampAttr != null)
+		{
+			lastDeoptStamp = ParseUtil.parseStamp(stampAttr);
+		}
+
+		long stamp = lastDeoptStamp;
+
+		String method = null;
+
+		int bci = DeoptEvent.NO_BCI;
+
+		Tag tagJVMS = tag.getFirstNamedChild(TAG_JVMS);
+
+		if (tagJVMS != null)
+		{
+			method = tagJVMS.getAttributes().get(ATTR_METHOD);
+
+			bci = StringUtil.parseInt(tagJVMS.getAttributes().get(ATTR_BCI), DeoptEvent.NO_BCI);
+		}
+
+		Compilation compilation = compileID != null ? compilationsByID.get(compileID) : null;
+
+		model.addDeoptEvent(new DeoptEvent(eventType, stamp, StringUtil.parseInt(compileID, DeoptEvent.NO_COMPILE_ID), attrs.get(ATTR_REASON),
+				attrs.get(ATTR_ACTION), method, bci, compilation));
+	}
+
 	private void storeCodeCacheEventDetail(CodeCacheEventType eventType, long stamp, long nativeCodeSize, long freeCodeCache)
 	{
 		CodeCacheEvent codeCacheEvent = new CodeCacheEvent(eventType, stamp, nativeCodeSize, freeCodeCache);
@@ -496,6 +932,11 @@ public abstract class AbstractLogParser implements ILogParser
 		compilation.setTagTaskQueued(tagTaskQueued);
 
 		metaMember.storeCompilation(compilation);
+
+		if (compilation.getCompileID() != null)
+		{
+			compilationsByID.put(compilation.getCompileID(), compilation);
+		}
 	}
 
 	protected void setTagNMethod(Tag tagNMethod, IMetaMember member)
@@ -522,6 +963,11 @@ public abstract class AbstractLogParser implements ILogParser
 				compilation.setTagNMethod(tagNMethod);
 
 				member.storeCompilation(compilation);
+
+				if (compileID != null)
+				{
+					compilationsByID.put(compileID, compilation);
+				}
 			}
 			else
 			{
@@ -542,6 +988,13 @@ public abstract class AbstractLogParser implements ILogParser
 		{
 			compilation.setTagTask(tagTask);
 
+			ILazyLoader<Task> taskBodyLoader = getTaskBodyLoader();
+
+			if (taskBodyLoader != null)
+			{
+				compilation.setTagTaskBodyLoader(taskBodyLoader);
+			}
+
 			if (currentCompilerThread != null)
 			{
 				currentCompilerThread.addCompilation(compilation);
@@ -659,20 +1112,25 @@ public abstract class AbstractLogParser implements ILogParser
 		}
 	}
 
-	private void renameCompilationCompletedTimestamp(Tag tag)
+	/**
+	 * @return a loader for the full tree of the task being handled when only
+	 *         its summary was parsed, otherwise null
+	 */
+	protected ILazyLoader<Task> getTaskBodyLoader()
 	{
-		String compilationCompletedStamp = tag.getAttributes().get(ATTR_STAMP);
-
-		if (compilationCompletedStamp != null)
-		{
-			tag.getAttributes().remove(ATTR_STAMP);
-			tag.getAttributes().put(ATTR_STAMP_COMPLETED, compilationCompletedStamp);
-		}
+		return null;
 	}
 
 	protected abstract void parseLogFile();
 
 	protected abstract void splitLogFile(Reader logFileReader);
 
+	// HotSpot writes the log as UTF-8, as the mapped reader decodes it, so the
+	// platform charset is not used
+	protected void splitLogFile(File logFile) throws IOException
+	{
+		splitLogFile(new InputStreamReader(new FileInputStream(logFile), StandardCharsets.UTF_8));
+	}
+
 	protected abstract void handleTag(Tag tag);
 }
@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2026 Chris Newland.
+ * Licensed under https://github.com/AdoptOpenJDK/jitwatch/blob/master/LICENSE-BSD
+ * Instructions: https://github.com/AdoptOpenJDK/jitwatch/wiki
+ */
+package org.adoptopenjdk.jitwatch.parser;
+
+import java.io.IOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounded hand-off of byte chunks from one producer thread to one consumer.
+ *
+ * The producer blocks while the queue is full so it can never run more than
+ * the queue capacity ahead of the consumer. Either side can give up: the
+ * producer finishes with an optional error that the consumer sees after the
+ * last chunk and the consumer can close the channel to stop the producer.
+ */
+final class ChunkChannel
+{
+	static final byte[] END = new byte[0];
+
+	private static final long POLL_MILLIS = 100;
+
+	private final BlockingQueue<byte[]> queue;
+
+	private volatile boolean closed = false;
+
+	private volatile IOException error;
+
+	ChunkChannel(int capacity)
+	{
+		queue = new ArrayBlockingQueue<>(capacity);
+	}
+
+	/**
+	 * @return false if the consumer has closed the channel
+	 */
+	boolean put(byte[] chunk) throws InterruptedException
+	{
+		boolean result = false;
+
+		while (!closed && !result)
+		{
+			result = queue.offer(chunk, POLL_MILLIS, TimeUnit.MILLISECONDS);
+		}
+
+		return result && !closed;
+	}
+
+	void finish(IOException error) throws InterruptedException
+	{
+		this.error = error;
+
+		put(END);
+	}
+
+	/**
+	 * @return the next chunk or END once the producer has finished
+	 * @throws IOException
+	 *             if the producer finished with an error
+	 */
+	byte[] take() throws IOException, InterruptedException
+	{
+		byte[] result = queue.take();
+
+		if (result == END)
+		{
+			// later calls must also see the end
+			queue.offer(END);
+
+			if (error != null)
+			{
+				throw error;
+			}
+		}
+
+		return result;
+	}
+
+	void close()
+	{
+		closed = true;
+
+		queue.clear();
+	}
+}
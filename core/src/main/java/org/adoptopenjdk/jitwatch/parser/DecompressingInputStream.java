@@ -0,0 +1,356 @@
+/*
+ * Copyright (c) 2026 Chris Newland.
+ * Licensed under https://github.com/AdoptOpenJDK/jitwatch/blob/master/LICENSE-BSD
+ * Instructions: https://github.com/AdoptOpenJDK/jitwatch/wiki
+ */
+package org.adoptopenjdk.jitwatch.parser;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import com.chrisnewland.freelogj.Logger;
+import com.chrisnewland.freelogj.LoggerFactory;
+
+/**
+ * Reads a gzip or zip compressed log while it is decompressed on a separate
+ * thread, so that inflating the next part of the log overlaps with parsing the
+ * part already read.
+ *
+ * The decompressing thread runs at most a few chunks ahead of the reader. A
+ * gzip file made of several members is decompressed by a ParallelGzipDecoder
+ * when more than one thread is allowed. A zip file is expected to hold the log
+ * as its first entry.
+ */
+public class DecompressingInputStream extends InputStream
+{
+	private static final Logger logger = LoggerFactory.getLogger(DecompressingInputStream.class);
+
+	static final int CHUNK_SIZE = 64 * 1024;
+
+	private static final int QUEUE_CHUNKS = 16;
+
+	public enum Compression
+	{
+		NONE, GZIP, ZIP
+	}
+
+	private final File file;
+
+	private final Compression compression;
+
+	private final int threads;
+
+	private final ChunkChannel chunks = new ChunkChannel(QUEUE_CHUNKS);
+
+	private final Thread decompressThread;
+
+	private byte[] currentChunk = new byte[0];
+	private int currentPosition = 0;
+
+	public DecompressingInputStream(File file, int threads) throws IOException
+	{
+		this.file = file;
+		this.compression = getCompression(file);
+		this.threads = Math.max(1, threads);
+
+		if (compression == Compression.NONE)
+		{
+			throw new IOException("Not a compressed log file: " + file.getAbsolutePath());
+		}
+
+		decompressThread = new Thread(new Runnable()
+		{
+			@Override
+			public void run()
+			{
+				decompress();
+			}
+		}, "JITWatch-decompress");
+
+		decompressThread.setDaemon(true);
+		decompressThread.start();
+	}
+
+	/**
+	 * Identifies a compressed file from its first bytes so that the name of
+	 * the file does not matter.
+	 */
+	public static Compression getCompression(File file) throws IOException
+	{
+		Compression result = Compression.NONE;
+
+		byte[] magic = new byte[4];
+
+		int read = 0;
+
+		try (InputStream inputStream = new FileInputStream(file))
+		{
+			int count = inputStream.read(magic);
+
+			while (count > 0 && read + count < magic.length)
+			{
+				read += count;
+
+				count = inputStream.read(magic, read, magic.length - read);
+			}
+
+			if (count > 0)
+			{
+				read += count;
+			}
+		}
+
+		if (read >= 2 && (magic[0] & 0xff) == 0x1f && (magic[1] & 0xff) == 0x8b)
+		{
+			result = Compression.GZIP;
+		}
+		else if (read == 4 && magic[0] == 'P' && magic[1] == 'K' && magic[2] == 3 && magic[3] == 4)
+		{
+			result = Compression.ZIP;
+		}
+
+		return result;
+	}
+
+	public static boolean isCompressed(File file) throws IOException
+	{
+		return getCompression(file) != Compression.NONE;
+	}
+
+	private void decompress()
+	{
+		IOException error = null;
+
+		try
+		{
+			switch (compression)
+			{
+			case ZIP:
+				decompressZip();
+				break;
+
+			default:
+				decompressGzip();
+				break;
+			}
+		}
+		catch (IOException ioe)
+		{
+			error = ioe;
+		}
+		catch (InterruptedException ie)
+		{
+			error = new InterruptedIOException("Decompression interrupted");
+		}
+
+		try
+		{
+			chunks.finish(error);
+		}
+		catch (InterruptedException ie)
+		{
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private void decompressZip() throws IOException, InterruptedException
+	{
+		try (ZipInputStream zipInputStream = new ZipInputStream(new FileInputStream(file)))
+		{
+			ZipEntry entry = zipInputStream.getNextEntry();
+
+			while (entry != null && entry.isDirectory())
+			{
+				entry = zipInputStream.getNextEntry();
+			}
+
+			if (entry == null)
+			{
+				throw new IOException("No log file in " + file.getAbsolutePath());
+			}
+
+			copyChunks(zipInputStream, 0);
+		}
+	}
+
+	private void decompressGzip() throws IOException, InterruptedException
+	{
+		long resumeOffset = 0;
+		long resumeSkip = 0;
+
+		long length = file.length();
+
+		if (threads > 1 && length <= Integer.MAX_VALUE)
+		{
+			try (RandomAccessFile randomAccessFile = new RandomAccessFile(file, "r"))
+			{
+				ByteBuffer compressed = randomAccessFile.getChannel().map(FileChannel.MapMode.READ_ONLY, 0, length);
+
+				ParallelGzipDecoder decoder = new ParallelGzipDecoder(compressed, threads);
+
+				if (decoder.getSegmentCount() > 1)
+				{
+					decoder.decode(chunks);
+
+					resumeOffset = decoder.getResumeOffset();
+					resumeSkip = decoder.getResumeSkip();
+
+					if (resumeOffset > 0)
+					{
+						logger.info("Decompressing {} serially from offset {}", file.getName(), resumeOffset);
+					}
+				}
+			}
+		}
+
+		if (resumeOffset != -1)
+		{
+			try (FileInputStream fileInputStream = new FileInputStream(file))
+			{
+				fileInputStream.getChannel().position(resumeOffset);
+
+				copyChunks(new GZIPInputStream(fileInputStream, CHUNK_SIZE), resumeSkip);
+			}
+		}
+	}
+
+	private void copyChunks(InputStream inputStream, long skip) throws IOException, InterruptedException
+	{
+		long remainingSkip = skip;
+
+		while (remainingSkip > 0)
+		{
+			long skipped = inputStream.skip(remainingSkip);
+
+			if (skipped <= 0)
+			{
+				throw new IOException("Compressed log ended while resuming " + file.getAbsolutePath());
+			}
+
+			remainingSkip -= skipped;
+		}
+
+		byte[] chunk = readChunk(inputStream);
+
+		while (chunk != null && chunks.put(chunk))
+		{
+			chunk = readChunk(inputStream);
+		}
+	}
+
+	/**
+	 * @return up to CHUNK_SIZE bytes, only fewer at the end of the stream, or
+	 *         null if the stream has ended
+	 */
+	static byte[] readChunk(InputStream inputStream) throws IOException
+	{
+		byte[] result = new byte[CHUNK_SIZE];
+
+		int length = 0;
+
+		int read = inputStream.read(result, 0, CHUNK_SIZE);
+
+		while (read != -1)
+		{
+			length += read;
+
+			if (length == CHUNK_SIZE)
+			{
+				break;
+			}
+
+			read = inputStream.read(result, length, CHUNK_SIZE - length);
+		}
+
+		if (length == 0)
+		{
+			result = null;
+		}
+		else if (length < CHUNK_SIZE)
+		{
+			result = Arrays.copyOf(result, length);
+		}
+
+		return result;
+	}
+
+	public Compression getCompression()
+	{
+		return compression;
+	}
+
+	@Override
+	public int read() throws IOException
+	{
+		int result = -1;
+
+		if (nextChunk())
+		{
+			result = currentChunk[currentPosition++] & 0xff;
+		}
+
+		return result;
+	}
+
+	@Override
+	public int read(byte[] bytes, int offset, int length) throws IOException
+	{
+		int result = 0;
+
+		if (length > 0)
+		{
+			if (nextChunk())
+			{
+				result = Math.min(length, currentChunk.length - currentPosition);
+
+				System.arraycopy(currentChunk, currentPosition, bytes, offset, result);
+
+				currentPosition += result;
+			}
+			else
+			{
+				result = -1;
+			}
+		}
+
+		return result;
+	}
+
+	private boolean nextChunk() throws IOException
+	{
+		if (currentPosition == currentChunk.length && currentChunk != ChunkChannel.END)
+		{
+			try
+			{
+				currentChunk = chunks.take();
+				currentPosition = 0;
+			}
+			catch (InterruptedException ie)
+			{
+				Thread.currentThread().interrupt();
+
+				throw new InterruptedIOException("Interrupted reading " + file.getAbsolutePath());
+			}
+		}
+
+		return currentPosition < currentChunk.length;
+	}
+
+	@Override
+	public void close()
+	{
+		chunks.close();
+
+		decompressThread.interrupt();
+	}
+}
@@ -19,18 +19,33 @@ public interface ILogParser
 {
 	void setConfig(JITWatchConfig config);
 
+	/**
+	 * A gzip or zip compressed log is decompressed while it is parsed.
+	 */
 	default void processLogFile(File logFile, ILogParseErrorListener listener) throws IOException{
 		processLogFile(new FileReader(logFile), listener);
 	}
 
 	void processLogFile(Reader logFileReader, ILogParseErrorListener listener) throws IOException;
 
+	/**
+	 * Parses a log that is still being written, handling lines as they are
+	 * appended. Blocks until stopParsing() is called or the end of the log is
+	 * reached.
+	 */
+	default void followLogFile(File logFile, ILogParseErrorListener listener) throws IOException
+	{
+		throw new UnsupportedOperationException(getClass().getSimpleName() + " cannot follow a log file");
+	}
+
 	SplitLog getSplitLog();
 
 	void stopParsing();
 
 	ParsedClasspath getParsedClasspath();
 
+	ParseMetrics getParseMetrics();
+
 	JITDataModel getModel();
 
 	JITWatchConfig getConfig();
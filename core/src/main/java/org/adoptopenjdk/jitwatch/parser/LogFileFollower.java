@@ -0,0 +1,231 @@
+/*
+ * Copyright (c) 2026 Chris Newland.
+ * Licensed under https://github.com/AdoptOpenJDK/jitwatch/blob/master/LICENSE-BSD
+ * Instructions: https://github.com/AdoptOpenJDK/jitwatch/wiki
+ */
+package org.adoptopenjdk.jitwatch.parser;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Reads the complete lines appended to a UTF-8 log file that is still being
+ * written.
+ *
+ * Only the bytes after the last position read are fetched so the cost of each
+ * poll depends on how much was appended, not on the size of the file. A line
+ * is returned once its '\n' has been written, the bytes of an unfinished last
+ * line are held back until the rest arrives.
+ */
+public class LogFileFollower implements Closeable
+{
+	public static final int DEFAULT_CHUNK_SIZE = 64 * 1024;
+
+	private static final byte CR = '\r';
+	private static final byte LF = '\n';
+
+	private final File logFile;
+
+	private RandomAccessFile file;
+	private FileChannel channel;
+
+	private final ByteBuffer chunk;
+
+	// file offset of the first byte not yet copied into chunk
+	private long readPosition = 0;
+
+	// bytes of a line that continues past the end of the last chunk
+	private byte[] partialLine = new byte[256];
+	private int partialLength = 0;
+
+	public LogFileFollower(File logFile) throws IOException
+	{
+		this(logFile, DEFAULT_CHUNK_SIZE);
+	}
+
+	public LogFileFollower(File logFile, int chunkSize) throws IOException
+	{
+		this.logFile = logFile;
+		this.chunk = ByteBuffer.allocate(Math.max(16, chunkSize));
+
+		((Buffer) chunk).flip();
+
+		open();
+	}
+
+	private void open() throws IOException
+	{
+		file = new RandomAccessFile(logFile, "r");
+		channel = file.getChannel();
+	}
+
+	/**
+	 * @return the next complete line without its terminator or null if no
+	 *         complete line has been appended since the last call
+	 */
+	public String nextLine() throws IOException
+	{
+		String result = null;
+
+		while (result == null)
+		{
+			if (!chunk.hasRemaining() && !readChunk())
+			{
+				break;
+			}
+
+			result = takeLine();
+		}
+
+		return result;
+	}
+
+	private boolean readChunk() throws IOException
+	{
+		((Buffer) chunk).clear();
+
+		int read = channel.read(chunk, readPosition);
+
+		((Buffer) chunk).flip();
+
+		boolean result = read > 0;
+
+		if (result)
+		{
+			readPosition += read;
+		}
+
+		return result;
+	}
+
+	private String takeLine()
+	{
+		String result = null;
+
+		int start = chunk.position();
+		int limit = chunk.limit();
+
+		byte[] bytes = chunk.array();
+
+		int index = start;
+
+		while (index < limit && bytes[index] != LF)
+		{
+			index++;
+		}
+
+		if (index < limit)
+		{
+			result = buildLine(bytes, start, index);
+
+			((Buffer) chunk).position(index + 1);
+		}
+		else
+		{
+			appendPartial(bytes, start, limit);
+
+			((Buffer) chunk).position(limit);
+		}
+
+		return result;
+	}
+
+	private String buildLine(byte[] bytes, int start, int end)
+	{
+		String result;
+
+		if (partialLength == 0)
+		{
+			if (end > start && bytes[end - 1] == CR)
+			{
+				end--;
+			}
+
+			result = new String(bytes, start, end - start, StandardCharsets.UTF_8);
+		}
+		else
+		{
+			appendPartial(bytes, start, end);
+
+			int length = partialLength;
+
+			if (length > 0 && partialLine[length - 1] == CR)
+			{
+				length--;
+			}
+
+			result = new String(partialLine, 0, length, StandardCharsets.UTF_8);
+
+			partialLength = 0;
+		}
+
+		return result;
+	}
+
+	private void appendPartial(byte[] bytes, int start, int end)
+	{
+		int length = end - start;
+
+		if (partialLength + length > partialLine.length)
+		{
+			partialLine = Arrays.copyOf(partialLine, Math.max(partialLine.length * 2, partialLength + length));
+		}
+
+		System.arraycopy(bytes, start, partialLine, partialLength, length);
+
+		partialLength += length;
+	}
+
+	/**
+	 * Detects a log that was truncated or replaced by a new file of the same
+	 * name, for example when the VM was restarted. Reading restarts from the
+	 * beginning of the new content.
+	 *
+	 * @return true if the file is now shorter than the position already read
+	 */
+	public boolean checkTruncated() throws IOException
+	{
+		boolean truncated = logFile.length() < readPosition;
+
+		if (truncated)
+		{
+			close();
+
+			open();
+
+			readPosition = 0;
+			partialLength = 0;
+
+			((Buffer) chunk).clear();
+			((Buffer) chunk).flip();
+		}
+
+		return truncated;
+	}
+
+	/**
+	 * @return the file offset of the first byte not returned as a line
+	 */
+	public long getPosition()
+	{
+		return readPosition - chunk.remaining() - partialLength;
+	}
+
+	@Override
+	public void close() throws IOException
+	{
+		if (file != null)
+		{
+			file.close();
+			file = null;
+			channel = null;
+		}
+	}
+}
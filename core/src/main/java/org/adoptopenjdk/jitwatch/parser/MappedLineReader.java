@@ -0,0 +1,312 @@
+/*
+ * Copyright (c) 2026 Chris Newland.
+ * Licensed under https://github.com/AdoptOpenJDK/jitwatch/blob/master/LICENSE-BSD
+ * Instructions: https://github.com/AdoptOpenJDK/jitwatch/wiki
+ */
+package org.adoptopenjdk.jitwatch.parser;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Reads the lines of a UTF-8 log file through a memory-mapped window.
+ *
+ * Lines are found by scanning the mapped bytes for the same terminators as
+ * BufferedReader.readLine() ('\n', '\r' or "\r\n"). The bounds of the current
+ * line and of its String.trim() equivalent are available without creating a
+ * String so callers can classify and skip lines by their first bytes.
+ */
+public class MappedLineReader implements Closeable
+{
+	public static final int DEFAULT_WINDOW_SIZE = 64 * 1024 * 1024;
+
+	private static final byte CR = '\r';
+	private static final byte LF = '\n';
+
+	private final RandomAccessFile file;
+	private final FileChannel channel;
+	private final long fileSize;
+
+	private int windowSize;
+	private MappedByteBuffer window;
+	private ByteBuffer readView;
+	private long windowOffset = 0;
+	private int windowLimit = 0;
+
+	private int nextLineStart = 0;
+
+	private int lineStart;
+	private int lineEnd;
+	private int trimStart;
+	private int trimEnd;
+
+	private byte[] scratch = new byte[1024];
+
+	public MappedLineReader(File logFile) throws IOException
+	{
+		this(logFile, DEFAULT_WINDOW_SIZE);
+	}
+
+	public MappedLineReader(File logFile, int windowSize) throws IOException
+	{
+		this.file = new RandomAccessFile(logFile, "r");
+		this.channel = file.getChannel();
+		this.fileSize = channel.size();
+		this.windowSize = Math.max(16, windowSize);
+
+		mapWindow(0);
+	}
+
+	/**
+	 * Advances to the next line.
+	 *
+	 * @return false at the end of the file
+	 */
+	public boolean nextLine() throws IOException
+	{
+		int scanPos = nextLineStart;
+
+		while (true)
+		{
+			int terminator = findTerminator(scanPos);
+
+			if (terminator != -1)
+			{
+				if (window.get(terminator) == CR && terminator + 1 == windowLimit && !isLastWindow())
+				{
+					// need to see the next byte to know if this is \r\n
+					scanPos = remapFrom(nextLineStart) + terminator;
+					continue;
+				}
+
+				lineStart = nextLineStart;
+				lineEnd = terminator;
+
+				nextLineStart = terminator + 1;
+
+				if (window.get(terminator) == CR && nextLineStart < windowLimit && window.get(nextLineStart) == LF)
+				{
+					nextLineStart++;
+				}
+
+				break;
+			}
+			else if (isLastWindow())
+			{
+				if (nextLineStart == windowLimit)
+				{
+					return false;
+				}
+
+				lineStart = nextLineStart;
+				lineEnd = windowLimit;
+
+				nextLineStart = windowLimit;
+
+				break;
+			}
+			else
+			{
+				int scannedTo = windowLimit;
+
+				scanPos = remapFrom(nextLineStart) + scannedTo;
+			}
+		}
+
+		findTrimBounds();
+
+		return true;
+	}
+
+	public boolean isBlank()
+	{
+		return trimStart == trimEnd;
+	}
+
+	public int getLength()
+	{
+		return lineEnd - lineStart;
+	}
+
+	/**
+	 * @return the first byte of the trimmed line or -1 if the line is blank
+	 */
+	public int getTrimmedFirstByte()
+	{
+		return isBlank() ? -1 : window.get(trimStart);
+	}
+
+	public boolean startsWith(String asciiPrefix, boolean trimmed)
+	{
+		int start = trimmed ? trimStart : lineStart;
+		int end = trimmed ? trimEnd : lineEnd;
+
+		int prefixLength = asciiPrefix.length();
+
+		if (end - start < prefixLength)
+		{
+			return false;
+		}
+
+		for (int i = 0; i < prefixLength; i++)
+		{
+			if (window.get(start + i) != (byte) asciiPrefix.charAt(i))
+			{
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	public boolean endsWith(String asciiSuffix, boolean trimmed)
+	{
+		int start = trimmed ? trimStart : lineStart;
+		int end = trimmed ? trimEnd : lineEnd;
+
+		int suffixLength = asciiSuffix.length();
+
+		if (end - start < suffixLength)
+		{
+			return false;
+		}
+
+		for (int i = 0; i < suffixLength; i++)
+		{
+			if (window.get(end - suffixLength + i) != (byte) asciiSuffix.charAt(i))
+			{
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	/**
+	 * @return the position in the file of the first byte of the current line
+	 */
+	public long getLineOffset()
+	{
+		return windowOffset + lineStart;
+	}
+
+	/**
+	 * @return the position in the file after the current line and its
+	 *         terminator
+	 */
+	public long getNextLineOffset()
+	{
+		return windowOffset + nextLineStart;
+	}
+
+	public String getLine()
+	{
+		return decode(lineStart, lineEnd);
+	}
+
+	public String getTrimmedLine()
+	{
+		return decode(trimStart, trimEnd);
+	}
+
+	@Override
+	public void close() throws IOException
+	{
+		window = null;
+		readView = null;
+		file.close();
+	}
+
+	private boolean isLastWindow()
+	{
+		return windowOffset + windowLimit >= fileSize;
+	}
+
+	private int findTerminator(int from)
+	{
+		for (int i = from; i < windowLimit; i++)
+		{
+			byte b = window.get(i);
+
+			if (b == LF || b == CR)
+			{
+				return i;
+			}
+		}
+
+		return -1;
+	}
+
+	// Moves the window so that it starts at the given position, growing it if
+	// a single line does not fit. Returns the amount to add to an index into
+	// the previous window to rebase it onto the new one.
+	private int remapFrom(int position) throws IOException
+	{
+		if (position == 0)
+		{
+			windowSize = (int) Math.min((long) windowSize * 2, Integer.MAX_VALUE - 8);
+		}
+
+		long newOffset = windowOffset + position;
+
+		mapWindow(newOffset);
+
+		nextLineStart = 0;
+
+		return -position;
+	}
+
+	private void mapWindow(long offset) throws IOException
+	{
+		windowOffset = offset;
+
+		long remaining = fileSize - offset;
+
+		windowLimit = (int) Math.min(remaining, windowSize);
+
+		window = channel.map(FileChannel.MapMode.READ_ONLY, offset, windowLimit);
+
+		readView = window.duplicate();
+	}
+
+	// same definition of whitespace as String.trim()
+	private void findTrimBounds()
+	{
+		trimStart = lineStart;
+		trimEnd = lineEnd;
+
+		while (trimStart < trimEnd && (window.get(trimStart) & 0xFF) <= ' ')
+		{
+			trimStart++;
+		}
+
+		while (trimEnd > trimStart && (window.get(trimEnd - 1) & 0xFF) <= ' ')
+		{
+			trimEnd--;
+		}
+	}
+
+	private String decode(int start, int end)
+	{
+		int length = end - start;
+
+		if (scratch.length < length)
+		{
+			scratch = new byte[Math.max(length, scratch.length * 2)];
+		}
+
+		// cast for Java 8 compatibility of the covariant position(int)
+		((Buffer) readView).position(start);
+
+		readView.get(scratch, 0, length);
+
+		return new String(scratch, 0, length, StandardCharsets.UTF_8);
+	}
+}
@@ -0,0 +1,336 @@
+/*
+ * Copyright (c) 2026 Chris Newland.
+ * Licensed under https://github.com/AdoptOpenJDK/jitwatch/blob/master/LICENSE-BSD
+ * Instructions: https://github.com/AdoptOpenJDK/jitwatch/wiki
+ */
+package org.adoptopenjdk.jitwatch.parser;
+
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.DEBUG_LOGGING;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+
+import com.chrisnewland.freelogj.Logger;
+import com.chrisnewland.freelogj.LoggerFactory;
+
+/**
+ * Decompresses a gzip file made of several members, such as rotated logs
+ * joined with cat or the output of bgzip, on a pool of threads.
+ *
+ * Member boundaries are not recorded anywhere in the file so the compressed
+ * bytes are scanned for anything that looks like a member header and split
+ * there. Segments are decompressed in parallel and their output is passed on
+ * in file order. A header that was really part of the compressed data shows
+ * up as a segment that fails to decompress. Everything before it is already
+ * correct so decoding stops and the caller finishes the file serially from
+ * the start of the failed segment.
+ */
+final class ParallelGzipDecoder
+{
+	private static final Logger logger = LoggerFactory.getLogger(ParallelGzipDecoder.class);
+
+	// smaller members are decompressed together
+	static final int MIN_SEGMENT_LENGTH = 1024 * 1024;
+
+	private static final int SEGMENT_QUEUE_CHUNKS = 64;
+
+	private static final int GZIP_HEADER_LENGTH = 10;
+
+	private static final AtomicInteger POOL_COUNTER = new AtomicInteger();
+
+	private final ByteBuffer compressed;
+
+	private final List<Integer> segmentStarts;
+
+	private final int threads;
+
+	private long resumeOffset = -1;
+	private long resumeSkip = 0;
+
+	ParallelGzipDecoder(ByteBuffer compressed, int threads)
+	{
+		this.compressed = compressed;
+		this.threads = threads;
+		this.segmentStarts = buildSegments(findMemberHeaders(compressed), MIN_SEGMENT_LENGTH);
+	}
+
+	int getSegmentCount()
+	{
+		return segmentStarts.size();
+	}
+
+	/**
+	 * @return the file offset to continue from serially or -1 if the whole
+	 *         file was decoded
+	 */
+	long getResumeOffset()
+	{
+		return resumeOffset;
+	}
+
+	/**
+	 * @return the number of bytes already passed on from the member at the
+	 *         resume offset
+	 */
+	long getResumeSkip()
+	{
+		return resumeSkip;
+	}
+
+	static List<Integer> findMemberHeaders(ByteBuffer buffer)
+	{
+		List<Integer> result = new ArrayList<>();
+
+		int limit = buffer.limit() - GZIP_HEADER_LENGTH;
+
+		for (int i = 0; i <= limit; i++)
+		{
+			if (buffer.get(i) == (byte) 0x1f && isMemberHeader(buffer, i))
+			{
+				result.add(i);
+			}
+		}
+
+		return result;
+	}
+
+	private static boolean isMemberHeader(ByteBuffer buffer, int offset)
+	{
+		int flags = buffer.get(offset + 3) & 0xff;
+		int extraFlags = buffer.get(offset + 8) & 0xff;
+		int os = buffer.get(offset + 9) & 0xff;
+
+		// ID2, deflate and no reserved flags, then values every encoder uses
+		return buffer.get(offset + 1) == (byte) 0x8b && buffer.get(offset + 2) == 8 && (flags & 0xe0) == 0
+				&& (extraFlags == 0 || extraFlags == 2 || extraFlags == 4) && (os <= 13 || os == 255);
+	}
+
+	static List<Integer> buildSegments(List<Integer> memberHeaders, int minSegmentLength)
+	{
+		List<Integer> result = new ArrayList<>();
+
+		for (int offset : memberHeaders)
+		{
+			if (result.isEmpty() || offset - result.get(result.size() - 1) >= minSegmentLength)
+			{
+				result.add(offset);
+			}
+		}
+
+		return result;
+	}
+
+	/**
+	 * Passes the decompressed bytes to the output in file order until the file
+	 * ends, a segment fails or the output is closed.
+	 */
+	void decode(ChunkChannel output) throws InterruptedException
+	{
+		final int poolId = POOL_COUNTER.incrementAndGet();
+
+		ExecutorService executor = Executors.newFixedThreadPool(threads, new ThreadFactory()
+		{
+			private final AtomicInteger threadCounter = new AtomicInteger();
+
+			@Override
+			public Thread newThread(Runnable runnable)
+			{
+				Thread thread = new Thread(runnable, "JITWatch-gunzip-" + poolId + "-" + threadCounter.incrementAndGet());
+				thread.setDaemon(true);
+				return thread;
+			}
+		});
+
+		// segments started ahead of the one being passed on, each buffering at
+		// most SEGMENT_QUEUE_CHUNKS
+		int window = threads * 2;
+
+		Deque<SegmentTask> inFlight = new ArrayDeque<>();
+
+		int nextSegment = 0;
+
+		try
+		{
+			while (nextSegment < segmentStarts.size() && inFlight.size() < window)
+			{
+				inFlight.addLast(submit(executor, nextSegment++));
+			}
+
+			boolean open = true;
+
+			while (open && resumeOffset == -1 && !inFlight.isEmpty())
+			{
+				SegmentTask task = inFlight.removeFirst();
+
+				open = forward(task, output);
+
+				if (nextSegment < segmentStarts.size())
+				{
+					inFlight.addLast(submit(executor, nextSegment++));
+				}
+			}
+		}
+		finally
+		{
+			for (SegmentTask task : inFlight)
+			{
+				task.chunks.close();
+			}
+
+			executor.shutdownNow();
+		}
+	}
+
+	private SegmentTask submit(ExecutorService executor, int segment)
+	{
+		int start = segmentStarts.get(segment);
+
+		int end = segment + 1 < segmentStarts.size() ? segmentStarts.get(segment + 1) : compressed.limit();
+
+		SegmentTask task = new SegmentTask(start, end);
+
+		executor.execute(task);
+
+		return task;
+	}
+
+	private boolean forward(SegmentTask task, ChunkChannel output) throws InterruptedException
+	{
+		boolean open = true;
+
+		long forwarded = 0;
+
+		try
+		{
+			byte[] chunk = task.chunks.take();
+
+			while (open && chunk != ChunkChannel.END)
+			{
+				open = output.put(chunk);
+
+				forwarded += chunk.length;
+
+				chunk = task.chunks.take();
+			}
+		}
+		catch (IOException ioe)
+		{
+			if (DEBUG_LOGGING)
+			{
+				logger.debug("Segment at {} is not a gzip member boundary: {}", task.start, ioe.getMessage());
+			}
+
+			resumeOffset = task.start;
+			resumeSkip = forwarded;
+		}
+
+		return open;
+	}
+
+	private class SegmentTask implements Runnable
+	{
+		private final int start;
+		private final int end;
+
+		private final ChunkChannel chunks = new ChunkChannel(SEGMENT_QUEUE_CHUNKS);
+
+		SegmentTask(int start, int end)
+		{
+			this.start = start;
+			this.end = end;
+		}
+
+		@Override
+		public void run()
+		{
+			IOException error = null;
+
+			ByteBuffer segment = compressed.duplicate();
+
+			((Buffer) segment).position(start);
+			((Buffer) segment).limit(end);
+
+			try (InputStream inputStream = new GZIPInputStream(new ByteBufferInputStream(segment),
+					DecompressingInputStream.CHUNK_SIZE))
+			{
+				byte[] chunk = DecompressingInputStream.readChunk(inputStream);
+
+				while (chunk != null && chunks.put(chunk))
+				{
+					chunk = DecompressingInputStream.readChunk(inputStream);
+				}
+			}
+			catch (IOException ioe)
+			{
+				error = ioe;
+			}
+			catch (InterruptedException ie)
+			{
+				Thread.currentThread().interrupt();
+			}
+
+			try
+			{
+				chunks.finish(error);
+			}
+			catch (InterruptedException ie)
+			{
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+
+	private static class ByteBufferInputStream extends InputStream
+	{
+		private final ByteBuffer buffer;
+
+		ByteBufferInputStream(ByteBuffer buffer)
+		{
+			this.buffer = buffer;
+		}
+
+		@Override
+		public int read()
+		{
+			return buffer.hasRemaining() ? buffer.get() & 0xff : -1;
+		}
+
+		@Override
+		public int read(byte[] bytes, int offset, int length)
+		{
+			int result = -1;
+
+			if (length == 0)
+			{
+				result = 0;
+			}
+			else if (buffer.hasRemaining())
+			{
+				result = Math.min(length, buffer.remaining());
+
+				buffer.get(bytes, offset, result);
+			}
+
+			return result;
+		}
+
+		// GZIPInputStream only looks for a following member if bytes are
+		// available
+		@Override
+		public int available()
+		{
+			return buffer.remaining();
+		}
+	}
+}
@@ -0,0 +1,368 @@
+/*
+ * Copyright (c) 2026 Chris Newland.
+ * Licensed under https://github.com/AdoptOpenJDK/jitwatch/blob/master/LICENSE-BSD
+ * Instructions: https://github.com/AdoptOpenJDK/jitwatch/wiki
+ */
+package org.adoptopenjdk.jitwatch.parser;
+
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.C_EQUALS;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.S_NEWLINE;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.adoptopenjdk.jitwatch.model.MemberSignatureCache;
+
+/**
+ * Records how long each phase of a log parse took, how much it read and
+ * created, and how the member signature cache performed.
+ *
+ * Phase times are wall times and phases do not overlap. In a parallel parse
+ * the header, class model and compilation tags are applied while the log is
+ * split so the split and those phases are recorded together as the pipeline
+ * phase.
+ *
+ * The allocation figures come from the parsing thread only so the work done
+ * by the pipeline threads of a parallel parse is not included, they are -1
+ * when the VM cannot measure thread allocation.
+ */
+public class ParseMetrics
+{
+	public static final long UNSUPPORTED = -1;
+
+	private static final long NANOS_PER_MILLI = 1_000_000;
+
+	private static final long NANOS_PER_SECOND = 1_000_000_000;
+
+	public enum ParsePhase
+	{
+		SPLIT("split"), PIPELINE("pipeline"), HEADER("header"), CLASSPATH("classpath"), CLASS_MODEL("class.model"), COMPILATION_TAGS(
+				"compilation.tags"), ASSEMBLY("assembly"), SNAPSHOT_RESTORE("snapshot.restore"), SNAPSHOT_WRITE("snapshot.write");
+
+		private final String key;
+
+		ParsePhase(String key)
+		{
+			this.key = key;
+		}
+
+		public String getKey()
+		{
+			return key;
+		}
+	}
+
+	private static final ParsePhase[] PHASES = ParsePhase.values();
+
+	private final long[] phaseNanos = new long[PHASES.length];
+	private final long[] phaseAllocatedBytes = new long[PHASES.length];
+
+	// 0 while the phase is not running
+	private final long[] phaseStartNanos = new long[PHASES.length];
+	private final long[] phaseStartAllocatedBytes = new long[PHASES.length];
+
+	private long startNanos;
+	private long startAllocatedBytes;
+
+	private long totalNanos;
+	private long allocatedBytes = UNSUPPORTED;
+
+	private long lineCount;
+	private long byteCount;
+	private long tagCount;
+
+	private long signatureCacheHits;
+	private long signatureCacheFailureHits;
+	private long signatureCacheMisses;
+	private long signatureCacheEvictions;
+	private long signatureCacheSize;
+
+	private boolean complete;
+
+	/**
+	 * Clears everything recorded and starts timing a new parse.
+	 */
+	public synchronized void start()
+	{
+		Arrays.fill(phaseNanos, 0);
+		Arrays.fill(phaseAllocatedBytes, 0);
+		Arrays.fill(phaseStartNanos, 0);
+		Arrays.fill(phaseStartAllocatedBytes, 0);
+
+		totalNanos = 0;
+		allocatedBytes = UNSUPPORTED;
+
+		lineCount = 0;
+		byteCount = 0;
+		tagCount = 0;
+
+		signatureCacheHits = 0;
+		signatureCacheFailureHits = 0;
+		signatureCacheMisses = 0;
+		signatureCacheEvictions = 0;
+		signatureCacheSize = 0;
+
+		complete = false;
+
+		startNanos = System.nanoTime();
+		startAllocatedBytes = getThreadAllocatedBytes();
+	}
+
+	public synchronized void startPhase(ParsePhase phase)
+	{
+		int index = phase.ordinal();
+
+		phaseStartNanos[index] = System.nanoTime();
+		phaseStartAllocatedBytes[index] = getThreadAllocatedBytes();
+	}
+
+	/**
+	 * Adds the time since startPhase to the phase so a phase entered more
+	 * than once is the sum of its runs. Ignored if the phase was not started.
+	 */
+	public synchronized void endPhase(ParsePhase phase)
+	{
+		int index = phase.ordinal();
+
+		if (phaseStartNanos[index] != 0)
+		{
+			phaseNanos[index] += System.nanoTime() - phaseStartNanos[index];
+
+			long allocated = getThreadAllocatedBytes();
+
+			if (allocated != UNSUPPORTED)
+			{
+				phaseAllocatedBytes[index] += allocated - phaseStartAllocatedBytes[index];
+			}
+			else
+			{
+				phaseAllocatedBytes[index] = UNSUPPORTED;
+			}
+
+			phaseStartNanos[index] = 0;
+		}
+	}
+
+	/**
+	 * Stops timing the parse started by start()
+	 */
+	public synchronized void complete()
+	{
+		totalNanos = System.nanoTime() - startNanos;
+
+		long allocated = getThreadAllocatedBytes();
+
+		allocatedBytes = (allocated == UNSUPPORTED) ? UNSUPPORTED : allocated - startAllocatedBytes;
+
+		complete = true;
+	}
+
+	public synchronized boolean isComplete()
+	{
+		return complete;
+	}
+
+	public synchronized void setLineCount(long lineCount)
+	{
+		this.lineCount = lineCount;
+	}
+
+	public synchronized void setByteCount(long byteCount)
+	{
+		this.byteCount = byteCount;
+	}
+
+	public synchronized void addTagCount(long count)
+	{
+		tagCount += count;
+	}
+
+	public synchronized void setSignatureCacheStats(MemberSignatureCache cache)
+	{
+		signatureCacheHits = cache.getHitCount();
+		signatureCacheFailureHits = cache.getFailureHitCount();
+		signatureCacheMisses = cache.getMissCount();
+		signatureCacheEvictions = cache.getEvictionCount();
+		signatureCacheSize = cache.size();
+	}
+
+	public synchronized long getPhaseNanos(ParsePhase phase)
+	{
+		return phaseNanos[phase.ordinal()];
+	}
+
+	public synchronized long getPhaseMillis(ParsePhase phase)
+	{
+		return phaseNanos[phase.ordinal()] / NANOS_PER_MILLI;
+	}
+
+	public synchronized long getPhaseAllocatedBytes(ParsePhase phase)
+	{
+		return phaseAllocatedBytes[phase.ordinal()];
+	}
+
+	public synchronized long getTotalNanos()
+	{
+		return totalNanos;
+	}
+
+	public synchronized long getTotalMillis()
+	{
+		return totalNanos / NANOS_PER_MILLI;
+	}
+
+	/**
+	 * @return the bytes allocated by the parsing thread during the parse or
+	 *         UNSUPPORTED
+	 */
+	public synchronized long getAllocatedBytes()
+	{
+		return allocatedBytes;
+	}
+
+	public synchronized long getLineCount()
+	{
+		return lineCount;
+	}
+
+	/**
+	 * @return the size of the log file as stored, compressed if it was
+	 *         compressed, or 0 if the log was read from a Reader
+	 */
+	public synchronized long getByteCount()
+	{
+		return byteCount;
+	}
+
+	/**
+	 * @return the number of Tag objects created while parsing
+	 */
+	public synchronized long getTagCount()
+	{
+		return tagCount;
+	}
+
+	public synchronized long getLinesPerSecond()
+	{
+		return perSecond(lineCount);
+	}
+
+	public synchronized long getBytesPerSecond()
+	{
+		return perSecond(byteCount);
+	}
+
+	public synchronized long getSignatureCacheHits()
+	{
+		return signatureCacheHits;
+	}
+
+	public synchronized long getSignatureCacheFailureHits()
+	{
+		return signatureCacheFailureHits;
+	}
+
+	public synchronized long getSignatureCacheMisses()
+	{
+		return signatureCacheMisses;
+	}
+
+	public synchronized long getSignatureCacheEvictions()
+	{
+		return signatureCacheEvictions;
+	}
+
+	public synchronized long getSignatureCacheSize()
+	{
+		return signatureCacheSize;
+	}
+
+	/**
+	 * @return every metric by a stable key in a fixed order
+	 */
+	public synchronized Map<String, Long> getValues()
+	{
+		Map<String, Long> result = new LinkedHashMap<>();
+
+		result.put("total.ms", getTotalMillis());
+
+		for (ParsePhase phase : PHASES)
+		{
+			result.put("phase." + phase.getKey() + ".ms", getPhaseMillis(phase));
+		}
+
+		result.put("lines", lineCount);
+		result.put("bytes", byteCount);
+		result.put("lines.per.second", getLinesPerSecond());
+		result.put("bytes.per.second", getBytesPerSecond());
+		result.put("tags.created", tagCount);
+		result.put("allocated.bytes", allocatedBytes);
+
+		for (ParsePhase phase : PHASES)
+		{
+			result.put("phase." + phase.getKey() + ".allocated.bytes", getPhaseAllocatedBytes(phase));
+		}
+
+		result.put("signature.cache.hits", signatureCacheHits);
+		result.put("signature.cache.failure.hits", signatureCacheFailureHits);
+		result.put("signature.cache.misses", signatureCacheMisses);
+		result.put("signature.cache.evictions", signatureCacheEvictions);
+		result.put("signature.cache.size", signatureCacheSize);
+
+		return result;
+	}
+
+	/**
+	 * Writes the values as key=value lines which can be read as a properties
+	 * file.
+	 */
+	public void write(File file) throws IOException
+	{
+		StringBuilder builder = new StringBuilder();
+
+		for (Map.Entry<String, Long> entry : getValues().entrySet())
+		{
+			builder.append(entry.getKey()).append(C_EQUALS).append(entry.getValue()).append(S_NEWLINE);
+		}
+
+		Files.write(file.toPath(), builder.toString().getBytes(StandardCharsets.UTF_8));
+	}
+
+	@Override
+	public synchronized String toString()
+	{
+		return "Parsed " + lineCount + " lines (" + byteCount + " bytes) in " + getTotalMillis() + "ms, " + getLinesPerSecond()
+				+ " lines/s, " + tagCount + " tags";
+	}
+
+	private long perSecond(long count)
+	{
+		return totalNanos > 0 ? (long) (count * (double) NANOS_PER_SECOND / totalNanos) : 0;
+	}
+
+	private static long getThreadAllocatedBytes()
+	{
+		long result = UNSUPPORTED;
+
+		ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+
+		if (threadBean instanceof com.sun.management.ThreadMXBean)
+		{
+			com.sun.management.ThreadMXBean allocationBean = (com.sun.management.ThreadMXBean) threadBean;
+
+			if (allocationBean.isThreadAllocatedMemorySupported() && allocationBean.isThreadAllocatedMemoryEnabled())
+			{
+				result = allocationBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+			}
+		}
+
+		return result;
+	}
+}
@@ -7,6 +7,7 @@ package org.adoptopenjdk.jitwatch.parser.hotspot;
 
 import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.ATTR_NAME;
 import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.ATTR_THREAD;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.ATTR_ZOMBIE;
 import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.C_AT;
 import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.C_OPEN_ANGLE;
 import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.C_OPEN_SQUARE_BRACKET;
@@ -16,48 +17,74 @@ import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.LOADED;
 import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.SKIP_BODY_TAGS;
 import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.SKIP_HEADER_TAGS;
 import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.S_AT;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.S_CLOSE_ANGLE;
 import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.S_FILE_COLON;
 import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.S_OPEN_ANGLE;
 import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.S_SLASH;
 import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.S_SPACE;
 import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.TAG_CLOSE_CDATA;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.TAG_CODE_CACHE;
 import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.TAG_CODE_CACHE_FULL;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.TAG_CLOSE_FRAGMENT;
 import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.TAG_COMMAND;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.TAG_DEOPTIMIZED;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.TAG_FAILURE;
 import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.TAG_HOTSPOT_LOG_DONE;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.TAG_MAKE_NOT_ENTRANT;
 import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.TAG_NMETHOD;
 import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.TAG_OPEN_CDATA;
 import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.TAG_OPEN_CLOSE_CDATA;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.TAG_OPEN_FRAGMENT;
 import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.TAG_PRINT_NMETHOD;
 import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.TAG_RELEASE;
 import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.TAG_START_COMPILE_THREAD;
 import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.TAG_SWEEPER;
 import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.TAG_TASK;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.TAG_TASK_DONE;
 import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.TAG_TASK_QUEUED;
 import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.TAG_TTY;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.TAG_UNCOMMON_TRAP;
 import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.TAG_VM_ARGUMENTS;
 import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.TAG_VM_VERSION;
 import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.TAG_WRITER;
 import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.TAG_XML;
 import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.TAG_HOTSPOT_LOG;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.TAG_HOTSPOT_LOG_CLOSE;
 import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.ATTR_TIME_MS;
 
 import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.Reader;
 import java.io.UnsupportedEncodingException;
 import java.net.URLDecoder;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.adoptopenjdk.jitwatch.core.IJITListener;
+import org.adoptopenjdk.jitwatch.loader.ClassLocationIndex;
 import org.adoptopenjdk.jitwatch.model.CodeCacheEvent.CodeCacheEventType;
+import org.adoptopenjdk.jitwatch.model.DeoptEvent.DeoptEventType;
+import org.adoptopenjdk.jitwatch.model.ILazyLoader;
 import org.adoptopenjdk.jitwatch.model.NumberedLine;
 import org.adoptopenjdk.jitwatch.model.Tag;
 import org.adoptopenjdk.jitwatch.model.Task;
 import org.adoptopenjdk.jitwatch.model.assembly.AssemblyProcessor;
 import org.adoptopenjdk.jitwatch.model.assembly.Architecture;
 import org.adoptopenjdk.jitwatch.parser.AbstractLogParser;
+import org.adoptopenjdk.jitwatch.parser.ILogParseErrorListener;
+import org.adoptopenjdk.jitwatch.parser.LogFileFollower;
+import org.adoptopenjdk.jitwatch.parser.MappedLineReader;
+import org.adoptopenjdk.jitwatch.parser.ParseMetrics.ParsePhase;
+import org.adoptopenjdk.jitwatch.parser.hotspot.TagBatchPipeline.NumberedTag;
+import org.adoptopenjdk.jitwatch.util.ClassUtil;
 import org.adoptopenjdk.jitwatch.util.ParseUtil;
 import org.adoptopenjdk.jitwatch.util.StringUtil;
 import org.adoptopenjdk.jitwatch.util.VmVersionDetector;
@@ -71,6 +98,50 @@ public class HotSpotLogParser extends AbstractLogParser
 
     private static Architecture architecture;
 
+    // non-null only while a parallel parse is in progress
+    private TagBatchPipeline tagPipeline = null;
+
+    // with a parallel parse, the classes named by class loading lines that
+    // are not yet queued on the pipeline, and every class queued so far
+    private List<String> pendingClassNames = new ArrayList<>();
+    private final Set<String> queuedClassNames = new HashSet<>();
+
+    // with a parallel parse, the header lines not yet queued on the pipeline
+    // so the split header, which may be spilled to disk, is never re-read
+    private List<NumberedLine> pendingHeaderLines = new ArrayList<>();
+
+    // taken on the parsing thread for the pipeline threads
+    private ClassLoader pipelineClassLoader;
+    private List<String> pipelineClassFileLocations;
+    private ClassLocationIndex pipelineClassIndex;
+
+    // true while following a live log, lines are handled as they are split
+    // instead of being kept in the SplitLog
+    private boolean following = false;
+
+    // classes loaded by each pipeline job when building the class model
+    private static final int CLASS_MODEL_BATCH_SIZE = 256;
+
+    private static final String TASK_LINE_START = S_OPEN_ANGLE + TAG_TASK + S_SPACE;
+    private static final String CLOSING_LINE_START = S_OPEN_ANGLE + S_SLASH;
+    private static final String SELF_CLOSING_LINE_END = S_SLASH + S_CLOSE_ANGLE;
+
+    // the children of a <task> that are parsed when its body is left in the
+    // log, everything the parser itself needs from a task
+    private static final String[] TASK_SUMMARY_LINE_STARTS = new String[] { S_OPEN_ANGLE + TAG_TASK_DONE + S_SPACE,
+            S_OPEN_ANGLE + TAG_CODE_CACHE + S_SPACE, S_OPEN_ANGLE + TAG_FAILURE + S_SPACE };
+
+    // non-null while parsing with lazy task bodies
+    private TaskBodyCache taskBodyCache = null;
+
+    // [start, end) file offsets of each task body left in the log, keyed by
+    // the line number of its closing </task>. With a parallel parse the split
+    // adds ranges while the parsing thread removes them.
+    private final Map<Long, long[]> taskBodyRanges = new ConcurrentHashMap<>();
+
+    private int taskBodyDepth = 0;
+    private long taskBodyStart;
+
     private void checkIfErrorDialogNeeded()
     {
         if (hasParseError)
@@ -88,55 +159,152 @@ public class HotSpotLogParser extends AbstractLogParser
 
         for (NumberedLine numberedLine : splitLog.getHeaderLines())
         {
-            String lineContent = numberedLine.getLine();
+            processHeaderLine(numberedLine);
+        }
+    }
 
-            if (!skipLine(lineContent, SKIP_HEADER_TAGS))
-            {
-                Tag tag = tagProcessor.processLine(lineContent);
+    private void processHeaderLine(NumberedLine numberedLine)
+    {
+        String lineContent = numberedLine.getLine();
 
-                processLineNumber = numberedLine.getLineNumber();
+        if (!skipLine(lineContent, SKIP_HEADER_TAGS))
+        {
+            Tag tag = tagProcessor.processLine(lineContent);
 
-                if (tag != null)
-                {
-                    handleTag(tag);
-                }
-            }
-            else if (lineContent.startsWith(TAG_HOTSPOT_LOG))
-            {
-                long baseTimestamp = getBaseTimestamp(lineContent);
+            processLineNumber = numberedLine.getLineNumber();
 
-                model.setBaseTimestamp(baseTimestamp);
+            if (tag != null)
+            {
+                handleTag(tag);
             }
         }
+        else if (lineContent.startsWith(TAG_HOTSPOT_LOG))
+        {
+            long baseTimestamp = getBaseTimestamp(lineContent);
+
+            model.setBaseTimestamp(baseTimestamp);
+        }
     }
 
     private long getBaseTimestamp(String line)
     {
         String attributePart = line.substring(TAG_HOTSPOT_LOG.length());
 
-        Map<String, String> attrs = StringUtil.attributeStringToMap(attributePart);
-
-        String baseTimestampAttr = attrs.get(ATTR_TIME_MS);
+        String baseTimestampAttr = StringUtil.getAttribute(attributePart, ATTR_TIME_MS);
 
         return ParseUtil.parseStamp(baseTimestampAttr) / 1000;
     }
 
+    // the header, class model and compilation tags of a parallel parse are
+    // applied while the log is split so they are timed as one phase
+    @Override
+    protected ParsePhase getSplitPhase()
+    {
+        return config.isParallelParse() ? ParsePhase.PIPELINE : ParsePhase.SPLIT;
+    }
+
     @Override
     protected void parseLogFile()
     {
+        if (tagPipeline != null)
+        {
+            parseLogFileParallel();
+            return;
+        }
+
+        parseMetrics.startPhase(ParsePhase.HEADER);
         parseHeaderLines();
+        parseMetrics.endPhase(ParsePhase.HEADER);
 
+        parseMetrics.startPhase(ParsePhase.CLASSPATH);
         buildParsedClasspath();
+        parseMetrics.endPhase(ParsePhase.CLASSPATH);
 
-        buildClassModel();
+        if (!config.isLazyClassModel())
+        {
+            parseMetrics.startPhase(ParsePhase.CLASS_MODEL);
+            buildClassModel();
+            parseMetrics.endPhase(ParsePhase.CLASS_MODEL);
+        }
 
+        parseMetrics.startPhase(ParsePhase.COMPILATION_TAGS);
         parseLogCompilationLines();
+        parseMetrics.endPhase(ParsePhase.COMPILATION_TAGS);
 
+        parseMetrics.startPhase(ParsePhase.ASSEMBLY);
         parseAssemblyLines();
+        parseMetrics.endPhase(ParsePhase.ASSEMBLY);
 
         checkIfErrorDialogNeeded();
     }
 
+    // The header, class model and LogCompilation tags were already applied
+    // from the pipeline while the log was split, see splitWithPipeline(), so
+    // only the parsed classpath and the assembly are left.
+    private void parseLogFileParallel()
+    {
+        try
+        {
+            // left by tasks whose member was not found
+            taskBodyRanges.clear();
+
+            parseMetrics.startPhase(ParsePhase.CLASSPATH);
+            buildParsedClasspath();
+            parseMetrics.endPhase(ParsePhase.CLASSPATH);
+
+            parseMetrics.startPhase(ParsePhase.ASSEMBLY);
+            parseAssemblyLines();
+            parseMetrics.endPhase(ParsePhase.ASSEMBLY);
+
+            parseMetrics.addTagCount(tagPipeline.getTagCount());
+
+            checkIfErrorDialogNeeded();
+        }
+        finally
+        {
+            shutdownTagPipeline();
+        }
+    }
+
+    private void handlePipelinedTags(List<NumberedTag> tags)
+    {
+        for (NumberedTag numberedTag : tags)
+        {
+            processLineNumber = numberedTag.getLineNumber();
+
+            handleTag(numberedTag.getTag());
+        }
+    }
+
+    private void shutdownTagPipeline()
+    {
+        if (tagPipeline != null)
+        {
+            tagPipeline.shutdown();
+            tagPipeline = null;
+        }
+
+        pendingClassNames = new ArrayList<>();
+        queuedClassNames.clear();
+        pendingHeaderLines = new ArrayList<>();
+
+        pipelineClassLoader = null;
+        pipelineClassFileLocations = null;
+        pipelineClassIndex = null;
+    }
+
+    @Override
+    public void reset()
+    {
+        super.reset();
+
+        shutdownTagPipeline();
+
+        taskBodyCache = null;
+        taskBodyRanges.clear();
+        taskBodyDepth = 0;
+    }
+
     private void parseLogCompilationLines()
     {
         if (DEBUG_LOGGING)
@@ -146,27 +314,44 @@ public class HotSpotLogParser extends AbstractLogParser
 
         for (NumberedLine numberedLine : splitLog.getCompilationLines())
         {
-            if (!skipLine(numberedLine.getLine(), SKIP_BODY_TAGS))
-            {
-                Tag tag = tagProcessor.processLine(numberedLine.getLine());
+            processCompilationLine(numberedLine);
+        }
 
-                processLineNumber = numberedLine.getLineNumber();
+        // left by tasks whose member was not found
+        taskBodyRanges.clear();
+    }
 
-                if (tag != null)
-                {
-                    handleTag(tag);
-                }
+    private void processCompilationLine(NumberedLine numberedLine)
+    {
+        if (!skipLine(numberedLine.getLine(), SKIP_BODY_TAGS))
+        {
+            Tag tag = tagProcessor.processLine(numberedLine.getLine());
+
+            processLineNumber = numberedLine.getLineNumber();
+
+            if (tag != null)
+            {
+                handleTag(tag);
             }
         }
     }
 
     private void parseAssemblyLines() {
-        AssemblyProcessor asmProcessor;
-
         if (DEBUG_LOGGING_ASSEMBLY) {
             logger.error("parseAssemblyLines()");
         }
 
+        AssemblyProcessor asmProcessor = processAssemblyLines();
+
+        asmProcessor.attachAssemblyToMembers(model.getPackageManager());
+
+        asmProcessor.clear();
+    }
+
+    private AssemblyProcessor processAssemblyLines()
+    {
+        AssemblyProcessor asmProcessor;
+
         if (model.getJDKMajorVersion() > 11) {
             asmProcessor = new AssemblyProcessor(architecture);
         } else
@@ -176,56 +361,615 @@ public class HotSpotLogParser extends AbstractLogParser
 
         for (NumberedLine numberedLine : splitLog.getAssemblyLines())
         {
-            processLineNumber = numberedLine.getLineNumber();
-
             asmProcessor.handleLine(numberedLine.getLine());
         }
 
         asmProcessor.complete();
 
-        asmProcessor.attachAssemblyToMembers(model.getPackageManager());
-
-        asmProcessor.clear();
+        return asmProcessor;
     }
 
-    @Override
-    protected void splitLogFile(Reader hotspotLogReader)
+    private void startSplit()
     {
         reading = true;
 
-        try (BufferedReader reader = new BufferedReader(hotspotLogReader, 65536))
+        if (config.isParallelParse())
+        {
+            tagPipeline = new TagBatchPipeline(config.getEffectiveParseThreads(), TagBatchPipeline.DEFAULT_BATCH_SIZE,
+                    config.isCompactTags(), tagInterner, new TagBatchPipeline.ITagBatchHandler()
+                    {
+                        @Override
+                        public void handleTags(List<NumberedTag> tags)
+                        {
+                            handlePipelinedTags(tags);
+                        }
+                    });
+
+            pipelineClassLoader = ClassUtil.getClassLoader();
+            pipelineClassFileLocations = model.getClassFileLocations();
+            pipelineClassIndex = model.getClassLocationIndex();
+        }
+    }
+
+    private void finishSplit()
+    {
+        if (tagPipeline != null)
         {
-            String currentLine = reader.readLine();
+            queueHeaderLines();
+            queueClassNames();
 
-            while (reading && currentLine != null)
+            tagPipeline.finish();
+        }
+    }
+
+    // With a parallel parse the split runs on its own thread, feeding the
+    // pipeline, while this thread applies the header, the class model and
+    // the tags as they become ready. The model is only ever changed on the
+    // parsing thread, as in a serial parse, and the compilation lines are
+    // never all held at once.
+    private void split(final Runnable splitter)
+    {
+        startSplit();
+
+        if (tagPipeline == null)
+        {
+            splitter.run();
+        }
+        else
+        {
+            splitWithPipeline(splitter);
+        }
+    }
+
+    private void splitWithPipeline(final Runnable splitter)
+    {
+        final AtomicReference<Throwable> splitFailure = new AtomicReference<>();
+
+        Thread splitThread = new Thread(new Runnable()
+        {
+            @Override
+            public void run()
             {
                 try
                 {
-                    String trimmedLine = currentLine.trim();
+                    splitter.run();
+                }
+                catch (Throwable t)
+                {
+                    splitFailure.set(t);
+                }
+
+                try
+                {
+                    finishSplit();
+                }
+                catch (RuntimeException re)
+                {
+                    splitFailure.compareAndSet(null, re);
+                }
+            }
+        }, "JITWatch-split");
+
+        splitThread.setDaemon(true);
+        splitThread.start();
 
-                    if (trimmedLine.length() > 0)
+        boolean applied = false;
+
+        try
+        {
+            tagPipeline.applyAll();
+
+            applied = true;
+        }
+        finally
+        {
+            if (!applied)
+            {
+                // nothing will take from the pipeline so stop the split
+                // rather than leave it waiting
+                reading = false;
+                splitThread.interrupt();
+            }
+
+            try
+            {
+                splitThread.join();
+            }
+            catch (InterruptedException ie)
+            {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        Throwable failure = splitFailure.get();
+
+        if (failure instanceof RuntimeException)
+        {
+            throw (RuntimeException) failure;
+        }
+        else if (failure instanceof Error)
+        {
+            throw (Error) failure;
+        }
+        else if (failure != null)
+        {
+            throw new IllegalStateException("Could not split log file", failure);
+        }
+    }
+
+    // The header is applied before the LogCompilation lines that follow it
+    private void queueHeaderLines()
+    {
+        if (!pendingHeaderLines.isEmpty())
+        {
+            final List<NumberedLine> lines = pendingHeaderLines;
+
+            pendingHeaderLines = new ArrayList<>();
+
+            tagPipeline.addStep(new Runnable()
+            {
+                @Override
+                public void run()
+                {
+                    for (NumberedLine numberedLine : lines)
                     {
-                        char firstChar = trimmedLine.charAt(0);
+                        processHeaderLine(numberedLine);
+                    }
+                }
+            });
+        }
+    }
+
+    private void addPipelineClassName(String line)
+    {
+        String fqClassName = StringUtil.getSubstringBetween(line, LOADED, S_SPACE);
+
+        if (fqClassName != null && queuedClassNames.add(fqClassName))
+        {
+            pendingClassNames.add(fqClassName);
+
+            if (pendingClassNames.size() == CLASS_MODEL_BATCH_SIZE)
+            {
+                queueClassNames();
+            }
+        }
+    }
+
+    // Reading each class file, or loading each class and reflecting over its
+    // members, is the slow part of building the class model so it is done on
+    // the pipeline threads. The MetaClasses are then built on the parsing
+    // thread in log order, before the LogCompilation lines that follow the
+    // class loading lines, so each class is in the model as it would be after
+    // buildClassModel().
+    private void queueClassNames()
+    {
+        if (!pendingClassNames.isEmpty())
+        {
+            final List<String> classNames = pendingClassNames;
 
-                        if (firstChar == C_OPEN_ANGLE || firstChar == C_OPEN_SQUARE_BRACKET || firstChar == C_AT)
+            final ClassLoader classLoader = pipelineClassLoader;
+            final List<String> classFileLocations = pipelineClassFileLocations;
+            final ClassLocationIndex classIndex = pipelineClassIndex;
+
+            pendingClassNames = new ArrayList<>();
+
+            tagPipeline.addStep(new Callable<Runnable>()
+            {
+                @Override
+                public Runnable call()
+                {
+                    final List<LoadedClass> loadedClasses = new ArrayList<>(classNames.size());
+
+                    for (String fqClassName : classNames)
+                    {
+                        loadedClasses.add(loadClassForModel(fqClassName, classFileLocations, classIndex, classLoader));
+                    }
+
+                    return new Runnable()
+                    {
+                        @Override
+                        public void run()
                         {
-                            currentLine = trimmedLine;
+                            for (LoadedClass loadedClass : loadedClasses)
+                            {
+                                addToClassModel(loadedClass);
+                            }
                         }
+                    };
+                }
+            });
+        }
+    }
+
+    @Override
+    protected void splitLogFile(File hotspotLogFile) throws IOException
+    {
+        // lazy task bodies need the file offsets only the mapped reader knows
+        if (!config.isMappedLogReader() && !config.isLazyTaskBodies())
+        {
+            super.splitLogFile(hotspotLogFile);
+            return;
+        }
+
+        final MappedLineReader lineReader = new MappedLineReader(hotspotLogFile);
 
-                        handleLogLine(currentLine);
+        if (config.isLazyTaskBodies())
+        {
+            taskBodyCache = new TaskBodyCache(hotspotLogFile, TaskBodyCache.DEFAULT_CAPACITY, config.isCompactTags(),
+                    tagInterner);
+        }
+
+        split(new Runnable()
+        {
+            @Override
+            public void run()
+            {
+                try
+                {
+                    while (reading && lineReader.nextLine())
+                    {
+                        try
+                        {
+                            splitMappedLine(lineReader);
+                        }
+                        catch (Exception ex)
+                        {
+                            logger.error("Exception handling line {}", parseLineNumber, ex);
+                        }
                     }
                 }
-                catch (Exception ex)
+                catch (IOException ioe)
                 {
-                    logger.error("Exception handling: '{}'", currentLine, ex);
+                    logger.error("Exception while splitting log file", ioe);
+                }
+                finally
+                {
+                    closeLineReader(lineReader);
                 }
-
-                currentLine = reader.readLine();
             }
+        });
+    }
+
+    private void closeLineReader(MappedLineReader lineReader)
+    {
+        try
+        {
+            lineReader.close();
         }
         catch (IOException ioe)
         {
-            logger.error("Exception while splitting log file", ioe);
+            logger.warn("Could not close log file", ioe);
+        }
+    }
+
+    // Same decisions as splitLogFile(Reader) but lines that would be thrown
+    // away by handleLogLine are recognised from their bytes and never decoded
+    private void splitMappedLine(MappedLineReader lineReader)
+    {
+        if (lineReader.isBlank())
+        {
+            return;
+        }
+
+        int firstByte = lineReader.getTrimmedFirstByte();
+
+        boolean useTrimmed = firstByte == C_OPEN_ANGLE || firstByte == C_OPEN_SQUARE_BRACKET || firstByte == C_AT;
+
+        if (!inHeader && isDiscardedBodyLine(lineReader, firstByte, useTrimmed))
+        {
+            parseLineNumber++;
+            return;
+        }
+
+        if (taskBodyCache != null && !inHeader && firstByte == C_OPEN_ANGLE && isLazyTaskBodyLine(lineReader))
+        {
+            parseLineNumber++;
+            return;
+        }
+
+        handleLogLine(useTrimmed ? lineReader.getTrimmedLine() : lineReader.getLine());
+    }
+
+    private boolean isDiscardedBodyLine(MappedLineReader lineReader, int firstByte, boolean useTrimmed)
+    {
+        return firstByte == C_AT || lineReader.startsWith(TAG_OPEN_CDATA, useTrimmed)
+                || lineReader.startsWith(TAG_CLOSE_CDATA, useTrimmed);
+    }
+
+    // Follows the nesting of each <task> block and returns true for the lines
+    // of its body that are left in the log. The task line, its closing line
+    // and the summary children are parsed as usual.
+    private boolean isLazyTaskBodyLine(MappedLineReader lineReader)
+    {
+        boolean lazy = false;
+
+        if (taskBodyDepth == 0)
+        {
+            if (lineReader.startsWith(TASK_LINE_START, true) && !lineReader.endsWith(SELF_CLOSING_LINE_END, true))
+            {
+                taskBodyStart = lineReader.getLineOffset();
+                taskBodyDepth = 1;
+            }
+        }
+        else if (lineReader.startsWith(TAG_OPEN_FRAGMENT, true) || lineReader.startsWith(TAG_CLOSE_FRAGMENT, true))
+        {
+            // the VM exited during the task, parse what was written in full
+            taskBodyDepth = 0;
+        }
+        else if (lineReader.startsWith(CLOSING_LINE_START, true))
+        {
+            taskBodyDepth--;
+
+            if (taskBodyDepth == 0)
+            {
+                taskBodyRanges.put(parseLineNumber, new long[] { taskBodyStart, lineReader.getNextLineOffset() });
+            }
+            else
+            {
+                lazy = true;
+            }
+        }
+        else if (lineReader.endsWith(SELF_CLOSING_LINE_END, true))
+        {
+            lazy = taskBodyDepth > 1 || !isTaskSummaryLine(lineReader);
+        }
+        else
+        {
+            taskBodyDepth++;
+            lazy = true;
+        }
+
+        return lazy;
+    }
+
+    private boolean isTaskSummaryLine(MappedLineReader lineReader)
+    {
+        boolean result = false;
+
+        for (String lineStart : TASK_SUMMARY_LINE_STARTS)
+        {
+            if (lineReader.startsWith(lineStart, true))
+            {
+                result = true;
+                break;
+            }
+        }
+
+        return result;
+    }
+
+    @Override
+    protected ILazyLoader<Task> getTaskBodyLoader()
+    {
+        ILazyLoader<Task> result = null;
+
+        if (taskBodyCache != null)
+        {
+            long[] range = taskBodyRanges.remove(processLineNumber);
+
+            if (range != null)
+            {
+                result = taskBodyCache.getLoader(range[0], range[1]);
+            }
+        }
+
+        return result;
+    }
+
+    @Override
+    protected void splitLogFile(final Reader hotspotLogReader)
+    {
+        split(new Runnable()
+        {
+            @Override
+            public void run()
+            {
+                try (BufferedReader reader = new BufferedReader(hotspotLogReader, 65536))
+                {
+                    String currentLine = reader.readLine();
+
+                    while (reading && currentLine != null)
+                    {
+                        splitReadLine(currentLine);
+
+                        currentLine = reader.readLine();
+                    }
+                }
+                catch (IOException ioe)
+                {
+                    logger.error("Exception while splitting log file", ioe);
+                }
+            }
+        });
+    }
+
+    private void splitReadLine(final String inCurrentLine)
+    {
+        String currentLine = inCurrentLine;
+
+        try
+        {
+            String trimmedLine = currentLine.trim();
+
+            if (trimmedLine.length() > 0)
+            {
+                char firstChar = trimmedLine.charAt(0);
+
+                if (firstChar == C_OPEN_ANGLE || firstChar == C_OPEN_SQUARE_BRACKET || firstChar == C_AT)
+                {
+                    currentLine = trimmedLine;
+                }
+
+                handleLogLine(currentLine);
+            }
+        }
+        catch (Exception ex)
+        {
+            logger.error("Exception handling: '{}'", currentLine, ex);
+        }
+    }
+
+    /**
+     * Follows a LogCompilation file that is still being written by a running
+     * VM. Appended lines are handled as soon as they are complete so the model
+     * is updated and the listener sees each JIT event as it happens.
+     *
+     * Lines are not kept in the SplitLog and assembly is not collected so
+     * memory use does not grow with the length of the log. A truncated log,
+     * for example from a restarted VM, resets the model and is parsed again
+     * from the start.
+     *
+     * Blocks until stopParsing() is called or the closing hotspot_log tag is
+     * read.
+     */
+    @Override
+    public void followLogFile(File logFile, ILogParseErrorListener errorListener) throws IOException
+    {
+        if (!logFile.isFile() || !logFile.canRead())
+        {
+            throw new FileNotFoundException("Cannot read log file " + logFile.getAbsolutePath());
+        }
+
+        startProcessing(errorListener);
+
+        reading = true;
+        following = true;
+
+        try (LogFileFollower follower = new LogFileFollower(logFile))
+        {
+            while (reading)
+            {
+                if (follower.checkTruncated())
+                {
+                    logger.info("Log file {} was truncated, parsing again from the start", logFile);
+
+                    startProcessing(errorListener);
+
+                    reading = true;
+                }
+
+                String currentLine = follower.nextLine();
+
+                if (currentLine != null)
+                {
+                    splitReadLine(currentLine);
+
+                    if (TAG_HOTSPOT_LOG_CLOSE.equals(currentLine.trim()))
+                    {
+                        reading = false;
+                    }
+                }
+                else
+                {
+                    waitForAppend();
+                }
+            }
+        }
+        finally
+        {
+            following = false;
+        }
+
+        checkIfErrorDialogNeeded();
+
+        parseMetrics.setByteCount(logFile.length());
+
+        completeParseMetrics();
+
+        jitListener.handleReadComplete();
+    }
+
+    private void waitForAppend()
+    {
+        try
+        {
+            Thread.sleep(config.getFollowPollMillis());
+        }
+        catch (InterruptedException ie)
+        {
+            Thread.currentThread().interrupt();
+
+            reading = false;
+        }
+    }
+
+    private void addHeaderLine(NumberedLine numberedLine)
+    {
+        if (following)
+        {
+            processHeaderLine(numberedLine);
+        }
+        else
+        {
+            splitLog.addHeaderLine(numberedLine);
+
+            if (tagPipeline != null)
+            {
+                pendingHeaderLines.add(numberedLine);
+            }
+        }
+    }
+
+    private void addCompilationLine(NumberedLine numberedLine)
+    {
+        if (following)
+        {
+            processCompilationLine(numberedLine);
+        }
+        else if (tagPipeline != null)
+        {
+            // classes loaded so far are in the model before these tags
+            queueClassNames();
+
+            if (!skipLine(numberedLine.getLine(), SKIP_BODY_TAGS))
+            {
+                tagPipeline.addLine(numberedLine);
+            }
+        }
+        else
+        {
+            splitLog.addCompilationLine(numberedLine);
+        }
+    }
+
+    private void addClassLoaderLine(NumberedLine numberedLine)
+    {
+        if (following)
+        {
+            String line = numberedLine.getLine();
+
+            int classLocationCount = getParsedClasspath().getClassLocations().size();
+
+            buildParsedClasspath(line);
+
+            // a class from a newly seen location can only be loaded once
+            // the location is on the disposable classpath
+            if (getParsedClasspath().getClassLocations().size() != classLocationCount)
+            {
+                configureDisposableClassLoader();
+            }
+
+            if (!config.isLazyClassModel())
+            {
+                buildClassModel(line);
+            }
+        }
+        else
+        {
+            splitLog.addClassLoaderLine(numberedLine);
+
+            if (tagPipeline != null && !config.isLazyClassModel())
+            {
+                addPipelineClassName(numberedLine.getLine());
+            }
+        }
+    }
+
+    private void addAssemblyLine(NumberedLine numberedLine)
+    {
+        if (!following)
+        {
+            splitLog.addAssemblyLine(numberedLine);
         }
     }
 
@@ -254,6 +998,12 @@ public class HotSpotLogParser extends AbstractLogParser
         if (TAG_TTY.equals(currentLine))
         {
             inHeader = false;
+
+            if (tagPipeline != null)
+            {
+                queueHeaderLines();
+            }
+
             return;
         }
         else if (currentLine.startsWith(TAG_XML))
@@ -264,7 +1014,7 @@ public class HotSpotLogParser extends AbstractLogParser
         if (inHeader)
         {
             // HotSpot log header XML can have text nodes so consume all lines
-            splitLog.addHeaderLine(numberedLine);
+            addHeaderLine(numberedLine);
         }
         else
         {
@@ -276,11 +1026,11 @@ public class HotSpotLogParser extends AbstractLogParser
             else if (currentLine.startsWith(S_OPEN_ANGLE))
             {
                 // After the header, XML nodes do not have text nodes
-                splitLog.addCompilationLine(numberedLine);
+                addCompilationLine(numberedLine);
             }
             else if (currentLine.startsWith(LOADED))
             {
-                splitLog.addClassLoaderLine(numberedLine);
+                addClassLoaderLine(numberedLine);
             }
             else if (currentLine.startsWith(S_AT))
             {
@@ -307,7 +1057,7 @@ public class HotSpotLogParser extends AbstractLogParser
 
                 numberedLine.setLine(assembly);
 
-                splitLog.addAssemblyLine(numberedLine);
+                addAssemblyLine(numberedLine);
 
                 handleLogLine(remainder);
 
@@ -332,14 +1082,14 @@ public class HotSpotLogParser extends AbstractLogParser
 
                 numberedLine.setLine(assembly);
 
-                splitLog.addAssemblyLine(numberedLine);
+                addAssemblyLine(numberedLine);
 
                 handleLogLine(remainder);
 
             }
             else
             {
-                splitLog.addAssemblyLine(numberedLine);
+                addAssemblyLine(numberedLine);
             }
         }
     }
@@ -380,6 +1130,19 @@ public class HotSpotLogParser extends AbstractLogParser
             storeCodeCacheEvent(CodeCacheEventType.CACHE_FULL, tag);
             break;
 
+        case TAG_UNCOMMON_TRAP:
+            storeDeoptEvent(DeoptEventType.UNCOMMON_TRAP, tag);
+            break;
+
+        case TAG_DEOPTIMIZED:
+            storeDeoptEvent(DeoptEventType.DEOPTIMIZED, tag);
+            break;
+
+        case TAG_MAKE_NOT_ENTRANT:
+            storeDeoptEvent(tag.getAttributes().containsKey(ATTR_ZOMBIE) ? DeoptEventType.MAKE_ZOMBIE
+                    : DeoptEventType.MAKE_NOT_ENTRANT, tag);
+            break;
+
         case TAG_HOTSPOT_LOG_DONE:
             model.setEndOfLog(tag);
             break;
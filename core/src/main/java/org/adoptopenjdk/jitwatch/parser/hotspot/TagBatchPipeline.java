@@ -0,0 +1,443 @@
+/*
+ * Copyright (c) 2026 Chris Newland.
+ * Licensed under https://github.com/AdoptOpenJDK/jitwatch/blob/master/LICENSE-BSD
+ * Instructions: https://github.com/AdoptOpenJDK/jitwatch/wiki
+ */
+package org.adoptopenjdk.jitwatch.parser.hotspot;
+
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.C_SPACE;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.S_OPEN_ANGLE;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.TAG_NMETHOD;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.TAG_TASK;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.TAG_TASK_QUEUED;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.adoptopenjdk.jitwatch.core.TagProcessor;
+import org.adoptopenjdk.jitwatch.model.NumberedLine;
+import org.adoptopenjdk.jitwatch.model.Tag;
+import org.adoptopenjdk.jitwatch.model.TagInterner;
+
+/**
+ * Turns LogCompilation lines into Tag trees on a pool of worker threads while
+ * the log is still being split.
+ *
+ * Lines are grouped into batches that are cut before a line opening a tag
+ * that normally appears at the top level of the log, so each batch can be
+ * processed by its own TagProcessor. Batches are applied by a single consumer
+ * in log order which gives exactly the same sequence of tags as the serial
+ * parser.
+ *
+ * Whether a cut really was at the top level is decided by the TagProcessor of
+ * the batch before it. If that processor is still inside a tag the consumer
+ * discards the tags of the next batch and continues the open tag with its
+ * lines instead, so a cut in the wrong place costs time but never tags.
+ *
+ * At most maxBatchesInFlight batches are prepared ahead of the consumer. The
+ * splitting thread blocks in addLine() until the consumer catches up so only
+ * the lines and tags of those batches are held at once, however long the log.
+ */
+public class TagBatchPipeline
+{
+	public static final int DEFAULT_BATCH_SIZE = 4096;
+
+	// per worker thread, enough to keep every worker busy while the consumer
+	// applies the oldest batch
+	private static final int BATCHES_IN_FLIGHT_PER_THREAD = 2;
+
+	private static final AtomicInteger POOL_COUNTER = new AtomicInteger();
+
+	private static final Future<Runnable> END_OF_BATCHES = CompletableFuture.completedFuture(null);
+
+	// tags that HotSpot only writes at the top level of the log
+	private static final String[] TOP_LEVEL_PREFIXES = new String[] { S_OPEN_ANGLE + TAG_TASK_QUEUED + C_SPACE,
+			S_OPEN_ANGLE + TAG_TASK + C_SPACE, S_OPEN_ANGLE + TAG_NMETHOD + C_SPACE };
+
+	private final ExecutorService executor;
+
+	private final int batchSize;
+
+	private final boolean compactTasks;
+
+	private final TagInterner tagInterner;
+
+	private final ITagBatchHandler tagHandler;
+
+	private final BlockingQueue<Future<Runnable>> batches;
+
+	private List<NumberedLine> pendingLines;
+
+	// the processor of the last batch applied if it ended inside a tag,
+	// only used by the consumer thread
+	private TagProcessor openTagProcessor = null;
+
+	private final AtomicLong tagCount = new AtomicLong();
+
+	private final AtomicLong continuedBatchCount = new AtomicLong();
+
+	private boolean finished = false;
+
+	/**
+	 * Applies the tags of each batch on the consumer thread
+	 */
+	public interface ITagBatchHandler
+	{
+		void handleTags(List<NumberedTag> tags);
+	}
+
+	public static class NumberedTag
+	{
+		private final long lineNumber;
+		private final Tag tag;
+
+		public NumberedTag(long lineNumber, Tag tag)
+		{
+			this.lineNumber = lineNumber;
+			this.tag = tag;
+		}
+
+		public long getLineNumber()
+		{
+			return lineNumber;
+		}
+
+		public Tag getTag()
+		{
+			return tag;
+		}
+	}
+
+	public TagBatchPipeline(int threads, int batchSize, boolean compactTasks, TagInterner tagInterner,
+			ITagBatchHandler tagHandler)
+	{
+		this(threads, batchSize, Math.max(1, threads) * BATCHES_IN_FLIGHT_PER_THREAD, compactTasks, tagInterner, tagHandler);
+	}
+
+	/**
+	 * @param maxBatchesInFlight
+	 *            batches submitted but not yet applied by the consumer before
+	 *            addLine() and addStep() block
+	 * @param compactTasks
+	 *            passed to the TagProcessor of each batch
+	 * @param tagInterner
+	 *            shared by the TagProcessor of each batch, may be null
+	 */
+	public TagBatchPipeline(int threads, int batchSize, int maxBatchesInFlight, boolean compactTasks, TagInterner tagInterner,
+			ITagBatchHandler tagHandler)
+	{
+		this.batchSize = Math.max(1, batchSize);
+		this.compactTasks = compactTasks;
+		this.tagInterner = tagInterner;
+		this.tagHandler = tagHandler;
+
+		this.pendingLines = new ArrayList<>(this.batchSize);
+
+		// one more for the end marker so finish() never waits
+		batches = new ArrayBlockingQueue<>(Math.max(1, maxBatchesInFlight) + 1);
+
+		final int poolId = POOL_COUNTER.incrementAndGet();
+
+		executor = Executors.newFixedThreadPool(Math.max(1, threads), new ThreadFactory()
+		{
+			private final AtomicInteger threadCounter = new AtomicInteger();
+
+			@Override
+			public Thread newThread(Runnable runnable)
+			{
+				Thread thread = new Thread(runnable, "JITWatch-parse-" + poolId + "-" + threadCounter.incrementAndGet());
+				thread.setDaemon(true);
+				return thread;
+			}
+		});
+	}
+
+	/**
+	 * Must be called in log order with every line that the serial parser
+	 * would have passed to its TagProcessor. Blocks while the consumer is
+	 * maxBatchesInFlight batches behind.
+	 */
+	public void addLine(NumberedLine numberedLine)
+	{
+		if (pendingLines.size() >= batchSize && opensTopLevelTag(numberedLine.getLine()))
+		{
+			submitPendingLines();
+		}
+
+		pendingLines.add(numberedLine);
+	}
+
+	/**
+	 * Runs the step on a worker and has the consumer run the Runnable it
+	 * returns after the tags of every batch submitted so far. Lines still
+	 * waiting to fill a batch are applied after it. Blocks as for addLine().
+	 */
+	public void addStep(Callable<Runnable> step)
+	{
+		enqueue(executor.submit(step));
+	}
+
+	/**
+	 * As addStep(Callable) for a step with nothing to prepare on a worker.
+	 */
+	public void addStep(Runnable consumerStep)
+	{
+		enqueue(CompletableFuture.completedFuture(consumerStep));
+	}
+
+	/**
+	 * Submits the remaining lines and marks the end of the log for the
+	 * consumer. Called once by the splitting thread.
+	 */
+	public void finish()
+	{
+		if (!finished)
+		{
+			if (!pendingLines.isEmpty())
+			{
+				submitPendingLines();
+			}
+
+			finished = true;
+
+			enqueue(END_OF_BATCHES);
+		}
+	}
+
+	/**
+	 * Work that is not ordered with the batches.
+	 */
+	public <T> Future<T> submit(Callable<T> task)
+	{
+		return executor.submit(task);
+	}
+
+	/**
+	 * Applies each batch and step in log order as it becomes ready until
+	 * finish() has been called and everything before it applied. Called by
+	 * the consumer thread.
+	 *
+	 * If applying fails the remaining batches are still taken, so the
+	 * splitting thread never blocks, and the first failure is thrown once
+	 * the end is reached.
+	 */
+	public void applyAll()
+	{
+		RuntimeException failure = null;
+
+		Future<Runnable> future = takeBatch();
+
+		while (future != END_OF_BATCHES)
+		{
+			if (failure == null)
+			{
+				try
+				{
+					getResult(future).run();
+				}
+				catch (RuntimeException re)
+				{
+					failure = re;
+				}
+			}
+			else
+			{
+				future.cancel(false);
+			}
+
+			future = takeBatch();
+		}
+
+		if (failure != null)
+		{
+			throw failure;
+		}
+	}
+
+	public static <T> T getResult(Future<T> future)
+	{
+		try
+		{
+			return future.get();
+		}
+		catch (InterruptedException ie)
+		{
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while waiting for parse worker", ie);
+		}
+		catch (ExecutionException ee)
+		{
+			Throwable cause = ee.getCause();
+
+			if (cause instanceof RuntimeException)
+			{
+				throw (RuntimeException) cause;
+			}
+			else if (cause instanceof Error)
+			{
+				throw (Error) cause;
+			}
+			else
+			{
+				throw new IllegalStateException("Parse worker failed", cause);
+			}
+		}
+	}
+
+	/**
+	 * @return the number of Tag objects in the batches applied so far
+	 */
+	public long getTagCount()
+	{
+		return tagCount.get();
+	}
+
+	/**
+	 * @return the number of batches that began inside a tag left open by the
+	 *         batch before and were processed again by the consumer
+	 */
+	public long getContinuedBatchCount()
+	{
+		return continuedBatchCount.get();
+	}
+
+	public void shutdown()
+	{
+		executor.shutdownNow();
+
+		batches.clear();
+		pendingLines.clear();
+		openTagProcessor = null;
+	}
+
+	private void submitPendingLines()
+	{
+		final List<NumberedLine> batch = pendingLines;
+
+		pendingLines = new ArrayList<>(batchSize);
+
+		enqueue(executor.submit(new Callable<Runnable>()
+		{
+			@Override
+			public Runnable call()
+			{
+				final TagProcessor tagProcessor = new TagProcessor(compactTasks, tagInterner);
+
+				final List<NumberedTag> tags = processLines(tagProcessor, batch);
+
+				return new Runnable()
+				{
+					@Override
+					public void run()
+					{
+						applyBatch(batch, tagProcessor, tags);
+					}
+				};
+			}
+		}));
+	}
+
+	private void enqueue(Future<Runnable> future)
+	{
+		try
+		{
+			batches.put(future);
+		}
+		catch (InterruptedException ie)
+		{
+			Thread.currentThread().interrupt();
+
+			future.cancel(true);
+
+			throw new IllegalStateException("Interrupted while waiting for the parse consumer", ie);
+		}
+	}
+
+	private Future<Runnable> takeBatch()
+	{
+		try
+		{
+			return batches.take();
+		}
+		catch (InterruptedException ie)
+		{
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while waiting for parse worker", ie);
+		}
+	}
+
+	private void applyBatch(List<NumberedLine> lines, TagProcessor batchProcessor, List<NumberedTag> batchTags)
+	{
+		TagProcessor tagProcessor = batchProcessor;
+
+		List<NumberedTag> tags = batchTags;
+
+		if (openTagProcessor == null)
+		{
+			tagCount.addAndGet(tagProcessor.getTagCount());
+		}
+		else
+		{
+			// the batch was cut inside a tag so its own processor began in the
+			// wrong place, its lines belong to the tag still open before it
+			tagProcessor = openTagProcessor;
+
+			long tagCountBefore = tagProcessor.getTagCount();
+
+			tags = processLines(tagProcessor, lines);
+
+			tagCount.addAndGet(tagProcessor.getTagCount() - tagCountBefore);
+
+			continuedBatchCount.incrementAndGet();
+		}
+
+		openTagProcessor = tagProcessor.isAtTopLevel() ? null : tagProcessor;
+
+		tagHandler.handleTags(tags);
+	}
+
+	private static List<NumberedTag> processLines(TagProcessor tagProcessor, List<NumberedLine> lines)
+	{
+		List<NumberedTag> result = new ArrayList<>();
+
+		for (NumberedLine numberedLine : lines)
+		{
+			Tag tag = tagProcessor.processLine(numberedLine.getLine());
+
+			if (tag != null)
+			{
+				result.add(new NumberedTag(numberedLine.getLineNumber(), tag));
+			}
+		}
+
+		return result;
+	}
+
+	// only a hint for where to cut a batch, the TagProcessor has the final say
+	private static boolean opensTopLevelTag(String line)
+	{
+		boolean result = false;
+
+		for (String prefix : TOP_LEVEL_PREFIXES)
+		{
+			if (line.startsWith(prefix))
+			{
+				result = true;
+				break;
+			}
+		}
+
+		return result;
+	}
+}
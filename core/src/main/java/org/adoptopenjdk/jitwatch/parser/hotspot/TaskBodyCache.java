@@ -0,0 +1,153 @@
+/*
+ * Copyright (c) 2026 Chris Newland.
+ * Licensed under https://github.com/AdoptOpenJDK/jitwatch/blob/master/LICENSE-BSD
+ * Instructions: https://github.com/AdoptOpenJDK/jitwatch/wiki
+ */
+package org.adoptopenjdk.jitwatch.parser.hotspot;
+
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.C_OPEN_ANGLE;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.TAG_CLOSE_CDATA;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.TAG_OPEN_CDATA;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.TAG_OPEN_CLOSE_CDATA;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.adoptopenjdk.jitwatch.core.TagProcessor;
+import org.adoptopenjdk.jitwatch.model.ILazyLoader;
+import org.adoptopenjdk.jitwatch.model.Tag;
+import org.adoptopenjdk.jitwatch.model.TagInterner;
+import org.adoptopenjdk.jitwatch.model.Task;
+import com.chrisnewland.freelogj.Logger;
+import com.chrisnewland.freelogj.LoggerFactory;
+
+/**
+ * Rebuilds <task> tag trees from their byte range in the log. The most
+ * recently used tasks are kept so that moving between the views of one
+ * compilation does not read the log again each time.
+ */
+class TaskBodyCache
+{
+	private static final Logger logger = LoggerFactory.getLogger(TaskBodyCache.class);
+
+	static final int DEFAULT_CAPACITY = 64;
+
+	private final File logFile;
+
+	private final Map<Long, Task> tasks;
+
+	private final boolean compactTasks;
+
+	private final TagInterner tagInterner;
+
+	TaskBodyCache(File logFile, final int capacity, boolean compactTasks, TagInterner tagInterner)
+	{
+		this.logFile = logFile;
+		this.compactTasks = compactTasks;
+		this.tagInterner = tagInterner;
+
+		this.tasks = new LinkedHashMap<Long, Task>(16, 0.75f, true)
+		{
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Long, Task> eldest)
+			{
+				return size() > capacity;
+			}
+		};
+	}
+
+	ILazyLoader<Task> getLoader(final long startOffset, final long endOffset)
+	{
+		return new ILazyLoader<Task>()
+		{
+			@Override
+			public Task load()
+			{
+				return getTask(startOffset, endOffset);
+			}
+		};
+	}
+
+	synchronized Task getTask(long startOffset, long endOffset)
+	{
+		Task result = tasks.get(startOffset);
+
+		if (result == null)
+		{
+			try
+			{
+				result = readTask(startOffset, endOffset);
+			}
+			catch (IOException ioe)
+			{
+				logger.warn("Could not read task at {} in {}", startOffset, logFile, ioe);
+			}
+
+			if (result != null)
+			{
+				tasks.put(startOffset, result);
+			}
+		}
+
+		return result;
+	}
+
+	synchronized int size()
+	{
+		return tasks.size();
+	}
+
+	// the lines are given to a TagProcessor as HotSpotLogParser would have
+	private Task readTask(long startOffset, long endOffset) throws IOException
+	{
+		byte[] bytes = new byte[(int) (endOffset - startOffset)];
+
+		try (RandomAccessFile file = new RandomAccessFile(logFile, "r"))
+		{
+			file.seek(startOffset);
+			file.readFully(bytes);
+		}
+
+		TagProcessor tagProcessor = new TagProcessor(compactTasks, tagInterner);
+
+		Task result = null;
+
+		try (BufferedReader reader = new BufferedReader(new StringReader(new String(bytes, StandardCharsets.UTF_8))))
+		{
+			String line = reader.readLine();
+
+			while (result == null && line != null)
+			{
+				line = line.trim();
+
+				if (!line.isEmpty() && line.charAt(0) == C_OPEN_ANGLE && !line.startsWith(TAG_OPEN_CDATA)
+						&& !line.startsWith(TAG_CLOSE_CDATA) && !line.startsWith(TAG_OPEN_CLOSE_CDATA))
+				{
+					Tag tag = tagProcessor.processLine(line);
+
+					if (tag instanceof Task)
+					{
+						result = (Task) tag;
+					}
+				}
+
+				line = reader.readLine();
+			}
+		}
+
+		if (result == null)
+		{
+			logger.warn("No task found at {} in {}", startOffset, logFile);
+		}
+
+		return result;
+	}
+}
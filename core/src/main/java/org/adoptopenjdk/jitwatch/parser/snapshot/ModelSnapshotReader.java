@@ -0,0 +1,557 @@
+/*
+ * Copyright (c) 2026 Chris Newland.
+ * Licensed under https://github.com/AdoptOpenJDK/jitwatch/blob/master/LICENSE-BSD
+ * Instructions: https://github.com/AdoptOpenJDK/jitwatch/wiki
+ */
+package org.adoptopenjdk.jitwatch.parser.snapshot;
+
+import static org.adoptopenjdk.jitwatch.parser.snapshot.SnapshotFormat.BLOB_WINDOW_SIZE;
+import static org.adoptopenjdk.jitwatch.parser.snapshot.SnapshotFormat.HEADER_LENGTH;
+import static org.adoptopenjdk.jitwatch.parser.snapshot.SnapshotFormat.MAGIC;
+import static org.adoptopenjdk.jitwatch.parser.snapshot.SnapshotFormat.NULL_LENGTH;
+import static org.adoptopenjdk.jitwatch.parser.snapshot.SnapshotFormat.TRAILER_LENGTH;
+import static org.adoptopenjdk.jitwatch.parser.snapshot.SnapshotFormat.VERSION;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.adoptopenjdk.jitwatch.loader.BytecodeLoader;
+import org.adoptopenjdk.jitwatch.model.CodeCacheEvent;
+import org.adoptopenjdk.jitwatch.model.CodeCacheEvent.CodeCacheEventType;
+import org.adoptopenjdk.jitwatch.model.Compilation;
+import org.adoptopenjdk.jitwatch.model.CompilerThread;
+import org.adoptopenjdk.jitwatch.model.DeoptEvent;
+import org.adoptopenjdk.jitwatch.model.DeoptEvent.DeoptEventType;
+import org.adoptopenjdk.jitwatch.model.EventType;
+import org.adoptopenjdk.jitwatch.model.ILazyLoader;
+import org.adoptopenjdk.jitwatch.model.IMetaMember;
+import org.adoptopenjdk.jitwatch.model.JITDataModel;
+import org.adoptopenjdk.jitwatch.model.MetaClass;
+import org.adoptopenjdk.jitwatch.model.Tag;
+import org.adoptopenjdk.jitwatch.model.TagInterner;
+import org.adoptopenjdk.jitwatch.model.Task;
+import org.adoptopenjdk.jitwatch.model.assembly.Architecture;
+import org.adoptopenjdk.jitwatch.model.assembly.AssemblyBlock;
+import org.adoptopenjdk.jitwatch.model.assembly.AssemblyInstruction;
+import org.adoptopenjdk.jitwatch.model.assembly.AssemblyLabels;
+import org.adoptopenjdk.jitwatch.model.assembly.AssemblyMethod;
+import org.adoptopenjdk.jitwatch.util.ClassUtil;
+
+/**
+ * Loads a JITDataModel from a snapshot written by ModelSnapshotWriter.
+ *
+ * The snapshot file is memory-mapped. The index is decoded when the model is
+ * restored but task tag trees and assembly are only decoded from the mapping
+ * when a Compilation first asks for them.
+ *
+ * The class model is rebuilt from the classpath so the classes must still be
+ * loadable. If the snapshot no longer matches the classes an IOException is
+ * thrown and the log should be parsed instead.
+ */
+public class ModelSnapshotReader
+{
+	private final File snapshotFile;
+
+	private final ByteBuffer index;
+
+	private final MappedByteBuffer[] blobWindows;
+
+	private final long logLength;
+	private final long logLastModified;
+
+	private final List<String> configuredClassLocations;
+	private final List<String> parsedClassLocations;
+
+	private final String vmCommand;
+
+	// shares the klass and type entries of the restored tasks
+	private TagInterner tagInterner;
+
+	public ModelSnapshotReader(File snapshotFile) throws IOException
+	{
+		this.snapshotFile = snapshotFile;
+
+		// a mapping stays valid after its channel is closed
+		try (RandomAccessFile file = new RandomAccessFile(snapshotFile, "r"))
+		{
+			FileChannel channel = file.getChannel();
+
+			long fileLength = channel.size();
+
+			if (fileLength < HEADER_LENGTH + TRAILER_LENGTH)
+			{
+				throw new IOException("Snapshot is truncated: " + snapshotFile);
+			}
+
+			ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_LENGTH);
+
+			int magic = header.getInt();
+			int version = header.getInt();
+
+			if (magic != MAGIC || version != VERSION)
+			{
+				throw new IOException("Not a version " + VERSION + " snapshot: " + snapshotFile);
+			}
+
+			ByteBuffer trailer = channel.map(FileChannel.MapMode.READ_ONLY, fileLength - TRAILER_LENGTH, TRAILER_LENGTH);
+
+			long indexOffset = trailer.getLong();
+			int maxBlobLength = trailer.getInt();
+
+			if (trailer.getInt() != MAGIC || indexOffset < HEADER_LENGTH || indexOffset > fileLength - TRAILER_LENGTH)
+			{
+				throw new IOException("Snapshot was not completely written: " + snapshotFile);
+			}
+
+			index = channel.map(FileChannel.MapMode.READ_ONLY, indexOffset, fileLength - TRAILER_LENGTH - indexOffset);
+
+			blobWindows = mapBlobWindows(channel, indexOffset, maxBlobLength);
+		}
+
+		logLength = index.getLong();
+		logLastModified = index.getLong();
+
+		configuredClassLocations = readStrings(index);
+		parsedClassLocations = readStrings(index);
+
+		vmCommand = SnapshotFormat.readString(index);
+	}
+
+	private static MappedByteBuffer[] mapBlobWindows(FileChannel channel, long blobsEnd, int maxBlobLength) throws IOException
+	{
+		int windowCount = (int) ((blobsEnd + BLOB_WINDOW_SIZE - 1) / BLOB_WINDOW_SIZE);
+
+		MappedByteBuffer[] result = new MappedByteBuffer[windowCount];
+
+		for (int i = 0; i < windowCount; i++)
+		{
+			long start = i * BLOB_WINDOW_SIZE;
+
+			long length = Math.min(BLOB_WINDOW_SIZE + maxBlobLength, blobsEnd - start);
+
+			result[i] = channel.map(FileChannel.MapMode.READ_ONLY, start, length);
+		}
+
+		return result;
+	}
+
+	/**
+	 * @return true if the snapshot was written for this version of the log
+	 *         file and the same configured classpath
+	 */
+	public boolean isSnapshotOf(File logFile, List<String> configuredClassLocations)
+	{
+		return logFile.length() == logLength && logFile.lastModified() == logLastModified
+				&& this.configuredClassLocations.equals(configuredClassLocations);
+	}
+
+	public List<String> getParsedClassLocations()
+	{
+		return parsedClassLocations;
+	}
+
+	public String getVMCommand()
+	{
+		return vmCommand;
+	}
+
+	/**
+	 * Adds the snapshot contents to an empty model. The disposable classpath
+	 * must already include the parsed class locations.
+	 *
+	 * @param tagInterner
+	 *            the interner of the parser, or null
+	 */
+	public void restore(JITDataModel model, TagInterner tagInterner) throws IOException
+	{
+		this.tagInterner = tagInterner;
+
+		ByteBuffer buffer = index.duplicate();
+
+		model.setJDKMajorVersion(buffer.getInt());
+		model.setBaseTimestamp(buffer.getLong());
+
+		String endOfLog = SnapshotFormat.readString(buffer);
+
+		if (endOfLog != null)
+		{
+			model.setEndOfLog(SnapshotFormat.parseLines(endOfLog));
+		}
+
+		long[] counters = new long[buffer.getInt()];
+
+		for (int i = 0; i < counters.length; i++)
+		{
+			counters[i] = buffer.getLong();
+		}
+
+		List<MetaClass> classes = restoreClasses(buffer, model);
+
+		List<IMetaMember> members = restoreMembers(buffer, classes);
+
+		restoreCompilerThreads(buffer, model, members);
+
+		restoreEvents(buffer, model, members);
+
+		restoreCodeCacheEvents(buffer, model);
+
+		restoreDeoptEvents(buffer, model, members);
+
+		// building the classes and threads counted them again
+		model.getJITStats().setCounters(counters);
+	}
+
+	private List<MetaClass> restoreClasses(ByteBuffer buffer, JITDataModel model) throws IOException
+	{
+		int classCount = buffer.getInt();
+
+		List<MetaClass> result = new ArrayList<>(classCount);
+
+		for (int i = 0; i < classCount; i++)
+		{
+			String fqClassName = SnapshotFormat.readString(buffer);
+
+			int compiledMethodCount = buffer.getInt();
+
+			MetaClass metaClass = model.getPackageManager().getMetaClass(fqClassName);
+
+			if (metaClass == null)
+			{
+				// built the same way as when the snapshot was written
+				metaClass = BytecodeLoader.buildMetaClassFromClass(model, fqClassName);
+
+				if (metaClass == null)
+				{
+					try
+					{
+						metaClass = model.buildAndGetMetaClass(ClassUtil.loadClassWithoutInitialising(fqClassName));
+					}
+					catch (ClassNotFoundException | LinkageError e)
+					{
+						throw new IOException("Could not load snapshot class " + fqClassName, e);
+					}
+				}
+			}
+
+			for (int c = 0; c < compiledMethodCount; c++)
+			{
+				metaClass.incCompiledMethodCount();
+			}
+
+			if (compiledMethodCount > 0)
+			{
+				metaClass.getPackage().setHasCompiledClasses();
+			}
+
+			result.add(metaClass);
+		}
+
+		return result;
+	}
+
+	private List<IMetaMember> restoreMembers(ByteBuffer buffer, List<MetaClass> classes) throws IOException
+	{
+		int memberCount = buffer.getInt();
+
+		List<IMetaMember> result = new ArrayList<>(memberCount);
+
+		MetaClass lastClass = null;
+		List<IMetaMember> lastClassMembers = null;
+
+		for (int i = 0; i < memberCount; i++)
+		{
+			MetaClass metaClass = classes.get(buffer.getInt());
+
+			int memberIndex = buffer.getInt();
+
+			String memberSignature = SnapshotFormat.readString(buffer);
+
+			// members are written grouped by class
+			if (metaClass != lastClass)
+			{
+				lastClass = metaClass;
+				lastClassMembers = metaClass.getMetaMembers();
+			}
+
+			IMetaMember member = null;
+
+			if (memberIndex >= 0 && memberIndex < lastClassMembers.size())
+			{
+				member = lastClassMembers.get(memberIndex);
+			}
+
+			if (member == null || !member.toString().equals(memberSignature))
+			{
+				throw new IOException("Snapshot member " + memberSignature + " no longer matches class " + metaClass.getFullyQualifiedName());
+			}
+
+			member.setCompiled(buffer.get() != 0);
+
+			int compilationCount = buffer.getInt();
+
+			for (int c = 0; c < compilationCount; c++)
+			{
+				member.storeCompilation(restoreCompilation(buffer, member, c));
+			}
+
+			result.add(member);
+		}
+
+		return result;
+	}
+
+	private Compilation restoreCompilation(ByteBuffer buffer, IMetaMember member, int compilationIndex)
+	{
+		Compilation compilation = new Compilation(member, compilationIndex);
+
+		String tagTaskQueued = SnapshotFormat.readString(buffer);
+		String tagNMethod = SnapshotFormat.readString(buffer);
+		String tagTaskDone = SnapshotFormat.readString(buffer);
+
+		if (tagTaskQueued != null)
+		{
+			compilation.setTagTaskQueued(SnapshotFormat.parseLines(tagTaskQueued));
+		}
+
+		if (tagNMethod != null)
+		{
+			compilation.setTagNMethod(SnapshotFormat.parseLines(tagNMethod));
+		}
+
+		if (buffer.get() != 0)
+		{
+			long stampTaskCompilationStart = buffer.getLong();
+			boolean failedTask = buffer.get() != 0;
+			int bytecodeSize = buffer.getInt();
+
+			final long offset = buffer.getLong();
+			final int length = buffer.getInt();
+
+			compilation.setTagTaskLoader(new ILazyLoader<Task>()
+			{
+				@Override
+				public Task load()
+				{
+					return (Task) SnapshotFormat.parseLines(new String(readBlob(offset, length), StandardCharsets.UTF_8), tagInterner);
+				}
+			}, stampTaskCompilationStart, failedTask, bytecodeSize);
+		}
+
+		if (tagTaskDone != null)
+		{
+			compilation.setTagTaskDone(SnapshotFormat.parseLines(tagTaskDone));
+		}
+
+		if (buffer.get() != 0)
+		{
+			final long offset = buffer.getLong();
+			final int length = buffer.getInt();
+
+			compilation.setAssemblyLoader(new ILazyLoader<AssemblyMethod>()
+			{
+				@Override
+				public AssemblyMethod load()
+				{
+					return decodeAssembly(ByteBuffer.wrap(readBlob(offset, length)));
+				}
+			});
+		}
+
+		return compilation;
+	}
+
+	private void restoreCompilerThreads(ByteBuffer buffer, JITDataModel model, List<IMetaMember> members)
+	{
+		int threadCount = buffer.getInt();
+
+		for (int i = 0; i < threadCount; i++)
+		{
+			String threadId = SnapshotFormat.readString(buffer);
+			String threadName = SnapshotFormat.readString(buffer);
+
+			CompilerThread compilerThread = model.createCompilerThread(threadId, threadName);
+
+			int compilationCount = buffer.getInt();
+
+			for (int c = 0; c < compilationCount; c++)
+			{
+				IMetaMember member = members.get(buffer.getInt());
+
+				compilerThread.addCompilation(member.getCompilations().get(buffer.getInt()));
+			}
+		}
+	}
+
+	private void restoreEvents(ByteBuffer buffer, JITDataModel model, List<IMetaMember> members)
+	{
+		EventType[] eventTypes = EventType.values();
+
+		int eventCount = buffer.getInt();
+
+		for (int i = 0; i < eventCount; i++)
+		{
+			long stamp = buffer.getLong();
+			EventType eventType = eventTypes[buffer.get()];
+			IMetaMember member = members.get(buffer.getInt());
+
+			model.getEventStore().add(stamp, eventType, member);
+		}
+	}
+
+	private void restoreCodeCacheEvents(ByteBuffer buffer, JITDataModel model)
+	{
+		CodeCacheEventType[] eventTypes = CodeCacheEventType.values();
+
+		int eventCount = buffer.getInt();
+
+		for (int i = 0; i < eventCount; i++)
+		{
+			CodeCacheEventType eventType = eventTypes[buffer.get()];
+
+			long stamp = buffer.getLong();
+			long nativeCodeSize = buffer.getLong();
+			long freeCodeCache = buffer.getLong();
+
+			model.addCodeCacheEvent(new CodeCacheEvent(eventType, stamp, nativeCodeSize, freeCodeCache));
+		}
+	}
+
+	private void restoreDeoptEvents(ByteBuffer buffer, JITDataModel model, List<IMetaMember> members)
+	{
+		DeoptEventType[] eventTypes = DeoptEventType.values();
+
+		int eventCount = buffer.getInt();
+
+		for (int i = 0; i < eventCount; i++)
+		{
+			DeoptEventType eventType = eventTypes[buffer.get()];
+
+			long stamp = buffer.getLong();
+			int compileID = buffer.getInt();
+
+			String reason = SnapshotFormat.readString(buffer);
+			String action = SnapshotFormat.readString(buffer);
+			String method = SnapshotFormat.readString(buffer);
+
+			int bci = buffer.getInt();
+
+			Compilation compilation = null;
+
+			int memberIndex = buffer.getInt();
+
+			if (memberIndex != NULL_LENGTH)
+			{
+				compilation = members.get(memberIndex).getCompilation(buffer.getInt());
+			}
+
+			model.addDeoptEvent(new DeoptEvent(eventType, stamp, compileID, reason, action, method, bci, compilation));
+		}
+	}
+
+	private byte[] readBlob(long offset, int length)
+	{
+		int window = (int) (offset / BLOB_WINDOW_SIZE);
+
+		ByteBuffer blob = blobWindows[window].duplicate();
+
+		((Buffer) blob).position((int) (offset - window * BLOB_WINDOW_SIZE));
+
+		byte[] result = new byte[length];
+
+		blob.get(result);
+
+		return result;
+	}
+
+	private AssemblyMethod decodeAssembly(ByteBuffer buffer)
+	{
+		byte architectureOrdinal = buffer.get();
+
+		Architecture architecture = architectureOrdinal == NULL_LENGTH ? null : Architecture.values()[architectureOrdinal];
+
+		AssemblyMethod method = new AssemblyMethod(architecture);
+
+		method.setHeader(SnapshotFormat.readString(buffer));
+		method.setAssemblyMethodSignature(SnapshotFormat.readString(buffer));
+		method.setNativeAddress(SnapshotFormat.readString(buffer));
+		method.setEntryAddress(SnapshotFormat.readString(buffer));
+
+		AssemblyLabels labels = new AssemblyLabels();
+
+		int blockCount = buffer.getInt();
+
+		for (int b = 0; b < blockCount; b++)
+		{
+			AssemblyBlock block = new AssemblyBlock();
+
+			block.setTitle(SnapshotFormat.readString(buffer));
+
+			int instructionCount = buffer.getInt();
+
+			for (int i = 0; i < instructionCount; i++)
+			{
+				String annotation = SnapshotFormat.readString(buffer);
+				long address = buffer.getLong();
+				List<String> prefixes = readStrings(buffer);
+				String mnemonic = SnapshotFormat.readString(buffer);
+				List<String> operands = readStrings(buffer);
+				List<String> commentLines = readStrings(buffer);
+
+				// the parser passes the first comment to the constructor and
+				// adds any others
+				String firstComment = commentLines.isEmpty() ? null : commentLines.get(0);
+
+				AssemblyInstruction instruction = new AssemblyInstruction(annotation, address, prefixes, mnemonic, operands,
+						firstComment, labels);
+
+				for (int c = 1; c < commentLines.size(); c++)
+				{
+					instruction.addCommentLine(commentLines.get(c));
+				}
+
+				labels.newInstruction(instruction);
+
+				block.addInstruction(instruction);
+			}
+
+			method.addBlock(block);
+		}
+
+		labels.buildLabels();
+
+		return method;
+	}
+
+	private static List<String> readStrings(ByteBuffer buffer)
+	{
+		List<String> result = null;
+
+		int count = buffer.getInt();
+
+		if (count != NULL_LENGTH)
+		{
+			result = new ArrayList<>(count);
+
+			for (int i = 0; i < count; i++)
+			{
+				result.add(SnapshotFormat.readString(buffer));
+			}
+		}
+
+		return result;
+	}
+
+	@Override
+	public String toString()
+	{
+		return "ModelSnapshotReader [" + snapshotFile + "]";
+	}
+}
@@ -0,0 +1,499 @@
+/*
+ * Copyright (c) 2026 Chris Newland.
+ * Licensed under https://github.com/AdoptOpenJDK/jitwatch/blob/master/LICENSE-BSD
+ * Instructions: https://github.com/AdoptOpenJDK/jitwatch/wiki
+ */
+package org.adoptopenjdk.jitwatch.parser.snapshot;
+
+import static org.adoptopenjdk.jitwatch.parser.snapshot.SnapshotFormat.HEADER_LENGTH;
+import static org.adoptopenjdk.jitwatch.parser.snapshot.SnapshotFormat.MAGIC;
+import static org.adoptopenjdk.jitwatch.parser.snapshot.SnapshotFormat.NULL_LENGTH;
+import static org.adoptopenjdk.jitwatch.parser.snapshot.SnapshotFormat.VERSION;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.adoptopenjdk.jitwatch.model.CodeCacheEvent;
+import org.adoptopenjdk.jitwatch.model.Compilation;
+import org.adoptopenjdk.jitwatch.model.CompilerThread;
+import org.adoptopenjdk.jitwatch.model.DeoptEvent;
+import org.adoptopenjdk.jitwatch.model.IMetaMember;
+import org.adoptopenjdk.jitwatch.model.IReadOnlyJITEventStore;
+import org.adoptopenjdk.jitwatch.model.JITDataModel;
+import org.adoptopenjdk.jitwatch.model.MetaClass;
+import org.adoptopenjdk.jitwatch.model.MetaPackage;
+import org.adoptopenjdk.jitwatch.model.Tag;
+import org.adoptopenjdk.jitwatch.model.Task;
+import org.adoptopenjdk.jitwatch.model.assembly.AssemblyBlock;
+import org.adoptopenjdk.jitwatch.model.assembly.AssemblyInstruction;
+import org.adoptopenjdk.jitwatch.model.assembly.AssemblyMethod;
+
+/**
+ * Writes a parsed JITDataModel to a snapshot file that ModelSnapshotReader
+ * can load without parsing the log again.
+ *
+ * The snapshot is written to a temporary file and renamed into place so a
+ * reader never sees a partly written snapshot.
+ */
+public class ModelSnapshotWriter
+{
+	private final JITDataModel model;
+
+	private final List<MetaClass> classes = new ArrayList<>();
+
+	private final Map<MetaClass, Integer> classIndexes = new IdentityHashMap<>();
+
+	// getMetaMembers() sorts on every call
+	private final Map<MetaClass, List<IMetaMember>> classMembers = new IdentityHashMap<>();
+
+	private final List<IMetaMember> members = new ArrayList<>();
+
+	private final Map<IMetaMember, Integer> memberIndexes = new IdentityHashMap<>();
+
+	private DataOutputStream blobOutput;
+
+	private long blobOffset;
+
+	private int maxBlobLength;
+
+	private final ByteArrayOutputStream indexBytes = new ByteArrayOutputStream(64 * 1024);
+
+	private final DataOutputStream index = new DataOutputStream(indexBytes);
+
+	public ModelSnapshotWriter(JITDataModel model)
+	{
+		this.model = model;
+	}
+
+	public static File getSnapshotFile(File logFile)
+	{
+		return new File(logFile.getPath() + ".snapshot");
+	}
+
+	public void write(File snapshotFile, File logFile, String vmCommand, List<String> configuredClassLocations,
+			List<String> parsedClassLocations) throws IOException
+	{
+		File tempFile = new File(snapshotFile.getPath() + ".tmp");
+
+		try
+		{
+			try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tempFile), 65536)))
+			{
+				blobOutput = output;
+
+				output.writeInt(MAGIC);
+				output.writeInt(VERSION);
+
+				blobOffset = HEADER_LENGTH;
+
+				writeHeader(logFile, vmCommand, configuredClassLocations, parsedClassLocations);
+
+				writeClasses();
+
+				writeMembers();
+
+				writeCompilerThreads();
+
+				writeEvents();
+
+				writeCodeCacheEvents();
+
+				writeDeoptEvents();
+
+				index.flush();
+
+				long indexOffset = blobOffset;
+
+				indexBytes.writeTo(output);
+
+				output.writeLong(indexOffset);
+				output.writeInt(maxBlobLength);
+				output.writeInt(MAGIC);
+			}
+
+			Files.move(tempFile.toPath(), snapshotFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+		}
+		finally
+		{
+			blobOutput = null;
+
+			Files.deleteIfExists(tempFile.toPath());
+		}
+	}
+
+	private void writeHeader(File logFile, String vmCommand, List<String> configuredClassLocations,
+			List<String> parsedClassLocations) throws IOException
+	{
+		index.writeLong(logFile.length());
+		index.writeLong(logFile.lastModified());
+
+		writeStrings(configuredClassLocations);
+		writeStrings(parsedClassLocations);
+
+		writeString(vmCommand);
+
+		index.writeInt(model.getJDKMajorVersion());
+		index.writeLong(model.getBaseTimestamp());
+
+		Tag endOfLog = model.getEndOfLogTag();
+
+		writeString(endOfLog == null ? null : SnapshotFormat.toLines(endOfLog));
+
+		long[] counters = model.getJITStats().getCounters();
+
+		index.writeInt(counters.length);
+
+		for (long counter : counters)
+		{
+			index.writeLong(counter);
+		}
+	}
+
+	private void writeClasses() throws IOException
+	{
+		for (MetaPackage rootPackage : model.getPackageManager().getRootPackages())
+		{
+			collectClasses(rootPackage);
+		}
+
+		index.writeInt(classes.size());
+
+		for (MetaClass metaClass : classes)
+		{
+			writeString(metaClass.getFullyQualifiedName());
+
+			index.writeInt(metaClass.getCompiledMethodCount());
+		}
+	}
+
+	private void collectClasses(MetaPackage metaPackage)
+	{
+		for (MetaClass metaClass : metaPackage.getPackageClasses())
+		{
+			classIndexes.put(metaClass, classes.size());
+			classes.add(metaClass);
+		}
+
+		for (MetaPackage childPackage : metaPackage.getChildPackages())
+		{
+			collectClasses(childPackage);
+		}
+	}
+
+	private void writeMembers() throws IOException
+	{
+		for (MetaClass metaClass : classes)
+		{
+			for (IMetaMember member : getMetaMembers(metaClass))
+			{
+				if (!member.getCompilations().isEmpty())
+				{
+					addMember(member);
+				}
+			}
+		}
+
+		IReadOnlyJITEventStore events = model.getEventStore();
+
+		int eventCount = events.size();
+
+		for (int i = 0; i < eventCount; i++)
+		{
+			addMember(events.getMember(i));
+		}
+
+		index.writeInt(members.size());
+
+		for (IMetaMember member : members)
+		{
+			MetaClass metaClass = member.getMetaClass();
+
+			index.writeInt(classIndexes.get(metaClass));
+			index.writeInt(getMetaMembers(metaClass).indexOf(member));
+			writeString(member.toString());
+
+			index.writeBoolean(member.isCompiled());
+
+			List<Compilation> compilations = member.getCompilations();
+
+			index.writeInt(compilations.size());
+
+			for (Compilation compilation : compilations)
+			{
+				writeCompilation(compilation);
+			}
+		}
+	}
+
+	private List<IMetaMember> getMetaMembers(MetaClass metaClass)
+	{
+		List<IMetaMember> result = classMembers.get(metaClass);
+
+		if (result == null)
+		{
+			result = metaClass.getMetaMembers();
+
+			classMembers.put(metaClass, result);
+		}
+
+		return result;
+	}
+
+	private void addMember(IMetaMember member) throws IOException
+	{
+		if (!memberIndexes.containsKey(member))
+		{
+			if (!classIndexes.containsKey(member.getMetaClass()))
+			{
+				throw new IOException("Member " + member + " does not belong to a class in the model");
+			}
+
+			memberIndexes.put(member, members.size());
+			members.add(member);
+		}
+	}
+
+	private void writeCompilation(Compilation compilation) throws IOException
+	{
+		writeTag(compilation.getTagTaskQueued());
+		writeTag(compilation.getTagNMethod());
+		writeTag(compilation.getTagTaskDone());
+
+		Task task = compilation.getTagTask();
+
+		index.writeBoolean(task != null);
+
+		if (task != null)
+		{
+			index.writeLong(compilation.getStampTaskCompilationStart());
+			index.writeBoolean(compilation.isFailed());
+			index.writeInt(getBytecodeSize(compilation));
+
+			writeBlob(SnapshotFormat.toLines(task).getBytes(StandardCharsets.UTF_8));
+		}
+
+		AssemblyMethod assembly = compilation.getAssembly();
+
+		index.writeBoolean(assembly != null);
+
+		if (assembly != null)
+		{
+			writeBlob(encodeAssembly(assembly));
+		}
+	}
+
+	private int getBytecodeSize(Compilation compilation)
+	{
+		int result = 0;
+
+		try
+		{
+			result = compilation.getBytecodeSize();
+		}
+		catch (NumberFormatException nfe)
+		{
+			// task without a bytes attribute
+		}
+
+		return result;
+	}
+
+	private void writeCompilerThreads() throws IOException
+	{
+		List<CompilerThread> compilerThreads = model.getCompilerThreads();
+
+		index.writeInt(compilerThreads.size());
+
+		for (CompilerThread compilerThread : compilerThreads)
+		{
+			writeString(compilerThread.getThreadId());
+			writeString(compilerThread.getThreadName());
+
+			List<Compilation> compilations = compilerThread.getCompilations();
+
+			index.writeInt(compilations.size());
+
+			for (Compilation compilation : compilations)
+			{
+				index.writeInt(memberIndexes.get(compilation.getMember()));
+				index.writeInt(compilation.getIndex());
+			}
+		}
+	}
+
+	private void writeEvents() throws IOException
+	{
+		IReadOnlyJITEventStore events = model.getEventStore();
+
+		int eventCount = events.size();
+
+		index.writeInt(eventCount);
+
+		for (int i = 0; i < eventCount; i++)
+		{
+			index.writeLong(events.getStamp(i));
+			index.writeByte(events.getEventType(i).ordinal());
+			index.writeInt(memberIndexes.get(events.getMember(i)));
+		}
+	}
+
+	private void writeCodeCacheEvents() throws IOException
+	{
+		List<CodeCacheEvent> codeCacheEvents = model.getCodeCacheEvents();
+
+		index.writeInt(codeCacheEvents.size());
+
+		for (CodeCacheEvent event : codeCacheEvents)
+		{
+			index.writeByte(event.getEventType().ordinal());
+			index.writeLong(event.getStamp());
+			index.writeLong(event.getNativeCodeSize());
+			index.writeLong(event.getFreeCodeCache());
+		}
+	}
+
+	private void writeDeoptEvents() throws IOException
+	{
+		List<DeoptEvent> deoptEvents = model.getDeoptEvents().getEvents();
+
+		index.writeInt(deoptEvents.size());
+
+		for (DeoptEvent event : deoptEvents)
+		{
+			index.writeByte(event.getEventType().ordinal());
+			index.writeLong(event.getStamp());
+			index.writeInt(event.getCompileID());
+
+			writeString(event.getReason());
+			writeString(event.getAction());
+			writeString(event.getMethod());
+
+			index.writeInt(event.getBCI());
+
+			Compilation compilation = event.getCompilation();
+
+			if (compilation != null)
+			{
+				index.writeInt(memberIndexes.get(compilation.getMember()));
+				index.writeInt(compilation.getIndex());
+			}
+			else
+			{
+				index.writeInt(NULL_LENGTH);
+			}
+		}
+	}
+
+	private byte[] encodeAssembly(AssemblyMethod assembly) throws IOException
+	{
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream(4096);
+
+		DataOutputStream output = new DataOutputStream(bytes);
+
+		output.writeByte(assembly.getArchitecture() == null ? NULL_LENGTH : assembly.getArchitecture().ordinal());
+
+		writeString(output, assembly.getHeader());
+		writeString(output, assembly.getAssemblyMethodSignature());
+		writeString(output, assembly.getNativeAddress());
+		writeString(output, assembly.getEntryAddress());
+
+		List<AssemblyBlock> blocks = assembly.getBlocks();
+
+		output.writeInt(blocks.size());
+
+		for (AssemblyBlock block : blocks)
+		{
+			writeString(output, block.getTitle());
+
+			List<AssemblyInstruction> instructions = block.getInstructions();
+
+			output.writeInt(instructions.size());
+
+			for (AssemblyInstruction instruction : instructions)
+			{
+				writeString(output, instruction.getAnnotation());
+				output.writeLong(instruction.getAddress());
+				writeStrings(output, instruction.getPrefixes());
+				writeString(output, instruction.getMnemonic());
+				writeStrings(output, instruction.getOperands());
+				writeStrings(output, instruction.getCommentLines());
+			}
+		}
+
+		output.flush();
+
+		return bytes.toByteArray();
+	}
+
+	// the index records where the blob is, the blob itself goes straight to
+	// the file so the large parts of the model are never copied in memory
+	private void writeBlob(byte[] blob) throws IOException
+	{
+		index.writeLong(blobOffset);
+		index.writeInt(blob.length);
+
+		blobOutput.write(blob);
+
+		blobOffset += blob.length;
+
+		maxBlobLength = Math.max(maxBlobLength, blob.length);
+	}
+
+	private void writeTag(Tag tag) throws IOException
+	{
+		writeString(tag == null ? null : SnapshotFormat.toLines(tag));
+	}
+
+	private void writeString(String value) throws IOException
+	{
+		writeString(index, value);
+	}
+
+	private void writeStrings(List<String> values) throws IOException
+	{
+		writeStrings(index, values);
+	}
+
+	private static void writeString(DataOutputStream output, String value) throws IOException
+	{
+		if (value == null)
+		{
+			output.writeInt(NULL_LENGTH);
+		}
+		else
+		{
+			byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+
+			output.writeInt(bytes.length);
+			output.write(bytes);
+		}
+	}
+
+	private static void writeStrings(DataOutputStream output, List<String> values) throws IOException
+	{
+		if (values == null)
+		{
+			output.writeInt(NULL_LENGTH);
+		}
+		else
+		{
+			output.writeInt(values.size());
+
+			for (String value : values)
+			{
+				writeString(output, value);
+			}
+		}
+	}
+}
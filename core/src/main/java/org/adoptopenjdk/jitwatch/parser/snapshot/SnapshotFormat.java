@@ -0,0 +1,128 @@
+/*
+ * Copyright (c) 2026 Chris Newland.
+ * Licensed under https://github.com/AdoptOpenJDK/jitwatch/blob/master/LICENSE-BSD
+ * Instructions: https://github.com/AdoptOpenJDK/jitwatch/wiki
+ */
+package org.adoptopenjdk.jitwatch.parser.snapshot;
+
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.C_NEWLINE;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.C_OPEN_ANGLE;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.S_NEWLINE;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import org.adoptopenjdk.jitwatch.core.TagProcessor;
+import org.adoptopenjdk.jitwatch.model.Tag;
+import org.adoptopenjdk.jitwatch.model.TagInterner;
+
+/**
+ * Layout of a model snapshot file:
+ *
+ * <pre>
+ * int MAGIC, int VERSION
+ * blobs    task tag trees and assembly, read lazily
+ * index    everything else, read when the snapshot is opened
+ * long indexOffset, int maxBlobLength, int MAGIC
+ * </pre>
+ *
+ * Tag trees are stored as the LogCompilation lines they were parsed from so
+ * that TagProcessor rebuilds them exactly, including the parse dictionary of
+ * a Task.
+ */
+final class SnapshotFormat
+{
+	static final int MAGIC = 0x4A575350; // JWSP
+
+	static final int VERSION = 2;
+
+	static final int HEADER_LENGTH = 8;
+
+	static final int TRAILER_LENGTH = 16;
+
+	// blobs are mapped in windows of this size, each extended by the largest
+	// blob so that any blob starting in a window is wholly inside it
+	static final long BLOB_WINDOW_SIZE = 1L << 30;
+
+	static final int NULL_LENGTH = -1;
+
+	private SnapshotFormat()
+	{
+	}
+
+	static String toLines(Tag tag)
+	{
+		StringBuilder builder = new StringBuilder();
+
+		appendLines(tag, builder);
+
+		return builder.toString();
+	}
+
+	private static void appendLines(Tag tag, StringBuilder builder)
+	{
+		if (builder.length() > 0)
+		{
+			builder.append(C_NEWLINE);
+		}
+
+		builder.append(C_OPEN_ANGLE).append(tag.getName()).append(tag.getAttributeString());
+
+		if (!tag.isSelfClosing())
+		{
+			for (Tag child : tag.getChildren())
+			{
+				appendLines(child, builder);
+			}
+
+			if (tag.getTextContent() != null)
+			{
+				builder.append(C_NEWLINE).append(tag.getTextContent());
+			}
+
+			builder.append(C_NEWLINE).append(tag.getClosingTag());
+		}
+	}
+
+	static Tag parseLines(String lines)
+	{
+		return parseLines(lines, null);
+	}
+
+	static Tag parseLines(String lines, TagInterner tagInterner)
+	{
+		Tag result = null;
+
+		TagProcessor tagProcessor = new TagProcessor(false, tagInterner);
+
+		for (String line : lines.split(S_NEWLINE))
+		{
+			Tag tag = tagProcessor.processLine(line);
+
+			if (tag != null)
+			{
+				result = tag;
+			}
+		}
+
+		return result;
+	}
+
+	static String readString(ByteBuffer buffer)
+	{
+		String result = null;
+
+		int length = buffer.getInt();
+
+		if (length != NULL_LENGTH)
+		{
+			byte[] bytes = new byte[length];
+
+			buffer.get(bytes);
+
+			result = new String(bytes, StandardCharsets.UTF_8);
+		}
+
+		return result;
+	}
+}
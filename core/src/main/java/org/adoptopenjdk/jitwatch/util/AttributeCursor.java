@@ -0,0 +1,246 @@
+/*
+ * Copyright (c) 2026 Chris Newland.
+ * Licensed under https://github.com/AdoptOpenJDK/jitwatch/blob/master/LICENSE-BSD
+ * Instructions: https://github.com/AdoptOpenJDK/jitwatch/wiki
+ */
+package org.adoptopenjdk.jitwatch.util;
+
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.C_EQUALS;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.C_QUOTE;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.C_SPACE;
+
+/**
+ * Reusable, allocation-free iterator over the name='value' attributes of a
+ * LogCompilation line. The cursor only records offsets into the line, Strings
+ * are created when getKey() or getValue() are called.
+ *
+ * The tokenising rules are those of StringUtil.attributeStringToMap(): a key
+ * is the text after the last space outside a value with any '=' removed and a
+ * value is everything between a pair of single quotes.
+ */
+public final class AttributeCursor
+{
+	private CharSequence line;
+	private int length;
+	private int position;
+
+	private int keyStart;
+	private int keyEnd;
+	private int valueStart;
+	private int valueEnd;
+
+	public AttributeCursor reset(CharSequence line)
+	{
+		this.line = line;
+		this.length = (line == null) ? 0 : line.length();
+		this.position = 0;
+
+		keyStart = keyEnd = valueStart = valueEnd = -1;
+
+		return this;
+	}
+
+	/**
+	 * Advances to the next complete attribute.
+	 *
+	 * @return false when there are no more attributes
+	 */
+	public boolean next()
+	{
+		int currentKeyStart = position;
+
+		for (int i = position; i < length; i++)
+		{
+			char c = line.charAt(i);
+
+			if (c == C_SPACE)
+			{
+				currentKeyStart = i + 1;
+			}
+			else if (c == C_QUOTE)
+			{
+				int close = indexOfQuote(line, i + 1, length);
+
+				if (close == -1)
+				{
+					break;
+				}
+
+				keyStart = currentKeyStart;
+				keyEnd = i;
+				valueStart = i + 1;
+				valueEnd = close;
+
+				position = close + 1;
+
+				return true;
+			}
+		}
+
+		position = length;
+
+		return false;
+	}
+
+	public boolean keyEquals(String name)
+	{
+		return keyEquals(line, keyStart, keyEnd, name);
+	}
+
+	/**
+	 * @return the same value as getKey().hashCode() without creating the key
+	 */
+	public int keyHash()
+	{
+		int hash = 0;
+
+		for (int i = keyStart; i < keyEnd; i++)
+		{
+			char c = line.charAt(i);
+
+			if (c != C_EQUALS)
+			{
+				hash = 31 * hash + c;
+			}
+		}
+
+		return hash;
+	}
+
+	public int getValueStart()
+	{
+		return valueStart;
+	}
+
+	public int getValueEnd()
+	{
+		return valueEnd;
+	}
+
+	public String getKey()
+	{
+		StringBuilder builder = null;
+
+		for (int i = keyStart; i < keyEnd; i++)
+		{
+			if (line.charAt(i) == C_EQUALS)
+			{
+				builder = new StringBuilder(keyEnd - keyStart);
+				break;
+			}
+		}
+
+		if (builder == null)
+		{
+			return line.subSequence(keyStart, keyEnd).toString();
+		}
+
+		for (int i = keyStart; i < keyEnd; i++)
+		{
+			char c = line.charAt(i);
+
+			if (c != C_EQUALS)
+			{
+				builder.append(c);
+			}
+		}
+
+		return builder.toString();
+	}
+
+	public String getValue()
+	{
+		return line.subSequence(valueStart, valueEnd).toString();
+	}
+
+	/**
+	 * Finds a single attribute without iterating with a cursor. As with
+	 * attributeStringToMap() the last of any repeated keys wins.
+	 *
+	 * @return the offset of the first character of the value or -1 if the
+	 *         attribute is not present. The value ends at the next single
+	 *         quote.
+	 */
+	public static int indexOfValue(CharSequence line, String name)
+	{
+		if (line == null)
+		{
+			return -1;
+		}
+
+		int length = line.length();
+
+		int result = -1;
+
+		int currentKeyStart = 0;
+
+		for (int i = 0; i < length; i++)
+		{
+			char c = line.charAt(i);
+
+			if (c == C_SPACE)
+			{
+				currentKeyStart = i + 1;
+			}
+			else if (c == C_QUOTE)
+			{
+				int close = indexOfQuote(line, i + 1, length);
+
+				if (close == -1)
+				{
+					break;
+				}
+
+				if (keyEquals(line, currentKeyStart, i, name))
+				{
+					result = i + 1;
+				}
+
+				i = close;
+				currentKeyStart = close + 1;
+			}
+		}
+
+		return result;
+	}
+
+	public static int indexOfQuote(CharSequence line, int from, int to)
+	{
+		for (int i = from; i < to; i++)
+		{
+			if (line.charAt(i) == C_QUOTE)
+			{
+				return i;
+			}
+		}
+
+		return -1;
+	}
+
+	// compares ignoring '=' to match the key building in attributeStringToMap
+	private static boolean keyEquals(CharSequence line, int start, int end, String name)
+	{
+		int nameLength = name.length();
+
+		int nameIndex = 0;
+
+		for (int i = start; i < end; i++)
+		{
+			char c = line.charAt(i);
+
+			if (c == C_EQUALS)
+			{
+				continue;
+			}
+
+			if (nameIndex == nameLength || c != name.charAt(nameIndex))
+			{
+				return false;
+			}
+
+			nameIndex++;
+		}
+
+		return nameIndex == nameLength;
+	}
+}
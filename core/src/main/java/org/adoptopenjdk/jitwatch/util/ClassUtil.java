@@ -6,6 +6,8 @@
 package org.adoptopenjdk.jitwatch.util;
 
 import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.*;
+import org.adoptopenjdk.jitwatch.loader.ClassFileReader;
+import org.adoptopenjdk.jitwatch.loader.ClassLocationIndex;
 import org.adoptopenjdk.jitwatch.loader.DisposableURLClassLoader;
 import com.chrisnewland.freelogj.Logger;
 import com.chrisnewland.freelogj.LoggerFactory;
@@ -21,6 +23,9 @@ public final class ClassUtil
 {
 	private static DisposableURLClassLoader disposableClassLoader = new DisposableURLClassLoader(new ArrayList<URL>());
 
+	// set for threads that each parse their own log at the same time
+	private static final ThreadLocal<DisposableURLClassLoader[]> threadClassLoader = new ThreadLocal<>();
+
 	private static final Logger logger = LoggerFactory.getLogger(ClassUtil.class);
 
 	public static void main(String[] args) throws ClassNotFoundException
@@ -33,6 +38,16 @@ public final class ClassUtil
 	}
 
 	public static void initialise(final List<URL> urls)
+	{
+		initialise(urls, null);
+	}
+
+	/**
+	 * @param classIndex
+	 *            the classes in the urls or null to search each url for a
+	 *            class
+	 */
+	public static void initialise(final List<URL> urls, ClassLocationIndex classIndex)
 	{
 		if (DEBUG_LOGGING_CLASSPATH)
 		{
@@ -42,7 +57,50 @@ public final class ClassUtil
 			}
 		}
 
-		disposableClassLoader = new DisposableURLClassLoader(urls);
+		DisposableURLClassLoader classLoader = new DisposableURLClassLoader(urls, classIndex);
+
+		DisposableURLClassLoader[] threadHolder = threadClassLoader.get();
+
+		if (threadHolder != null)
+		{
+			threadHolder[0] = classLoader;
+		}
+		else
+		{
+			disposableClassLoader = classLoader;
+		}
+	}
+
+	/**
+	 * Gives the calling thread its own disposable class loader so that it can
+	 * parse a log while other threads parse theirs. Until
+	 * releaseCurrentThread() is called, initialise(), clear() and class
+	 * loading on this thread only use that loader.
+	 */
+	public static void confineToCurrentThread()
+	{
+		threadClassLoader.set(new DisposableURLClassLoader[] { new DisposableURLClassLoader(new ArrayList<URL>()) });
+	}
+
+	public static void releaseCurrentThread()
+	{
+		if (threadClassLoader.get() != null)
+		{
+			clear();
+
+			threadClassLoader.remove();
+		}
+	}
+
+	/**
+	 * @return the loader used for classes on the calling thread, for handing
+	 *         to worker threads that load classes on its behalf
+	 */
+	public static DisposableURLClassLoader getClassLoader()
+	{
+		DisposableURLClassLoader[] threadHolder = threadClassLoader.get();
+
+		return threadHolder != null ? threadHolder[0] : disposableClassLoader;
 	}
 
 	public static Class<?> loadClassWithoutInitialising(String fqClassName) throws ClassNotFoundException
@@ -52,7 +110,7 @@ public final class ClassUtil
 			logger.debug("loadClassWithoutInitialising '{}'", fqClassName);
 		}
 
-		return Class.forName(fqClassName, false, disposableClassLoader);
+		return Class.forName(fqClassName, false, getClassLoader());
 	}
 
 	public static Class<?> loadClassWithoutInitialising(String fqClassName, ClassLoader classLoader) throws ClassNotFoundException
@@ -71,17 +129,33 @@ public final class ClassUtil
 
 	public static void clear()
 	{
-		if (disposableClassLoader != null)
+		DisposableURLClassLoader classLoader = getClassLoader();
+
+		if (classLoader != null)
 		{
 			try
 			{
-				disposableClassLoader.close();
+				classLoader.close();
 			}
 			catch (IOException e)
 			{
 				logger.warn("Could not close the DisposableURLClassLoader", e);
 			}
 		}
-		disposableClassLoader = null;
+
+		DisposableURLClassLoader[] threadHolder = threadClassLoader.get();
+
+		if (threadHolder != null)
+		{
+			threadHolder[0] = null;
+		}
+		else
+		{
+			disposableClassLoader = null;
+
+			// the jars are shared by every thread so only closed with the
+			// shared loader
+			ClassFileReader.closeJars();
+		}
 	}
 }
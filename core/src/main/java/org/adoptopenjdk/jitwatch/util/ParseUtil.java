@@ -64,10 +64,12 @@ import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 import org.adoptopenjdk.jitwatch.core.JITWatchConstants;
+import org.adoptopenjdk.jitwatch.loader.BytecodeLoader;
 import org.adoptopenjdk.jitwatch.model.IMetaMember;
 import org.adoptopenjdk.jitwatch.model.IParseDictionary;
 import org.adoptopenjdk.jitwatch.model.IReadOnlyJITDataModel;
 import org.adoptopenjdk.jitwatch.model.LogParseException;
+import org.adoptopenjdk.jitwatch.model.MemberSignatureCache;
 import org.adoptopenjdk.jitwatch.model.MemberSignatureParts;
 import org.adoptopenjdk.jitwatch.model.MetaClass;
 import org.adoptopenjdk.jitwatch.model.PackageManager;
@@ -347,13 +349,35 @@ public final class ParseUtil
 
 		if (logSignature != null)
 		{
-			MemberSignatureParts msp = MemberSignatureParts.fromLogCompilationSignature(logSignature);
+			MemberSignatureCache cache = model.getMemberSignatureCache();
 
-			metaMember = model.findMetaMember(msp);
+			metaMember = cache.getMember(logSignature);
 
 			if (metaMember == null)
 			{
-				throw new LogParseException("MetaMember not found for " + logSignature);
+				String[] parts = null;
+
+				try
+				{
+					parts = cache.splitSignature(logSignature);
+
+					MemberSignatureParts msp = MemberSignatureParts.fromLogCompilationSignature(logSignature, parts, cache);
+
+					metaMember = model.findMetaMember(msp);
+
+					if (metaMember == null)
+					{
+						throw new LogParseException("MetaMember not found for " + logSignature);
+					}
+				}
+				catch (LogParseException lpe)
+				{
+					cache.putFailure(logSignature, parts, lpe.getMessage());
+
+					throw lpe;
+				}
+
+				cache.putMember(logSignature, metaMember);
 			}
 		}
 
@@ -1108,33 +1132,40 @@ public final class ParseUtil
 			logger.debug("metaClass not found: {}. Attempting classload", metaClassName);
 		}
 
-		MetaClass metaClass = null;
+		MetaClass metaClass = BytecodeLoader.buildMetaClassFromClass(model, metaClassName);
 
-		try
+		if (metaClass == null)
 		{
-			Class<?> clazz = ClassUtil.loadClassWithoutInitialising(metaClassName);
+			try
+			{
+				Class<?> clazz = ClassUtil.loadClassWithoutInitialising(metaClassName);
 
-			if (clazz != null)
+				if (clazz != null)
+				{
+					metaClass = model.buildAndGetMetaClass(clazz);
+				}
+			}
+			catch (ClassNotFoundException cnf)
 			{
-				metaClass = model.buildAndGetMetaClass(clazz);
+				if (!possibleLambdaMethod(metaClassName))
+				{
+					logger.error("ClassNotFoundException: '" + metaClassName + C_QUOTE);
+				}
 			}
-		}
-		catch (ClassNotFoundException cnf)
-		{
-			if (!possibleLambdaMethod(metaClassName))
+			catch (NoClassDefFoundError ncdf)
 			{
-				logger.error("ClassNotFoundException: '" + metaClassName + C_QUOTE);
+				logger.error("NoClassDefFoundError: '" + metaClassName + C_SPACE + ncdf.getMessage() + C_QUOTE);
 			}
-		}
-		catch (NoClassDefFoundError ncdf)
-		{
-			logger.error("NoClassDefFoundError: '" + metaClassName + C_SPACE + ncdf.getMessage() + C_QUOTE);
-		}
-		catch (IllegalAccessError iae)
-		{
-			if (!isVMInternalClass(metaClassName))
+			catch (IllegalAccessError iae)
+			{
+				if (!isVMInternalClass(metaClassName))
+				{
+					logger.error("IllegalAccessError: '" + metaClassName + C_SPACE + iae.getMessage() + C_QUOTE);
+				}
+			}
+			catch (UnsupportedClassVersionError ucve)
 			{
-				logger.error("IllegalAccessError: '" + metaClassName + C_SPACE + iae.getMessage() + C_QUOTE);
+				logger.error("UnsupportedClassVersionError: '" + metaClassName + C_SPACE + ucve.getMessage() + C_QUOTE);
 			}
 		}
 
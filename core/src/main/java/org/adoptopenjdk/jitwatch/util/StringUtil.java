@@ -283,66 +283,124 @@ public final class StringUtil
 
 		if (line != null)
 		{
-			int len = line.length();
+			AttributeCursor cursor = new AttributeCursor().reset(line);
 
-			StringBuilder key = new StringBuilder();
-			StringBuilder val = new StringBuilder();
+			while (cursor.next())
+			{
+				result.put(cursor.getKey(), cursor.getValue());
+			}
+		}
 
-			boolean inValue = false;
+		return result;
+	}
 
-			for (int i = 0; i < len; i++)
-			{
-				char c = line.charAt(i);
+	/**
+	 * Looks up a single attribute without building a map, only the value
+	 * String is created.
+	 */
+	public static String getAttribute(String line, String name)
+	{
+		int valueStart = AttributeCursor.indexOfValue(line, name);
 
-				switch (c)
-				{
-				case C_SPACE:
-					if (!inValue)
-					{
-						// C_SPACE before new key
-						key.delete(0, key.length());
-					}
-					else
-					{
-						val.append(C_SPACE);
-					}
-					break;
-				case C_QUOTE:
-					if (inValue)
-					{
-						// finished attr
-						result.put(key.toString(), val.toString());
-						key.delete(0, key.length());
-						val.delete(0, val.length());
-						inValue = false;
-					}
-					else
-					{
-						inValue = true;
-					}
-					break;
-				case C_EQUALS:
-					if (inValue)
-					{
-						val.append(C_EQUALS);
-					}
-					break;
-				default:
-					if (inValue)
-					{
-						val.append(c);
-					}
-					else
-					{
-						key.append(c);
-					}
-				}
+		if (valueStart == -1)
+		{
+			return null;
+		}
+
+		return line.substring(valueStart, AttributeCursor.indexOfQuote(line, valueStart, line.length()));
+	}
+
+	/**
+	 * Parses a decimal int attribute in place without creating any Strings.
+	 *
+	 * @throws NumberFormatException
+	 *             if the attribute is missing or not an int
+	 */
+	public static int getIntAttribute(String line, String name)
+	{
+		int valueStart = AttributeCursor.indexOfValue(line, name);
+
+		if (valueStart == -1)
+		{
+			throw new NumberFormatException("Missing attribute " + name);
+		}
+
+		int valueEnd = AttributeCursor.indexOfQuote(line, valueStart, line.length());
+
+		return parseInt(line, valueStart, valueEnd);
+	}
+
+	/**
+	 * @return the decimal int value or defaultValue if it is null or not an
+	 *         int
+	 */
+	public static int parseInt(String value, int defaultValue)
+	{
+		int result = defaultValue;
+
+		if (value != null)
+		{
+			try
+			{
+				result = parseInt(value, 0, value.length());
+			}
+			catch (NumberFormatException nfe)
+			{
+				// use the default
 			}
 		}
 
 		return result;
 	}
 
+	public static int parseInt(CharSequence chars, int start, int end)
+	{
+		if (start >= end)
+		{
+			throw new NumberFormatException("Empty int");
+		}
+
+		boolean negative = chars.charAt(start) == '-';
+
+		int pos = negative ? start + 1 : start;
+
+		if (pos == end)
+		{
+			throw new NumberFormatException("Not an int: " + chars.subSequence(start, end));
+		}
+
+		long result = 0;
+
+		for (; pos < end; pos++)
+		{
+			int digit = chars.charAt(pos) - '0';
+
+			if (digit < 0 || digit > 9)
+			{
+				throw new NumberFormatException("Not an int: " + chars.subSequence(start, end));
+			}
+
+			result = result * 10 + digit;
+
+			if (result > (long) Integer.MAX_VALUE + 1)
+			{
+				throw new NumberFormatException("Int overflow: " + chars.subSequence(start, end));
+			}
+		}
+
+		if (negative)
+		{
+			result = -result;
+		}
+
+		if (result > Integer.MAX_VALUE)
+		{
+			throw new NumberFormatException("Int overflow: " + chars.subSequence(start, end));
+		}
+
+		return (int) result;
+	}
+
 	public static Map<String, String> getLineAttributesDoubleQuote(String line)
 	{
 		Map<String, String> result = new HashMap<>();
@@ -0,0 +1,233 @@
+/*
+ * Copyright (c) 2026 Chris Newland.
+ * Licensed under https://github.com/AdoptOpenJDK/jitwatch/blob/master/LICENSE-BSD
+ * Instructions: https://github.com/AdoptOpenJDK/jitwatch/wiki
+ */
+package org.adoptopenjdk.jitwatch.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.adoptopenjdk.jitwatch.core.JITWatchConfig;
+import org.adoptopenjdk.jitwatch.demo.SyntheticHotSpotLog;
+import org.adoptopenjdk.jitwatch.loader.BytecodeLoader;
+import org.adoptopenjdk.jitwatch.model.IMetaMember;
+import org.adoptopenjdk.jitwatch.model.JITDataModel;
+import org.adoptopenjdk.jitwatch.model.MemberSignatureParts;
+import org.adoptopenjdk.jitwatch.model.MetaClass;
+import org.adoptopenjdk.jitwatch.parser.ILogParseErrorListener;
+import org.adoptopenjdk.jitwatch.parser.ILogParser;
+import org.adoptopenjdk.jitwatch.parser.hotspot.HotSpotLogParser;
+import org.junit.Test;
+
+public class TestClassFileMetaClass
+{
+	public interface InterfaceWithDefaults
+	{
+		void plain(int[][] values);
+
+		default long withDefault(String value)
+		{
+			return value.length();
+		}
+
+		static String joined(String... values)
+		{
+			return String.join(",", values);
+		}
+	}
+
+	public class Inner
+	{
+		public Inner(long value, Object... rest)
+		{
+		}
+
+		protected synchronized Object[] copy(char c, List<String>[] lists) throws IOException
+		{
+			return null;
+		}
+
+		private double scale(double d)
+		{
+			return d * 2;
+		}
+	}
+
+	private static List<String> getTestClassLocations() throws URISyntaxException
+	{
+		File location = new File(TestClassFileMetaClass.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+
+		return Collections.singletonList(location.getAbsolutePath());
+	}
+
+	private static List<String> describe(MetaClass metaClass)
+	{
+		List<String> result = new ArrayList<>();
+
+		for (IMetaMember member : metaClass.getMetaMembers())
+		{
+			result.add(member.toString() + " | " + member.getModifier() + " | " + member.getReturnTypeName() + " | "
+					+ Arrays.toString(member.getParamTypeNames()) + " | " + member.toStringUnqualifiedMethodName(true, true));
+		}
+
+		Collections.sort(result);
+
+		return result;
+	}
+
+	private static JITDataModel getClassFileModel() throws URISyntaxException
+	{
+		JITDataModel model = new JITDataModel();
+
+		model.setClassFileLocations(getTestClassLocations());
+
+		return model;
+	}
+
+	@Test
+	public void testClassFileMembersMatchReflection() throws Exception
+	{
+		Class<?>[] classes = new Class<?>[] { String.class, java.util.HashMap.class, java.util.List.class, Thread.State.class,
+				java.lang.invoke.MethodHandle.class, java.util.concurrent.ConcurrentHashMap.class, InterfaceWithDefaults.class,
+				Inner.class };
+
+		for (Class<?> clazz : classes)
+		{
+			JITDataModel reflectionModel = new JITDataModel();
+
+			MetaClass reflected = reflectionModel.buildAndGetMetaClass(clazz);
+
+			JITDataModel classFileModel = getClassFileModel();
+
+			MetaClass read = BytecodeLoader.buildMetaClassFromClass(classFileModel, clazz.getName());
+
+			assertNotNull(clazz.getName(), read);
+
+			assertEquals(clazz.getName(), reflected.getFullyQualifiedName(), read.getFullyQualifiedName());
+			assertEquals(clazz.getName(), reflected.isInterface(), read.isInterface());
+
+			assertEquals(clazz.getName(), describe(reflected), describe(read));
+
+			assertEquals(reflectionModel.getJITStats().getCountMethod(), classFileModel.getJITStats().getCountMethod());
+			assertEquals(reflectionModel.getJITStats().getCountConstructor(), classFileModel.getJITStats().getCountConstructor());
+		}
+	}
+
+	@Test
+	public void testClassFileMembersAreFoundBySignature() throws Exception
+	{
+		JITDataModel model = getClassFileModel();
+
+		MetaClass metaClass = BytecodeLoader.buildMetaClassFromClass(model, "java.lang.String");
+
+		MemberSignatureParts msp = MemberSignatureParts.fromParts("java.lang.String", "indexOf", "int",
+				Arrays.asList("java.lang.String", "int"));
+
+		IMetaMember member = model.findMetaMember(msp);
+
+		assertNotNull(member);
+		assertEquals(metaClass, member.getMetaClass());
+		assertEquals("public int java.lang.String.indexOf(java.lang.String,int)", member.toString());
+
+		// polymorphic signatures match whatever types the call site used
+		msp = MemberSignatureParts.fromParts("java.lang.invoke.MethodHandle", "invokeExact", "int",
+				Arrays.asList("java.lang.String", "long"));
+
+		member = model.findMetaMember(msp);
+
+		assertNotNull(member);
+		assertEquals("invokeExact", member.getMemberName());
+
+		// late loaded from the class file
+		msp = MemberSignatureParts.fromParts("java.util.BitSet", "set", "void", Arrays.asList("int"));
+
+		assertNotNull(model.findMetaMember(msp));
+		assertNotNull(model.getPackageManager().getMetaClass("java.util.BitSet"));
+	}
+
+	@Test
+	public void testMissingClassFileIsNotBuilt() throws Exception
+	{
+		JITDataModel model = getClassFileModel();
+
+		assertNull(BytecodeLoader.buildMetaClassFromClass(model, "com.chrisnewland.DoesNotExist"));
+
+		model.setClassFileLocations(null);
+
+		assertNull(BytecodeLoader.buildMetaClassFromClass(model, "java.lang.String"));
+		assertEquals(0, model.getJITStats().getCountClass());
+	}
+
+	private JITDataModel parse(File logFile, File configFile, boolean classFileModel, final List<String> errors)
+			throws IOException
+	{
+		ILogParser parser = new HotSpotLogParser(UnitTestUtil.getNoOpJITListener());
+
+		JITWatchConfig config = new JITWatchConfig(configFile);
+
+		config.setClassFileModel(classFileModel);
+
+		parser.setConfig(config);
+
+		parser.processLogFile(logFile, new ILogParseErrorListener()
+		{
+			@Override
+			public void handleError(String title, String body)
+			{
+				errors.add(title + " " + body);
+			}
+		});
+
+		return parser.getModel();
+	}
+
+	@Test
+	public void testParsedModelMatchesReflection() throws IOException
+	{
+		File configFile = File.createTempFile("test", ".properties");
+		File logFile = File.createTempFile("testclassfilemodel", ".log");
+
+		try
+		{
+			SyntheticHotSpotLog generator = new SyntheticHotSpotLog(24);
+
+			generator.setCompilationCount(300);
+			generator.setTraceClassLoading(true);
+
+			generator.write(logFile);
+
+			List<String> errors = new ArrayList<>();
+
+			JITDataModel reflected = parse(logFile, configFile, false, errors);
+			JITDataModel read = parse(logFile, configFile, true, errors);
+
+			assertTrue(errors.toString(), errors.isEmpty());
+
+			assertTrue(read.getJITStats().getCountClass() > 0);
+			assertEquals(reflected.getJITStats().getCountClass(), read.getJITStats().getCountClass());
+			assertEquals(reflected.getJITStats().getCountMethod(), read.getJITStats().getCountMethod());
+			assertEquals(reflected.getJITStats().getCountConstructor(), read.getJITStats().getCountConstructor());
+			assertEquals(reflected.getJITStats().getCountC2(), read.getJITStats().getCountC2());
+
+			assertFalse(read.getEventListCopy().isEmpty());
+			assertEquals(reflected.getEventListCopy().size(), read.getEventListCopy().size());
+		}
+		finally
+		{
+			configFile.delete();
+			logFile.delete();
+		}
+	}
+}
@@ -0,0 +1,214 @@
+/*
+ * Copyright (c) 2026 Chris Newland.
+ * Licensed under https://github.com/AdoptOpenJDK/jitwatch/blob/master/LICENSE-BSD
+ * Instructions: https://github.com/AdoptOpenJDK/jitwatch/wiki
+ */
+package org.adoptopenjdk.jitwatch.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+import org.adoptopenjdk.jitwatch.loader.BytecodeLoader;
+import org.adoptopenjdk.jitwatch.loader.ClassFileReader;
+import org.adoptopenjdk.jitwatch.model.bytecode.BytecodeInstruction;
+import org.adoptopenjdk.jitwatch.model.bytecode.ClassBC;
+import org.adoptopenjdk.jitwatch.model.bytecode.MemberBytecode;
+import org.junit.After;
+import org.junit.Test;
+
+public class TestClassFileReader
+{
+	private Path tempJarPath;
+
+	@After
+	public void cleanup() throws IOException
+	{
+		ClassFileReader.closeJars();
+
+		if (tempJarPath != null)
+		{
+			Files.deleteIfExists(tempJarPath);
+		}
+	}
+
+	// switches, wide and ldc constants, lambdas and exception tables
+	@Test
+	public void testMatchesJavapForProjectClass() throws Exception
+	{
+		assertMatchesJavap(getTestClassLocations(), BytecodeLoader.class.getName());
+	}
+
+	@Test
+	public void testMatchesJavapForPlatformClass() throws Exception
+	{
+		ClassBC classBytecode = assertMatchesJavap(new ArrayList<String>(), "java.util.HashMap");
+
+		assertTrue(classBytecode.getInnerClassNames().contains("java.util.HashMap$Node"));
+
+		assertEquals("java.lang.Object", classBytecode.getGenericsMap().get("K"));
+	}
+
+	@Test
+	public void testReadsClassFromJar() throws Exception
+	{
+		List<String> classLocations = writeTestClassJar();
+
+		ClassBC classBytecode = ClassFileReader.readClass(classLocations, getClass().getName(), false);
+
+		assertNotNull(classBytecode);
+		assertEquals("TestClassFileReader.java", classBytecode.getSourceFile());
+		assertTrue(classBytecode.getMemberBytecodeList().size() > 0);
+	}
+
+	@Test
+	public void testJarIsKeptOpenUntilCloseJars() throws Exception
+	{
+		List<String> classLocations = writeTestClassJar();
+
+		assertNotNull(ClassFileReader.readClass(classLocations, getClass().getName(), false));
+
+		// replaced, not rewritten, so the open jar can still be read
+		Path notAJar = Files.createTempFile("testclassfile", ".jar");
+
+		Files.write(notAJar, new byte[] { 1, 2, 3, 4 });
+
+		Files.move(notAJar, tempJarPath, StandardCopyOption.REPLACE_EXISTING);
+
+		assertNotNull(ClassFileReader.readClass(new ArrayList<>(classLocations), getClass().getName(), false));
+
+		ClassFileReader.closeJars();
+
+		// opened again and skipped as it is no longer a jar
+		assertNull(ClassFileReader.readClass(classLocations, getClass().getName(), false));
+	}
+
+	@Test
+	public void testUnreadableJarIsSkipped() throws Exception
+	{
+		List<String> classLocations = writeTestClassJar();
+
+		Path notAJar = Files.createTempFile("testclassfile", ".jar");
+
+		try
+		{
+			Files.write(notAJar, new byte[] { 1, 2, 3, 4 });
+
+			classLocations.add(0, notAJar.toString());
+
+			assertNotNull(ClassFileReader.readClass(classLocations, getClass().getName(), false));
+		}
+		finally
+		{
+			ClassFileReader.closeJars();
+
+			Files.deleteIfExists(notAJar);
+		}
+	}
+
+	private List<String> writeTestClassJar() throws IOException, URISyntaxException
+	{
+		String resourceName = getClass().getName().replace('.', '/') + ".class";
+
+		File classFile = new File(getTestClassLocations().get(1), resourceName);
+
+		tempJarPath = Files.createTempFile("testclassfile", ".jar");
+
+		try (JarOutputStream jarOutputStream = new JarOutputStream(new FileOutputStream(tempJarPath.toFile())))
+		{
+			jarOutputStream.putNextEntry(new JarEntry(resourceName));
+			jarOutputStream.write(Files.readAllBytes(classFile.toPath()));
+			jarOutputStream.closeEntry();
+		}
+
+		List<String> classLocations = new ArrayList<>();
+		classLocations.add(tempJarPath.toString());
+
+		return classLocations;
+	}
+
+	@Test
+	public void testUnknownClassReturnsNull() throws Exception
+	{
+		assertNull(ClassFileReader.readClass(getTestClassLocations(), "org.adoptopenjdk.jitwatch.NoSuchClass", false));
+	}
+
+	@Test(expected = IOException.class)
+	public void testMalformedClassFileThrowsIOException() throws Exception
+	{
+		ClassFileReader.readClass("Broken", new byte[] { (byte) 0xCA, (byte) 0xFE, (byte) 0xBA, (byte) 0xBE, 0, 0, 0, 52, 0 }, false);
+	}
+
+	private List<String> getTestClassLocations() throws URISyntaxException
+	{
+		List<String> classLocations = new ArrayList<>();
+
+		classLocations.add(new File(BytecodeLoader.class.getProtectionDomain().getCodeSource().getLocation().toURI()).toString());
+		classLocations.add(new File(getClass().getProtectionDomain().getCodeSource().getLocation().toURI()).toString());
+
+		return classLocations;
+	}
+
+	private ClassBC assertMatchesJavap(List<String> classLocations, String fqClassName) throws IOException
+	{
+		ClassBC expected = BytecodeLoader.fetchBytecodeForClass(classLocations, fqClassName, false);
+
+		ClassBC actual = ClassFileReader.readClass(classLocations, fqClassName, false);
+
+		assertNotNull(expected);
+		assertNotNull(actual);
+
+		assertEquals(expected.getMajorVersion(), actual.getMajorVersion());
+		assertEquals(expected.getMinorVersion(), actual.getMinorVersion());
+		assertEquals(expected.getSourceFile(), actual.getSourceFile());
+		assertEquals(expected.getModuleName(), actual.getModuleName());
+		assertEquals(expected.getGenericsMap(), actual.getGenericsMap());
+
+		List<MemberBytecode> expectedMembers = expected.getMemberBytecodeList();
+		List<MemberBytecode> actualMembers = actual.getMemberBytecodeList();
+
+		assertEquals(expectedMembers.size(), actualMembers.size());
+
+		for (int i = 0; i < expectedMembers.size(); i++)
+		{
+			MemberBytecode expectedMember = expectedMembers.get(i);
+			MemberBytecode actualMember = actualMembers.get(i);
+
+			assertEquals(expectedMember.getMemberSignatureParts(), actualMember.getMemberSignatureParts());
+
+			String memberName = expectedMember.getMemberSignatureParts().toString();
+
+			assertEquals(memberName, expectedMember.getLineTable().getEntries(), actualMember.getLineTable().getEntries());
+			assertEquals(memberName, expectedMember.getExceptionTable().toString(), actualMember.getExceptionTable().toString());
+
+			List<BytecodeInstruction> expectedInstructions = expectedMember.getInstructions();
+			List<BytecodeInstruction> actualInstructions = actualMember.getInstructions();
+
+			assertEquals(memberName, expectedInstructions.size(), actualInstructions.size());
+
+			for (int j = 0; j < expectedInstructions.size(); j++)
+			{
+				BytecodeInstruction expectedInstruction = expectedInstructions.get(j);
+				BytecodeInstruction actualInstruction = actualInstructions.get(j);
+
+				assertEquals(memberName, expectedInstruction.toStringComplete(), actualInstruction.toStringComplete());
+				assertEquals(memberName, expectedInstruction.getComment(), actualInstruction.getComment());
+			}
+		}
+
+		return actual;
+	}
+}
@@ -0,0 +1,314 @@
+/*
+ * Copyright (c) 2026 Chris Newland.
+ * Licensed under https://github.com/AdoptOpenJDK/jitwatch/blob/master/LICENSE-BSD
+ * Instructions: https://github.com/AdoptOpenJDK/jitwatch/wiki
+ */
+package org.adoptopenjdk.jitwatch.test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.adoptopenjdk.jitwatch.loader.ClassFileReader;
+import org.adoptopenjdk.jitwatch.loader.ClassLocationIndex;
+import org.adoptopenjdk.jitwatch.loader.DisposableURLClassLoader;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class TestClassLocationIndex
+{
+	public static class Indexed
+	{
+	}
+
+	public static class AlsoIndexed
+	{
+	}
+
+	public static class NotIndexed
+	{
+	}
+
+	// exposes findClass() since loadClass() finds these classes on the test
+	// classpath first
+	private static class IndexedClassLoader extends DisposableURLClassLoader
+	{
+		IndexedClassLoader(List<URL> urls, ClassLocationIndex classIndex)
+		{
+			super(urls, classIndex);
+		}
+
+		Class<?> find(String name) throws ClassNotFoundException
+		{
+			return findClass(name);
+		}
+	}
+
+	private File workDirectory;
+	private File classDirectory;
+	private File jar;
+	private File cacheDirectory;
+
+	@Before
+	public void setUp() throws IOException
+	{
+		workDirectory = Files.createTempDirectory("testclassindex").toFile();
+
+		classDirectory = new File(workDirectory, "classes");
+		jar = new File(workDirectory, "indexed.jar");
+		cacheDirectory = new File(workDirectory, "cache");
+
+		File classFile = new File(classDirectory, getResourceName(Indexed.class));
+
+		classFile.getParentFile().mkdirs();
+
+		Files.write(classFile.toPath(), getClassBytes(Indexed.class));
+
+		try (ZipOutputStream zos = new ZipOutputStream(new FileOutputStream(jar)))
+		{
+			for (Class<?> clazz : new Class<?>[] { Indexed.class, AlsoIndexed.class })
+			{
+				zos.putNextEntry(new ZipEntry(getResourceName(clazz)));
+				zos.write(getClassBytes(clazz));
+				zos.closeEntry();
+			}
+
+			zos.putNextEntry(new ZipEntry("META-INF/versions/9/" + getResourceName(AlsoIndexed.class)));
+			zos.write(getClassBytes(AlsoIndexed.class));
+			zos.closeEntry();
+
+			zos.putNextEntry(new ZipEntry("module-info.class"));
+			zos.closeEntry();
+		}
+	}
+
+	@After
+	public void tearDown()
+	{
+		deleteRecursively(workDirectory);
+	}
+
+	private static void deleteRecursively(File file)
+	{
+		File[] children = file.listFiles();
+
+		if (children != null)
+		{
+			for (File child : children)
+			{
+				deleteRecursively(child);
+			}
+		}
+
+		file.delete();
+	}
+
+	private static String getResourceName(Class<?> clazz)
+	{
+		return clazz.getName().replace('.', '/') + ".class";
+	}
+
+	private static byte[] getClassBytes(Class<?> clazz) throws IOException
+	{
+		try (InputStream inputStream = clazz.getResourceAsStream("/" + getResourceName(clazz)))
+		{
+			byte[] buffer = new byte[8192];
+
+			int total = 0;
+			int read;
+
+			while ((read = inputStream.read(buffer, total, buffer.length - total)) > 0)
+			{
+				total += read;
+			}
+
+			return Arrays.copyOf(buffer, total);
+		}
+	}
+
+	private List<String> getLocations(File... files)
+	{
+		List<String> result = new ArrayList<>();
+
+		for (File file : files)
+		{
+			result.add(file.getAbsolutePath());
+		}
+
+		return result;
+	}
+
+	@Test
+	public void testFirstLocationHoldingClassWins() throws IOException
+	{
+		ClassLocationIndex index = ClassLocationIndex.build(getLocations(classDirectory, jar), null);
+
+		try
+		{
+			assertEquals(2, index.size());
+
+			assertEquals(classDirectory.getAbsoluteFile(), index.getLocation(Indexed.class.getName()));
+			assertEquals(jar.getAbsoluteFile(), index.getLocation(AlsoIndexed.class.getName()));
+
+			assertFalse(index.contains("module-info"));
+			assertFalse(index.contains("java.lang.String"));
+			assertNull(index.getLocation("java.lang.String"));
+			assertNull(index.readClassBytes("java.lang.String"));
+
+			assertArrayEquals(getClassBytes(Indexed.class), index.readClassBytes(Indexed.class.getName()));
+			assertArrayEquals(getClassBytes(AlsoIndexed.class), index.readClassBytes(AlsoIndexed.class.getName()));
+		}
+		finally
+		{
+			index.close();
+		}
+
+		index = ClassLocationIndex.build(getLocations(jar, classDirectory, new File(workDirectory, "missing.jar")), null);
+
+		assertEquals(jar.getAbsoluteFile(), index.getLocation(Indexed.class.getName()));
+
+		index.close();
+	}
+
+	@Test
+	public void testJarClassNamesAreCachedByModificationTime() throws IOException
+	{
+		ClassLocationIndex index = ClassLocationIndex.build(getLocations(jar), cacheDirectory);
+
+		assertEquals(2, index.size());
+
+		File[] cacheFiles = cacheDirectory.listFiles();
+
+		assertNotNull(cacheFiles);
+		assertEquals(1, cacheFiles.length);
+
+		// a cached name only the cache knows about shows the jar was not listed
+		Files.write(cacheFiles[0].toPath(), "com.chrisnewland.CachedOnly\n".getBytes(StandardCharsets.UTF_8),
+				StandardOpenOption.APPEND);
+
+		index = ClassLocationIndex.build(getLocations(jar), cacheDirectory);
+
+		assertEquals(3, index.size());
+		assertTrue(index.contains("com.chrisnewland.CachedOnly"));
+
+		assertTrue(jar.setLastModified(jar.lastModified() - 60_000));
+
+		index = ClassLocationIndex.build(getLocations(jar), cacheDirectory);
+
+		assertEquals(2, index.size());
+		assertFalse(index.contains("com.chrisnewland.CachedOnly"));
+	}
+
+	@Test
+	public void testClassFileReaderReadsThroughIndex() throws IOException
+	{
+		List<String> locations = getLocations(jar, classDirectory);
+
+		ClassLocationIndex index = ClassLocationIndex.build(locations, null);
+
+		try
+		{
+			assertTrue(index.isFor(new ArrayList<>(locations)));
+			assertFalse(index.isFor(getLocations(classDirectory, jar)));
+
+			assertNotNull(ClassFileReader.readClass(locations, index, AlsoIndexed.class.getName(), false));
+			assertNotNull(ClassFileReader.readMembers(locations, index, Indexed.class.getName()));
+
+			// added after indexing so only found by searching the locations
+			File lateClassFile = new File(classDirectory, getResourceName(NotIndexed.class));
+
+			Files.write(lateClassFile.toPath(), getClassBytes(NotIndexed.class));
+
+			assertNull(ClassFileReader.readMembers(locations, index, NotIndexed.class.getName()));
+			assertNotNull(ClassFileReader.readMembers(locations, null, NotIndexed.class.getName()));
+		}
+		finally
+		{
+			index.close();
+
+			ClassFileReader.closeJars();
+		}
+	}
+
+	@Test
+	public void testUnreadableJarIsSkipped() throws IOException
+	{
+		File notAJar = new File(workDirectory, "notajar.jar");
+
+		Files.write(notAJar.toPath(), new byte[] { 1, 2, 3, 4 });
+
+		ClassLocationIndex index = ClassLocationIndex.build(getLocations(notAJar, jar), null);
+
+		try
+		{
+			assertEquals(jar.getAbsoluteFile(), index.getLocation(Indexed.class.getName()));
+
+			assertArrayEquals(getClassBytes(Indexed.class), index.readClassBytes(Indexed.class.getName()));
+		}
+		finally
+		{
+			index.close();
+		}
+	}
+
+	@Test
+	public void testClassLoaderFindsClassesThroughIndex() throws Exception
+	{
+		List<String> locations = getLocations(jar, classDirectory);
+
+		List<URL> urls = new ArrayList<>();
+
+		for (String location : locations)
+		{
+			urls.add(new File(location).toURI().toURL());
+		}
+
+		ClassLocationIndex index = ClassLocationIndex.build(locations, cacheDirectory);
+
+		try (IndexedClassLoader classLoader = new IndexedClassLoader(urls, index))
+		{
+			Class<?> found = classLoader.find(Indexed.class.getName());
+
+			assertEquals(Indexed.class.getName(), found.getName());
+			assertNotSame(Indexed.class, found);
+			assertEquals(classLoader, found.getClassLoader());
+			assertNotNull(found.getPackage());
+			assertEquals(jar.toURI().toURL(), found.getProtectionDomain().getCodeSource().getLocation());
+
+			// already defined so not asked of the parent
+			assertEquals(found, classLoader.loadClass(Indexed.class.getName()));
+			assertEquals(AlsoIndexed.class, classLoader.loadClass(AlsoIndexed.class.getName()));
+
+			try
+			{
+				classLoader.find("com.chrisnewland.NotIndexed");
+
+				fail("Expected ClassNotFoundException");
+			}
+			catch (ClassNotFoundException cnfe)
+			{
+				assertEquals("com.chrisnewland.NotIndexed", cnfe.getMessage());
+			}
+		}
+	}
+}
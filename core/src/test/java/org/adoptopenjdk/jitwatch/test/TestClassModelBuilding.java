@@ -0,0 +1,168 @@
+/*
+ * Copyright (c) 2026 Chris Newland.
+ * Licensed under https://github.com/AdoptOpenJDK/jitwatch/blob/master/LICENSE-BSD
+ * Instructions: https://github.com/AdoptOpenJDK/jitwatch/wiki
+ */
+package org.adoptopenjdk.jitwatch.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.adoptopenjdk.jitwatch.core.JITWatchConfig;
+import org.adoptopenjdk.jitwatch.demo.SyntheticHotSpotLog;
+import org.adoptopenjdk.jitwatch.model.EventType;
+import org.adoptopenjdk.jitwatch.model.JITDataModel;
+import org.adoptopenjdk.jitwatch.model.JITEvent;
+import org.adoptopenjdk.jitwatch.model.MetaClass;
+import org.adoptopenjdk.jitwatch.model.PackageManager;
+import org.adoptopenjdk.jitwatch.parser.ILogParseErrorListener;
+import org.adoptopenjdk.jitwatch.parser.ILogParser;
+import org.adoptopenjdk.jitwatch.parser.hotspot.HotSpotLogParser;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class TestClassModelBuilding
+{
+	// compiled from when the generator is limited to 5 classes
+	private static final String[] COMPILED_CLASSES = new String[] { "java.lang.String", "java.lang.StringBuilder",
+			"java.lang.Integer", "java.lang.Long", "java.lang.Character" };
+
+	// loaded but never compiled from
+	private static final String[] LOADED_CLASSES = new String[] { "java.util.BitSet", "java.util.HashMap",
+			"java.util.concurrent.ConcurrentHashMap", "java.math.BigDecimal" };
+
+	private File configFile;
+	private File logFile;
+
+	@Before
+	public void setUp() throws IOException
+	{
+		configFile = File.createTempFile("test", ".properties");
+		logFile = File.createTempFile("testclassmodel", ".log");
+
+		SyntheticHotSpotLog generator = new SyntheticHotSpotLog(2026);
+
+		generator.setClassCount(COMPILED_CLASSES.length);
+		generator.setCompilationCount(400);
+		generator.setTraceClassLoading(true);
+
+		generator.write(logFile);
+	}
+
+	@After
+	public void tearDown()
+	{
+		configFile.delete();
+		logFile.delete();
+	}
+
+	private JITDataModel parse(boolean parallel, boolean lazy, final List<String> errors) throws IOException
+	{
+		ILogParser parser = new HotSpotLogParser(UnitTestUtil.getNoOpJITListener());
+
+		JITWatchConfig config = new JITWatchConfig(configFile);
+
+		config.setParallelParse(parallel);
+		config.setLazyClassModel(lazy);
+
+		parser.setConfig(config);
+
+		parser.processLogFile(logFile, new ILogParseErrorListener()
+		{
+			@Override
+			public void handleError(String title, String body)
+			{
+				errors.add(title + " " + body);
+			}
+		});
+
+		return parser.getModel();
+	}
+
+	private int countCompiled(JITDataModel model)
+	{
+		int result = 0;
+
+		for (JITEvent event : model.getEventListCopy())
+		{
+			if (event.getEventType() == EventType.NMETHOD_C1 || event.getEventType() == EventType.NMETHOD_C2)
+			{
+				result++;
+			}
+		}
+
+		return result;
+	}
+
+	@Test
+	public void testParallelClassModelMatchesSerial() throws IOException
+	{
+		List<String> errors = new ArrayList<>();
+
+		JITDataModel serial = parse(false, false, errors);
+		JITDataModel parallel = parse(true, false, errors);
+
+		assertTrue(errors.toString(), errors.isEmpty());
+
+		PackageManager serialPackages = serial.getPackageManager();
+		PackageManager parallelPackages = parallel.getPackageManager();
+
+		assertEquals(serial.getJITStats().getCountClass(), parallel.getJITStats().getCountClass());
+		assertEquals(serial.getJITStats().getCountMethod(), parallel.getJITStats().getCountMethod());
+		assertEquals(serial.getJITStats().getCountConstructor(), parallel.getJITStats().getCountConstructor());
+
+		for (String fqClassName : LOADED_CLASSES)
+		{
+			MetaClass serialClass = serialPackages.getMetaClass(fqClassName);
+			MetaClass parallelClass = parallelPackages.getMetaClass(fqClassName);
+
+			assertNotNull(fqClassName, serialClass);
+			assertNotNull(fqClassName, parallelClass);
+
+			assertEquals(serialClass.getMetaMembers().size(), parallelClass.getMetaMembers().size());
+		}
+
+		assertEquals(400, countCompiled(serial));
+		assertEquals(400, countCompiled(parallel));
+	}
+
+	@Test
+	public void testLazyClassModelLoadsOnlyCompiledClasses() throws IOException
+	{
+		List<String> errors = new ArrayList<>();
+
+		JITDataModel eager = parse(false, false, errors);
+
+		for (boolean parallel : new boolean[] { false, true })
+		{
+			JITDataModel lazy = parse(parallel, true, errors);
+
+			assertTrue(errors.toString(), errors.isEmpty());
+
+			PackageManager packageManager = lazy.getPackageManager();
+
+			for (String fqClassName : COMPILED_CLASSES)
+			{
+				assertNotNull(fqClassName, packageManager.getMetaClass(fqClassName));
+			}
+
+			for (String fqClassName : LOADED_CLASSES)
+			{
+				assertNotNull(fqClassName, eager.getPackageManager().getMetaClass(fqClassName));
+				assertNull(fqClassName, packageManager.getMetaClass(fqClassName));
+			}
+
+			assertTrue(lazy.getJITStats().getCountClass() < eager.getJITStats().getCountClass());
+
+			assertEquals(400, countCompiled(lazy));
+		}
+	}
+}
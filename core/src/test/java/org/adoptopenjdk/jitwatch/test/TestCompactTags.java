@@ -0,0 +1,314 @@
+/*
+ * Copyright (c) 2026 Chris Newland.
+ * Licensed under https://github.com/AdoptOpenJDK/jitwatch/blob/master/LICENSE-BSD
+ * Instructions: https://github.com/AdoptOpenJDK/jitwatch/wiki
+ */
+package org.adoptopenjdk.jitwatch.test;
+
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.TAG_PARSE;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.TAG_PHASE;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.adoptopenjdk.jitwatch.compilation.CompilationUtil;
+import org.adoptopenjdk.jitwatch.compilation.ICompilationVisitable;
+import org.adoptopenjdk.jitwatch.core.JITWatchConfig;
+import org.adoptopenjdk.jitwatch.core.TagProcessor;
+import org.adoptopenjdk.jitwatch.model.CompactTag;
+import org.adoptopenjdk.jitwatch.model.CompactTagTree;
+import org.adoptopenjdk.jitwatch.model.Compilation;
+import org.adoptopenjdk.jitwatch.model.IParseDictionary;
+import org.adoptopenjdk.jitwatch.model.JITEvent;
+import org.adoptopenjdk.jitwatch.model.LogParseException;
+import org.adoptopenjdk.jitwatch.model.Tag;
+import org.adoptopenjdk.jitwatch.model.Task;
+import org.adoptopenjdk.jitwatch.parser.ILogParser;
+import org.adoptopenjdk.jitwatch.parser.hotspot.HotSpotLogParser;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class TestCompactTags
+{
+	private static final String[] TASK_LINES = new String[] {
+			"<task compile_id='21' method='java/lang/String hashCode ()I' bytes='55' count='521' iicount='521' stamp='0.101'>",
+			"<phase name='parse' nodes='3' live='3' stamp='0.101'>",
+			"<klass id='729' name='java/lang/String' flags='17'/>",
+			"<type id='721' name='int'/>",
+			"<method id='730' holder='729' name='hashCode' return='721' flags='1' bytes='55' iicount='521'/>",
+			"<parse method='730' uses='521' stamp='0.101'>",
+			"<bc code='182' bci='1'/>",
+			"<method id='731' holder='729' name='length' return='721' flags='1' bytes='6' iicount='521'/>",
+			"<call method='731' count='5' prof_factor='1' inline='1'/>",
+			"<inline_success reason='accessor'/>",
+			"<parse method='731' uses='5' stamp='0.101'>",
+			"<parse_done nodes='20' live='20' memory='3000' stamp='0.101'/>",
+			"</parse>",
+			"<parse_done nodes='12' live='12' memory='2624' stamp='0.101'/>",
+			"</parse>",
+			"<phase_done name='parse' nodes='12' live='12' stamp='0.101'/>",
+			"</phase>",
+			"<code_cache total_blobs='264' nmethods='5' adapters='157' free_code_cache='249999'/>",
+			"<task_done success='1' nmsize='120' count='521' inlined_bytes='5' stamp='0.101'/>",
+			"</task>" };
+
+	private Path configPath;
+	private Path logPath;
+
+	@Before
+	public void setUp() throws IOException
+	{
+		configPath = Files.createTempFile("test", ".properties");
+		logPath = Files.createTempFile("testcompacttags", ".log");
+	}
+
+	@After
+	public void tearDown() throws IOException
+	{
+		Files.deleteIfExists(configPath);
+		Files.deleteIfExists(logPath);
+	}
+
+	private Task processTask(boolean compactTasks)
+	{
+		TagProcessor tp = new TagProcessor(compactTasks);
+
+		Tag tag = null;
+
+		for (String line : TASK_LINES)
+		{
+			tag = tp.processLine(line);
+		}
+
+		assertTrue(tag instanceof Task);
+
+		return (Task) tag;
+	}
+
+	@Test
+	public void testCompactTaskMatchesTagTask()
+	{
+		Task task = processTask(false);
+		Task compactTask = processTask(true);
+
+		assertFalse(task.isCompact());
+		assertTrue(compactTask.isCompact());
+
+		assertEquals(task.toString(), compactTask.toString());
+		assertEquals(task.getAttributes(), compactTask.getAttributes());
+
+		assertEquals(1, compactTask.getNamedChildren(TAG_PHASE).size());
+
+		Tag phase = compactTask.getFirstNamedChild(TAG_PHASE);
+
+		assertTrue(phase instanceof CompactTag);
+		assertSame(compactTask, phase.getParent());
+
+		Tag parse = phase.getFirstNamedChild(TAG_PARSE);
+
+		assertEquals("730", parse.getAttributes().get("method"));
+		assertEquals(phase, parse.getParent());
+		assertEquals("</parse>", parse.getClosingTag());
+
+		IParseDictionary parseDictionary = compactTask.getParseDictionary();
+
+		assertTrue(parseDictionary.getMethod("730") instanceof CompactTag);
+		assertEquals("hashCode", parseDictionary.getMethod("730").getAttributes().get("name"));
+		assertEquals("length", parseDictionary.getMethod("731").getAttributes().get("name"));
+		assertEquals("java/lang/String", parseDictionary.getKlass("729").getAttributes().get("name"));
+		assertEquals("int", parseDictionary.getType("721").getAttributes().get("name"));
+
+		assertEquals(task.getParseDictionary().getBCIOpcodeMap("730").toString(),
+				compactTask.getParseDictionary().getBCIOpcodeMap("730").toString());
+	}
+
+	@Test
+	public void testCompactTagsAreReadOnly()
+	{
+		Tag phase = processTask(true).getFirstNamedChild(TAG_PHASE);
+
+		try
+		{
+			phase.addChild(new Tag("foo", "", true));
+			assertTrue("addChild should fail", false);
+		}
+		catch (UnsupportedOperationException uoe)
+		{
+			// expected
+		}
+
+		assertEquals(5, phase.getChildren().size());
+		assertEquals(6, phase.getFirstNamedChild(TAG_PARSE).getChildren().size());
+	}
+
+	@Test
+	public void testBuilderKeepsTextContiguous()
+	{
+		CompactTagTree.Builder builder = new CompactTagTree.Builder();
+
+		int root = builder.addTag(-1, "vm_version", "", false);
+		int name = builder.addTag(root, "name", "", false);
+
+		builder.addTextContent(name, "Java HotSpot(TM)");
+
+		int release = builder.addTag(root, "release", "a='1'", false);
+
+		builder.addTextContent(release, "25.0-b70");
+		builder.addTextContent(name, " 64-Bit Server VM");
+
+		int info = builder.addTag(root, "info", "", true);
+
+		CompactTagTree tree = builder.build();
+
+		assertEquals(4, tree.size());
+		assertEquals("Java HotSpot(TM) 64-Bit Server VM", tree.getTextContent(name));
+		assertEquals("25.0-b70", tree.getTextContent(release));
+		assertNull(tree.getTextContent(info));
+		assertEquals("a='1'", tree.getAttributeString(release));
+		assertEquals("", tree.getAttributeString(info));
+		assertTrue(tree.isSelfClosing(info));
+		assertEquals(-1, tree.getParent(root));
+		assertEquals(root, tree.getParent(info));
+
+		Task task = new Task("", false);
+
+		List<Tag> children = tree.getChildren(root, task);
+
+		assertEquals(3, children.size());
+		assertEquals("name", children.get(0).getName());
+		assertEquals("release", children.get(1).getName());
+		assertEquals("info", children.get(2).getName());
+		assertSame(task, children.get(2).getParent());
+	}
+
+	private void writeLog(int compilations) throws IOException
+	{
+		List<String> lines = new ArrayList<>();
+
+		lines.add("<?xml version='1.0' encoding='UTF-8'?>");
+		lines.add("<hotspot_log version='160 1' process='5678' time_ms='1500000000000'>");
+		lines.add("<tty>");
+		lines.add("<start_compile_thread name='C2 CompilerThread0' thread='1234' process='5678' stamp='0.010'/>");
+
+		for (int i = 1; i <= compilations; i++)
+		{
+			String stamp = "0." + (100 + i);
+
+			lines.add("<task_queued compile_id='" + i
+					+ "' method='java/lang/String hashCode ()I' bytes='55' count='520' iicount='520' stamp='" + stamp
+					+ "' comment='count' hot_count='520'/>");
+
+			for (int j = 0; j < TASK_LINES.length; j++)
+			{
+				String line = TASK_LINES[j];
+
+				if (j == 0)
+				{
+					line = line.replace("compile_id='21'", "compile_id='" + i + "'");
+				}
+
+				lines.add(line);
+			}
+
+			lines.add("<nmethod compile_id='" + i
+					+ "' compiler='C2' entry='0x0000000105a44ce0' size='736' address='0x0000000105a44b90' method='java/lang/String hashCode ()I' bytes='55' count='5047' iicount='10047' stamp='"
+					+ stamp + "'/>");
+		}
+
+		lines.add("</tty>");
+		lines.add("</hotspot_log>");
+
+		StringBuilder builder = new StringBuilder();
+
+		for (String line : lines)
+		{
+			builder.append(line).append('\n');
+		}
+
+		Files.write(logPath, builder.toString().getBytes(StandardCharsets.UTF_8));
+	}
+
+	private List<Compilation> parse(boolean compactTags, boolean parallelParse, boolean lazyTaskBodies) throws IOException
+	{
+		JITWatchConfig config = new JITWatchConfig(configPath.toFile());
+
+		config.setCompactTags(compactTags);
+		config.setParallelParse(parallelParse);
+		config.setLazyTaskBodies(lazyTaskBodies);
+
+		ILogParser parser = new HotSpotLogParser(UnitTestUtil.getNoOpJITListener());
+
+		parser.setConfig(config);
+
+		parser.processLogFile(logPath.toFile(), UnitTestUtil.getNoOpParseErrorListener());
+
+		List<Compilation> result = new ArrayList<>();
+
+		for (JITEvent event : parser.getModel().getEventListCopy())
+		{
+			for (Compilation compilation : event.getEventMember().getCompilations())
+			{
+				if (!result.contains(compilation))
+				{
+					result.add(compilation);
+				}
+			}
+		}
+
+		return result;
+	}
+
+	private void assertSameCompilations(List<Compilation> expected, List<Compilation> compact) throws LogParseException
+	{
+		assertEquals(expected.size(), compact.size());
+
+		for (int i = 0; i < expected.size(); i++)
+		{
+			Task expectedTask = expected.get(i).getTagTask();
+			Task compactTask = compact.get(i).getTagTask();
+
+			assertTrue(compactTask.isCompact());
+			assertEquals(expectedTask.toString(), compactTask.toString());
+			assertEquals(expected.get(i).getNativeSize(), compact.get(i).getNativeSize());
+
+			final List<Tag> parseTags = new ArrayList<>();
+
+			CompilationUtil.visitParseTagsOfCompilation(compact.get(i), new ICompilationVisitable()
+			{
+				@Override
+				public void visitTag(Tag parseTag, IParseDictionary parseDictionary) throws LogParseException
+				{
+					assertNotNull(parseDictionary.getMethod(parseTag.getAttributes().get("method")));
+					parseTags.add(parseTag);
+				}
+			});
+
+			assertEquals(1, parseTags.size());
+		}
+	}
+
+	@Test
+	public void testCompactTagsParseLog() throws IOException, LogParseException
+	{
+		writeLog(10);
+
+		List<Compilation> expected = parse(false, false, false);
+
+		assertEquals(10, expected.size());
+
+		assertSameCompilations(expected, parse(true, false, false));
+		assertSameCompilations(expected, parse(true, true, false));
+		assertSameCompilations(expected, parse(true, false, true));
+	}
+}
@@ -0,0 +1,212 @@
+/*
+ * Copyright (c) 2026 Chris Newland.
+ * Licensed under https://github.com/AdoptOpenJDK/jitwatch/blob/master/LICENSE-BSD
+ * Instructions: https://github.com/AdoptOpenJDK/jitwatch/wiki
+ */
+package org.adoptopenjdk.jitwatch.test;
+
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.S_NEWLINE;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Random;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.adoptopenjdk.jitwatch.core.JITWatchConfig;
+import org.adoptopenjdk.jitwatch.model.JITEvent;
+import org.adoptopenjdk.jitwatch.parser.DecompressingInputStream;
+import org.adoptopenjdk.jitwatch.parser.DecompressingInputStream.Compression;
+import org.adoptopenjdk.jitwatch.parser.ILogParser;
+import org.adoptopenjdk.jitwatch.parser.hotspot.HotSpotLogParser;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class TestCompressedLog
+{
+	private File configFile;
+	private File compressedFile;
+
+	@Before
+	public void setUp() throws IOException
+	{
+		configFile = File.createTempFile("test", ".properties");
+		compressedFile = File.createTempFile("testcompressed", ".log.gz");
+	}
+
+	@After
+	public void tearDown()
+	{
+		configFile.delete();
+		compressedFile.delete();
+	}
+
+	@Test
+	public void testMultiMemberGzipIsDecompressedInOrder() throws IOException
+	{
+		Random random = new Random(42);
+
+		ByteArrayOutputStream expected = new ByteArrayOutputStream();
+
+		try (OutputStream outputStream = new FileOutputStream(compressedFile))
+		{
+			for (int member = 0; member < 4; member++)
+			{
+				byte[] payload = new byte[1536 * 1024];
+
+				random.nextBytes(payload);
+
+				if (member == 1)
+				{
+					// random bytes are stored rather than compressed so this
+					// looks like a member header inside the compressed data
+					byte[] falseHeader = new byte[] { 0x1f, (byte) 0x8b, 8, 0, 0, 0, 0, 0, 0, (byte) 0xff };
+
+					System.arraycopy(falseHeader, 0, payload, 1200 * 1024, falseHeader.length);
+				}
+
+				expected.write(payload);
+
+				GZIPOutputStream gzipOutputStream = new GZIPOutputStream(outputStream);
+				gzipOutputStream.write(payload);
+				gzipOutputStream.finish();
+			}
+		}
+
+		assertEquals(Compression.GZIP, DecompressingInputStream.getCompression(compressedFile));
+
+		assertArrayEquals(expected.toByteArray(), readAll(new DecompressingInputStream(compressedFile, 4)));
+		assertArrayEquals(expected.toByteArray(), readAll(new DecompressingInputStream(compressedFile, 1)));
+	}
+
+	@Test
+	public void testCompressedLogParsesLikePlainLog() throws IOException
+	{
+		String log = buildLog(50);
+
+		File plainFile = File.createTempFile("testplain", ".log");
+
+		try
+		{
+			write(plainFile, log.getBytes(StandardCharsets.UTF_8));
+
+			try (OutputStream outputStream = new GZIPOutputStream(new FileOutputStream(compressedFile)))
+			{
+				outputStream.write(log.getBytes(StandardCharsets.UTF_8));
+			}
+
+			assertEquals(Compression.NONE, DecompressingInputStream.getCompression(plainFile));
+
+			List<JITEvent> plainEvents = parse(plainFile).getModel().getEventListCopy();
+			List<JITEvent> gzipEvents = parse(compressedFile).getModel().getEventListCopy();
+
+			try (ZipOutputStream outputStream = new ZipOutputStream(new FileOutputStream(compressedFile)))
+			{
+				outputStream.putNextEntry(new ZipEntry("hotspot.log"));
+				outputStream.write(log.getBytes(StandardCharsets.UTF_8));
+				outputStream.closeEntry();
+			}
+
+			assertEquals(Compression.ZIP, DecompressingInputStream.getCompression(compressedFile));
+
+			List<JITEvent> zipEvents = parse(compressedFile).getModel().getEventListCopy();
+
+			assertEquals(100, plainEvents.size());
+			assertEquals(plainEvents.size(), gzipEvents.size());
+			assertEquals(plainEvents.size(), zipEvents.size());
+
+			for (int i = 0; i < plainEvents.size(); i++)
+			{
+				assertEquals(plainEvents.get(i).getStamp(), gzipEvents.get(i).getStamp());
+				assertEquals(plainEvents.get(i).getEventMember().toString(), gzipEvents.get(i).getEventMember().toString());
+				assertEquals(plainEvents.get(i).getStamp(), zipEvents.get(i).getStamp());
+			}
+		}
+		finally
+		{
+			plainFile.delete();
+		}
+	}
+
+	private String buildLog(int compilations)
+	{
+		StringBuilder builder = new StringBuilder();
+
+		builder.append("<?xml version='1.0' encoding='UTF-8'?>").append(S_NEWLINE);
+		builder.append("<hotspot_log version='160 1' process='5678' time_ms='1500000000000'>").append(S_NEWLINE);
+		builder.append("<tty>").append(S_NEWLINE);
+
+		for (int i = 1; i <= compilations; i++)
+		{
+			String method = "java/lang/String " + (i % 2 == 0 ? "length ()I" : "hashCode ()I");
+			String stamp = "0." + (100 + i);
+
+			builder.append("<task_queued compile_id='").append(i).append("' method='").append(method)
+					.append("' bytes='55' count='520' iicount='520' stamp='").append(stamp).append("' comment='count' hot_count='520'/>")
+					.append(S_NEWLINE);
+			builder.append("<nmethod compile_id='").append(i)
+					.append("' compiler='C2' entry='0x0000000105a44ce0' size='736' address='0x0000000105a44b90' method='")
+					.append(method).append("' bytes='55' count='5047' iicount='10047' stamp='").append(stamp).append("'/>")
+					.append(S_NEWLINE);
+		}
+
+		builder.append("</tty>").append(S_NEWLINE);
+		builder.append("</hotspot_log>").append(S_NEWLINE);
+
+		return builder.toString();
+	}
+
+	private ILogParser parse(File logFile) throws IOException
+	{
+		ILogParser parser = new HotSpotLogParser(UnitTestUtil.getNoOpJITListener());
+
+		parser.setConfig(new JITWatchConfig(configFile));
+
+		parser.processLogFile(logFile, UnitTestUtil.getNoOpParseErrorListener());
+
+		return parser;
+	}
+
+	private byte[] readAll(InputStream inputStream) throws IOException
+	{
+		ByteArrayOutputStream result = new ByteArrayOutputStream();
+
+		try
+		{
+			byte[] buffer = new byte[8192];
+
+			int read = inputStream.read(buffer);
+
+			while (read != -1)
+			{
+				result.write(buffer, 0, read);
+
+				read = inputStream.read(buffer);
+			}
+		}
+		finally
+		{
+			inputStream.close();
+		}
+
+		return result.toByteArray();
+	}
+
+	private void write(File file, byte[] bytes) throws IOException
+	{
+		try (OutputStream outputStream = new FileOutputStream(file))
+		{
+			outputStream.write(bytes);
+		}
+	}
+}
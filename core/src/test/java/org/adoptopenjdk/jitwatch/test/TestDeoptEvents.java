@@ -0,0 +1,280 @@
+/*
+ * Copyright (c) 2026 Chris Newland.
+ * Licensed under https://github.com/AdoptOpenJDK/jitwatch/blob/master/LICENSE-BSD
+ * Instructions: https://github.com/AdoptOpenJDK/jitwatch/wiki
+ */
+package org.adoptopenjdk.jitwatch.test;
+
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.S_NEWLINE;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.adoptopenjdk.jitwatch.core.JITWatchConfig;
+import org.adoptopenjdk.jitwatch.deopt.DeoptAnalyser;
+import org.adoptopenjdk.jitwatch.deopt.DeoptMemberStats;
+import org.adoptopenjdk.jitwatch.model.DeoptEvent;
+import org.adoptopenjdk.jitwatch.model.DeoptEvent.DeoptEventType;
+import org.adoptopenjdk.jitwatch.model.DeoptEventStore;
+import org.adoptopenjdk.jitwatch.model.IReadOnlyDeoptEventStore;
+import org.adoptopenjdk.jitwatch.parser.ILogParser;
+import org.adoptopenjdk.jitwatch.parser.hotspot.HotSpotLogParser;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class TestDeoptEvents
+{
+	private static final String HASHCODE = "java/lang/String hashCode ()I";
+	private static final String LENGTH = "java/lang/String length ()I";
+
+	private Path configPath;
+	private Path logPath;
+
+	@Before
+	public void setUp() throws IOException
+	{
+		configPath = Files.createTempFile("test", ".properties");
+		logPath = Files.createTempFile("testdeopt", ".log");
+	}
+
+	@After
+	public void tearDown() throws IOException
+	{
+		Files.deleteIfExists(configPath);
+		Files.deleteIfExists(logPath);
+	}
+
+	private void addCompilation(List<String> lines, int compileID, String method, String stamp)
+	{
+		lines.add("<task_queued compile_id='" + compileID + "' method='" + method
+				+ "' bytes='55' count='520' iicount='520' stamp='" + stamp + "' comment='count' hot_count='520'/>");
+		lines.add("<nmethod compile_id='" + compileID
+				+ "' compiler='C2' entry='0x0000000105a44ce0' size='736' address='0x0000000105a44b90' method='" + method
+				+ "' bytes='55' count='5047' iicount='10047' stamp='" + stamp + "'/>");
+	}
+
+	private void addTrap(List<String> lines, int compileID, String reason, String method, String stamp)
+	{
+		lines.add("<uncommon_trap thread='4321' reason='" + reason + "' action='reinterpret' compile_id='" + compileID
+				+ "' compiler='C2' level='4' stamp='" + stamp + "'>");
+		lines.add("<jvms bci='12' method='" + method + "' bytes='55' count='5047' iicount='10047'/>");
+		lines.add("</uncommon_trap>");
+		lines.add("<make_not_entrant thread='4321' compile_id='" + compileID + "' compiler='C2' level='4' stamp='" + stamp + "'/>");
+	}
+
+	// hashCode is compiled and thrown away four times, length once
+	private void writeLog() throws IOException
+	{
+		List<String> lines = new ArrayList<>();
+
+		addCompilation(lines, 1, LENGTH, "0.100");
+		addTrap(lines, 1, "null_check", HASHCODE, "0.200");
+
+		for (int i = 0; i < 4; i++)
+		{
+			int compileID = 2 + i;
+
+			addCompilation(lines, compileID, HASHCODE, "1." + (100 + i));
+			addTrap(lines, compileID, "unstable_if", HASHCODE, "2." + (100 + i));
+		}
+
+		lines.add("<deoptimized thread='4321' reason='constraint' pc='0x0000000105a44d00' compile_id='5' compiler='C2' level='4'>");
+		lines.add("<jvms bci='3' method='" + HASHCODE + "' bytes='55' count='5047' iicount='10047'/>");
+		lines.add("</deoptimized>");
+
+		lines.add("<make_not_entrant thread='4321' zombie='1' compile_id='99' compiler='C2' level='4' stamp='3.000'/>");
+
+		writeLog(lines);
+	}
+
+	private void writeLog(List<String> ttyLines) throws IOException
+	{
+		StringBuilder builder = new StringBuilder();
+
+		builder.append("<?xml version='1.0' encoding='UTF-8'?>").append(S_NEWLINE);
+		builder.append("<hotspot_log version='160 1' process='5678' time_ms='1500000000000'>").append(S_NEWLINE);
+		builder.append("<tty>").append(S_NEWLINE);
+
+		for (String line : ttyLines)
+		{
+			builder.append(line).append(S_NEWLINE);
+		}
+
+		builder.append("</tty>").append(S_NEWLINE);
+		builder.append("</hotspot_log>").append(S_NEWLINE);
+
+		Files.write(logPath, builder.toString().getBytes(StandardCharsets.UTF_8));
+	}
+
+	private ILogParser parse() throws IOException
+	{
+		ILogParser parser = new HotSpotLogParser(UnitTestUtil.getNoOpJITListener());
+
+		parser.setConfig(new JITWatchConfig(configPath.toFile()));
+
+		parser.processLogFile(logPath.toFile(), UnitTestUtil.getNoOpParseErrorListener());
+
+		return parser;
+	}
+
+	@Test
+	public void testRuntimeEventsAreLinkedToCompilations() throws IOException
+	{
+		writeLog();
+
+		IReadOnlyDeoptEventStore store = parse().getModel().getDeoptEvents();
+
+		assertEquals(12, store.size());
+
+		DeoptEvent trap = store.getEvent(0);
+
+		assertEquals(DeoptEventType.UNCOMMON_TRAP, trap.getEventType());
+		assertEquals(200, trap.getStamp());
+		assertEquals(1, trap.getCompileID());
+		assertEquals("null_check", trap.getReason());
+		assertEquals("reinterpret", trap.getAction());
+		assertEquals(HASHCODE, trap.getMethod());
+		assertEquals(12, trap.getBCI());
+
+		// the trap was in hashCode inlined into the compiled length
+		assertNotNull(trap.getCompilation());
+		assertEquals("1", trap.getCompilation().getCompileID());
+		assertEquals("length", trap.getCompilation().getMember().getMemberName());
+
+		DeoptEvent notEntrant = store.getEvent(1);
+
+		assertEquals(DeoptEventType.MAKE_NOT_ENTRANT, notEntrant.getEventType());
+		assertNull(notEntrant.getReason());
+		assertEquals(DeoptEvent.NO_BCI, notEntrant.getBCI());
+
+		// no stamp, takes the stamp of the event before
+		DeoptEvent deoptimized = store.getEvent(10);
+
+		assertEquals(DeoptEventType.DEOPTIMIZED, deoptimized.getEventType());
+		assertEquals(2103, deoptimized.getStamp());
+		assertEquals(3, deoptimized.getBCI());
+		assertEquals("5", deoptimized.getCompilation().getCompileID());
+
+		DeoptEvent zombie = store.getEvent(11);
+
+		assertEquals(DeoptEventType.MAKE_ZOMBIE, zombie.getEventType());
+		assertNull(zombie.getCompilation());
+
+		assertEquals(9, store.getEvents(2000, 3000).size());
+		assertEquals(4, store.count(DeoptEventType.UNCOMMON_TRAP, 2000, 3000));
+	}
+
+	@Test
+	public void testDeoptimizedWithoutStampFollowsPreviousEvent() throws IOException
+	{
+		List<String> lines = new ArrayList<>();
+
+		addCompilation(lines, 1, HASHCODE, "1.000");
+		addTrap(lines, 1, "unstable_if", HASHCODE, "2.000");
+
+		// written late by another thread
+		addTrap(lines, 1, "class_check", HASHCODE, "1.500");
+
+		lines.add("<deoptimized thread='4322' reason='constraint' pc='0x0000000105a44d00' compile_id='1' compiler='C2' level='4'>");
+		lines.add("<jvms bci='3' method='" + HASHCODE + "' bytes='55' count='5047' iicount='10047'/>");
+		lines.add("</deoptimized>");
+
+		writeLog(lines);
+
+		IReadOnlyDeoptEventStore store = parse().getModel().getDeoptEvents();
+
+		assertEquals(5, store.size());
+
+		List<DeoptEvent> deoptimized = new ArrayList<>();
+
+		for (DeoptEvent event : store.getEvents(0, 3000))
+		{
+			if (event.getEventType() == DeoptEventType.DEOPTIMIZED)
+			{
+				deoptimized.add(event);
+			}
+		}
+
+		assertEquals(1, deoptimized.size());
+		assertEquals(1500, deoptimized.get(0).getStamp());
+	}
+
+	@Test
+	public void testAnalyserFindsRatesReasonsAndLoops() throws IOException
+	{
+		writeLog();
+
+		DeoptAnalyser analyser = new DeoptAnalyser(parse().getModel());
+
+		assertEquals(12, analyser.getEventCount());
+
+		assertArrayEquals(new int[] { 1, 0, 4, 0 }, analyser.getCountsPerInterval(DeoptEventType.UNCOMMON_TRAP, 1000));
+		assertArrayEquals(new int[] { 0, 0, 1, 0 }, analyser.getCountsPerInterval(DeoptEventType.DEOPTIMIZED, 1000));
+		assertArrayEquals(new int[] { 0, 0, 0, 1 }, analyser.getCountsPerInterval(DeoptEventType.MAKE_ZOMBIE, 1000));
+
+		Map<String, Integer> reasons = analyser.getReasonCounts();
+
+		assertEquals("[unstable_if, constraint, null_check]", reasons.keySet().toString());
+		assertEquals(Integer.valueOf(4), reasons.get("unstable_if"));
+
+		List<DeoptMemberStats> loops = analyser.getRecompileLoops(DeoptAnalyser.DEFAULT_RECOMPILE_LOOP_THRESHOLD);
+
+		assertEquals(1, loops.size());
+
+		DeoptMemberStats hashCodeStats = loops.get(0);
+
+		assertEquals("hashCode", hashCodeStats.getMember().getMemberName());
+		assertEquals(4, hashCodeStats.getNotEntrantCount());
+		assertEquals(4, hashCodeStats.getTrapCount());
+		assertEquals(1, hashCodeStats.getDeoptimizedCount());
+		assertEquals(4, hashCodeStats.getCompilationCount());
+		assertEquals("unstable_if", hashCodeStats.getTopReason());
+
+		assertEquals(2, analyser.getMemberStats().size());
+	}
+
+	@Test
+	public void testStoreKeepsStampOrder()
+	{
+		DeoptEventStore store = new DeoptEventStore();
+
+		for (int i = 0; i < 1000; i++)
+		{
+			store.add(new DeoptEvent(DeoptEventType.UNCOMMON_TRAP, i * 10, i, "reason" + (i % 3), "none", null, i, null));
+		}
+
+		// written late by another thread
+		store.add(new DeoptEvent(DeoptEventType.DEOPTIMIZED, 55, 5000, "late", null, null, DeoptEvent.NO_BCI, null));
+		store.add(new DeoptEvent(DeoptEventType.DEOPTIMIZED, 50, 5001, "late", null, null, DeoptEvent.NO_BCI, null));
+
+		assertEquals(1002, store.size());
+		assertEquals(0, store.getFirstStamp());
+		assertEquals(9990, store.getLastStamp());
+
+		List<DeoptEvent> events = store.getEvents(50, 61);
+
+		assertEquals(4, events.size());
+		assertEquals(5, events.get(0).getCompileID());
+		assertEquals(5001, events.get(1).getCompileID());
+		assertEquals(5000, events.get(2).getCompileID());
+		assertEquals(6, events.get(3).getCompileID());
+
+		assertEquals("reason2", events.get(0).getReason());
+		assertEquals(2, store.count(DeoptEventType.DEOPTIMIZED, 0, 10000));
+
+		store.clear();
+
+		assertEquals(0, store.size());
+		assertEquals(0, store.getEvents(0, 10000).size());
+	}
+}
@@ -0,0 +1,183 @@
+/*
+ * Copyright (c) 2026 Chris Newland.
+ * Licensed under https://github.com/AdoptOpenJDK/jitwatch/blob/master/LICENSE-BSD
+ * Instructions: https://github.com/AdoptOpenJDK/jitwatch/wiki
+ */
+package org.adoptopenjdk.jitwatch.test;
+
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.S_NEWLINE;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.adoptopenjdk.jitwatch.fleet.FleetMemberStats;
+import org.adoptopenjdk.jitwatch.fleet.FleetModel;
+import org.adoptopenjdk.jitwatch.fleet.FleetParser;
+import org.adoptopenjdk.jitwatch.model.CodeCacheEvent.CodeCacheEventType;
+import org.adoptopenjdk.jitwatch.parser.ParserType;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class TestFleetParser
+{
+	private static final String HASHCODE = "java/lang/String hashCode ()I";
+	private static final String LENGTH = "java/lang/String length ()I";
+
+	private File configFile;
+
+	private final List<File> logFiles = new ArrayList<>();
+
+	@Before
+	public void setUp() throws IOException
+	{
+		configFile = File.createTempFile("test", ".properties");
+	}
+
+	@After
+	public void tearDown()
+	{
+		configFile.delete();
+
+		for (File logFile : logFiles)
+		{
+			logFile.delete();
+		}
+	}
+
+	@Test
+	public void testLogsAreMergedIntoFleetModel() throws IOException, InterruptedException
+	{
+		logFiles.add(writeLog(buildLog(0, false)));
+		logFiles.add(writeLog(buildLog(3, true)));
+		logFiles.add(writeLog(buildLog(5, false)));
+		logFiles.add(writeLog(buildLog(0, true)));
+
+		FleetModel fleetModel = new FleetParser(ParserType.HOTSPOT, configFile, 2).parse(logFiles);
+
+		assertEquals(4, fleetModel.getLogCount());
+		assertTrue(fleetModel.getFailedLogs().isEmpty());
+
+		FleetMemberStats hashCodeStats = fleetModel.getMemberStats(getSignature("hashCode"));
+
+		assertNotNull(hashCodeStats);
+		assertEquals(4, hashCodeStats.getLogCount());
+		assertEquals(8, hashCodeStats.getCompilationCount());
+		assertEquals(2, hashCodeStats.getDecompiledLogCount());
+		assertEquals(8, hashCodeStats.getDecompileCount());
+
+		FleetMemberStats lengthStats = fleetModel.getMemberStats(getSignature("length"));
+
+		assertNotNull(lengthStats);
+		assertEquals(4, lengthStats.getLogCount());
+		assertEquals(4, lengthStats.getCompilationCount());
+		assertEquals(0, lengthStats.getDecompiledLogCount());
+
+		List<FleetMemberStats> decompiled = fleetModel.getDecompiledMembers();
+
+		assertEquals(1, decompiled.size());
+		assertEquals(hashCodeStats, decompiled.get(0));
+
+		assertEquals(4, fleetModel.getCodeCacheStats().getLogCount());
+		assertEquals(4, fleetModel.getCodeCacheStats().getEventCount(CodeCacheEventType.SWEEPER));
+		assertEquals(2, fleetModel.getCodeCacheStats().getEventCount(CodeCacheEventType.CACHE_FULL));
+		assertEquals(2, fleetModel.getCodeCacheStats().getCacheFullLogCount());
+		assertEquals(4, fleetModel.getLogCodeCacheStats().size());
+	}
+
+	@Test
+	public void testUnreadableLogIsReportedAndOthersMerged() throws IOException, InterruptedException
+	{
+		logFiles.add(writeLog(buildLog(1, false)));
+
+		File missingFile = new File(logFiles.get(0).getPath() + ".missing");
+
+		logFiles.add(missingFile);
+
+		FleetModel fleetModel = new FleetParser(ParserType.HOTSPOT, configFile, 2).parse(logFiles);
+
+		assertEquals(1, fleetModel.getLogCount());
+		assertEquals(1, fleetModel.getFailedLogs().size());
+		assertTrue(fleetModel.getFailedLogs().containsKey(missingFile.getPath()));
+
+		assertEquals(2, fleetModel.getMemberStats(getSignature("hashCode")).getCompilationCount());
+	}
+
+	private String getSignature(String methodName)
+	{
+		return "public int java.lang.String." + methodName + "()";
+	}
+
+	private String buildLog(int decompiles, boolean cacheFull)
+	{
+		StringBuilder builder = new StringBuilder();
+
+		builder.append("<?xml version='1.0' encoding='UTF-8'?>").append(S_NEWLINE);
+		builder.append("<hotspot_log version='160 1' process='5678' time_ms='1500000000000'>").append(S_NEWLINE);
+		builder.append("<tty>").append(S_NEWLINE);
+
+		// hashCode is compiled twice and length once
+		String[] methods = new String[] { HASHCODE, LENGTH, HASHCODE };
+
+		for (int i = 0; i < methods.length; i++)
+		{
+			int compileId = i + 1;
+			String method = methods[i];
+			String stamp = "0." + (100 + compileId);
+
+			builder.append("<task_queued compile_id='").append(compileId).append("' method='").append(method)
+					.append("' bytes='55' count='520' iicount='520' stamp='").append(stamp).append("' comment='count' hot_count='520'/>")
+					.append(S_NEWLINE);
+			builder.append("<nmethod compile_id='").append(compileId)
+					.append("' compiler='C2' entry='0x0000000105a44ce0' size='736' address='0x0000000105a44b90' method='")
+					.append(method).append("' bytes='55' count='5047' iicount='10047' stamp='").append(stamp).append("'/>")
+					.append(S_NEWLINE);
+		}
+
+		// the hashCode compilations are made not entrant and length made zombie
+		for (int i = 0; i < decompiles; i++)
+		{
+			String compileId = i % 2 == 0 ? "1" : "3";
+
+			builder.append("<uncommon_trap thread='4321' reason='unstable_if' action='reinterpret' compile_id='").append(compileId)
+					.append("' compiler='C2' level='4' stamp='0.15").append(i).append("'/>").append(S_NEWLINE);
+			builder.append("<make_not_entrant thread='4321' compile_id='").append(compileId)
+					.append("' compiler='C2' level='4' stamp='0.15").append(i).append("'/>").append(S_NEWLINE);
+		}
+
+		builder.append("<make_not_entrant thread='4321' zombie='1' compile_id='2' compiler='C2' level='4' stamp='0.160'/>")
+				.append(S_NEWLINE);
+
+		builder.append("<sweeper state='finished' traversals='1' total_blobs='100' nmethods='50' stamp='0.200'/>").append(S_NEWLINE);
+
+		if (cacheFull)
+		{
+			builder.append("<code_cache_full stamp='0.300'/>").append(S_NEWLINE);
+		}
+
+		builder.append("</tty>").append(S_NEWLINE);
+		builder.append("</hotspot_log>").append(S_NEWLINE);
+
+		return builder.toString();
+	}
+
+	private File writeLog(String log) throws IOException
+	{
+		File logFile = File.createTempFile("testfleet", ".log");
+
+		try (OutputStream outputStream = new FileOutputStream(logFile))
+		{
+			outputStream.write(log.getBytes(StandardCharsets.UTF_8));
+		}
+
+		return logFile;
+	}
+}
@@ -7,6 +7,9 @@ package org.adoptopenjdk.jitwatch.test;
 
 import static org.junit.Assert.*;
 
+import java.util.List;
+import java.util.Map;
+
 import org.adoptopenjdk.jitwatch.histo.*;
 import org.junit.Test;
 
@@ -37,4 +40,121 @@ public class TestHisto
 		assertEquals(50, h.getPercentile(100), epsilon);	
 
 	}
-}
\ No newline at end of file
+
+	@Test
+	public void testLargeValuesAreRecordedToWithinBucketPrecision()
+	{
+		Histo h = new Histo();
+
+		for (long value = 1; value <= 1_000_000; value++)
+		{
+			h.addValue(value);
+		}
+
+		assertEquals(1_000_000, h.getCount());
+
+		long median = h.getPercentile(50);
+
+		assertTrue(Math.abs(median - 500_000) <= 500_000 / 128);
+
+		long p99 = h.getPercentile(99);
+
+		assertTrue(Math.abs(p99 - 990_000) <= 990_000 / 128);
+
+		assertEquals(1_000_000, h.getPercentile(100));
+		assertEquals(1_000_000, h.getLastTime());
+
+		h.addValue(Long.MAX_VALUE);
+
+		assertEquals(Long.MAX_VALUE, h.getPercentile(100));
+	}
+
+	@Test
+	public void testSortedDataUsesResolution()
+	{
+		Histo h = new Histo(10);
+
+		h.addValue(3);
+		h.addValue(7);
+		h.addValue(12);
+		h.addValue(25);
+		h.addValue(26);
+		h.addValue(29);
+		h.addValue(-4);
+
+		List<Map.Entry<Long, Integer>> data = h.getSortedData();
+
+		assertEquals(3, data.size());
+
+		assertEquals(Long.valueOf(10), data.get(0).getKey());
+		assertEquals(Integer.valueOf(1), data.get(0).getValue());
+		assertEquals(Integer.valueOf(3), data.get(2).getValue());
+
+		assertEquals(3, h.getMaxCount());
+		assertEquals(20, h.getLastTime());
+
+		h.clear();
+
+		assertEquals(0, h.getCount());
+		assertEquals(0, h.getSortedData().size());
+		assertEquals(0, h.getPercentile(50));
+	}
+
+	@Test
+	public void testMergeHistogramsFilledByManyThreads() throws InterruptedException
+	{
+		final int threadCount = 4;
+		final int valuesPerThread = 100_000;
+
+		final Histo shared = new Histo();
+		final Histo[] perThread = new Histo[threadCount];
+
+		Thread[] threads = new Thread[threadCount];
+
+		for (int t = 0; t < threadCount; t++)
+		{
+			final Histo local = new Histo();
+
+			perThread[t] = local;
+
+			threads[t] = new Thread(new Runnable()
+			{
+				@Override
+				public void run()
+				{
+					for (int i = 0; i < valuesPerThread; i++)
+					{
+						shared.addValue(i % 200);
+						local.addValue(i % 200);
+					}
+				}
+			});
+
+			threads[t].start();
+		}
+
+		for (Thread thread : threads)
+		{
+			thread.join();
+		}
+
+		Histo merged = new Histo();
+
+		for (Histo local : perThread)
+		{
+			merged.merge(local);
+		}
+
+		assertEquals(threadCount * valuesPerThread, shared.getCount());
+		assertEquals(shared.getCount(), merged.getCount());
+
+		for (double percent : new double[] { 1, 50, 90, 99.9, 100 })
+		{
+			assertEquals(shared.getPercentile(percent), merged.getPercentile(percent));
+		}
+
+		assertEquals(100, merged.getPercentile(50));
+		assertEquals(199, merged.getPercentile(100));
+		assertEquals(threadCount * valuesPerThread / 200, merged.getMaxCount());
+	}
+}
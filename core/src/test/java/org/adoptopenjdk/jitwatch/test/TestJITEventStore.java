@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2026 Chris Newland.
+ * Licensed under https://github.com/AdoptOpenJDK/jitwatch/blob/master/LICENSE-BSD
+ * Instructions: https://github.com/AdoptOpenJDK/jitwatch/wiki
+ */
+package org.adoptopenjdk.jitwatch.test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.util.List;
+
+import org.adoptopenjdk.jitwatch.model.EventType;
+import org.adoptopenjdk.jitwatch.model.IMetaMember;
+import org.adoptopenjdk.jitwatch.model.JITEvent;
+import org.adoptopenjdk.jitwatch.model.JITEventStore;
+import org.adoptopenjdk.jitwatch.model.MetaClass;
+import org.adoptopenjdk.jitwatch.model.MetaPackage;
+import org.adoptopenjdk.jitwatch.model.MetaMethod;
+import org.junit.Test;
+
+public class TestJITEventStore
+{
+	private IMetaMember getMember(String methodName) throws NoSuchMethodException
+	{
+		MetaClass metaClass = new MetaClass(new MetaPackage("java.lang"), "String");
+
+		return new MetaMethod(String.class.getDeclaredMethod(methodName), metaClass);
+	}
+
+	@Test
+	public void testCursorReadsOnlyNewEvents() throws NoSuchMethodException
+	{
+		IMetaMember length = getMember("length");
+		IMetaMember hashCode = getMember("hashCode");
+
+		JITEventStore store = new JITEventStore();
+
+		for (int i = 0; i < 3000; i++)
+		{
+			store.add(i, i % 2 == 0 ? EventType.QUEUE : EventType.NMETHOD_C2, i % 3 == 0 ? length : hashCode);
+		}
+
+		assertEquals(3000, store.size());
+
+		int cursor = store.size();
+
+		store.add(new JITEvent(5000, EventType.NMETHOD_C1, length));
+		store.add(new JITEvent(5001, EventType.TASK, null));
+
+		List<JITEvent> newEvents = store.getEventsSince(cursor);
+
+		assertEquals(2, newEvents.size());
+		assertEquals(5000, newEvents.get(0).getStamp());
+		assertEquals(EventType.NMETHOD_C1, newEvents.get(0).getEventType());
+		assertSame(length, newEvents.get(0).getEventMember());
+		assertNull(newEvents.get(1).getEventMember());
+
+		assertArrayEquals(new long[] { 5000, 5001 }, store.getStampsSince(cursor));
+		assertEquals(0, store.getEventsSince(store.size()).size());
+
+		assertSame(hashCode, store.getMember(1));
+		assertEquals(EventType.QUEUE, store.getEventType(2));
+		assertEquals(3002, store.getEvents().size());
+	}
+
+	@Test
+	public void testRangeQueriesKeepStampOrder() throws NoSuchMethodException
+	{
+		IMetaMember length = getMember("length");
+
+		JITEventStore store = new JITEventStore();
+
+		for (int i = 0; i < 1000; i++)
+		{
+			store.add(i * 10, EventType.QUEUE, length);
+		}
+
+		// written late by another compiler thread
+		store.add(55, EventType.NMETHOD_C2, length);
+		store.add(50, EventType.NMETHOD_C1, length);
+		store.add(10000, EventType.NMETHOD_C2, length);
+
+		assertEquals(1003, store.size());
+		assertEquals(0, store.getFirstStamp());
+		assertEquals(10000, store.getLastStamp());
+
+		// arrival order is unchanged for cursors
+		assertEquals(55, store.getStamp(1000));
+		assertEquals(50, store.getStamp(1001));
+
+		List<JITEvent> events = store.getEvents(50, 61);
+
+		assertEquals(4, events.size());
+		assertEquals(EventType.QUEUE, events.get(0).getEventType());
+		assertEquals(EventType.NMETHOD_C1, events.get(1).getEventType());
+		assertEquals(EventType.NMETHOD_C2, events.get(2).getEventType());
+		assertEquals(60, events.get(3).getStamp());
+
+		assertEquals(4, store.count(50, 61));
+		assertEquals(2, store.count(EventType.NMETHOD_C2, 0, 20000));
+		assertEquals(0, store.count(EventType.TASK, 0, 20000));
+
+		int generation = store.getGeneration();
+
+		store.clear();
+
+		assertNotEquals(generation, store.getGeneration());
+		assertEquals(0, store.size());
+		assertEquals(0, store.getLastStamp());
+		assertEquals(0, store.getEvents(0, 20000).size());
+
+		store.add(1, EventType.QUEUE, length);
+		store.add(2, EventType.QUEUE, length);
+
+		assertEquals(1, store.count(2, 3));
+	}
+}
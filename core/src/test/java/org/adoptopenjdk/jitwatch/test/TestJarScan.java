@@ -7,9 +7,21 @@ package org.adoptopenjdk.jitwatch.test;
 
 import static org.junit.Assert.assertEquals;
 
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
 import java.util.Arrays;
 import java.util.Map;
-
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+import org.adoptopenjdk.jitwatch.jarscan.IJarScanOperation;
+import org.adoptopenjdk.jitwatch.jarscan.JarScan;
+import org.adoptopenjdk.jitwatch.jarscan.instructioncount.InstructionCountOperation;
+import org.adoptopenjdk.jitwatch.jarscan.invokecount.InvokeCountOperation;
+import org.adoptopenjdk.jitwatch.jarscan.methodsizehisto.MethodSizeHistoOperation;
 import org.adoptopenjdk.jitwatch.jarscan.sequencecount.InstructionSequence;
 import org.adoptopenjdk.jitwatch.jarscan.sequencecount.SequenceCountOperation;
 import org.adoptopenjdk.jitwatch.model.bytecode.MemberBytecode;
@@ -452,4 +464,97 @@ public class TestJarScan
 		checkSequence(result, 3, Opcode.DUP, Opcode.ALOAD_0, Opcode.INVOKESPECIAL);
 		checkSequence(result, 3, Opcode.ALOAD_0, Opcode.INVOKESPECIAL, Opcode.ATHROW);
 	}
-}
\ No newline at end of file
+
+	@Test
+	public void testMergeSequenceCounts()
+	{
+		String[] lines = new String[] { "0: aload_0", "1: areturn" };
+
+		SequenceCountOperation counter = new SequenceCountOperation(2);
+
+		counter.processInstructions("Foo", UnitTestUtil.createMemberBytecode(lines));
+
+		IJarScanOperation workerCopy = counter.createWorkerCopy();
+
+		workerCopy.processInstructions("Bar", UnitTestUtil.createMemberBytecode(lines));
+
+		assertEquals(1, ((SequenceCountOperation) workerCopy).getSequenceScores().size());
+
+		counter.merge(workerCopy);
+
+		checkSequence(counter.getSequenceScores(), 2, Opcode.ALOAD_0, Opcode.ARETURN);
+	}
+
+	@Test
+	public void testMultiThreadedScanMatchesSingleThreaded() throws IOException, URISyntaxException
+	{
+		String classFolder = new File(JarScan.class.getProtectionDomain().getCodeSource().getLocation().toURI()).toString();
+
+		assertEquals(scanFolder(new InvokeCountOperation(0), classFolder, 1), scanFolder(new InvokeCountOperation(0), classFolder, 4));
+
+		assertEquals(scanFolder(new InstructionCountOperation(0), classFolder, 1),
+				scanFolder(new InstructionCountOperation(0), classFolder, 4));
+
+		assertEquals(scanFolder(new MethodSizeHistoOperation(), classFolder, 1),
+				scanFolder(new MethodSizeHistoOperation(), classFolder, 4));
+	}
+
+	@Test
+	public void testJarScanMatchesFolderScan() throws IOException, URISyntaxException
+	{
+		File classFolder = new File(JarScan.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+
+		File jar = File.createTempFile("testjarscan", ".jar");
+
+		try
+		{
+			try (JarOutputStream jarOutputStream = new JarOutputStream(new FileOutputStream(jar)))
+			{
+				addClassFiles(jarOutputStream, classFolder, new File(classFolder, "org/adoptopenjdk/jitwatch/jarscan"));
+			}
+
+			String folderReport = scanFolder(new InstructionCountOperation(0), classFolder.toString(), 1);
+
+			assertEquals(folderReport, scanFolder(new InstructionCountOperation(0), jar.toString(), 1));
+			assertEquals(folderReport, scanFolder(new InstructionCountOperation(0), jar.toString(), 4));
+		}
+		finally
+		{
+			jar.delete();
+		}
+	}
+
+	private void addClassFiles(JarOutputStream jarOutputStream, File root, File folder) throws IOException
+	{
+		for (File child : folder.listFiles())
+		{
+			if (child.isDirectory())
+			{
+				addClassFiles(jarOutputStream, root, child);
+			}
+			else if (child.getName().endsWith(".class"))
+			{
+				String entryName = root.toURI().relativize(child.toURI()).getPath();
+
+				jarOutputStream.putNextEntry(new JarEntry(entryName));
+				jarOutputStream.write(Files.readAllBytes(child.toPath()));
+				jarOutputStream.closeEntry();
+			}
+		}
+	}
+
+	private String scanFolder(IJarScanOperation operation, String classFolder, int threads) throws IOException
+	{
+		JarScan scanner = new JarScan(operation);
+
+		scanner.addAllowedPackagePrefix("org.adoptopenjdk.jitwatch.jarscan");
+
+		scanner.setThreads(threads);
+
+		scanner.setClassFileReader(true);
+
+		scanner.processJarsAndFolders(new String[] { classFolder }, false);
+
+		return operation.getReport();
+	}
+}
@@ -0,0 +1,256 @@
+/*
+ * Copyright (c) 2026 Chris Newland.
+ * Licensed under https://github.com/AdoptOpenJDK/jitwatch/blob/master/LICENSE-BSD
+ * Instructions: https://github.com/AdoptOpenJDK/jitwatch/wiki
+ */
+package org.adoptopenjdk.jitwatch.test;
+
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.TAG_PARSE;
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.TAG_PHASE;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.adoptopenjdk.jitwatch.compilation.CompilationUtil;
+import org.adoptopenjdk.jitwatch.compilation.ICompilationVisitable;
+import org.adoptopenjdk.jitwatch.core.JITWatchConfig;
+import org.adoptopenjdk.jitwatch.model.Compilation;
+import org.adoptopenjdk.jitwatch.model.IParseDictionary;
+import org.adoptopenjdk.jitwatch.model.JITEvent;
+import org.adoptopenjdk.jitwatch.model.LogParseException;
+import org.adoptopenjdk.jitwatch.model.Tag;
+import org.adoptopenjdk.jitwatch.model.Task;
+import org.adoptopenjdk.jitwatch.parser.ILogParser;
+import org.adoptopenjdk.jitwatch.parser.hotspot.HotSpotLogParser;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class TestLazyTaskBodies
+{
+	private static final String[] METHODS = new String[] { "length ()I", "hashCode ()I", "isEmpty ()Z" };
+
+	private Path configPath;
+	private Path logPath;
+
+	@Before
+	public void setUp() throws IOException
+	{
+		configPath = Files.createTempFile("test", ".properties");
+		logPath = Files.createTempFile("testlazytasks", ".log");
+	}
+
+	@After
+	public void tearDown() throws IOException
+	{
+		Files.deleteIfExists(configPath);
+		Files.deleteIfExists(logPath);
+	}
+
+	private void writeLog(int compilations, String lineEnding) throws IOException
+	{
+		List<String> lines = new ArrayList<>();
+
+		lines.add("<?xml version='1.0' encoding='UTF-8'?>");
+		lines.add("<hotspot_log version='160 1' process='5678' time_ms='1500000000000'>");
+		lines.add("<tty>");
+		lines.add("<start_compile_thread name='C2 CompilerThread0' thread='1234' process='5678' stamp='0.010'/>");
+
+		for (int i = 1; i <= compilations; i++)
+		{
+			String method = "java/lang/String " + METHODS[i % METHODS.length];
+			String stamp = "0." + (100 + i);
+
+			lines.add("<task_queued compile_id='" + i + "' method='" + method + "' bytes='55' count='520' iicount='520' stamp='"
+					+ stamp + "' comment='count' hot_count='520'/>");
+			lines.add("<task compile_id='" + i + "' method='" + method + "' bytes='55' count='521' iicount='521' stamp='" + stamp
+					+ "'>");
+			lines.add("  <phase name='parse' nodes='3' live='3' stamp='" + stamp + "'>");
+			lines.add("  <klass id='729' name='java/lang/String' flags='17'/>");
+			lines.add("  <method id='730' holder='729' name='length' return='721' flags='1' bytes='6' iicount='521'/>");
+			lines.add("  <parse method='730' uses='521' stamp='" + stamp + "'>");
+			lines.add("  <bc code='182' bci='1'/>");
+
+			// a failure below the top level of the task
+			lines.add("  <failure reason='nested' stamp='" + stamp + "'/>");
+			lines.add("  <parse_done nodes='12' live='12' memory='2624' stamp='" + stamp + "'/>");
+			lines.add("  </parse>");
+			lines.add("  <phase_done name='parse' nodes='12' live='12' stamp='" + stamp + "'/>");
+			lines.add("  </phase>");
+
+			if (i % 5 == 0)
+			{
+				lines.add("<failure reason='out of nodes' stamp='" + stamp + "'/>");
+			}
+
+			lines.add("<code_cache total_blobs='264' nmethods='5' adapters='157' free_code_cache='" + (250000 - i) + "'/>");
+			lines.add("<task_done success='1' nmsize='" + (100 + i) + "' count='521' inlined_bytes='5' stamp='" + stamp + "'/>");
+			lines.add("</task>");
+			lines.add("<nmethod compile_id='" + i
+					+ "' compiler='C2' entry='0x0000000105a44ce0' size='736' address='0x0000000105a44b90' method='" + method
+					+ "' bytes='55' count='5047' iicount='10047' stamp='" + stamp + "'/>");
+		}
+
+		lines.add("</tty>");
+		lines.add("</hotspot_log>");
+
+		StringBuilder builder = new StringBuilder();
+
+		for (String line : lines)
+		{
+			builder.append(line).append(lineEnding);
+		}
+
+		Files.write(logPath, builder.toString().getBytes(StandardCharsets.UTF_8));
+	}
+
+	private ILogParser parse(boolean lazyTaskBodies, boolean parallelParse) throws IOException
+	{
+		JITWatchConfig config = new JITWatchConfig(configPath.toFile());
+
+		config.setLazyTaskBodies(lazyTaskBodies);
+		config.setParallelParse(parallelParse);
+
+		ILogParser parser = new HotSpotLogParser(UnitTestUtil.getNoOpJITListener());
+
+		parser.setConfig(config);
+
+		parser.processLogFile(logPath.toFile(), UnitTestUtil.getNoOpParseErrorListener());
+
+		return parser;
+	}
+
+	private List<Compilation> getCompilations(ILogParser parser)
+	{
+		List<Compilation> result = new ArrayList<>();
+
+		for (JITEvent event : parser.getModel().getEventListCopy())
+		{
+			for (Compilation compilation : event.getEventMember().getCompilations())
+			{
+				if (!result.contains(compilation))
+				{
+					result.add(compilation);
+				}
+			}
+		}
+
+		return result;
+	}
+
+	private void assertSameTasks(ILogParser eager, ILogParser lazy)
+	{
+		List<Compilation> eagerCompilations = getCompilations(eager);
+		List<Compilation> lazyCompilations = getCompilations(lazy);
+
+		assertEquals(eagerCompilations.size(), lazyCompilations.size());
+
+		for (int i = 0; i < eagerCompilations.size(); i++)
+		{
+			Compilation eagerCompilation = eagerCompilations.get(i);
+			Compilation lazyCompilation = lazyCompilations.get(i);
+
+			assertEquals(eagerCompilation.getCompileID(), lazyCompilation.getCompileID());
+			assertEquals(eagerCompilation.isFailed(), lazyCompilation.isFailed());
+			assertEquals(eagerCompilation.getNativeSize(), lazyCompilation.getNativeSize());
+			assertEquals(eagerCompilation.getBytecodeSize(), lazyCompilation.getBytecodeSize());
+			assertEquals(eagerCompilation.getStampTaskCompilationStart(), lazyCompilation.getStampTaskCompilationStart());
+
+			Task lazyTask = lazyCompilation.getTagTask();
+
+			assertNotNull(lazyTask);
+			assertEquals(eagerCompilation.getTagTask().toString(), lazyTask.toString());
+			assertEquals(1, lazyTask.getNamedChildren(TAG_PHASE).size());
+
+			IParseDictionary parseDictionary = lazyTask.getParseDictionary();
+
+			assertNotNull(parseDictionary.getMethod("730"));
+			assertNotNull(parseDictionary.getKlass("729"));
+		}
+	}
+
+	@Test
+	public void testLazyTasksMatchParsedTasks() throws IOException
+	{
+		writeLog(20, "\n");
+
+		ILogParser eager = parse(false, false);
+		ILogParser lazy = parse(true, false);
+
+		// only the task, task_done, code_cache, failure and closing lines
+		assertTrue(lazy.getSplitLog().getCompilationLines().size() < eager.getSplitLog().getCompilationLines().size() / 2);
+
+		assertEquals(20, getCompilations(lazy).size());
+		assertEquals(4, countFailed(lazy));
+
+		assertEquals(eager.getModel().getCodeCacheEvents().size(), lazy.getModel().getCodeCacheEvents().size());
+		assertEquals(eager.getModel().getJITStats().getNativeBytes(), lazy.getModel().getJITStats().getNativeBytes());
+
+		assertSameTasks(eager, lazy);
+	}
+
+	@Test
+	public void testLazyTasksWithCarriageReturnsAndParallelParse() throws IOException
+	{
+		writeLog(20, "\r\n");
+
+		assertSameTasks(parse(false, false), parse(true, true));
+	}
+
+	@Test
+	public void testEvictedTasksAreReadAgain() throws IOException, LogParseException
+	{
+		writeLog(200, "\n");
+
+		ILogParser lazy = parse(true, false);
+
+		List<Compilation> compilations = getCompilations(lazy);
+
+		assertEquals(200, compilations.size());
+
+		Compilation first = compilations.get(0);
+
+		String firstTask = first.getTagTask().toString();
+
+		for (Compilation compilation : compilations)
+		{
+			final List<Tag> parseTags = new ArrayList<>();
+
+			CompilationUtil.visitParseTagsOfCompilation(compilation, new ICompilationVisitable()
+			{
+				@Override
+				public void visitTag(Tag parseTag, IParseDictionary parseDictionary) throws LogParseException
+				{
+					parseTags.add(parseTag);
+				}
+			});
+
+			assertEquals(1, parseTags.size());
+			assertEquals(TAG_PARSE, parseTags.get(0).getName());
+		}
+
+		assertEquals(firstTask, first.getTagTask().toString());
+	}
+
+	private int countFailed(ILogParser parser)
+	{
+		int result = 0;
+
+		for (Compilation compilation : getCompilations(parser))
+		{
+			if (compilation.isFailed())
+			{
+				result++;
+			}
+		}
+
+		return result;
+	}
+}
@@ -0,0 +1,218 @@
+/*
+ * Copyright (c) 2026 Chris Newland.
+ * Licensed under https://github.com/AdoptOpenJDK/jitwatch/blob/master/LICENSE-BSD
+ * Instructions: https://github.com/AdoptOpenJDK/jitwatch/wiki
+ */
+package org.adoptopenjdk.jitwatch.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.adoptopenjdk.jitwatch.core.IJITListener;
+import org.adoptopenjdk.jitwatch.core.JITWatchConfig;
+import org.adoptopenjdk.jitwatch.model.EventType;
+import org.adoptopenjdk.jitwatch.model.JITEvent;
+import org.adoptopenjdk.jitwatch.parser.LogFileFollower;
+import org.adoptopenjdk.jitwatch.parser.hotspot.HotSpotLogParser;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class TestLogFollowing
+{
+	private File configFile;
+	private Path logPath;
+
+	@Before
+	public void setUp() throws IOException
+	{
+		configFile = File.createTempFile("test", ".properties");
+		logPath = Files.createTempFile("testfollow", ".log");
+	}
+
+	@After
+	public void tearDown() throws IOException
+	{
+		configFile.delete();
+		Files.deleteIfExists(logPath);
+	}
+
+	@Test
+	public void testFollowerReturnsOnlyCompleteLines() throws IOException
+	{
+		append("first\nsec");
+
+		try (LogFileFollower follower = new LogFileFollower(logPath.toFile(), 16))
+		{
+			assertEquals("first", follower.nextLine());
+			assertNull(follower.nextLine());
+			assertEquals(6, follower.getPosition());
+
+			append("ond line longer than a chunk\r\nthird\n");
+
+			assertEquals("second line longer than a chunk", follower.nextLine());
+			assertEquals("third", follower.nextLine());
+			assertNull(follower.nextLine());
+			assertEquals(Files.size(logPath), follower.getPosition());
+		}
+	}
+
+	@Test
+	public void testFollowerRestartsAfterTruncation() throws IOException
+	{
+		append("old line one\nold line two\n");
+
+		try (LogFileFollower follower = new LogFileFollower(logPath.toFile()))
+		{
+			assertEquals("old line one", follower.nextLine());
+			assertEquals("old line two", follower.nextLine());
+			assertFalse(follower.checkTruncated());
+
+			Files.write(logPath, "new\n".getBytes(StandardCharsets.UTF_8));
+
+			assertTrue(follower.checkTruncated());
+			assertEquals("new", follower.nextLine());
+			assertNull(follower.nextLine());
+		}
+	}
+
+	@Test
+	public void testFollowParsesCompilationsAsTheyAreAppended() throws Exception
+	{
+		final List<JITEvent> events = new CopyOnWriteArrayList<>();
+		final CountDownLatch firstCompilation = new CountDownLatch(2);
+		final CountDownLatch readComplete = new CountDownLatch(1);
+
+		IJITListener listener = new IJITListener()
+		{
+			@Override
+			public void handleLogEntry(String entry)
+			{
+			}
+
+			@Override
+			public void handleErrorEntry(String entry)
+			{
+			}
+
+			@Override
+			public void handleJITEvent(JITEvent event)
+			{
+				events.add(event);
+				firstCompilation.countDown();
+			}
+
+			@Override
+			public void handleReadStart()
+			{
+			}
+
+			@Override
+			public void handleReadComplete()
+			{
+				readComplete.countDown();
+			}
+		};
+
+		JITWatchConfig config = new JITWatchConfig(configFile);
+		config.setFollowPollMillis(5);
+
+		final HotSpotLogParser parser = new HotSpotLogParser(listener);
+		parser.setConfig(config);
+
+		append("<?xml version='1.0' encoding='UTF-8'?>\n");
+		append("<hotspot_log version='160 1' process='5678' time_ms='1500000000000'>\n");
+		append("<tty>\n");
+		append("<start_compile_thread name='C2 CompilerThread0' thread='1234' process='5678' stamp='0.010'/>\n");
+
+		final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+		Thread followThread = new Thread(new Runnable()
+		{
+			@Override
+			public void run()
+			{
+				try
+				{
+					parser.followLogFile(logPath.toFile(), UnitTestUtil.getNoOpParseErrorListener());
+				}
+				catch (Throwable t)
+				{
+					failure.set(t);
+				}
+			}
+		});
+
+		followThread.start();
+
+		try
+		{
+			appendCompilation(1, "length ()I", "0.100");
+
+			assertTrue(firstCompilation.await(10, TimeUnit.SECONDS));
+
+			assertEquals(2, events.size());
+			assertEquals(EventType.QUEUE, events.get(0).getEventType());
+			assertEquals(EventType.NMETHOD_C2, events.get(1).getEventType());
+			assertEquals(1500000000000L, parser.getModel().getBaseTimestamp());
+
+			// a line is only handled once its terminator has been written
+			append("<task_queued compile_id='2' method='java/lang/String hashCode ()I' bytes='55' count='520'");
+
+			Thread.sleep(50);
+
+			assertEquals(2, events.size());
+
+			append(" iicount='520' stamp='0.200' comment='count' hot_count='520'/>\n");
+			append("<nmethod compile_id='2' compiler='C2' entry='0x0000000105a44ce0' size='736' address='0x0000000105a44b90'"
+					+ " method='java/lang/String hashCode ()I' bytes='55' count='5047' iicount='10047' stamp='0.200'/>\n");
+			append("</tty>\n");
+			append("</hotspot_log>\n");
+
+			assertTrue(readComplete.await(10, TimeUnit.SECONDS));
+		}
+		finally
+		{
+			parser.stopParsing();
+
+			followThread.join(10000);
+		}
+
+		assertNull(failure.get());
+		assertFalse(followThread.isAlive());
+
+		assertEquals(4, events.size());
+		assertEquals("0.200", events.get(3).getEventMember().getCompilations().get(0).getTagNMethod().getAttributes().get("stamp"));
+
+		assertTrue(parser.getSplitLog().getCompilationLines().isEmpty());
+	}
+
+	private void appendCompilation(int compileID, String method, String stamp) throws IOException
+	{
+		String fqMethod = "java/lang/String " + method;
+
+		append("<task_queued compile_id='" + compileID + "' method='" + fqMethod + "' bytes='55' count='520' iicount='520' stamp='"
+				+ stamp + "' comment='count' hot_count='520'/>\n");
+		append("<nmethod compile_id='" + compileID + "' compiler='C2' entry='0x0000000105a44ce0' size='736' address='0x0000000105a44b90'"
+				+ " method='" + fqMethod + "' bytes='55' count='5047' iicount='10047' stamp='" + stamp + "'/>\n");
+	}
+
+	private void append(String text) throws IOException
+	{
+		Files.write(logPath, text.getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+	}
+}
@@ -6,13 +6,21 @@
 package org.adoptopenjdk.jitwatch.test;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
+import java.io.File;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.List;
 
+import org.adoptopenjdk.jitwatch.core.JITWatchConfig;
 import org.adoptopenjdk.jitwatch.core.JITWatchConstants;
+import org.adoptopenjdk.jitwatch.model.NumberedLine;
+import org.adoptopenjdk.jitwatch.model.SpilledLineList;
 import org.adoptopenjdk.jitwatch.model.SplitLog;
 import org.adoptopenjdk.jitwatch.parser.ILogParser;
 import org.adoptopenjdk.jitwatch.parser.hotspot.HotSpotLogParser;
@@ -237,4 +245,126 @@ public class TestLogSplitting
 		assertEquals(10, log.getAssemblyLines().size());
 		assertEquals(6, log.getCompilationLines().size());
 	}
+
+	@Test
+	public void testSpilledLineListRereadsLines()
+	{
+		SpilledLineList list = new SpilledLineList(null, "test");
+
+		list.add(new NumberedLine(3, "<writer thread='1234'/>"));
+		list.add(new NumberedLine(7, "  0x00007f7d733642e0: callq  0x00007f7d77e276f0  ;   {runtime_call}"));
+		list.add(new NumberedLine(8, ""));
+
+		assertEquals(3, list.size());
+
+		File spillFile = list.getSpillFile();
+
+		assertTrue(spillFile.exists());
+
+		for (int pass = 0; pass < 2; pass++)
+		{
+			Iterator<NumberedLine> iterator = list.iterator();
+
+			NumberedLine line = iterator.next();
+			assertEquals(3, line.getLineNumber());
+			assertEquals("<writer thread='1234'/>", line.getLine());
+
+			line = iterator.next();
+			assertEquals(7, line.getLineNumber());
+			assertEquals("  0x00007f7d733642e0: callq  0x00007f7d77e276f0  ;   {runtime_call}", line.getLine());
+
+			line = iterator.next();
+			assertEquals(8, line.getLineNumber());
+			assertEquals("", line.getLine());
+
+			assertFalse(iterator.hasNext());
+		}
+
+		assertEquals(7, list.get(1).getLineNumber());
+
+		list.clear();
+
+		assertEquals(0, list.size());
+		assertFalse(spillFile.exists());
+	}
+
+	@Test
+	public void testSpilledSplitLogMatchesInMemorySplitLog() throws IOException
+	{
+		String[] lines = new String[] {
+				"<writer thread='1234'/>",
+				"<task_queued compile_id='1' method='java/lang/String length ()I' bytes='55' count='520' backedge_count='5000' iicount='520' stamp='0.083' comment='count' hot_count='520'/>",
+				"<nmethod compile_id='1' compiler='C1' level='3' entry='0x00007fb5ad0fe420' size='2504' address='0x00007fb5ad0fe290' relocation_offset='288' method='java/lang/String length ()I' />",
+				"<task compile_id='1' method='java/lang/String length ()I' bytes='55' count='521' backedge_count='5000' iicount='521' stamp='0.083'>",
+				"<task_done success='1' nmsize='376' count='546' backedge_count='5389' stamp='0.105'/>",
+				"</task>",
+				"[Loaded java.lang.String from /home/chris/jdk1.9.0/jre/lib/rt.jar]",
+				"Decoding compiled method 0x00007fb5ad0fe290:",
+				"Code:",
+				"[Entry Point]",
+				"0x00007fb5ad0fe96f: hlt <nmethod compile_id='2' compiler='C1' level='3' entry='0x00007fb5ad0fe420' size='2504' address='0x0000aaaaaaaaa' relocation_offset='288' method='java/lang/String hashCode ()I' />",
+				"<writer thread='140418643298048'/>" };
+
+		Path path = writeLinesToTempFileAndReturnPath(lines);
+
+		File configFile = File.createTempFile("test", ".properties");
+
+		File spillDirectory = Files.createTempDirectory("testspill").toFile();
+
+		try
+		{
+			JITWatchConfig config = new JITWatchConfig(configFile);
+
+			ILogParser memoryParser = new HotSpotLogParser(UnitTestUtil.getNoOpJITListener());
+			memoryParser.setConfig(config);
+			memoryParser.processLogFile(path.toFile(), UnitTestUtil.getNoOpParseErrorListener());
+
+			config.setSpillSplitLog(true);
+			config.setSpillDirectory(spillDirectory.getAbsolutePath());
+
+			ILogParser spillParser = new HotSpotLogParser(UnitTestUtil.getNoOpJITListener());
+			spillParser.setConfig(config);
+			spillParser.processLogFile(path.toFile(), UnitTestUtil.getNoOpParseErrorListener());
+
+			SplitLog memoryLog = memoryParser.getSplitLog();
+			SplitLog spillLog = spillParser.getSplitLog();
+
+			assertFalse(memoryLog.isSpilled());
+			assertTrue(spillLog.isSpilled());
+
+			assertSameLines(memoryLog.getHeaderLines(), spillLog.getHeaderLines());
+			assertSameLines(memoryLog.getClassLoaderLines(), spillLog.getClassLoaderLines());
+			assertSameLines(memoryLog.getCompilationLines(), spillLog.getCompilationLines());
+			assertSameLines(memoryLog.getAssemblyLines(), spillLog.getAssemblyLines());
+
+			assertEquals(memoryParser.getModel().getEventListCopy().size(), spillParser.getModel().getEventListCopy().size());
+
+			assertTrue(spillDirectory.list().length > 0);
+
+			spillParser.discardParsedLogs();
+
+			assertEquals(0, spillDirectory.list().length);
+		}
+		finally
+		{
+			spillDirectory.delete();
+			configFile.delete();
+			Files.delete(path);
+		}
+	}
+
+	private void assertSameLines(List<NumberedLine> expected, List<NumberedLine> actual)
+	{
+		assertEquals(expected.size(), actual.size());
+
+		Iterator<NumberedLine> actualIterator = actual.iterator();
+
+		for (NumberedLine expectedLine : expected)
+		{
+			NumberedLine actualLine = actualIterator.next();
+
+			assertEquals(expectedLine.getLineNumber(), actualLine.getLineNumber());
+			assertEquals(expectedLine.getLine(), actualLine.getLine());
+		}
+	}
 }
@@ -0,0 +1,222 @@
+/*
+ * Copyright (c) 2026 Chris Newland.
+ * Licensed under https://github.com/AdoptOpenJDK/jitwatch/blob/master/LICENSE-BSD
+ * Instructions: https://github.com/AdoptOpenJDK/jitwatch/wiki
+ */
+package org.adoptopenjdk.jitwatch.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.adoptopenjdk.jitwatch.core.JITWatchConfig;
+import org.adoptopenjdk.jitwatch.model.NumberedLine;
+import org.adoptopenjdk.jitwatch.model.SplitLog;
+import org.adoptopenjdk.jitwatch.parser.ILogParser;
+import org.adoptopenjdk.jitwatch.parser.MappedLineReader;
+import org.adoptopenjdk.jitwatch.parser.hotspot.HotSpotLogParser;
+import org.junit.Test;
+
+public class TestMappedLineReader
+{
+	private static final String MIXED_TERMINATORS = "<writer thread='1'/>\r\n" + "\r\n" + "   \t  \n"
+			+ "  0x00007f7d733642e0: callq  0x00007f7d77e276f0  ;   {runtime_call}  \r" + "<klass name='café' flags='1'/>\n"
+			+ "\n" + "[Loaded java.lang.String from /jdk/rt.jar]\r\n" + "no terminator at end";
+
+	@Test
+	public void testLinesMatchBufferedReaderForAllWindowSizes() throws IOException
+	{
+		StringBuilder longLine = new StringBuilder();
+
+		for (int i = 0; i < 300; i++)
+		{
+			longLine.append("0123456789");
+		}
+
+		String content = MIXED_TERMINATORS + "\r\n" + longLine + "\r" + "\n" + "last\n";
+
+		Path path = writeToTempFile(content);
+
+		try
+		{
+			List<String> expected = readWithBufferedReader(content);
+
+			for (int windowSize : new int[] { 16, 17, 31, 64, 100, 4096, MappedLineReader.DEFAULT_WINDOW_SIZE })
+			{
+				List<String> rawLines = new ArrayList<>();
+				List<String> trimmedLines = new ArrayList<>();
+
+				try (MappedLineReader reader = new MappedLineReader(path.toFile(), windowSize))
+				{
+					while (reader.nextLine())
+					{
+						rawLines.add(reader.getLine());
+						trimmedLines.add(reader.getTrimmedLine());
+
+						assertEquals(reader.getLine().trim().isEmpty(), reader.isBlank());
+					}
+				}
+
+				assertEquals("window " + windowSize, expected, rawLines);
+
+				for (int i = 0; i < expected.size(); i++)
+				{
+					assertEquals("window " + windowSize, expected.get(i).trim(), trimmedLines.get(i));
+				}
+			}
+		}
+		finally
+		{
+			Files.delete(path);
+		}
+	}
+
+	@Test
+	public void testClassifyWithoutDecoding() throws IOException
+	{
+		Path path = writeToTempFile("  <![CDATA[\n]]>\n   @ 0x1234 hlt\n");
+
+		try (MappedLineReader reader = new MappedLineReader(path.toFile()))
+		{
+			assertTrue(reader.nextLine());
+			assertEquals('<', reader.getTrimmedFirstByte());
+			assertTrue(reader.startsWith("<![CDATA[", true));
+			assertFalse(reader.startsWith("<![CDATA[", false));
+
+			assertTrue(reader.nextLine());
+			assertTrue(reader.startsWith("]]>", false));
+
+			assertTrue(reader.nextLine());
+			assertEquals('@', reader.getTrimmedFirstByte());
+
+			assertFalse(reader.nextLine());
+		}
+		finally
+		{
+			Files.delete(path);
+		}
+	}
+
+	@Test
+	public void testEmptyFile() throws IOException
+	{
+		Path path = writeToTempFile("");
+
+		try (MappedLineReader reader = new MappedLineReader(path.toFile()))
+		{
+			assertFalse(reader.nextLine());
+		}
+		finally
+		{
+			Files.delete(path);
+		}
+	}
+
+	@Test
+	public void testMappedSplitMatchesReaderSplit() throws IOException
+	{
+		String content = "<writer thread='1234'/>\n"
+				+ "<task_queued compile_id='1' method='java/lang/String length ()I' bytes='55' count='520' iicount='520' stamp='0.083'/>\n"
+				+ "  <![CDATA[\n"
+				+ "@ 0x00007fb5ad0fe96c hlt\n"
+				+ "]]><![CDATA[\n"
+				+ "   <nmethod compile_id='1' compiler='C1' level='3' entry='0x00007fb5ad0fe420' size='2504' address='0x00007fb5ad0fe290' method='java/lang/String length ()I' />  \r\n"
+				+ "[Loaded java.lang.String from /home/chris/jdk1.9.0/jre/lib/rt.jar]\n"
+				+ "Decoding compiled method 0x00007fb5ad0fe290:\n"
+				+ "  # {method} &apos;length&apos; &apos;()I&apos; in &apos;java/lang/String&apos;\n"
+				+ "  # {method} &apos;caf\u00e9&apos; &apos;()V&apos; in &apos;\u00fcber/\u65e5\u672c&apos;\n"
+				+ "]]>\n"
+				+ "0x00007fb5ad0fe96f: hlt <nmethod compile_id='2' compiler='C1' level='3' entry='0x00007fb5ad0fe420' size='2504' address='0x0000aaaaaaaaa' method='java/lang/String hashCode ()I' />\n"
+				+ "\n"
+				+ "<writer thread='140418643298048'/>";
+
+		Path path = writeToTempFile(content);
+
+		File configFile = File.createTempFile("test", ".properties");
+
+		try
+		{
+			JITWatchConfig config = new JITWatchConfig(configFile);
+
+			config.setMappedLogReader(false);
+
+			ILogParser readerParser = new HotSpotLogParser(UnitTestUtil.getNoOpJITListener());
+			readerParser.setConfig(config);
+			readerParser.processLogFile(path.toFile(), UnitTestUtil.getNoOpParseErrorListener());
+
+			config.setMappedLogReader(true);
+
+			ILogParser mappedParser = new HotSpotLogParser(UnitTestUtil.getNoOpJITListener());
+			mappedParser.setConfig(config);
+			mappedParser.processLogFile(path.toFile(), UnitTestUtil.getNoOpParseErrorListener());
+
+			SplitLog readerLog = readerParser.getSplitLog();
+			SplitLog mappedLog = mappedParser.getSplitLog();
+
+			assertEquals(5, mappedLog.getCompilationLines().size());
+			assertEquals(4, mappedLog.getAssemblyLines().size());
+
+			assertSameLines(readerLog.getHeaderLines(), mappedLog.getHeaderLines());
+			assertSameLines(readerLog.getClassLoaderLines(), mappedLog.getClassLoaderLines());
+			assertSameLines(readerLog.getCompilationLines(), mappedLog.getCompilationLines());
+			assertSameLines(readerLog.getAssemblyLines(), mappedLog.getAssemblyLines());
+
+			// both read the log as UTF-8 whatever the platform charset
+			assertEquals("  # {method} &apos;caf\u00e9&apos; &apos;()V&apos; in &apos;\u00fcber/\u65e5\u672c&apos;",
+					readerLog.getAssemblyLines().get(2).getLine());
+		}
+		finally
+		{
+			configFile.delete();
+			Files.delete(path);
+		}
+	}
+
+	private void assertSameLines(List<NumberedLine> expected, List<NumberedLine> actual)
+	{
+		assertEquals(expected.size(), actual.size());
+
+		for (int i = 0; i < expected.size(); i++)
+		{
+			assertEquals(expected.get(i).getLineNumber(), actual.get(i).getLineNumber());
+			assertEquals(expected.get(i).getLine(), actual.get(i).getLine());
+		}
+	}
+
+	private List<String> readWithBufferedReader(String content) throws IOException
+	{
+		List<String> result = new ArrayList<>();
+
+		try (BufferedReader reader = new BufferedReader(new StringReader(content)))
+		{
+			String line = reader.readLine();
+
+			while (line != null)
+			{
+				result.add(line);
+				line = reader.readLine();
+			}
+		}
+
+		return result;
+	}
+
+	private Path writeToTempFile(String content) throws IOException
+	{
+		Path path = Files.createTempFile("testmapped", ".log");
+
+		Files.write(path, content.getBytes(StandardCharsets.UTF_8));
+
+		return path;
+	}
+}
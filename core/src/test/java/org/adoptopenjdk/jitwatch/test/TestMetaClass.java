@@ -7,6 +7,8 @@ package org.adoptopenjdk.jitwatch.test;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Method;
@@ -17,6 +19,7 @@ import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.S_TYPE_NAME_VOID;
 import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.S_EMPTY;
 
 import org.adoptopenjdk.jitwatch.model.IMetaMember;
+import org.adoptopenjdk.jitwatch.model.LogParseException;
 import org.adoptopenjdk.jitwatch.model.MemberSignatureParts;
 import org.adoptopenjdk.jitwatch.model.MetaClass;
 import org.adoptopenjdk.jitwatch.model.MetaConstructor;
@@ -528,4 +531,68 @@ public class TestMetaClass
 
 		assertEquals(S_TYPE_NAME_VOID, returnTypeNameSetClassArray);
 	}
-}
\ No newline at end of file
+
+	@Test
+	public void testIndexedLookupMatchesLinearScanForOverloads() throws LogParseException
+	{
+		MetaClass metaClass = new MetaClass(new MetaPackage("java.lang"), "String");
+
+		for (Constructor<?> constructor : String.class.getDeclaredConstructors())
+		{
+			metaClass.addMember(new MetaConstructor(constructor, metaClass));
+		}
+
+		for (Method method : String.class.getDeclaredMethods())
+		{
+			metaClass.addMember(new MetaMethod(method, metaClass));
+		}
+
+		String[] signatures = new String[] { "java.lang.String indexOf (I)I", "java.lang.String indexOf (II)I",
+				"java.lang.String indexOf (Ljava/lang/String;)I", "java.lang.String indexOf (Ljava/lang/String;I)I",
+				"java.lang.String valueOf ([C)Ljava/lang/String;", "java.lang.String valueOf (J)Ljava/lang/String;",
+				"java.lang.String <init> ([CII)V", "java.lang.String <init> ()V", "java.lang.String charAt (I)C",
+				"java.lang.String charAt (J)C" };
+
+		for (String signature : signatures)
+		{
+			MemberSignatureParts msp = MemberSignatureParts.fromLogCompilationSignature(signature);
+
+			IMetaMember expected = null;
+
+			for (IMetaMember member : metaClass.getMetaMembers())
+			{
+				if (member.matchesSignature(msp, true))
+				{
+					expected = member;
+					break;
+				}
+			}
+
+			assertSame(signature, expected, metaClass.getMemberForSignature(msp));
+		}
+
+		assertNull(metaClass.getMemberForSignature(MemberSignatureParts.fromLogCompilationSignature("java.lang.String charAt (J)C")));
+	}
+
+	@Test
+	public void testIndexedLookupSeesMembersAddedAfterFirstLookup() throws NoSuchMethodException, SecurityException
+	{
+		MetaClass metaClass = new MetaClass(new MetaPackage(S_EMPTY), "TestClassWithGenerics");
+
+		List<String> paramList = new ArrayList<>();
+		paramList.add("int");
+
+		MemberSignatureParts msp = MemberSignatureParts.fromParts(metaClass.getFullyQualifiedName(),
+				"primitiveReturnPrimitiveParam", "int", paramList);
+
+		assertNull(metaClass.getMemberForSignature(msp));
+
+		MetaMethod testMethod = new MetaMethod(
+				TestClassWithGenerics.class.getDeclaredMethod("primitiveReturnPrimitiveParam", new Class[] { int.class }),
+				metaClass);
+
+		metaClass.addMember(testMethod);
+
+		assertSame(testMethod, metaClass.getMemberForSignature(msp));
+	}
+}
@@ -0,0 +1,323 @@
+/*
+ * Copyright (c) 2026 Chris Newland.
+ * Licensed under https://github.com/AdoptOpenJDK/jitwatch/blob/master/LICENSE-BSD
+ * Instructions: https://github.com/AdoptOpenJDK/jitwatch/wiki
+ */
+package org.adoptopenjdk.jitwatch.test;
+
+import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.S_NEWLINE;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.adoptopenjdk.jitwatch.core.JITWatchConfig;
+import org.adoptopenjdk.jitwatch.model.CodeCacheEvent;
+import org.adoptopenjdk.jitwatch.model.Compilation;
+import org.adoptopenjdk.jitwatch.model.CompilerThread;
+import org.adoptopenjdk.jitwatch.model.DeoptEvent;
+import org.adoptopenjdk.jitwatch.model.JITDataModel;
+import org.adoptopenjdk.jitwatch.model.JITEvent;
+import org.adoptopenjdk.jitwatch.model.assembly.Architecture;
+import org.adoptopenjdk.jitwatch.model.assembly.AssemblyInstruction;
+import org.adoptopenjdk.jitwatch.model.assembly.AssemblyMethod;
+import org.adoptopenjdk.jitwatch.model.assembly.AssemblyUtil;
+import org.adoptopenjdk.jitwatch.parser.ILogParser;
+import org.adoptopenjdk.jitwatch.parser.hotspot.HotSpotLogParser;
+import org.adoptopenjdk.jitwatch.parser.snapshot.ModelSnapshotReader;
+import org.adoptopenjdk.jitwatch.parser.snapshot.ModelSnapshotWriter;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class TestModelSnapshot
+{
+	private static final String[] METHODS = new String[] { "length ()I", "hashCode ()I", "isEmpty ()Z", "charAt (I)C" };
+
+	private File configFile;
+	private Path logPath;
+	private File snapshotFile;
+
+	@Before
+	public void setUp() throws IOException
+	{
+		configFile = File.createTempFile("test", ".properties");
+		logPath = Files.createTempFile("testsnapshot", ".log");
+		snapshotFile = ModelSnapshotWriter.getSnapshotFile(logPath.toFile());
+	}
+
+	@After
+	public void tearDown() throws IOException
+	{
+		configFile.delete();
+		Files.deleteIfExists(logPath);
+		Files.deleteIfExists(snapshotFile.toPath());
+	}
+
+	private List<String> buildLogLines(int compilations)
+	{
+		List<String> lines = new ArrayList<>();
+
+		lines.add("<?xml version='1.0' encoding='UTF-8'?>");
+		lines.add("<hotspot_log version='160 1' process='5678' time_ms='1500000000000'>");
+		lines.add("<tty>");
+		lines.add("<start_compile_thread name='C2 CompilerThread0' thread='1234' process='5678' stamp='0.010'/>");
+
+		for (int i = 1; i <= compilations; i++)
+		{
+			String method = "java/lang/String " + METHODS[i % METHODS.length];
+			String stamp = "0." + (100 + i);
+
+			lines.add("<task_queued compile_id='" + i + "' method='" + method + "' bytes='55' count='520' iicount='520' stamp='"
+					+ stamp + "' comment='count' hot_count='520'/>");
+			lines.add("<task compile_id='" + i + "' method='" + method + "' bytes='55' count='521' iicount='521' stamp='" + stamp
+					+ "'>");
+			lines.add("<phase name='parse' nodes='3' live='3' stamp='" + stamp + "'>");
+			lines.add("<klass id='729' name='java/lang/String' flags='17'/>");
+			lines.add("<method id='730' holder='729' name='length' return='721' flags='1' bytes='6' iicount='521'/>");
+			lines.add("<parse method='730' uses='521' stamp='" + stamp + "'>");
+			lines.add("<bc code='182' bci='1'/>");
+			lines.add("<parse_done nodes='12' live='12' memory='2624' stamp='" + stamp + "'/>");
+			lines.add("</parse>");
+			lines.add("<phase_done name='parse' nodes='12' live='12' stamp='" + stamp + "'/>");
+			lines.add("</phase>");
+			lines.add("<code_cache total_blobs='264' nmethods='5' adapters='157' free_code_cache='250000'/>");
+			lines.add("<task_done success='1' nmsize='120' count='521' inlined_bytes='5' stamp='" + stamp + "'/>");
+			lines.add("</task>");
+			lines.add("<nmethod compile_id='" + i + "' compiler='C2' entry='0x0000000105a44ce0' size='736' address='0x0000000105a44b90' method='"
+					+ method + "' bytes='55' count='5047' iicount='10047' stamp='" + stamp + "'/>");
+
+			if (i % 2 == 1)
+			{
+				lines.add("<uncommon_trap thread='4321' reason='unstable_if' action='reinterpret' compile_id='" + i
+						+ "' compiler='C2' level='4' stamp='" + stamp + "'>");
+				lines.add("<jvms bci='12' method='" + method + "' bytes='55' count='5047' iicount='10047'/>");
+				lines.add("</uncommon_trap>");
+				lines.add("<make_not_entrant thread='4321' compile_id='" + i + "' compiler='C2' level='4' stamp='" + stamp + "'/>");
+			}
+		}
+
+		lines.add("</tty>");
+		lines.add("</hotspot_log>");
+
+		return lines;
+	}
+
+	private void writeLog(int compilations) throws IOException
+	{
+		StringBuilder builder = new StringBuilder();
+
+		for (String line : buildLogLines(compilations))
+		{
+			builder.append(line).append(S_NEWLINE);
+		}
+
+		Files.write(logPath, builder.toString().getBytes(StandardCharsets.UTF_8));
+	}
+
+	private ILogParser parse() throws IOException
+	{
+		JITWatchConfig config = new JITWatchConfig(configFile);
+
+		config.setModelSnapshot(true);
+
+		ILogParser parser = new HotSpotLogParser(UnitTestUtil.getNoOpJITListener());
+
+		parser.setConfig(config);
+
+		parser.processLogFile(logPath.toFile(), UnitTestUtil.getNoOpParseErrorListener());
+
+		return parser;
+	}
+
+	@Test
+	public void testSnapshotIsWrittenAndRestoresTheModel() throws IOException
+	{
+		writeLog(20);
+
+		ILogParser parsed = parse();
+
+		assertFalse(parsed.getSplitLog().getCompilationLines().isEmpty());
+		assertTrue(snapshotFile.isFile());
+
+		ILogParser restored = parse();
+
+		// the log was not read again
+		assertTrue(restored.getSplitLog().getCompilationLines().isEmpty());
+
+		assertModelsEqual(parsed.getModel(), restored.getModel());
+	}
+
+	@Test
+	public void testAssemblyIsRestoredWhenFirstUsed() throws IOException
+	{
+		writeLog(4);
+
+		ILogParser parsed = parse();
+
+		String asm = "# {method} &apos;length&apos; &apos;()I&apos; in &apos;java/lang/String&apos;" + S_NEWLINE
+				+ "#           [sp+0x20]  (sp of caller)" + S_NEWLINE
+				+ "[Entry Point]" + S_NEWLINE
+				+ "0x00007f7d733642e0: mov    0x8(%rsi),%r10d" + S_NEWLINE
+				+ "0x00007f7d733642e4: cmp    %r10,%rax          ;*iload_1" + S_NEWLINE
+				+ "                                                ; - java.lang.String::length@1" + S_NEWLINE
+				+ "0x00007f7d733642e7: test   %eax,0x5ce1e93(%rip)      # 0x00007f447b5e6000" + S_NEWLINE
+				+ "                                                ;   {poll_return}" + S_NEWLINE
+				+ "0x00007f7d733642ed: jne    0x00007f7d733642e0" + S_NEWLINE;
+
+		AssemblyMethod assembly = AssemblyUtil.getParserForArchitecture(Architecture.X86_64).parseAssembly(asm);
+
+		assertNotNull(assembly);
+		assertEquals(4, assembly.getBlocks().get(0).getInstructions().size());
+
+		JITEvent event = parsed.getModel().getEventListCopy().get(0);
+
+		Compilation compilation = event.getEventMember().getCompilations().get(0);
+
+		compilation.setAssembly(assembly);
+
+		new ModelSnapshotWriter(parsed.getModel()).write(snapshotFile, logPath.toFile(), null,
+				parsed.getConfig().getConfiguredClassLocations(), parsed.getParsedClasspath().getClassLocations());
+
+		ILogParser restored = parse();
+
+		assertTrue(restored.getSplitLog().getCompilationLines().isEmpty());
+
+		Compilation restoredCompilation = restored.getModel().getEventListCopy().get(0).getEventMember().getCompilations().get(0);
+
+		AssemblyMethod restoredAssembly = restoredCompilation.getAssembly();
+
+		assertEquals(assembly.toString(), restoredAssembly.toString());
+		assertEquals(assembly.getBlocks().size(), restoredAssembly.getBlocks().size());
+
+		for (int b = 0; b < assembly.getBlocks().size(); b++)
+		{
+			List<AssemblyInstruction> instructions = assembly.getBlocks().get(b).getInstructions();
+			List<AssemblyInstruction> restoredInstructions = restoredAssembly.getBlocks().get(b).getInstructions();
+
+			assertEquals(instructions.size(), restoredInstructions.size());
+
+			for (int i = 0; i < instructions.size(); i++)
+			{
+				assertEquals(instructions.get(i).getComment(), restoredInstructions.get(i).getComment());
+				assertEquals(instructions.get(i).isSafePoint(), restoredInstructions.get(i).isSafePoint());
+			}
+		}
+	}
+
+	@Test
+	public void testChangedLogIsParsedAgain() throws IOException
+	{
+		writeLog(4);
+
+		parse();
+
+		long snapshotLength = snapshotFile.length();
+
+		writeLog(8);
+
+		ModelSnapshotReader reader = new ModelSnapshotReader(snapshotFile);
+
+		JITWatchConfig config = new JITWatchConfig(configFile);
+
+		assertFalse(reader.isSnapshotOf(logPath.toFile(), config.getConfiguredClassLocations()));
+
+		ILogParser parser = parse();
+
+		assertFalse(parser.getSplitLog().getCompilationLines().isEmpty());
+		assertEquals(16, parser.getModel().getEventListCopy().size());
+		assertTrue(snapshotFile.length() > snapshotLength);
+	}
+
+	private void assertModelsEqual(JITDataModel expected, JITDataModel actual)
+	{
+		assertEquals(expected.getBaseTimestamp(), actual.getBaseTimestamp());
+		assertEquals(expected.getJDKMajorVersion(), actual.getJDKMajorVersion());
+
+		assertArrayEquals(expected.getJITStats().getCounters(), actual.getJITStats().getCounters());
+
+		List<JITEvent> expectedEvents = expected.getEventListCopy();
+		List<JITEvent> actualEvents = actual.getEventListCopy();
+
+		assertEquals(40, expectedEvents.size());
+		assertEquals(expectedEvents.size(), actualEvents.size());
+
+		for (int i = 0; i < expectedEvents.size(); i++)
+		{
+			JITEvent expectedEvent = expectedEvents.get(i);
+			JITEvent actualEvent = actualEvents.get(i);
+
+			assertEquals(expectedEvent.getStamp(), actualEvent.getStamp());
+			assertEquals(expectedEvent.getEventType(), actualEvent.getEventType());
+			assertEquals(expectedEvent.getEventMember().toString(), actualEvent.getEventMember().toString());
+
+			List<Compilation> expectedCompilations = expectedEvent.getEventMember().getCompilations();
+			List<Compilation> actualCompilations = actualEvent.getEventMember().getCompilations();
+
+			assertEquals(expectedCompilations.size(), actualCompilations.size());
+
+			for (int c = 0; c < expectedCompilations.size(); c++)
+			{
+				Compilation expectedCompilation = expectedCompilations.get(c);
+				Compilation actualCompilation = actualCompilations.get(c);
+
+				assertEquals(expectedCompilation.getCompileID(), actualCompilation.getCompileID());
+				assertEquals(expectedCompilation.getBytecodeSize(), actualCompilation.getBytecodeSize());
+				assertEquals(expectedCompilation.getStampTaskCompilationStart(), actualCompilation.getStampTaskCompilationStart());
+				assertEquals(expectedCompilation.getTagTaskQueued().toString(), actualCompilation.getTagTaskQueued().toString());
+				assertEquals(expectedCompilation.getTagNMethod().toString(), actualCompilation.getTagNMethod().toString());
+				assertEquals(expectedCompilation.getTagTaskDone().getAttributes(), actualCompilation.getTagTaskDone().getAttributes());
+				assertEquals(expectedCompilation.getTagTask().toString(), actualCompilation.getTagTask().toString());
+				assertEquals(expectedCompilation.getTagTask().getParseDictionary().toString(),
+						actualCompilation.getTagTask().getParseDictionary().toString());
+			}
+		}
+
+		List<CodeCacheEvent> expectedCodeCacheEvents = expected.getCodeCacheEvents();
+		List<CodeCacheEvent> actualCodeCacheEvents = actual.getCodeCacheEvents();
+
+		assertEquals(expectedCodeCacheEvents.size(), actualCodeCacheEvents.size());
+
+		for (int i = 0; i < expectedCodeCacheEvents.size(); i++)
+		{
+			assertEquals(expectedCodeCacheEvents.get(i).getEventType(), actualCodeCacheEvents.get(i).getEventType());
+			assertEquals(expectedCodeCacheEvents.get(i).getStamp(), actualCodeCacheEvents.get(i).getStamp());
+			assertEquals(expectedCodeCacheEvents.get(i).getNativeCodeSize(), actualCodeCacheEvents.get(i).getNativeCodeSize());
+			assertEquals(expectedCodeCacheEvents.get(i).getFreeCodeCache(), actualCodeCacheEvents.get(i).getFreeCodeCache());
+		}
+
+		List<DeoptEvent> expectedDeoptEvents = expected.getDeoptEvents().getEvents();
+		List<DeoptEvent> actualDeoptEvents = actual.getDeoptEvents().getEvents();
+
+		assertEquals(20, expectedDeoptEvents.size());
+		assertEquals(expectedDeoptEvents.size(), actualDeoptEvents.size());
+
+		for (int i = 0; i < expectedDeoptEvents.size(); i++)
+		{
+			DeoptEvent expectedDeopt = expectedDeoptEvents.get(i);
+			DeoptEvent actualDeopt = actualDeoptEvents.get(i);
+
+			assertEquals(expectedDeopt.toString(), actualDeopt.toString());
+			assertEquals(expectedDeopt.getCompilation().getCompileID(), actualDeopt.getCompilation().getCompileID());
+			assertEquals(expectedDeopt.getCompilation().getMember().toString(), actualDeopt.getCompilation().getMember().toString());
+		}
+
+		List<CompilerThread> expectedThreads = expected.getCompilerThreads();
+		List<CompilerThread> actualThreads = actual.getCompilerThreads();
+
+		assertEquals(1, expectedThreads.size());
+		assertEquals(expectedThreads.size(), actualThreads.size());
+		assertEquals(expectedThreads.get(0).getThreadId(), actualThreads.get(0).getThreadId());
+		assertEquals(expectedThreads.get(0).getThreadName(), actualThreads.get(0).getThreadName());
+		assertEquals(expectedThreads.get(0).getCompilations().size(), actualThreads.get(0).getCompilations().size());
+	}
+}
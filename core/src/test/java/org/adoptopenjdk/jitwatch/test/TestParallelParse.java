@@ -0,0 +1,462 @@
+/*
+ * Copyright (c) 2026 Chris Newland.
+ * Licensed under https://github.com/AdoptOpenJDK/jitwatch/blob/master/LICENSE-BSD
+ * Instructions: https://github.com/AdoptOpenJDK/jitwatch/wiki
+ */
+package org.adoptopenjdk.jitwatch.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.adoptopenjdk.jitwatch.core.JITWatchConfig;
+import org.adoptopenjdk.jitwatch.core.JITWatchConstants;
+import org.adoptopenjdk.jitwatch.core.TagProcessor;
+import org.adoptopenjdk.jitwatch.demo.SyntheticHotSpotLog;
+import org.adoptopenjdk.jitwatch.model.CodeCacheEvent;
+import org.adoptopenjdk.jitwatch.model.Compilation;
+import org.adoptopenjdk.jitwatch.model.CompilerThread;
+import org.adoptopenjdk.jitwatch.model.DeoptEvent;
+import org.adoptopenjdk.jitwatch.model.IMetaMember;
+import org.adoptopenjdk.jitwatch.model.JITDataModel;
+import org.adoptopenjdk.jitwatch.model.JITEvent;
+import org.adoptopenjdk.jitwatch.model.NumberedLine;
+import org.adoptopenjdk.jitwatch.model.Tag;
+import org.adoptopenjdk.jitwatch.parser.ILogParser;
+import org.adoptopenjdk.jitwatch.parser.hotspot.HotSpotLogParser;
+import org.adoptopenjdk.jitwatch.parser.hotspot.TagBatchPipeline;
+import org.adoptopenjdk.jitwatch.parser.hotspot.TagBatchPipeline.NumberedTag;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class TestParallelParse
+{
+	private static final String[] METHODS = new String[] { "length ()I", "hashCode ()I", "isEmpty ()Z", "charAt (I)C",
+			"trim ()Ljava/lang/String;", "toString ()Ljava/lang/String;" };
+
+	private File configFile;
+
+	@Before
+	public void setUp() throws IOException
+	{
+		configFile = File.createTempFile("test", ".properties");
+	}
+
+	@After
+	public void tearDown()
+	{
+		configFile.delete();
+	}
+
+	private List<String> buildLogLines(int compilations)
+	{
+		List<String> lines = new ArrayList<>();
+
+		lines.add("<start_compile_thread name='C2 CompilerThread0' thread='1234' process='5678' stamp='0.010'/>");
+
+		for (int i = 1; i <= compilations; i++)
+		{
+			String method = "java/lang/String " + METHODS[i % METHODS.length];
+			String stamp = "0." + (100 + i);
+
+			lines.add("<task_queued compile_id='" + i + "' method='" + method + "' bytes='55' count='520' iicount='520' stamp='"
+					+ stamp + "' comment='count' hot_count='520'/>");
+			lines.add("<task compile_id='" + i + "' method='" + method + "' bytes='55' count='521' iicount='521' stamp='" + stamp
+					+ "'>");
+			lines.add("<phase name='parse' nodes='3' live='3' stamp='" + stamp + "'>");
+			lines.add("<klass id='729' name='java/lang/String' flags='17'/>");
+			lines.add("<method id='730' holder='729' name='length' return='721' flags='1' bytes='6' iicount='521'/>");
+			lines.add("<parse method='730' uses='521' stamp='" + stamp + "'>");
+			lines.add("<bc code='182' bci='1'/>");
+			lines.add("<parse_done nodes='12' live='12' memory='2624' stamp='" + stamp + "'/>");
+			lines.add("</parse>");
+			lines.add("<phase_done name='parse' nodes='12' live='12' stamp='" + stamp + "'/>");
+			lines.add("</phase>");
+			lines.add("<code_cache total_blobs='264' nmethods='5' adapters='157' free_code_cache='250000'/>");
+			lines.add("<task_done success='1' nmsize='120' count='521' inlined_bytes='5' stamp='" + stamp + "'/>");
+			lines.add("</task>");
+			lines.add("<nmethod compile_id='" + i + "' compiler='C2' entry='0x0000000105a44ce0' size='736' address='0x0000000105a44b90' method='"
+					+ method + "' bytes='55' count='5047' iicount='10047' stamp='" + stamp + "'/>");
+		}
+
+		return lines;
+	}
+
+	@Test
+	public void testBatchesOnlySplitAtTopLevelTags()
+	{
+		List<String> lines = buildLogLines(20);
+
+		assertEquals(0, assertPipelineMatchesSerial(lines));
+	}
+
+	@Test
+	public void testBatchCutInsideTagIsContinued()
+	{
+		List<String> lines = buildLogLines(20);
+
+		// a line that normally opens a top-level tag inside each task
+		for (int i = lines.size() - 1; i >= 0; i--)
+		{
+			if (lines.get(i).startsWith("<phase "))
+			{
+				lines.add(i, "<nmethod compile_id='0' compiler='C2' size='8' stamp='0.100'/>");
+			}
+		}
+
+		assertEquals(20, assertPipelineMatchesSerial(lines));
+	}
+
+	// returns the number of batches the consumer had to continue
+	private long assertPipelineMatchesSerial(List<String> lines)
+	{
+		TagProcessor tagProcessor = new TagProcessor();
+
+		List<Tag> serialTags = new ArrayList<>();
+
+		for (String line : lines)
+		{
+			Tag tag = tagProcessor.processLine(line);
+
+			if (tag != null)
+			{
+				serialTags.add(tag);
+			}
+		}
+
+		final List<Tag> pipelinedTags = new ArrayList<>();
+
+		TagBatchPipeline pipeline = new TagBatchPipeline(4, 1, lines.size(), false, null, new TagBatchPipeline.ITagBatchHandler()
+		{
+			@Override
+			public void handleTags(List<NumberedTag> tags)
+			{
+				for (NumberedTag numberedTag : tags)
+				{
+					pipelinedTags.add(numberedTag.getTag());
+				}
+			}
+		});
+
+		try
+		{
+			for (int i = 0; i < lines.size(); i++)
+			{
+				pipeline.addLine(new NumberedLine(i, lines.get(i)));
+			}
+
+			pipeline.finish();
+
+			pipeline.applyAll();
+
+			assertEquals(serialTags.size(), pipelinedTags.size());
+
+			for (int i = 0; i < serialTags.size(); i++)
+			{
+				assertEquals(serialTags.get(i).toString(), pipelinedTags.get(i).toString());
+			}
+
+			assertEquals(tagProcessor.getTagCount(), pipeline.getTagCount());
+
+			return pipeline.getContinuedBatchCount();
+		}
+		finally
+		{
+			pipeline.shutdown();
+		}
+	}
+
+	@Test
+	public void testBatchesInFlightAreBounded() throws InterruptedException
+	{
+		final List<String> lines = buildLogLines(20);
+
+		final AtomicInteger tagCount = new AtomicInteger();
+
+		// one line per batch so at most two lines are held ahead of the consumer
+		final TagBatchPipeline pipeline = new TagBatchPipeline(2, 1, 2, false, null, new TagBatchPipeline.ITagBatchHandler()
+		{
+			@Override
+			public void handleTags(List<NumberedTag> tags)
+			{
+				tagCount.addAndGet(tags.size());
+			}
+		});
+
+		final AtomicInteger linesAdded = new AtomicInteger();
+
+		Thread producer = new Thread(new Runnable()
+		{
+			@Override
+			public void run()
+			{
+				for (int i = 0; i < lines.size(); i++)
+				{
+					pipeline.addLine(new NumberedLine(i, lines.get(i)));
+
+					linesAdded.incrementAndGet();
+				}
+
+				pipeline.finish();
+			}
+		});
+
+		try
+		{
+			producer.start();
+
+			long deadline = System.currentTimeMillis() + 5000;
+
+			// a batch is only cut before a top-level tag so the producer
+			// blocks once two whole tags are waiting
+			while (producer.getState() != Thread.State.WAITING && System.currentTimeMillis() < deadline)
+			{
+				Thread.sleep(10);
+			}
+
+			assertEquals(Thread.State.WAITING, producer.getState());
+			assertTrue(linesAdded.get() < lines.size());
+
+			pipeline.applyAll();
+
+			producer.join(5000);
+
+			assertEquals(lines.size(), linesAdded.get());
+			assertEquals(20 * 3 + 1, tagCount.get());
+		}
+		finally
+		{
+			pipeline.shutdown();
+		}
+	}
+
+	@Test
+	public void testParallelParseMatchesSerialParse() throws IOException
+	{
+		List<String> lines = buildLogLines(500);
+
+		// class loading lines among the LogCompilation lines
+		lines.add(0, "[Loaded java.lang.String from shared objects file]");
+		lines.add(40, "[Loaded java.util.ArrayList from shared objects file]");
+		lines.add(lines.size() - 1, "[Loaded java.util.HashMap from shared objects file]");
+
+		Path path = writeLinesToTempFile(lines);
+
+		try
+		{
+			ILogParser serialParser = parse(path, false);
+			ILogParser parallelParser = parse(path, true);
+
+			List<JITEvent> serialEvents = serialParser.getModel().getEventListCopy();
+			List<JITEvent> parallelEvents = parallelParser.getModel().getEventListCopy();
+
+			assertEquals(1000, serialEvents.size());
+			assertEquals(serialEvents.size(), parallelEvents.size());
+
+			for (int i = 0; i < serialEvents.size(); i++)
+			{
+				JITEvent serialEvent = serialEvents.get(i);
+				JITEvent parallelEvent = parallelEvents.get(i);
+
+				assertEquals(serialEvent.getStamp(), parallelEvent.getStamp());
+				assertEquals(serialEvent.getEventType(), parallelEvent.getEventType());
+				assertEquals(serialEvent.getEventMember().toString(), parallelEvent.getEventMember().toString());
+
+				List<Compilation> serialCompilations = serialEvent.getEventMember().getCompilations();
+				List<Compilation> parallelCompilations = parallelEvent.getEventMember().getCompilations();
+
+				assertEquals(serialCompilations.size(), parallelCompilations.size());
+
+				for (int c = 0; c < serialCompilations.size(); c++)
+				{
+					assertEquals(serialCompilations.get(c).getCompileID(), parallelCompilations.get(c).getCompileID());
+					assertTrue(parallelCompilations.get(c).getTagTaskDone() != null);
+				}
+			}
+
+			assertEquals(serialParser.getModel().getCodeCacheEvents().size(),
+					parallelParser.getModel().getCodeCacheEvents().size());
+
+			for (String fqClassName : new String[] { "java.lang.String", "java.util.ArrayList", "java.util.HashMap" })
+			{
+				assertTrue(serialParser.getModel().getPackageManager().getMetaClass(fqClassName) != null);
+				assertTrue(parallelParser.getModel().getPackageManager().getMetaClass(fqClassName) != null);
+			}
+		}
+		finally
+		{
+			Files.delete(path);
+		}
+	}
+
+	@Test
+	public void testParallelParseMatchesSerialParseMemberByMember() throws IOException
+	{
+		SyntheticHotSpotLog generator = new SyntheticHotSpotLog(2026);
+
+		generator.setCompilationCount(3000);
+		generator.setC1Percent(50);
+		generator.setOSRPercent(10);
+		generator.setTrapPercent(20);
+		generator.setSweepInterval(100);
+		generator.setCompilerThreads(1, 2);
+		generator.setPrintAssembly(true);
+		generator.setTraceClassLoading(true);
+
+		Path path = Files.createTempFile("testparallel", ".log");
+
+		try
+		{
+			generator.write(path.toFile());
+
+			JITDataModel serialModel = parse(path, false).getModel();
+			JITDataModel parallelModel = parse(path, true).getModel();
+
+			List<JITEvent> serialEvents = serialModel.getEventListCopy();
+			List<JITEvent> parallelEvents = parallelModel.getEventListCopy();
+
+			assertEquals(2 * 3000, serialEvents.size());
+			assertEquals(serialEvents.size(), parallelEvents.size());
+
+			for (int i = 0; i < serialEvents.size(); i++)
+			{
+				JITEvent serialEvent = serialEvents.get(i);
+				JITEvent parallelEvent = parallelEvents.get(i);
+
+				assertEquals(serialEvent.getStamp(), parallelEvent.getStamp());
+				assertEquals(serialEvent.getEventType(), parallelEvent.getEventType());
+
+				IMetaMember serialMember = serialEvent.getEventMember();
+				IMetaMember parallelMember = parallelEvent.getEventMember();
+
+				assertEquals(serialMember.toString(), parallelMember.toString());
+
+				assertCompilationsEqual(serialMember.getCompilations(), parallelMember.getCompilations());
+			}
+
+			assertCodeCacheEventsEqual(serialModel.getCodeCacheEvents(), parallelModel.getCodeCacheEvents());
+
+			assertDeoptEventsEqual(serialModel.getDeoptEvents().getEvents(), parallelModel.getDeoptEvents().getEvents());
+
+			List<CompilerThread> serialThreads = serialModel.getCompilerThreads();
+			List<CompilerThread> parallelThreads = parallelModel.getCompilerThreads();
+
+			assertEquals(serialThreads.size(), parallelThreads.size());
+
+			for (int i = 0; i < serialThreads.size(); i++)
+			{
+				assertEquals(serialThreads.get(i).getThreadId(), parallelThreads.get(i).getThreadId());
+				assertCompilationsEqual(serialThreads.get(i).getCompilations(), parallelThreads.get(i).getCompilations());
+			}
+		}
+		finally
+		{
+			Files.delete(path);
+		}
+	}
+
+	private void assertCompilationsEqual(List<Compilation> serialCompilations, List<Compilation> parallelCompilations)
+	{
+		assertEquals(serialCompilations.size(), parallelCompilations.size());
+
+		for (int i = 0; i < serialCompilations.size(); i++)
+		{
+			Compilation serial = serialCompilations.get(i);
+			Compilation parallel = parallelCompilations.get(i);
+
+			assertEquals(serial.getCompileID(), parallel.getCompileID());
+			assertEquals(serial.getIndex(), parallel.getIndex());
+			assertEquals(serial.getStampTaskQueued(), parallel.getStampTaskQueued());
+			assertEquals(serial.getStampTaskCompilationStart(), parallel.getStampTaskCompilationStart());
+			assertEquals(serial.getStampNMethodEmitted(), parallel.getStampNMethodEmitted());
+			assertEquals(serial.getCompiler(), parallel.getCompiler());
+			assertEquals(serial.getLevel(), parallel.getLevel());
+			assertEquals(serial.getOSRBCI(), parallel.getOSRBCI());
+			assertEquals(serial.getNativeAddress(), parallel.getNativeAddress());
+			assertEquals(serial.getNativeSize(), parallel.getNativeSize());
+			assertEquals(serial.getBytecodeSize(), parallel.getBytecodeSize());
+			assertEquals(String.valueOf(serial.getTagTaskDone()), String.valueOf(parallel.getTagTaskDone()));
+			assertEquals(serial.getTagTask() == null, parallel.getTagTask() == null);
+			assertEquals(serial.getAssembly() == null, parallel.getAssembly() == null);
+		}
+	}
+
+	private void assertCodeCacheEventsEqual(List<CodeCacheEvent> serialEvents, List<CodeCacheEvent> parallelEvents)
+	{
+		assertEquals(serialEvents.size(), parallelEvents.size());
+
+		for (int i = 0; i < serialEvents.size(); i++)
+		{
+			CodeCacheEvent serial = serialEvents.get(i);
+			CodeCacheEvent parallel = parallelEvents.get(i);
+
+			assertEquals(serial.getEventType(), parallel.getEventType());
+			assertEquals(serial.getStamp(), parallel.getStamp());
+			assertEquals(serial.getNativeAddress(), parallel.getNativeAddress());
+			assertEquals(serial.getNativeCodeSize(), parallel.getNativeCodeSize());
+			assertEquals(serial.getFreeCodeCache(), parallel.getFreeCodeCache());
+			assertEquals(serial.getCompilationLevel(), parallel.getCompilationLevel());
+		}
+	}
+
+	private void assertDeoptEventsEqual(List<DeoptEvent> serialEvents, List<DeoptEvent> parallelEvents)
+	{
+		assertEquals(serialEvents.size(), parallelEvents.size());
+		assertTrue(serialEvents.size() > 0);
+
+		for (int i = 0; i < serialEvents.size(); i++)
+		{
+			DeoptEvent serial = serialEvents.get(i);
+			DeoptEvent parallel = parallelEvents.get(i);
+
+			assertEquals(serial.getEventType(), parallel.getEventType());
+			assertEquals(serial.getStamp(), parallel.getStamp());
+			assertEquals(serial.getCompileID(), parallel.getCompileID());
+			assertEquals(serial.getReason(), parallel.getReason());
+			assertEquals(serial.getAction(), parallel.getAction());
+			assertEquals(serial.getMethod(), parallel.getMethod());
+			assertEquals(serial.getBCI(), parallel.getBCI());
+		}
+	}
+
+	private ILogParser parse(Path path, boolean parallel) throws IOException
+	{
+		JITWatchConfig config = new JITWatchConfig(configFile);
+
+		config.setParallelParse(parallel);
+		config.setParseThreads(4);
+
+		ILogParser parser = new HotSpotLogParser(UnitTestUtil.getNoOpJITListener());
+
+		parser.setConfig(config);
+
+		parser.processLogFile(path.toFile(), UnitTestUtil.getNoOpParseErrorListener());
+
+		return parser;
+	}
+
+	private Path writeLinesToTempFile(List<String> lines) throws IOException
+	{
+		StringBuilder builder = new StringBuilder();
+
+		for (String line : lines)
+		{
+			builder.append(line).append(JITWatchConstants.S_NEWLINE);
+		}
+
+		Path path = Files.createTempFile("testparallel", ".log");
+
+		Files.write(path, builder.toString().getBytes(StandardCharsets.UTF_8));
+
+		return path;
+	}
+}
@@ -0,0 +1,169 @@
+/*
+ * Copyright (c) 2026 Chris Newland.
+ * Licensed under https://github.com/AdoptOpenJDK/jitwatch/blob/master/LICENSE-BSD
+ * Instructions: https://github.com/AdoptOpenJDK/jitwatch/wiki
+ */
+package org.adoptopenjdk.jitwatch.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
+import java.util.Properties;
+
+import org.adoptopenjdk.jitwatch.core.JITWatchConfig;
+import org.adoptopenjdk.jitwatch.demo.SyntheticHotSpotLog;
+import org.adoptopenjdk.jitwatch.parser.ILogParseErrorListener;
+import org.adoptopenjdk.jitwatch.parser.ILogParser;
+import org.adoptopenjdk.jitwatch.parser.ParseMetrics;
+import org.adoptopenjdk.jitwatch.parser.ParseMetrics.ParsePhase;
+import org.adoptopenjdk.jitwatch.parser.hotspot.HotSpotLogParser;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class TestParseMetrics
+{
+	private File configFile;
+	private File logFile;
+	private File metricsFile;
+
+	@Before
+	public void setUp() throws IOException
+	{
+		configFile = File.createTempFile("test", ".properties");
+		logFile = File.createTempFile("testmetrics", ".log");
+		metricsFile = File.createTempFile("testmetrics", ".properties");
+
+		SyntheticHotSpotLog generator = new SyntheticHotSpotLog(99);
+
+		generator.setCompilationCount(500);
+		generator.setPrintAssembly(true);
+
+		generator.write(logFile);
+	}
+
+	@After
+	public void tearDown()
+	{
+		configFile.delete();
+		logFile.delete();
+		metricsFile.delete();
+	}
+
+	private ParseMetrics parse(boolean parallel) throws IOException
+	{
+		ILogParser parser = new HotSpotLogParser(UnitTestUtil.getNoOpJITListener());
+
+		JITWatchConfig config = new JITWatchConfig(configFile);
+
+		config.setParallelParse(parallel);
+
+		parser.setConfig(config);
+
+		parser.processLogFile(logFile, new ILogParseErrorListener()
+		{
+			@Override
+			public void handleError(String title, String body)
+			{
+			}
+		});
+
+		return parser.getParseMetrics();
+	}
+
+	@Test
+	public void testPhasesAndCountsAreRecorded() throws IOException
+	{
+		ParseMetrics metrics = parse(false);
+
+		assertTrue(metrics.isComplete());
+
+		assertTrue(metrics.getPhaseNanos(ParsePhase.SPLIT) > 0);
+		assertEquals(0, metrics.getPhaseNanos(ParsePhase.PIPELINE));
+		assertTrue(metrics.getPhaseNanos(ParsePhase.HEADER) > 0);
+		assertTrue(metrics.getPhaseNanos(ParsePhase.CLASS_MODEL) > 0);
+		assertTrue(metrics.getPhaseNanos(ParsePhase.COMPILATION_TAGS) > 0);
+		assertTrue(metrics.getPhaseNanos(ParsePhase.ASSEMBLY) > 0);
+		assertEquals(0, metrics.getPhaseNanos(ParsePhase.SNAPSHOT_RESTORE));
+
+		long phaseTotal = 0;
+
+		for (ParsePhase phase : ParsePhase.values())
+		{
+			phaseTotal += metrics.getPhaseNanos(phase);
+		}
+
+		assertTrue(metrics.getTotalNanos() >= phaseTotal);
+
+		assertEquals(logFile.length(), metrics.getByteCount());
+		assertTrue(metrics.getLineCount() > 500);
+		assertTrue(metrics.getLinesPerSecond() > 0);
+		assertTrue(metrics.getBytesPerSecond() > 0);
+
+		// at least a task, task_queued and nmethod for each compilation
+		assertTrue(metrics.getTagCount() > 3 * 500);
+
+		assertTrue(metrics.getSignatureCacheHits() > 0);
+		assertTrue(metrics.getSignatureCacheMisses() > 0);
+	}
+
+	@Test
+	public void testParallelParseCountsWorkerTags() throws IOException
+	{
+		long serialTags = parse(false).getTagCount();
+
+		ParseMetrics metrics = parse(true);
+
+		assertEquals(serialTags, metrics.getTagCount());
+
+		// split, header, class model and compilation tags overlap
+		assertTrue(metrics.getPhaseNanos(ParsePhase.PIPELINE) > 0);
+		assertEquals(0, metrics.getPhaseNanos(ParsePhase.SPLIT));
+		assertEquals(0, metrics.getPhaseNanos(ParsePhase.HEADER));
+		assertEquals(0, metrics.getPhaseNanos(ParsePhase.CLASS_MODEL));
+		assertEquals(0, metrics.getPhaseNanos(ParsePhase.COMPILATION_TAGS));
+		assertTrue(metrics.getPhaseNanos(ParsePhase.ASSEMBLY) > 0);
+
+		long phaseTotal = 0;
+
+		for (ParsePhase phase : ParsePhase.values())
+		{
+			phaseTotal += metrics.getPhaseNanos(phase);
+		}
+
+		assertTrue(metrics.getTotalNanos() >= phaseTotal);
+	}
+
+	@Test
+	public void testWrittenFileIsProperties() throws IOException
+	{
+		ParseMetrics metrics = parse(false);
+
+		metrics.write(metricsFile);
+
+		Properties properties = new Properties();
+
+		try (InputStream inputStream = new FileInputStream(metricsFile))
+		{
+			properties.load(inputStream);
+		}
+
+		Map<String, Long> values = metrics.getValues();
+
+		assertEquals(values.size(), properties.size());
+
+		for (Map.Entry<String, Long> entry : values.entrySet())
+		{
+			assertEquals(entry.getKey(), entry.getValue().toString(), properties.getProperty(entry.getKey()));
+		}
+
+		assertEquals(Long.toString(metrics.getLineCount()), properties.getProperty("lines"));
+		assertFalse(properties.getProperty("phase.compilation.tags.ms").isEmpty());
+	}
+}
@@ -9,6 +9,8 @@ import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.S_TYPE_NAME_VOID;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
@@ -25,6 +27,7 @@ import org.adoptopenjdk.jitwatch.demo.MakeHotSpotLog;
 import org.adoptopenjdk.jitwatch.model.IMetaMember;
 import org.adoptopenjdk.jitwatch.model.JITDataModel;
 import org.adoptopenjdk.jitwatch.model.LogParseException;
+import org.adoptopenjdk.jitwatch.model.MemberSignatureCache;
 import org.adoptopenjdk.jitwatch.model.MemberSignatureParts;
 import org.adoptopenjdk.jitwatch.model.MetaClass;
 import org.adoptopenjdk.jitwatch.model.MetaConstructor;
@@ -588,6 +591,174 @@ public class TestParseUtil
 		}
 	}
 
+	@Test public void testFindMemberWithSignatureIsCached() throws Exception
+	{
+		JITDataModel model = new JITDataModel();
+
+		MemberSignatureCache cache = model.getMemberSignatureCache();
+
+		String sig = "java.lang.String charAt (I)C";
+
+		IMetaMember member = ParseUtil.findMemberWithSignature(model, sig);
+
+		assertNotNull(member);
+		assertEquals(1, cache.getMissCount());
+		assertEquals(0, cache.getHitCount());
+
+		assertSame(member, ParseUtil.findMemberWithSignature(model, sig));
+		assertSame(member, ParseUtil.findMemberWithSignature(model, sig));
+		assertEquals(1, cache.getMissCount());
+		assertEquals(2, cache.getHitCount());
+
+		String badSig = "java.lang.String noSuchMethod (I)C";
+
+		for (int i = 0; i < 2; i++)
+		{
+			try
+			{
+				ParseUtil.findMemberWithSignature(model, badSig);
+				fail();
+			}
+			catch (LogParseException lpe)
+			{
+				assertEquals("MetaMember not found for " + badSig, lpe.getMessage());
+			}
+		}
+
+		assertEquals(2, cache.getMissCount());
+		assertEquals(1, cache.getFailureHitCount());
+		assertEquals(2, cache.size());
+
+		cache.putFailure("java/util/ArrayList size ()I", "not loaded");
+
+		assertEquals(3, cache.size());
+
+		// a new class may resolve its own earlier failures only
+		model.buildAndGetMetaClass(java.util.ArrayList.class);
+
+		assertEquals(2, cache.size());
+		assertSame(member, cache.getMember(sig));
+		assertNull(cache.getMember("java/util/ArrayList size ()I"));
+
+		try
+		{
+			cache.getMember(badSig);
+			fail();
+		}
+		catch (LogParseException lpe)
+		{
+			assertEquals("MetaMember not found for " + badSig, lpe.getMessage());
+		}
+
+		model.reset();
+
+		assertEquals(0, cache.size());
+		assertEquals(0, cache.getHitCount());
+	}
+
+	@Test public void testFailureIsDroppedWhenParameterClassIsAdded() throws Exception
+	{
+		JITDataModel model = new JITDataModel();
+
+		MemberSignatureCache cache = model.getMemberSignatureCache();
+
+		String sig = "java/lang/String noSuchMethod (Ljava/util/ArrayList;[Ljava/util/HashMap;I)V";
+
+		for (int i = 0; i < 2; i++)
+		{
+			try
+			{
+				ParseUtil.findMemberWithSignature(model, sig);
+				fail();
+			}
+			catch (LogParseException lpe)
+			{
+			}
+		}
+
+		assertEquals(1, cache.getMissCount());
+		assertEquals(1, cache.getFailureHitCount());
+
+		// an unrelated class leaves the failure cached
+		model.buildAndGetMetaClass(java.util.LinkedList.class);
+
+		assertFailureIsCached(cache, sig);
+
+		model.buildAndGetMetaClass(java.util.HashMap.class);
+
+		// dropped but the split signature is kept for the next attempt
+		assertNull(cache.getMember(sig));
+		assertEquals(1, cache.size());
+		assertEquals("noSuchMethod", cache.splitSignature(sig)[1]);
+
+		try
+		{
+			ParseUtil.findMemberWithSignature(model, sig);
+			fail();
+		}
+		catch (LogParseException lpe)
+		{
+		}
+
+		assertFailureIsCached(cache, sig);
+	}
+
+	private void assertFailureIsCached(MemberSignatureCache cache, String sig)
+	{
+		try
+		{
+			cache.getMember(sig);
+			fail();
+		}
+		catch (LogParseException lpe)
+		{
+			assertEquals("MetaMember not found for " + sig, lpe.getMessage());
+		}
+	}
+
+	@Test public void testTypeClassesAreCached() throws Exception
+	{
+		JITDataModel model = new JITDataModel();
+
+		MemberSignatureCache cache = model.getMemberSignatureCache();
+
+		IMetaMember indexOf = ParseUtil.findMemberWithSignature(model, "java/lang/String indexOf (Ljava/lang/String;I)I");
+		IMetaMember lastIndexOf = ParseUtil.findMemberWithSignature(model, "java/lang/String lastIndexOf (Ljava/lang/String;I)I");
+
+		assertNotNull(indexOf);
+		assertNotNull(lastIndexOf);
+
+		Class<?>[] classes = cache.getClassTypes("Ljava/lang/String;I");
+
+		assertSame(classes, cache.getClassTypes("Ljava/lang/String;I"));
+		assertEquals(2, classes.length);
+		assertEquals(String.class, classes[0]);
+		assertEquals(int.class, classes[1]);
+	}
+
+	@Test public void testMemberSignatureCacheEvictsLeastRecentlyUsed() throws Exception
+	{
+		MemberSignatureCache cache = new MemberSignatureCache(2);
+
+		JITDataModel model = new JITDataModel();
+
+		IMetaMember charAt = ParseUtil.findMemberWithSignature(model, "java.lang.String charAt (I)C");
+		IMetaMember length = ParseUtil.findMemberWithSignature(model, "java.lang.String length ()I");
+
+		cache.putMember("a", charAt);
+		cache.putFailure("b", "failed");
+
+		assertSame(charAt, cache.getMember("a"));
+
+		cache.putMember("c", length);
+
+		assertEquals(2, cache.size());
+		assertEquals(1, cache.getEvictionCount());
+		assertNull(cache.getMember("b"));
+		assertSame(charAt, cache.getMember("a"));
+		assertSame(length, cache.getMember("c"));
+	}
+
 	@Test public void testFindClassForLogCompilationParameter() throws Exception
 	{
 		assertEquals(Class.forName("java.lang.String"), ParseUtil.findClassForLogCompilationParameter("java.lang.String"));
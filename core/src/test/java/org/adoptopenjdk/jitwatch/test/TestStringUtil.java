@@ -10,7 +10,11 @@ import static org.junit.Assert.*;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import org.adoptopenjdk.jitwatch.model.Tag;
+import org.adoptopenjdk.jitwatch.model.TagAttributes;
+import org.adoptopenjdk.jitwatch.util.AttributeCursor;
 import org.adoptopenjdk.jitwatch.util.StringUtil;
 import org.junit.Test;
 
@@ -79,4 +83,151 @@ public class TestStringUtil
 		assertEquals("108", result.get("iicount"));
 		assertEquals("6.801", result.get("stamp"));
 	}
+
+	@Test
+	public void testTagAttributesMatchAttributeStringToMap()
+	{
+		String[] lines = new String[] { S_EMPTY, "foo='1' bar='2' baz='3'",
+				" compile_id='21' method='java/util/Properties loadConvert ([CII[C)Ljava/lang/String;' bytes='505'",
+				" reason='a=b c' dup='1' dup='2'", " empty='' unterminated='x" };
+
+		for (String line : lines)
+		{
+			Map<String, String> expected = StringUtil.attributeStringToMap(line);
+			Map<String, String> actual = TagAttributes.parse(line);
+
+			assertEquals(line, expected, actual);
+		}
+	}
+
+	@Test
+	public void testTagAttributesAreCached()
+	{
+		Tag tag = new Tag("nmethod", " compile_id='1' compiler='C2'", true);
+
+		Map<String, String> attrs = tag.getAttributes();
+
+		assertSame(attrs, tag.getAttributes());
+		assertEquals("C2", tag.getAttribute("compiler"));
+		assertNull(tag.getAttribute("level"));
+
+		try
+		{
+			attrs.put("level", "4");
+			fail("attributes should be read-only");
+		}
+		catch (UnsupportedOperationException uoe)
+		{
+		}
+	}
+
+	@Test
+	public void testTagAttributesSharedKeysAcrossThreads() throws Exception
+	{
+		// "Aa" and "BB" have the same hash so they fight over one shared key slot
+		final String[] lines = new String[] { "Aa='1' BB='2' method='m1'", "BB='3' Aa='4' bytes='10'" };
+
+		final String[][] expected = new String[][] { { "Aa", "1", "BB", "2", "method", "m1" },
+				{ "BB", "3", "Aa", "4", "bytes", "10" } };
+
+		final AtomicInteger failures = new AtomicInteger();
+
+		Thread[] threads = new Thread[4];
+
+		for (int t = 0; t < threads.length; t++)
+		{
+			final int offset = t;
+
+			threads[t] = new Thread(new Runnable()
+			{
+				@Override
+				public void run()
+				{
+					for (int i = 0; i < 20_000; i++)
+					{
+						int index = (i + offset) % lines.length;
+
+						Map<String, String> attributes = TagAttributes.parse(lines[index]);
+
+						String[] keyValues = expected[index];
+
+						boolean matches = attributes.size() == keyValues.length / 2;
+
+						for (int k = 0; matches && k < keyValues.length; k += 2)
+						{
+							matches = keyValues[k + 1].equals(attributes.get(keyValues[k]));
+						}
+
+						if (!matches)
+						{
+							failures.incrementAndGet();
+						}
+					}
+				}
+			});
+		}
+
+		for (Thread thread : threads)
+		{
+			thread.start();
+		}
+
+		for (Thread thread : threads)
+		{
+			thread.join();
+		}
+
+		assertEquals(0, failures.get());
+	}
+
+	@Test
+	public void testSingleAttributeLookup()
+	{
+		String line = " id='1' method='java/lang/String length ()I' holder='id=2' bci='-1' code='182' code='183'";
+
+		assertEquals("1", StringUtil.getAttribute(line, "id"));
+		assertEquals("java/lang/String length ()I", StringUtil.getAttribute(line, "method"));
+		assertEquals("id=2", StringUtil.getAttribute(line, "holder"));
+		assertNull(StringUtil.getAttribute(line, "length"));
+		assertNull(StringUtil.getAttribute(line, "missing"));
+		assertNull(StringUtil.getAttribute(null, "id"));
+
+		assertEquals(-1, StringUtil.getIntAttribute(line, "bci"));
+		assertEquals(183, StringUtil.getIntAttribute(line, "code"));
+
+		try
+		{
+			StringUtil.getIntAttribute(line, "method");
+			fail("expected NumberFormatException");
+		}
+		catch (NumberFormatException nfe)
+		{
+		}
+	}
+
+	@Test
+	public void testAttributeCursorIsReusable()
+	{
+		AttributeCursor cursor = new AttributeCursor();
+
+		cursor.reset(" compile_id='21' stamp='6.801'");
+
+		assertTrue(cursor.next());
+		assertTrue(cursor.keyEquals("compile_id"));
+		assertEquals("compile_id", cursor.getKey());
+		assertEquals("21", cursor.getValue());
+
+		assertTrue(cursor.next());
+		assertTrue(cursor.keyEquals("stamp"));
+		assertFalse(cursor.keyEquals("stam"));
+		assertEquals("6.801", cursor.getValue());
+
+		assertFalse(cursor.next());
+
+		cursor.reset("a='1'");
+
+		assertTrue(cursor.next());
+		assertEquals("a", cursor.getKey());
+		assertFalse(cursor.next());
+	}
 }
@@ -0,0 +1,209 @@
+/*
+ * Copyright (c) 2026 Chris Newland.
+ * Licensed under https://github.com/AdoptOpenJDK/jitwatch/blob/master/LICENSE-BSD
+ * Instructions: https://github.com/AdoptOpenJDK/jitwatch/wiki
+ */
+package org.adoptopenjdk.jitwatch.test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.adoptopenjdk.jitwatch.core.JITWatchConfig;
+import org.adoptopenjdk.jitwatch.demo.SyntheticHotSpotLog;
+import org.adoptopenjdk.jitwatch.model.CodeCacheEvent;
+import org.adoptopenjdk.jitwatch.model.CodeCacheEvent.CodeCacheEventType;
+import org.adoptopenjdk.jitwatch.model.Compilation;
+import org.adoptopenjdk.jitwatch.model.CompilerThread;
+import org.adoptopenjdk.jitwatch.model.DeoptEvent;
+import org.adoptopenjdk.jitwatch.model.DeoptEvent.DeoptEventType;
+import org.adoptopenjdk.jitwatch.model.DeoptEventStore;
+import org.adoptopenjdk.jitwatch.model.EventType;
+import org.adoptopenjdk.jitwatch.model.JITDataModel;
+import org.adoptopenjdk.jitwatch.model.JITEvent;
+import org.adoptopenjdk.jitwatch.parser.ILogParseErrorListener;
+import org.adoptopenjdk.jitwatch.parser.ILogParser;
+import org.adoptopenjdk.jitwatch.parser.hotspot.HotSpotLogParser;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class TestSyntheticHotSpotLog
+{
+	private File configFile;
+	private File logFile;
+	private File otherLogFile;
+
+	@Before
+	public void setUp() throws IOException
+	{
+		configFile = File.createTempFile("test", ".properties");
+		logFile = File.createTempFile("testsynthetic", ".log");
+		otherLogFile = File.createTempFile("testsynthetic", ".log");
+	}
+
+	@After
+	public void tearDown()
+	{
+		configFile.delete();
+		logFile.delete();
+		otherLogFile.delete();
+	}
+
+	private ILogParser parse(File file, final List<String> errors) throws IOException
+	{
+		ILogParser parser = new HotSpotLogParser(UnitTestUtil.getNoOpJITListener());
+
+		parser.setConfig(new JITWatchConfig(configFile));
+
+		parser.processLogFile(file, new ILogParseErrorListener()
+		{
+			@Override
+			public void handleError(String title, String body)
+			{
+				errors.add(title + " " + body);
+			}
+		});
+
+		return parser;
+	}
+
+	@Test
+	public void testSameSeedWritesSameLog() throws IOException
+	{
+		SyntheticHotSpotLog generator = new SyntheticHotSpotLog(1234);
+
+		generator.setCompilationCount(300);
+		generator.setPrintAssembly(true);
+
+		assertEquals(300, generator.write(logFile));
+		assertEquals(300, generator.write(otherLogFile));
+
+		assertArrayEquals(Files.readAllBytes(logFile.toPath()), Files.readAllBytes(otherLogFile.toPath()));
+
+		new SyntheticHotSpotLog(4321).write(otherLogFile);
+
+		assertFalse(new String(Files.readAllBytes(logFile.toPath())).equals(new String(Files.readAllBytes(otherLogFile.toPath()))));
+	}
+
+	@Test
+	public void testGeneratedLogParses() throws IOException
+	{
+		int compilations = 1000;
+
+		SyntheticHotSpotLog generator = new SyntheticHotSpotLog(42);
+
+		generator.setCompilationCount(compilations);
+		generator.setC1Percent(50);
+		generator.setOSRPercent(10);
+		generator.setTrapPercent(20);
+		generator.setSweepInterval(100);
+		generator.setCompilerThreads(1, 2);
+		generator.setPrintAssembly(true);
+
+		generator.write(logFile);
+
+		List<String> errors = new ArrayList<>();
+
+		JITDataModel model = parse(logFile, errors).getModel();
+
+		assertTrue(errors.toString(), errors.isEmpty());
+
+		assertEquals(8, model.getJDKMajorVersion());
+
+		int nmethods = 0;
+		int c1 = 0;
+		int withAssembly = 0;
+		int withTask = 0;
+
+		for (JITEvent event : model.getEventListCopy())
+		{
+			if (event.getEventType() == EventType.NMETHOD_C1 || event.getEventType() == EventType.NMETHOD_C2)
+			{
+				nmethods++;
+
+				if (event.getEventType() == EventType.NMETHOD_C1)
+				{
+					c1++;
+				}
+			}
+		}
+
+		assertEquals(compilations, nmethods);
+		assertTrue(c1 > compilations / 3 && c1 < compilations * 2 / 3);
+
+		List<CompilerThread> threads = model.getCompilerThreads();
+
+		assertEquals(3, threads.size());
+
+		int threadCompilations = 0;
+
+		for (CompilerThread thread : threads)
+		{
+			for (Compilation compilation : thread.getCompilations())
+			{
+				threadCompilations++;
+
+				if (compilation.getTagTask() != null)
+				{
+					withTask++;
+				}
+
+				if (compilation.getAssembly() != null)
+				{
+					withAssembly++;
+				}
+			}
+		}
+
+		assertEquals(compilations, threadCompilations);
+		assertEquals(compilations, withTask);
+		assertEquals(compilations, withAssembly);
+
+		DeoptEventStore deoptEvents = model.getDeoptEvents();
+
+		int traps = deoptEvents.count(DeoptEventType.UNCOMMON_TRAP, 0, Long.MAX_VALUE);
+
+		assertTrue(traps > 0);
+		assertEquals(traps, deoptEvents.count(DeoptEventType.MAKE_NOT_ENTRANT, 0, Long.MAX_VALUE));
+
+		for (DeoptEvent event : deoptEvents.getEvents())
+		{
+			assertNotNull(event.getCompilation());
+		}
+
+		int sweeps = 0;
+
+		for (CodeCacheEvent event : model.getCodeCacheEvents())
+		{
+			if (event.getEventType() == CodeCacheEventType.SWEEPER)
+			{
+				sweeps++;
+			}
+		}
+
+		assertEquals(compilations / 100, sweeps);
+	}
+
+	@Test
+	public void testTargetSizeIsReached() throws IOException
+	{
+		SyntheticHotSpotLog generator = new SyntheticHotSpotLog(7);
+
+		generator.setTargetBytes(1024 * 1024);
+
+		long written = generator.write(logFile);
+
+		assertTrue(written > 0);
+		assertTrue(logFile.length() >= 1024 * 1024);
+		assertTrue(logFile.length() < 2 * 1024 * 1024);
+	}
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2026 Chris Newland.
+ * Licensed under https://github.com/AdoptOpenJDK/jitwatch/blob/master/LICENSE-BSD
+ * Instructions: https://github.com/AdoptOpenJDK/jitwatch/wiki
+ */
+package org.adoptopenjdk.jitwatch.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.adoptopenjdk.jitwatch.core.TagProcessor;
+import org.adoptopenjdk.jitwatch.model.CompactTag;
+import org.adoptopenjdk.jitwatch.model.IParseDictionary;
+import org.adoptopenjdk.jitwatch.model.Tag;
+import org.adoptopenjdk.jitwatch.model.TagInterner;
+import org.adoptopenjdk.jitwatch.model.Task;
+import org.junit.Test;
+
+public class TestTagInterner
+{
+	private Task processTask(TagProcessor tp, int compileID, String klassID, String methodFlags)
+	{
+		String[] lines = new String[] {
+				"<task compile_id='" + compileID + "' method='java/lang/String hashCode ()I' bytes='55' count='521' iicount='521' stamp='0.101'>",
+				"<phase name='parse' nodes='3' live='3' stamp='0.101'>",
+				"<klass id='" + klassID + "' name='java/lang/String' flags='17'/>",
+				"<type id='721' name='int'/>",
+				"<method id='730' holder='" + klassID + "' name='hashCode' return='721' flags='" + methodFlags + "' bytes='55' iicount='521'/>",
+				"<parse method='730' uses='521' stamp='0.101'>",
+				"<parse_done nodes='12' live='12' memory='2624' stamp='0.101'/>",
+				"</parse>",
+				"<phase_done name='parse' nodes='12' live='12' stamp='0.101'/>",
+				"</phase>",
+				"<task_done success='1' nmsize='120' count='521' inlined_bytes='5' stamp='0.101'/>",
+				"</task>" };
+
+		Tag tag = null;
+
+		for (String line : lines)
+		{
+			tag = tp.processLine(line);
+		}
+
+		return (Task) tag;
+	}
+
+	@Test
+	public void testKlassAndTypeEntriesAreSharedWhateverTheirID()
+	{
+		TagInterner tagInterner = new TagInterner();
+
+		TagProcessor tp = new TagProcessor(false, tagInterner);
+
+		Task firstTask = processTask(tp, 1, "729", "1");
+
+		IParseDictionary first = firstTask.getParseDictionary();
+		IParseDictionary second = processTask(tp, 2, "812", "1").getParseDictionary();
+
+		assertSame(first.getKlass("729"), second.getKlass("812"));
+		assertSame(first.getType("721"), second.getType("721"));
+		assertSame(first.getKlass("729").getAttributes(), second.getKlass("812").getAttributes());
+		assertEquals(2, tagInterner.size());
+
+		assertEquals("java/lang/String", first.getKlass("729").getAttributes().get("name"));
+		assertEquals("17", first.getKlass("729").getAttributes().get("flags"));
+		assertNull(first.getKlass("729").getAttributes().get("id"));
+		assertNull(first.getKlass("729").getParent());
+
+		// holder and return are ids into the dictionary of their own task
+		assertNotSame(first.getMethod("730"), second.getMethod("730"));
+		assertEquals("812", second.getMethod("730").getAttributes().get("holder"));
+
+		// the task tree keeps the tags as logged
+		Tag phase = firstTask.getFirstNamedChild("phase");
+
+		assertEquals("729", phase.getFirstNamedChild("klass").getAttributes().get("id"));
+		assertSame(phase, phase.getFirstNamedChild("klass").getParent());
+	}
+
+	@Test
+	public void testInternersAreNotShared()
+	{
+		IParseDictionary first = processTask(new TagProcessor(false, new TagInterner()), 1, "729", "1").getParseDictionary();
+		IParseDictionary second = processTask(new TagProcessor(false, new TagInterner()), 1, "729", "1").getParseDictionary();
+
+		assertNotSame(first.getKlass("729"), second.getKlass("729"));
+		assertEquals(first.getKlass("729"), second.getKlass("729"));
+	}
+
+	@Test
+	public void testCompactDictionaryEntriesAreNotInterned()
+	{
+		TagInterner tagInterner = new TagInterner();
+
+		IParseDictionary dictionary = processTask(new TagProcessor(true, tagInterner), 1, "729", "1").getParseDictionary();
+
+		assertTrue(dictionary.getKlass("729") instanceof CompactTag);
+		assertEquals(0, tagInterner.size());
+	}
+
+	@Test
+	public void testOnlyChildlessKlassAndTypeTagsAreInterned()
+	{
+		TagInterner tagInterner = new TagInterner();
+
+		Tag tag = new Tag("klass", "id='1' name='A'", false);
+
+		tag.addTextContent("text");
+
+		assertSame(tag, tagInterner.intern(tag));
+
+		Tag method = new Tag("method", "id='1' name='m'", true);
+
+		assertSame(method, tagInterner.intern(method));
+
+		Tag interned = tagInterner.intern(new Tag("type", "name='int' id='1'", true));
+
+		assertSame(interned, tagInterner.intern(new Tag("type", "id='2' name='int'", true)));
+		assertEquals("name='int'", interned.getAttributeString());
+		assertEquals("int", interned.getAttributes().get("name"));
+
+		tagInterner.clear();
+
+		assertEquals(0, tagInterner.size());
+	}
+}
@@ -17,14 +17,13 @@ import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.TAG_NMETHOD;
 import static org.adoptopenjdk.jitwatch.core.JITWatchConstants.TAG_TASK_QUEUED;
 import static org.adoptopenjdk.jitwatch.util.UserInterfaceUtil.fix;
 
-import java.util.Collections;
-import java.util.Comparator;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 
 import org.adoptopenjdk.jitwatch.model.Compilation;
 import org.adoptopenjdk.jitwatch.model.IMetaMember;
-import org.adoptopenjdk.jitwatch.model.JITEvent;
+import org.adoptopenjdk.jitwatch.model.IReadOnlyJITEventStore;
 import org.adoptopenjdk.jitwatch.model.JITStats;
 import org.adoptopenjdk.jitwatch.model.Tag;
 import org.adoptopenjdk.jitwatch.ui.main.JITWatchUI;
@@ -45,6 +44,12 @@ public class TimeLineStage extends AbstractGraphStage
 
 	private boolean drawnQueueEvent = false;
 
+	// stamps of the events read so far, sorted, extended on each redraw
+	private long[] stamps = new long[0];
+	private int stampCount = 0;
+	private int eventCursor = 0;
+	private int eventGeneration = 0;
+
 	public TimeLineStage(final JITWatchUI parent)
 	{
 		super(parent, JITWatchUI.WINDOW_WIDTH, JITWatchUI.WINDOW_HEIGHT, true);
@@ -79,48 +84,38 @@ public class TimeLineStage extends AbstractGraphStage
 			selectedMember = mainUI.getSelectedMember();
 		}
 
-		List<JITEvent> events = mainUI.getJITDataModel().getEventListCopy();
+		readNewStamps(mainUI.getJITDataModel().getEventStore());
 
 		compilationIndex = 0;
 
-		if (events.size() > 0)
+		if (stampCount > 0)
 		{
-			Collections.sort(events, new Comparator<JITEvent>()
-			{
-				@Override
-				public int compare(JITEvent e1, JITEvent e2)
-				{
-					return Long.compare(e1.getStamp(), e2.getStamp());
-				}
-			});
-
-			JITEvent firstEvent = events.get(0);
-			minX = firstEvent.getStamp();
+			minX = stamps[0];
 
 			Tag endOfLogTag = mainUI.getJITDataModel().getEndOfLogTag();
 
-			JITEvent lastEvent = events.get(events.size() - 1);
+			long lastStamp = stamps[stampCount - 1];
 			
 			if (endOfLogTag != null)
 			{
 				maxX = getStampFromTag(endOfLogTag);
 				
-				long lastEventPlusPadding = (long)(lastEvent.getStamp() * 1.1);
+				long lastEventPlusPadding = (long)(lastStamp * 1.1);
 				
 				maxX = Math.min(maxX, lastEventPlusPadding);
 			}
 			else
 			{
-				maxX = lastEvent.getStamp();
+				maxX = lastStamp;
 			}
 
 			minY = 0;
 
-			calculateMaxCompiles(events);
+			calculateMaxCompiles();
 
 			drawAxes();
 
-			drawEvents(events);
+			drawEvents();
 
 			showSelectedMemberLabel();
 		}
@@ -130,9 +125,50 @@ public class TimeLineStage extends AbstractGraphStage
 		}
 	}
 
-	private void calculateMaxCompiles(List<JITEvent> events)
+	private void readNewStamps(IReadOnlyJITEventStore eventStore)
+	{
+		int generation = eventStore.getGeneration();
+
+		if (generation != eventGeneration)
+		{
+			eventGeneration = generation;
+			eventCursor = 0;
+			stampCount = 0;
+		}
+
+		long[] newStamps = eventStore.getStampsSince(eventCursor);
+
+		if (newStamps.length > 0)
+		{
+			eventCursor += newStamps.length;
+
+			if (stampCount + newStamps.length > stamps.length)
+			{
+				stamps = Arrays.copyOf(stamps, Math.max(stampCount + newStamps.length, stamps.length * 2));
+			}
+
+			boolean sorted = stampCount == 0 || newStamps[0] >= stamps[stampCount - 1];
+
+			for (int i = 0; i < newStamps.length; i++)
+			{
+				stamps[stampCount++] = newStamps[i];
+
+				if (i > 0 && newStamps[i] < newStamps[i - 1])
+				{
+					sorted = false;
+				}
+			}
+
+			if (!sorted)
+			{
+				Arrays.sort(stamps, 0, stampCount);
+			}
+		}
+	}
+
+	private void calculateMaxCompiles()
 	{
-		maxY = events.size();
+		maxY = stampCount;
 	}
 
 	private void drawMemberEvents(List<Compilation> compilations, long stamp, double yPos)
@@ -314,7 +350,7 @@ public class TimeLineStage extends AbstractGraphStage
 		return selectedItemBuilder.toString();
 	}
 
-	private void drawEvents(List<JITEvent> events)
+	private void drawEvents()
 	{
 		Color colourMarker = Color.BLUE;
 		double lineWidth = 2.0;
@@ -324,9 +360,9 @@ public class TimeLineStage extends AbstractGraphStage
 		double lastCX = graphGapLeft + normaliseX(minX);
 		double lastCY = graphGapTop + normaliseY(0);
 
-		for (JITEvent event : events)
+		for (int i = 0; i < stampCount; i++)
 		{
-			long stamp = event.getStamp();
+			long stamp = stamps[i];
 
 			cumC++;
 
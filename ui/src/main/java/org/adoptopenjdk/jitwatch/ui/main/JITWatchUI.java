@@ -34,6 +34,7 @@ import org.adoptopenjdk.jitwatch.core.JITWatchConstants;
 import org.adoptopenjdk.jitwatch.model.*;
 import org.adoptopenjdk.jitwatch.parser.ILogParseErrorListener;
 import org.adoptopenjdk.jitwatch.parser.ILogParser;
+import org.adoptopenjdk.jitwatch.parser.ParseMetrics;
 import org.adoptopenjdk.jitwatch.parser.ParserFactory;
 import org.adoptopenjdk.jitwatch.parser.ParserType;
 import org.adoptopenjdk.jitwatch.parser.hotspot.HotSpotLogParser;
@@ -1121,6 +1122,11 @@ public class JITWatchUI extends Application
 		return logParser.getModel();
 	}
 
+	public ParseMetrics getParseMetrics()
+	{
+		return logParser.getParseMetrics();
+	}
+
 	private void updateButtons()
 	{
 		if (!(logParser instanceof HotSpotLogParser))
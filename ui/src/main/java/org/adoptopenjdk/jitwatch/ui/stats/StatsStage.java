@@ -6,6 +6,8 @@
 package org.adoptopenjdk.jitwatch.ui.stats;
 
 import org.adoptopenjdk.jitwatch.model.JITStats;
+import org.adoptopenjdk.jitwatch.parser.ParseMetrics;
+import org.adoptopenjdk.jitwatch.parser.ParseMetrics.ParsePhase;
 import org.adoptopenjdk.jitwatch.ui.main.JITWatchUI;
 import org.adoptopenjdk.jitwatch.util.UserInterfaceUtil;
 
@@ -79,6 +81,32 @@ public class StatsStage extends Stage
 		obList.add(makeRow("Loaded Classes", stats.getCountClass()));		
 		obList.add(makeRow("Total Methods Loaded", stats.getCountMethod()));		
 		obList.add(makeRow("Total Constructors Loaded", stats.getCountConstructor()));		
+
+		ParseMetrics metrics = parent.getParseMetrics();
+
+		// only known once the whole log has been read
+		if (metrics.isComplete())
+		{
+			obList.add(makeRow("Parse time (ms)", metrics.getTotalMillis()));
+
+			// a parallel parse times its pipelined phases as one
+			for (ParsePhase phase : ParsePhase.values())
+			{
+				if (metrics.getPhaseNanos(phase) > 0)
+				{
+					obList.add(makeRow("Parse phase " + phase.getKey() + " (ms)", metrics.getPhaseMillis(phase)));
+				}
+			}
+
+			obList.add(makeRow("Lines parsed", metrics.getLineCount()));
+			obList.add(makeRow("Lines per second", metrics.getLinesPerSecond()));
+			obList.add(makeRow("Bytes per second", metrics.getBytesPerSecond()));
+			obList.add(makeRow("Tags created", metrics.getTagCount()));
+			obList.add(makeRow("Parse bytes allocated", metrics.getAllocatedBytes()));
+			obList.add(makeRow("Signature cache hits", metrics.getSignatureCacheHits()));
+			obList.add(makeRow("Signature cache misses", metrics.getSignatureCacheMisses()));
+			obList.add(makeRow("Signature cache evictions", metrics.getSignatureCacheEvictions()));
+		}
 	}
 	
 	private StatsTableRow makeRow(String name, long value)